@@ -0,0 +1,26 @@
+package com.heimdall.analysis;
+
+import com.heimdall.entity.LogEntry;
+import com.heimdall.statistics.topk.LogTemplates;
+import com.heimdall.util.HashUtil;
+
+/**
+ * 분석 대상 로그의 fingerprint
+ * 서비스명, 환경, 심각도와 로그 템플릿(가변 값을 제거한 첫 줄)이 같으면 같은 원인의 로그로 본다.
+ * 환경이나 심각도가 다르면 분석 우선순위와 결과의 심각도가 달라지므로 캐시된 결과나 병합 그룹을 공유하지 않는다.
+ */
+public final class AnalysisFingerprint {
+    
+    private static final int TEMPLATE_MAX_LENGTH = 500;
+    
+    private AnalysisFingerprint() {
+    }
+    
+    public static String of(LogEntry logEntry) {
+        String serviceName = logEntry.getServiceName() != null ? logEntry.getServiceName() : "unknown";
+        String environment = logEntry.getEnvironment() != null ? logEntry.getEnvironment() : "unknown";
+        String severity = logEntry.getSeverity() != null ? logEntry.getSeverity().name() : "unknown";
+        return HashUtil.sha256(String.join("\n", serviceName, environment, severity,
+            LogTemplates.normalize(logEntry.getLogContent(), TEMPLATE_MAX_LENGTH)));
+    }
+}
@@ -0,0 +1,145 @@
+package com.heimdall.analysis.admission;
+
+import com.heimdall.entity.LogEntry;
+import io.github.resilience4j.ratelimiter.RateLimiter;
+import io.github.resilience4j.ratelimiter.RateLimiterConfig;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * AI 분석 요청 admission control
+ * 서비스별 토큰 버킷 → 전역 토큰 버킷 → 전역 슬라이딩 윈도우 상한 순으로 통과해야 분석을 요청한다.
+ * 전역 예산의 일부는 FATAL 전용으로 남겨 두어, 과부하 시 ERROR 이하가 먼저 차단된다.
+ * FATAL은 서비스별 버킷을 거치지 않으며, 모든 단계를 확인한 뒤에만 예산을 차감하므로 거절된 요청은 예산을 쓰지 않는다.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class AnalysisAdmissionController {
+    
+    private final MeterRegistry meterRegistry;
+    
+    private RateLimiterConfig serviceConfig;
+    private Map<String, RateLimiter> serviceLimiters;
+    private RateLimiter globalLimiter;
+    private SlidingWindowCounter window;
+    
+    @Value("${heimdall.analysis.admission.enabled:true}")
+    private boolean enabled;
+    
+    @Value("${heimdall.analysis.admission.service-limit:10}")
+    private int serviceLimit;
+    
+    @Value("${heimdall.analysis.admission.global-limit:100}")
+    private int globalLimit;
+    
+    @Value("${heimdall.analysis.admission.refresh-period-seconds:60}")
+    private long refreshPeriodSeconds;
+    
+    @Value("${heimdall.analysis.admission.window-seconds:300}")
+    private int windowSeconds;
+    
+    @Value("${heimdall.analysis.admission.window-cap:300}")
+    private long windowCap;
+    
+    @Value("${heimdall.analysis.admission.fatal-reserve-ratio:0.2}")
+    private double fatalReserveRatio;
+    
+    @Value("${heimdall.analysis.admission.max-tracked-services:1000}")
+    private int maxTrackedServices;
+    
+    @PostConstruct
+    public void init() {
+        serviceConfig = RateLimiterConfig.custom()
+            .limitForPeriod(serviceLimit)
+            .limitRefreshPeriod(Duration.ofSeconds(refreshPeriodSeconds))
+            .timeoutDuration(Duration.ZERO)
+            .build();
+        
+        // 서비스 이름은 클라이언트 입력이므로 최근 사용 순으로 상한만큼만 유지
+        serviceLimiters = new LinkedHashMap<>(64, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, RateLimiter> eldest) {
+                return size() > maxTrackedServices;
+            }
+        };
+        globalLimiter = RateLimiter.of("analysis-global", RateLimiterConfig.from(serviceConfig)
+            .limitForPeriod(globalLimit)
+            .build());
+        window = new SlidingWindowCounter(windowSeconds);
+        
+        meterRegistry.gauge("analysis.admission.global.available", globalLimiter,
+            limiter -> limiter.getMetrics().getAvailablePermissions());
+        meterRegistry.gauge("analysis.admission.window.count", this, controller -> controller.windowCount());
+    }
+    
+    /**
+     * 분석 요청 허용 여부 판단 (허용 시 예산 차감)
+     */
+    public boolean admit(LogEntry logEntry) {
+        if (!enabled) {
+            return true;
+        }
+        
+        String serviceName = logEntry.getServiceName() != null ? logEntry.getServiceName() : "unknown";
+        boolean fatal = logEntry.getSeverity() == LogEntry.SeverityLevel.FATAL;
+        
+        String suppressedBy = tryAdmit(serviceName, fatal);
+        
+        meterRegistry.counter("analysis.admission.total",
+            "result", suppressedBy == null ? "admitted" : "suppressed",
+            "reason", suppressedBy == null ? "none" : suppressedBy,
+            "severity", logEntry.getSeverity().name()
+        ).increment();
+        
+        if (suppressedBy != null) {
+            log.debug("Analysis request suppressed: logId={}, service={}, reason={}",
+                logEntry.getId(), serviceName, suppressedBy);
+            return false;
+        }
+        return true;
+    }
+    
+    private String tryAdmit(String serviceName, boolean fatal) {
+        long now = System.currentTimeMillis();
+        long limit = fatal ? windowCap : (long) Math.floor(windowCap * (1 - fatalReserveRatio));
+        // FATAL 예비분은 ERROR 이하가 사용할 수 없다
+        int globalReserve = fatal ? 0 : (int) Math.ceil(globalLimit * fatalReserveRatio);
+        
+        // 확인과 차감을 한 번에 처리해야 앞 단계 예산만 쓰고 거절되는 일이 없다
+        synchronized (window) {
+            RateLimiter serviceLimiter = fatal ? null : serviceLimiters.computeIfAbsent(serviceName,
+                name -> RateLimiter.of("analysis-service-" + name, serviceConfig));
+            
+            if (serviceLimiter != null && serviceLimiter.getMetrics().getAvailablePermissions() <= 0) {
+                return "service_rate";
+            }
+            if (globalLimiter.getMetrics().getAvailablePermissions() <= globalReserve) {
+                return fatal ? "global_rate" : "global_reserved";
+            }
+            if (!window.tryAcquire(limit, now)) {
+                return "window_cap";
+            }
+            
+            globalLimiter.acquirePermission();
+            if (serviceLimiter != null) {
+                serviceLimiter.acquirePermission();
+            }
+        }
+        return null;
+    }
+    
+    private double windowCount() {
+        synchronized (window) {
+            return window.getCount(System.currentTimeMillis());
+        }
+    }
+}
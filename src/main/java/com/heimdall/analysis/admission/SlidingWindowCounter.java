@@ -0,0 +1,55 @@
+package com.heimdall.analysis.admission;
+
+/**
+ * 초 단위 슬롯 링 버퍼로 구현한 슬라이딩 윈도우 카운터
+ * 고정 주기로 초기화되는 토큰 버킷과 달리 주기 경계에서 허용량이 두 배로 몰리는 일이 없다.
+ * 
+ * 스레드 안전하지 않으므로 호출자가 동기화해야 한다.
+ */
+public class SlidingWindowCounter {
+    
+    private final long[] slots;
+    private long windowSum;
+    private long currentSecond = -1;
+    
+    public SlidingWindowCounter(int windowSeconds) {
+        this.slots = new long[Math.max(1, windowSeconds)];
+    }
+    
+    /**
+     * 윈도우 내 건수가 limit 미만이면 1 증가시키고 true 반환
+     */
+    public boolean tryAcquire(long limit, long nowMillis) {
+        advance(nowMillis);
+        if (windowSum >= limit) {
+            return false;
+        }
+        slots[(int) (currentSecond % slots.length)]++;
+        windowSum++;
+        return true;
+    }
+    
+    public long getCount(long nowMillis) {
+        advance(nowMillis);
+        return windowSum;
+    }
+    
+    private void advance(long nowMillis) {
+        long second = Math.floorDiv(nowMillis, 1000);
+        if (currentSecond < 0) {
+            currentSecond = second;
+            return;
+        }
+        if (second <= currentSecond) {
+            return;
+        }
+        
+        long steps = Math.min(second - currentSecond, slots.length);
+        for (long i = 1; i <= steps; i++) {
+            int index = (int) ((currentSecond + i) % slots.length);
+            windowSum -= slots[index];
+            slots[index] = 0;
+        }
+        currentSecond = second;
+    }
+}
@@ -0,0 +1,19 @@
+package com.heimdall.analysis.anomaly;
+
+/**
+ * 로그 한 건을 관측한 직후의 발생률 상태
+ */
+public enum AnomalySignal {
+    /** 기준선 범위 안 */
+    NONE,
+    /** 평소 조용한 서비스에서 윈도우의 첫 발생 (급증은 아님) */
+    ISOLATED,
+    /** 이번 로그로 급증이 시작됨 */
+    SPIKE_START,
+    /** 급증 상태가 이어지는 중 */
+    IN_SPIKE;
+    
+    public boolean isSpike() {
+        return this == SPIKE_START || this == IN_SPIKE;
+    }
+}
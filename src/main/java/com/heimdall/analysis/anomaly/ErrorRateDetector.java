@@ -0,0 +1,112 @@
+package com.heimdall.analysis.anomaly;
+
+import com.heimdall.entity.LogEntry;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 서비스별 에러/경고 발생률 급증 감지기
+ * 수집되는 로그마다 서비스별 슬라이딩 윈도우 건수와 기준선을 O(1)로 갱신하고,
+ * 윈도우 건수가 heimdall.analysis.threshold.* 이상이면서 기준선을 벗어나면 급증 신호를 낸다.
+ * 기준선이 quiet-floor 미만인 조용한 서비스는 윈도우의 첫 발생도 단발성 신호로 알린다.
+ * 인스턴스 로컬 상태이므로 수집 트래픽이 인스턴스에 고르게 분산된다는 가정에서 동작한다.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ErrorRateDetector {
+    
+    private final MeterRegistry meterRegistry;
+    
+    private final Map<String, ServiceRates> services = new ConcurrentHashMap<>();
+    
+    @Value("${heimdall.analysis.anomaly.enabled:true}")
+    private boolean enabled;
+    
+    @Value("${heimdall.analysis.threshold.error:1}")
+    private long errorThreshold;
+    
+    @Value("${heimdall.analysis.threshold.warn:10}")
+    private long warnThreshold;
+    
+    @Value("${heimdall.analysis.anomaly.window-seconds:60}")
+    private long windowSeconds;
+    
+    @Value("${heimdall.analysis.anomaly.ewma-alpha:0.1}")
+    private double alpha;
+    
+    @Value("${heimdall.analysis.anomaly.seasonal-alpha:0.02}")
+    private double seasonalAlpha;
+    
+    @Value("${heimdall.analysis.anomaly.sensitivity:3.0}")
+    private double sensitivity;
+    
+    @Value("${heimdall.analysis.anomaly.quiet-floor:1.0}")
+    private double quietFloor;
+    
+    @Value("${heimdall.analysis.anomaly.idle-eviction-minutes:60}")
+    private long idleEvictionMinutes;
+    
+    @PostConstruct
+    public void registerMetrics() {
+        meterRegistry.gaugeMapSize("analysis.anomaly.services", List.of(), services);
+    }
+    
+    public boolean isEnabled() {
+        return enabled;
+    }
+    
+    /**
+     * 로그 한 건을 관측하고 해당 심각도 계열(에러/경고)의 급증 신호 반환
+     * DEBUG/INFO는 추적하지 않는다.
+     */
+    public AnomalySignal observe(LogEntry logEntry) {
+        LogEntry.SeverityLevel severity = logEntry.getSeverity();
+        boolean error = severity == LogEntry.SeverityLevel.ERROR || severity == LogEntry.SeverityLevel.FATAL;
+        boolean warn = severity == LogEntry.SeverityLevel.WARN;
+        if (!enabled || (!error && !warn)) {
+            return AnomalySignal.NONE;
+        }
+        
+        String serviceName = logEntry.getServiceName() != null ? logEntry.getServiceName() : "unknown";
+        ServiceRates rates = services.computeIfAbsent(serviceName, k -> new ServiceRates());
+        long now = System.currentTimeMillis();
+        
+        AnomalySignal signal;
+        synchronized (rates) {
+            rates.lastSeenMillis = now;
+            signal = error ? rates.errors.record(now) : rates.warnings.record(now);
+        }
+        
+        if (signal == AnomalySignal.SPIKE_START) {
+            String rateClass = error ? "error" : "warn";
+            meterRegistry.counter("analysis.anomaly.spikes", "service", serviceName, "class", rateClass).increment();
+            log.warn("Log rate spike detected: service={}, class={}", serviceName, rateClass);
+        }
+        return signal;
+    }
+    
+    @Scheduled(fixedDelayString = "${heimdall.analysis.anomaly.eviction-interval-ms:300000}")
+    public void evictIdle() {
+        long idleBefore = System.currentTimeMillis() - idleEvictionMinutes * 60_000;
+        services.entrySet().removeIf(entry -> entry.getValue().lastSeenMillis < idleBefore);
+    }
+    
+    private final class ServiceRates {
+        
+        private final RateBaseline errors =
+            new RateBaseline(windowSeconds * 1000, errorThreshold, alpha, seasonalAlpha, sensitivity, quietFloor);
+        private final RateBaseline warnings =
+            new RateBaseline(windowSeconds * 1000, warnThreshold, alpha, seasonalAlpha, sensitivity, quietFloor);
+        private volatile long lastSeenMillis;
+    }
+}
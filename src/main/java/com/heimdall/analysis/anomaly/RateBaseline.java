@@ -0,0 +1,145 @@
+package com.heimdall.analysis.anomaly;
+
+/**
+ * 슬라이딩 윈도우 발생 건수와 EWMA/시간대별(seasonal) 기준선
+ * 윈도우를 SLOTS개의 슬롯으로 나눈 링 버퍼로 관리하며, 슬롯이 닫힐 때마다 윈도우 합계로 기준선을 갱신한다.
+ * 로그 한 건당 비용은 O(1)이다 (슬롯 회전은 건너뛴 슬롯 수만큼이며 최대 SLOTS회).
+ * 
+ * 스레드 안전하지 않으므로 호출자가 동기화해야 한다.
+ */
+public class RateBaseline {
+    
+    static final int SLOTS = 12;
+    
+    private static final long HOUR_MILLIS = 3_600_000L;
+    private static final int MIN_SEASONAL_SAMPLES = 30;
+    
+    private final long slotMillis;
+    private final long threshold;
+    private final double alpha;
+    private final double seasonalAlpha;
+    private final double sensitivity;
+    private final double quietFloor;
+    
+    private final long[] slots = new long[SLOTS];
+    private long windowSum;
+    private long currentSlot = -1;
+    
+    private double mean;
+    private double variance;
+    private final double[] seasonalMean = new double[24];
+    private final int[] seasonalSamples = new int[24];
+    
+    private boolean inSpike;
+    
+    /**
+     * @param windowMillis 슬라이딩 윈도우 길이
+     * @param threshold    급증으로 판단하기 위한 윈도우 내 최소 건수
+     * @param alpha        EWMA 가중치
+     * @param seasonalAlpha 시간대별 기준선 EWMA 가중치
+     * @param sensitivity  표준편차 배수
+     * @param quietFloor   기대 건수가 이보다 낮으면 조용한 상태로 보고 윈도우의 첫 발생을 알린다
+     */
+    public RateBaseline(long windowMillis, long threshold, double alpha, double seasonalAlpha, double sensitivity,
+                        double quietFloor) {
+        this.slotMillis = Math.max(1, windowMillis / SLOTS);
+        this.threshold = Math.max(1, threshold);
+        this.alpha = alpha;
+        this.seasonalAlpha = seasonalAlpha;
+        this.sensitivity = sensitivity;
+        this.quietFloor = quietFloor;
+    }
+    
+    public AnomalySignal record(long nowMillis) {
+        advance(nowMillis);
+        
+        slots[(int) (currentSlot % SLOTS)]++;
+        windowSum++;
+        
+        if (inSpike) {
+            return AnomalySignal.IN_SPIKE;
+        }
+        if (windowSum >= threshold && windowSum > upperBound(nowMillis)) {
+            inSpike = true;
+            return AnomalySignal.SPIKE_START;
+        }
+        // 급증 기준에 못 미치는 단발성 발생도 기준선이 없거나 바닥 수준이면 놓치지 않도록 알린다
+        if (windowSum == 1 && getExpected(nowMillis) < quietFloor) {
+            return AnomalySignal.ISOLATED;
+        }
+        return AnomalySignal.NONE;
+    }
+    
+    public boolean isInSpike() {
+        return inSpike;
+    }
+    
+    public long getWindowCount(long nowMillis) {
+        advance(nowMillis);
+        return windowSum;
+    }
+    
+    public double getExpected(long nowMillis) {
+        int hour = hourOfDay(nowMillis);
+        return seasonalSamples[hour] >= MIN_SEASONAL_SAMPLES ? Math.max(mean, seasonalMean[hour]) : mean;
+    }
+    
+    double upperBound(long nowMillis) {
+        // 분산이 0인 서비스(평소 에러 없음)도 최소 1건의 여유를 둔다
+        return getExpected(nowMillis) + sensitivity * Math.max(Math.sqrt(variance), 1.0);
+    }
+    
+    /**
+     * 현재 시각까지 슬롯을 회전시키며 닫힌 슬롯마다 기준선 갱신
+     */
+    private void advance(long nowMillis) {
+        long slot = Math.floorDiv(nowMillis, slotMillis);
+        if (currentSlot < 0) {
+            currentSlot = slot;
+            return;
+        }
+        if (slot <= currentSlot) {
+            return;
+        }
+        
+        long gap = slot - currentSlot;
+        long steps = Math.min(gap, SLOTS);
+        for (long i = 1; i <= steps; i++) {
+            closeSlot(nowMillis);
+            int index = (int) ((currentSlot + i) % SLOTS);
+            windowSum -= slots[index];
+            slots[index] = 0;
+        }
+        
+        // 윈도우 전체가 비어 있던 구간은 0 관측으로 한꺼번에 감쇠
+        if (gap > SLOTS) {
+            double decay = Math.pow(1 - alpha, gap - SLOTS);
+            mean *= decay;
+            variance *= decay;
+        }
+        
+        currentSlot = slot;
+        
+        if (inSpike && windowSum <= upperBound(nowMillis)) {
+            inSpike = false;
+        }
+    }
+    
+    private void closeSlot(long nowMillis) {
+        // 급증 중에는 기준선이 급증을 너무 빨리 흡수하지 않도록 가중치를 낮춘다
+        double a = inSpike ? alpha / 4 : alpha;
+        double diff = windowSum - mean;
+        mean += a * diff;
+        variance = (1 - a) * (variance + a * diff * diff);
+        
+        int hour = hourOfDay(nowMillis);
+        seasonalMean[hour] += seasonalAlpha * (windowSum - seasonalMean[hour]);
+        if (seasonalSamples[hour] < MIN_SEASONAL_SAMPLES) {
+            seasonalSamples[hour]++;
+        }
+    }
+    
+    private static int hourOfDay(long epochMillis) {
+        return (int) (Math.floorMod(epochMillis, 24 * HOUR_MILLIS) / HOUR_MILLIS);
+    }
+}
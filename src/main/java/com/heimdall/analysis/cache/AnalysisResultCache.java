@@ -0,0 +1,124 @@
+package com.heimdall.analysis.cache;
+
+import com.heimdall.repository.AnalysisResultRepository;
+import com.heimdall.util.DateTimeUtil;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * fingerprint별 최신 분석 결과 캐시
+ * 인스턴스 로컬 LRU 캐시를 먼저 조회하고, 없으면 analysis_results(fingerprint, analyzed_at) 인덱스로 조회한다.
+ * TTL 안의 결과가 있으면 같은 원인의 로그를 AI 분석 없이 바로 처리할 수 있다.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class AnalysisResultCache {
+    
+    private final AnalysisResultRepository analysisResultRepository;
+    private final MeterRegistry meterRegistry;
+    
+    private Map<String, CachedAnalysis> entries;
+    private DistributionSummary staleness;
+    
+    @Value("${heimdall.analysis.result-cache.enabled:true}")
+    private boolean enabled;
+    
+    @Value("${heimdall.analysis.result-cache.ttl-minutes:360}")
+    private long ttlMinutes;
+    
+    @Value("${heimdall.analysis.result-cache.max-entries:10000}")
+    private int maxEntries;
+    
+    @PostConstruct
+    public void init() {
+        entries = new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedAnalysis> eldest) {
+                return size() > maxEntries;
+            }
+        };
+        staleness = DistributionSummary.builder("analysis.result_cache.staleness")
+            .description("Age of cached analysis results at hit time")
+            .baseUnit("seconds")
+            .publishPercentiles(0.5, 0.95)
+            .register(meterRegistry);
+        meterRegistry.gauge("analysis.result_cache.size", this, cache -> cache.size());
+    }
+    
+    public boolean isEnabled() {
+        return enabled;
+    }
+    
+    /**
+     * TTL 안의 최신 분석 결과 조회
+     */
+    public Optional<CachedAnalysis> lookup(String fingerprint) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        
+        LocalDateTime now = DateTimeUtil.now();
+        LocalDateTime freshAfter = now.minusMinutes(ttlMinutes);
+        
+        CachedAnalysis cached;
+        synchronized (entries) {
+            cached = entries.get(fingerprint);
+            if (cached != null && cached.analyzedAt().isBefore(freshAfter)) {
+                entries.remove(fingerprint);
+                cached = null;
+            }
+        }
+        
+        String source = "memory";
+        if (cached == null) {
+            source = "db";
+            cached = analysisResultRepository
+                .findFirstByFingerprintAndAnalyzedAtAfterOrderByAnalyzedAtDesc(fingerprint, freshAfter)
+                .map(CachedAnalysis::from)
+                .orElse(null);
+            if (cached != null) {
+                put(fingerprint, cached);
+            }
+        }
+        
+        if (cached == null) {
+            meterRegistry.counter("analysis.result_cache.requests", "result", "miss", "source", "none").increment();
+            return Optional.empty();
+        }
+        
+        meterRegistry.counter("analysis.result_cache.requests", "result", "hit", "source", source).increment();
+        staleness.record(Math.max(0, Duration.between(cached.analyzedAt(), now).toSeconds()));
+        return Optional.of(cached);
+    }
+    
+    public void put(String fingerprint, CachedAnalysis analysis) {
+        if (!enabled || fingerprint == null) {
+            return;
+        }
+        synchronized (entries) {
+            CachedAnalysis existing = entries.get(fingerprint);
+            if (existing == null || !existing.analyzedAt().isAfter(analysis.analyzedAt())) {
+                entries.put(fingerprint, analysis);
+            }
+        }
+    }
+    
+    private double size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+}
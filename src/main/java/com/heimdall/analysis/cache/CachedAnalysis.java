@@ -0,0 +1,36 @@
+package com.heimdall.analysis.cache;
+
+import com.heimdall.entity.AnalysisResult;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * fingerprint 캐시에 보관하는 분석 결과 사본
+ */
+public record CachedAnalysis(
+    Long analysisId,
+    Long bifrostAnalysisId,
+    String summary,
+    String rootCause,
+    String recommendation,
+    String severity,
+    BigDecimal confidence,
+    String model,
+    LocalDateTime analyzedAt
+) {
+    
+    public static CachedAnalysis from(AnalysisResult result) {
+        return new CachedAnalysis(
+            result.getId(),
+            result.getBifrostAnalysisId(),
+            result.getSummary(),
+            result.getRootCause(),
+            result.getRecommendation(),
+            result.getSeverity(),
+            result.getConfidence(),
+            result.getModel(),
+            result.getAnalyzedAt()
+        );
+    }
+}
@@ -0,0 +1,156 @@
+package com.heimdall.analysis.coalesce;
+
+import com.heimdall.entity.LogEntry;
+import com.heimdall.repository.AnalysisCoalescingRepository;
+import com.heimdall.util.DateTimeUtil;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * 중복 분석 요청 병합기
+ * 같은 fingerprint의 로그는 윈도우마다 리더 한 건만 분석을 요청하고, 나머지는 follower로 기록해 두었다가
+ * 리더의 분석 결과가 도착하면 함께 반영한다. 그룹은 DB에 있으므로 결과를 받는 인스턴스가 달라도 된다.
+ * 리더 요청을 포기하면 follower 하나를 새 리더로 승격해 나머지 follower가 분석 없이 버려지지 않게 한다.
+ * 단, admission 거절이나 레인 포화처럼 그룹 전체에 똑같이 적용되는 거절이면 승격하지 않고 그룹째 버린다.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class AnalysisCoalescer {
+    
+    private final AnalysisCoalescingRepository coalescingRepository;
+    private final MeterRegistry meterRegistry;
+    
+    @Value("${heimdall.analysis.coalesce.enabled:true}")
+    private boolean enabled;
+    
+    @Value("${heimdall.analysis.coalesce.window-minutes:10}")
+    private long windowMinutes;
+    
+    @Value("${heimdall.analysis.coalesce.group-expiry-minutes:60}")
+    private long groupExpiryMinutes;
+    
+    /**
+     * 병합 그룹 참여
+     * 리더면 새 requestId로 분석을 요청해야 하고, follower면 요청하지 않는다.
+     */
+    public Membership join(LogEntry logEntry, String fingerprint) {
+        if (!enabled) {
+            return new Membership(UUID.randomUUID().toString(), true);
+        }
+        
+        LocalDateTime windowStart = windowStart(DateTimeUtil.now());
+        String requestId = UUID.randomUUID().toString();
+        
+        // 그룹 조회 직전에 리더 결과가 도착해 그룹이 닫힐 수 있으므로 한 번 더 시도
+        for (int attempt = 0; attempt < 2; attempt++) {
+            if (coalescingRepository.tryCreateGroup(requestId, fingerprint, windowStart, logEntry.getId())) {
+                meterRegistry.counter("analysis.coalesce.total", "role", "leader").increment();
+                return new Membership(requestId, true);
+            }
+            
+            // 조회 후 그룹이 닫히거나 리더가 승격되면 합류에 실패하므로 다시 시도
+            Optional<String> leaderRequestId = coalescingRepository.findRequestId(fingerprint, windowStart);
+            if (leaderRequestId.isPresent() && coalescingRepository.addFollower(leaderRequestId.get(), logEntry.getId())) {
+                meterRegistry.counter("analysis.coalesce.total", "role", "follower").increment();
+                log.debug("Coalesced analysis request: logId={}, leaderRequestId={}",
+                    logEntry.getId(), leaderRequestId.get());
+                return new Membership(leaderRequestId.get(), false);
+            }
+        }
+        
+        // 병합하지 못하면 단독 요청
+        return new Membership(requestId, true);
+    }
+    
+    /**
+     * 리더 요청을 보내지 못했거나 결과를 포기했을 때 호출
+     * follower가 있으면 하나를 새 requestId의 리더로 승격해 반환하고, 호출자는 그 로그로 분석을 다시 요청해야 한다.
+     * follower가 없으면 그룹을 닫아 이후 같은 fingerprint의 로그가 새로 분석을 요청할 수 있게 한다.
+     */
+    public Optional<Promotion> abandon(String requestId) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        
+        String promotedRequestId = UUID.randomUUID().toString();
+        Optional<Promotion> promotion = coalescingRepository.promoteFollower(requestId, promotedRequestId)
+            .map(logId -> new Promotion(promotedRequestId, logId));
+        
+        meterRegistry.counter("analysis.coalesce.abandoned",
+            "outcome", promotion.isPresent() ? "promoted" : "closed").increment();
+        promotion.ifPresent(promoted -> log.info("Coalesced follower promoted: abandonedRequestId={}, requestId={}, logId={}",
+            requestId, promoted.requestId(), promoted.logId()));
+        return promotion;
+    }
+    
+    /**
+     * follower를 승격하지 않고 그룹을 닫음 (follower도 분석하지 않는다)
+     * 승격해도 같은 이유로 거절될 때 follower마다 DB 왕복과 잠금을 반복하지 않도록 한 번에 정리한다.
+     */
+    public void drop(String requestId) {
+        if (!enabled) {
+            return;
+        }
+        int followers = coalescingRepository.dropGroup(requestId);
+        meterRegistry.counter("analysis.coalesce.abandoned", "outcome", "dropped").increment();
+        if (followers > 0) {
+            log.info("Coalesced group dropped without analysis: requestId={}, followers={}", requestId, followers);
+        }
+    }
+    
+    /**
+     * 리더 결과 도착 시 그룹을 닫고 follower logId 반환
+     */
+    public List<Long> complete(String requestId) {
+        if (!enabled || requestId == null) {
+            return List.of();
+        }
+        return coalescingRepository.completeGroup(requestId);
+    }
+    
+    /**
+     * 배치로 도착한 리더 결과들의 그룹을 한 번에 닫고 requestId별 follower logId 반환
+     */
+    public Map<String, List<Long>> completeAll(List<String> requestIds) {
+        if (!enabled || requestIds.isEmpty()) {
+            return Map.of();
+        }
+        return coalescingRepository.completeGroups(requestIds);
+    }
+    
+    @Scheduled(fixedDelayString = "${heimdall.analysis.coalesce.cleanup-interval-ms:300000}")
+    public void cleanupExpired() {
+        if (!enabled) {
+            return;
+        }
+        int deleted = coalescingRepository.deleteExpired(DateTimeUtil.now().minusMinutes(groupExpiryMinutes));
+        if (deleted > 0) {
+            meterRegistry.counter("analysis.coalesce.expired").increment(deleted);
+            log.warn("Expired {} analysis coalescing groups without result", deleted);
+        }
+    }
+    
+    private LocalDateTime windowStart(LocalDateTime now) {
+        long windowSeconds = windowMinutes * 60;
+        long epochSeconds = now.toEpochSecond(ZoneOffset.UTC);
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(epochSeconds, windowSeconds) * windowSeconds, 0, ZoneOffset.UTC);
+    }
+    
+    public record Membership(String requestId, boolean leader) {
+    }
+    
+    public record Promotion(String requestId, Long logId) {
+    }
+}
@@ -0,0 +1,22 @@
+package com.heimdall.analysis.dispatch;
+
+/**
+ * 분석 요청 우선순위 레인 (AnalysisRequestEvent.priority 값과 동일)
+ */
+public enum AnalysisLane {
+    CRITICAL,
+    HIGH,
+    MEDIUM,
+    LOW;
+    
+    public static AnalysisLane of(String priority) {
+        if (priority == null) {
+            return LOW;
+        }
+        try {
+            return valueOf(priority);
+        } catch (IllegalArgumentException e) {
+            return LOW;
+        }
+    }
+}
@@ -0,0 +1,292 @@
+package com.heimdall.analysis.dispatch;
+
+import com.heimdall.kafka.event.AnalysisRequestEvent;
+import com.heimdall.kafka.producer.KafkaProducerService;
+import io.github.resilience4j.ratelimiter.RateLimiter;
+import io.github.resilience4j.ratelimiter.RateLimiterConfig;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 우선순위 레인별 AI 분석 요청 디스패처
+ * 요청은 레인별 bounded 큐에 쌓이고, 전용 스레드가 가중치 기반 공정 스케줄링으로 꺼내
+ * 레인별 토픽(analysis.request.critical 등)에 발행한다.
+ * 레인마다 초당 발행 상한을 두어 하위 레인의 폭주가 상위 레인의 발행 기회를 잠식하지 못한다.
+ * 
+ * 큐는 인스턴스 로컬이므로 종료 시 남은 요청은 즉시 발행하고 정리한다.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class AnalysisRequestDispatcher {
+    
+    private static final AnalysisLane[] LANES = AnalysisLane.values();
+    private static final long IDLE_WAIT_MS = 50;
+    
+    private final KafkaProducerService kafkaProducerService;
+    private final MeterRegistry meterRegistry;
+    
+    private final Map<AnalysisLane, ArrayBlockingQueue<Pending>> queues = new EnumMap<>(AnalysisLane.class);
+    private final Map<AnalysisLane, RateLimiter> rateLimiters = new EnumMap<>(AnalysisLane.class);
+    private final Map<AnalysisLane, Timer> waitTimers = new EnumMap<>(AnalysisLane.class);
+    private final Object signal = new Object();
+    
+    private WeightedLaneScheduler scheduler;
+    private Thread dispatcherThread;
+    private volatile boolean running;
+    
+    @Value("${heimdall.analysis.dispatch.enabled:false}")
+    private boolean enabled;
+    
+    @Value("${heimdall.analysis.dispatch.lane-capacity:1000}")
+    private int laneCapacity;
+    
+    @Value("${heimdall.analysis.dispatch.weights.critical:8}")
+    private int criticalWeight;
+    
+    @Value("${heimdall.analysis.dispatch.weights.high:4}")
+    private int highWeight;
+    
+    @Value("${heimdall.analysis.dispatch.weights.medium:2}")
+    private int mediumWeight;
+    
+    @Value("${heimdall.analysis.dispatch.weights.low:1}")
+    private int lowWeight;
+    
+    @Value("${heimdall.analysis.dispatch.rate-per-second.critical:0}")
+    private int criticalRate;
+    
+    @Value("${heimdall.analysis.dispatch.rate-per-second.high:20}")
+    private int highRate;
+    
+    @Value("${heimdall.analysis.dispatch.rate-per-second.medium:10}")
+    private int mediumRate;
+    
+    @Value("${heimdall.analysis.dispatch.rate-per-second.low:5}")
+    private int lowRate;
+    
+    @Value("${kafka.topics.analysis-request}")
+    private String analysisRequestTopic;
+    
+    @Value("${kafka.topics.analysis-request-critical}")
+    private String criticalTopic;
+    
+    @Value("${kafka.topics.analysis-request-high}")
+    private String highTopic;
+    
+    @Value("${kafka.topics.analysis-request-medium}")
+    private String mediumTopic;
+    
+    @Value("${kafka.topics.analysis-request-low}")
+    private String lowTopic;
+    
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        
+        scheduler = new WeightedLaneScheduler(new int[] {
+            Math.max(1, criticalWeight), Math.max(1, highWeight), Math.max(1, mediumWeight), Math.max(1, lowWeight)
+        });
+        int[] rates = {criticalRate, highRate, mediumRate, lowRate};
+        
+        for (AnalysisLane lane : LANES) {
+            ArrayBlockingQueue<Pending> queue = new ArrayBlockingQueue<>(laneCapacity);
+            queues.put(lane, queue);
+            
+            // 0 이하면 레인 발행 상한 없음
+            int rate = rates[lane.ordinal()];
+            if (rate > 0) {
+                rateLimiters.put(lane, RateLimiter.of("analysis-lane-" + lane.name().toLowerCase(),
+                    RateLimiterConfig.custom()
+                        .limitForPeriod(rate)
+                        .limitRefreshPeriod(Duration.ofSeconds(1))
+                        .timeoutDuration(Duration.ZERO)
+                        .build()));
+            }
+            
+            meterRegistry.gauge("analysis.dispatch.queue.depth", Tags.of("lane", lane.name()),
+                queue, ArrayBlockingQueue::size);
+            waitTimers.put(lane, Timer.builder("analysis.dispatch.wait")
+                .tag("lane", lane.name())
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry));
+        }
+        
+        running = true;
+        dispatcherThread = new Thread(this::dispatchLoop, "analysis-dispatcher");
+        dispatcherThread.setDaemon(true);
+        dispatcherThread.start();
+        
+        log.info("Analysis request dispatcher started: laneCapacity={}, weights={}/{}/{}/{}",
+            laneCapacity, criticalWeight, highWeight, mediumWeight, lowWeight);
+    }
+    
+    @PreDestroy
+    public void stop() {
+        if (!running) {
+            return;
+        }
+        
+        running = false;
+        synchronized (signal) {
+            signal.notifyAll();
+        }
+        try {
+            dispatcherThread.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        
+        // 남은 요청은 레인 상한 없이 우선순위 순으로 발행
+        int drained = 0;
+        for (AnalysisLane lane : LANES) {
+            Pending pending;
+            while ((pending = queues.get(lane).poll()) != null) {
+                send(lane, pending);
+                drained++;
+            }
+        }
+        log.info("Analysis request dispatcher stopped: drained={}", drained);
+    }
+    
+    /**
+     * 분석 요청을 우선순위 레인에 적재 (레인이 가득 차면 false)
+     */
+    public boolean dispatch(AnalysisRequestEvent event) {
+        return !submit(event).isCompletedExceptionally();
+    }
+    
+    /**
+     * 분석 요청을 우선순위 레인에 적재하고, Kafka 발행이 확인되면 완료되는 future 반환
+     * 레인이 가득 차면 RejectedExecutionException으로 즉시 실패한다.
+     * 디스패처를 끄면 기존 단일 토픽으로 즉시 발행한다.
+     */
+    public CompletableFuture<Void> submit(AnalysisRequestEvent event) {
+        AnalysisLane lane = AnalysisLane.of(event.getPriority());
+        
+        if (!running) {
+            return kafkaProducerService.sendAnalysisRequest(event, enabled ? topicOf(lane) : analysisRequestTopic)
+                .thenApply(result -> null);
+        }
+        
+        CompletableFuture<Void> completion = new CompletableFuture<>();
+        if (!queues.get(lane).offer(new Pending(event, System.nanoTime(), completion))) {
+            meterRegistry.counter("analysis.dispatch.rejected", "lane", lane.name()).increment();
+            log.warn("Analysis lane full, request rejected: lane={}, requestId={}", lane, event.getRequestId());
+            return CompletableFuture.failedFuture(new RejectedExecutionException("Analysis lane full: " + lane));
+        }
+        
+        synchronized (signal) {
+            signal.notifyAll();
+        }
+        return completion;
+    }
+    
+    /**
+     * 해당 우선순위 레인이 절반 이상 차 있는지 여부 (디스패처를 끄면 항상 false)
+     * 재요청처럼 미뤄도 되는 요청이 밀린 레인에 부하를 더하지 않도록 확인하는 용도
+     */
+    public boolean isSaturated(String priority) {
+        if (!running) {
+            return false;
+        }
+        return queues.get(AnalysisLane.of(priority)).size() * 2 >= laneCapacity;
+    }
+    
+    private void dispatchLoop() {
+        boolean[] eligible = new boolean[LANES.length];
+        
+        while (running) {
+            try {
+                AnalysisLane lane = nextLane(eligible);
+                if (lane == null) {
+                    synchronized (signal) {
+                        signal.wait(IDLE_WAIT_MS);
+                    }
+                    continue;
+                }
+                
+                Pending pending = queues.get(lane).poll();
+                if (pending != null) {
+                    send(lane, pending);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.error("Analysis dispatch failed", e);
+            }
+        }
+    }
+    
+    /**
+     * 대기 요청이 있고 발행 상한이 남은 레인 중 다음 레인 선택 (없으면 null)
+     * 상한에 걸린 레인은 미리 제외해 스케줄러를 한 번만 호출한다 (다시 고르면 가중치가 중복 누적된다).
+     */
+    private AnalysisLane nextLane(boolean[] eligible) {
+        for (AnalysisLane lane : LANES) {
+            RateLimiter limiter = rateLimiters.get(lane);
+            eligible[lane.ordinal()] = !queues.get(lane).isEmpty()
+                && (limiter == null || limiter.getMetrics().getAvailablePermissions() > 0);
+        }
+        
+        int index = scheduler.next(eligible);
+        if (index < 0) {
+            return null;
+        }
+        
+        // 발행 상한은 이 스레드만 차감하므로 확인한 permit은 그대로 남아 있다
+        AnalysisLane lane = LANES[index];
+        RateLimiter limiter = rateLimiters.get(lane);
+        return limiter == null || limiter.acquirePermission() ? lane : null;
+    }
+    
+    private void send(AnalysisLane lane, Pending pending) {
+        waitTimers.get(lane).record(System.nanoTime() - pending.enqueuedNanos(), TimeUnit.NANOSECONDS);
+        
+        try {
+            kafkaProducerService.sendAnalysisRequest(pending.event(), topicOf(lane))
+                .whenComplete((result, ex) -> {
+                    if (ex == null) {
+                        pending.completion().complete(null);
+                    } else {
+                        pending.completion().completeExceptionally(ex);
+                    }
+                });
+        } catch (Exception e) {
+            pending.completion().completeExceptionally(e);
+            throw e;
+        }
+        
+        meterRegistry.counter("analysis.dispatch.sent", "lane", lane.name()).increment();
+    }
+    
+    private String topicOf(AnalysisLane lane) {
+        return switch (lane) {
+            case CRITICAL -> criticalTopic;
+            case HIGH -> highTopic;
+            case MEDIUM -> mediumTopic;
+            case LOW -> lowTopic;
+        };
+    }
+    
+    private record Pending(AnalysisRequestEvent event, long enqueuedNanos, CompletableFuture<Void> completion) {
+    }
+}
@@ -0,0 +1,45 @@
+package com.heimdall.analysis.dispatch;
+
+/**
+ * Smooth weighted round-robin 레인 선택기
+ * 대기 중인 레인마다 가중치만큼 점수를 쌓고 가장 점수가 높은 레인을 고른 뒤 전체 가중치만큼 차감한다.
+ * 모든 레인이 밀려 있어도 각 레인은 가중치 비율로 고르게 섞여 선택되므로 낮은 레인도 굶지 않는다.
+ * 
+ * 스레드 안전하지 않으므로 호출자가 동기화해야 한다.
+ */
+public class WeightedLaneScheduler {
+    
+    private final int[] weights;
+    private final long[] current;
+    
+    public WeightedLaneScheduler(int[] weights) {
+        this.weights = weights.clone();
+        this.current = new long[weights.length];
+    }
+    
+    /**
+     * 선택 가능한 레인 중 다음 레인의 인덱스 (없으면 -1)
+     */
+    public int next(boolean[] eligible) {
+        int selected = -1;
+        long total = 0;
+        
+        for (int i = 0; i < weights.length; i++) {
+            if (!eligible[i]) {
+                // 비어 있던 레인이 점수를 쌓아 두었다가 몰아서 선택되지 않도록 초기화
+                current[i] = 0;
+                continue;
+            }
+            current[i] += weights[i];
+            total += weights[i];
+            if (selected < 0 || current[i] > current[selected]) {
+                selected = i;
+            }
+        }
+        
+        if (selected >= 0) {
+            current[selected] -= total;
+        }
+        return selected;
+    }
+}
@@ -0,0 +1,81 @@
+package com.heimdall.analysis.inflight;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * 해시드 휠 타이머 (데드라인 만료 감지용)
+ * 데드라인을 tick 단위로 올림하여 휠의 버킷에 넣고, 휠을 한 바퀴 이상 넘는 항목은 남은 바퀴 수를 함께 기록한다.
+ * 등록/만료가 O(1)이므로 수만 건의 요청 데드라인을 정렬 없이 관리할 수 있다.
+ * 취소는 지원하지 않으며, 호출자가 만료된 항목이 아직 유효한지 확인한다.
+ * 
+ * 스레드 안전하지 않으므로 호출자가 동기화해야 한다.
+ */
+public class DeadlineWheel<T> {
+    
+    private final long tickMillis;
+    private final List<List<Slot<T>>> buckets;
+    private long currentTick;
+    private int size;
+    
+    public DeadlineWheel(int wheelSize, long tickMillis, long startMillis) {
+        if (wheelSize <= 0 || tickMillis <= 0) {
+            throw new IllegalArgumentException("wheelSize and tickMillis must be positive");
+        }
+        this.tickMillis = tickMillis;
+        this.buckets = new ArrayList<>(wheelSize);
+        for (int i = 0; i < wheelSize; i++) {
+            buckets.add(new ArrayList<>());
+        }
+        this.currentTick = startMillis / tickMillis;
+    }
+    
+    /**
+     * deadlineMillis 이후 처음 도는 tick에서 만료되도록 등록 (이미 지난 데드라인은 다음 tick)
+     */
+    public void schedule(T item, long deadlineMillis) {
+        long targetTick = Math.max(Math.floorDiv(deadlineMillis + tickMillis - 1, tickMillis), currentTick + 1);
+        long rounds = (targetTick - currentTick - 1) / buckets.size();
+        buckets.get((int) (targetTick % buckets.size())).add(new Slot<>(item, rounds));
+        size++;
+    }
+    
+    /**
+     * nowMillis까지 휠을 돌리고 만료된 항목 반환
+     */
+    public List<T> advance(long nowMillis) {
+        List<T> expired = new ArrayList<>();
+        long targetTick = nowMillis / tickMillis;
+        
+        while (currentTick < targetTick) {
+            currentTick++;
+            Iterator<Slot<T>> iterator = buckets.get((int) (currentTick % buckets.size())).iterator();
+            while (iterator.hasNext()) {
+                Slot<T> slot = iterator.next();
+                if (slot.rounds == 0) {
+                    expired.add(slot.item);
+                    iterator.remove();
+                    size--;
+                } else {
+                    slot.rounds--;
+                }
+            }
+        }
+        return expired;
+    }
+    
+    public int size() {
+        return size;
+    }
+    
+    private static final class Slot<T> {
+        private final T item;
+        private long rounds;
+        
+        private Slot(T item, long rounds) {
+            this.item = item;
+            this.rounds = rounds;
+        }
+    }
+}
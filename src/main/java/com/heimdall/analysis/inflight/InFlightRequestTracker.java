@@ -0,0 +1,473 @@
+package com.heimdall.analysis.inflight;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.heimdall.analysis.coalesce.AnalysisCoalescer;
+import com.heimdall.analysis.dispatch.AnalysisRequestDispatcher;
+import com.heimdall.entity.LogEntry;
+import com.heimdall.kafka.event.AnalysisRequestEvent;
+import com.heimdall.repository.AnalysisInFlightRepository;
+import com.heimdall.repository.AnalysisInFlightRepository.InFlightRow;
+import com.heimdall.repository.LogEntryRepository;
+import com.heimdall.util.DateTimeUtil;
+import io.github.resilience4j.ratelimiter.RateLimiter;
+import io.github.resilience4j.ratelimiter.RateLimiterConfig;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 결과 대기 중인 AI 분석 요청 추적기
+ * 요청을 보낸 시점부터 결과가 저장될 때까지를 requestId별로 추적하여 우선순위별 실제 응답 지연을 기록하고,
+ * 데드라인(해시드 휠)까지 결과가 없으면 지수 백오프로 재요청하다가 한도를 넘으면 포기한다.
+ * 
+ * 추적 테이블은 인스턴스 메모리에 두고 변경된 요청만 주기적으로 DB에 기록하며, 소유는 인스턴스 heartbeat로 유지한다.
+ * 결과는 어느 인스턴스에서든 처리될 수 있으므로 데드라인 만료 시 analysis_results를 확인한 뒤 재요청하고,
+ * heartbeat가 끊긴 다른 인스턴스의 요청은 인계받는다.
+ * 
+ * 재요청은 분당 예산 안에서만 보내고, 레인이 밀려 있거나 적재가 거절되면 시도 횟수를 쓰지 않고 다음 데드라인으로 미룬다
+ * (적체 중에 재요청이 AI 부하를 배로 늘리지 않도록).
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class InFlightRequestTracker {
+    
+    private final AnalysisRequestDispatcher analysisRequestDispatcher;
+    private final AnalysisInFlightRepository inFlightRepository;
+    private final AnalysisCoalescer analysisCoalescer;
+    private final LogEntryRepository logEntryRepository;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    
+    private final Map<String, InFlightRequest> inFlight = new HashMap<>();
+    private final Set<String> dirty = new HashSet<>();
+    private final Set<String> removedSinceFlush = new HashSet<>();
+    private final Map<String, Timer> latencyTimers = new HashMap<>();
+    private DeadlineWheel<Ticket> wheel;
+    private RateLimiter retryBudget;
+    private String owner;
+    
+    @Value("${heimdall.analysis.inflight.enabled:true}")
+    private boolean enabled;
+    
+    @Value("${heimdall.analysis.inflight.timeout-seconds:120}")
+    private long timeoutSeconds;
+    
+    @Value("${heimdall.analysis.inflight.max-attempts:3}")
+    private int maxAttempts;
+    
+    @Value("${heimdall.analysis.inflight.backoff-multiplier:2.0}")
+    private double backoffMultiplier;
+    
+    @Value("${heimdall.analysis.inflight.max-retries-per-minute:60}")
+    private int maxRetriesPerMinute;
+    
+    @Value("${heimdall.analysis.inflight.max-entries:50000}")
+    private int maxEntries;
+    
+    @Value("${heimdall.analysis.inflight.tick-ms:1000}")
+    private long tickMillis;
+    
+    @Value("${heimdall.analysis.inflight.wheel-size:512}")
+    private int wheelSize;
+    
+    @Value("${heimdall.analysis.inflight.persist-interval-ms:10000}")
+    private long persistIntervalMillis;
+    
+    @Value("${heimdall.analysis.inflight.owner:${HOSTNAME:}}")
+    private String configuredOwner;
+    
+    @PostConstruct
+    public void init() {
+        wheel = new DeadlineWheel<>(wheelSize, tickMillis, System.currentTimeMillis());
+        owner = configuredOwner == null || configuredOwner.isBlank() ? UUID.randomUUID().toString() : configuredOwner;
+        retryBudget = RateLimiter.of("analysis-inflight-retry", RateLimiterConfig.custom()
+            .limitForPeriod(Math.max(1, maxRetriesPerMinute))
+            .limitRefreshPeriod(Duration.ofMinutes(1))
+            .timeoutDuration(Duration.ZERO)
+            .build());
+        
+        meterRegistry.gauge("analysis.inflight.size", this, tracker -> tracker.size());
+    }
+    
+    /**
+     * 분석 요청 발행 후 추적 시작
+     */
+    public void register(AnalysisRequestEvent event) {
+        if (!enabled) {
+            return;
+        }
+        
+        long now = System.currentTimeMillis();
+        synchronized (this) {
+            if (inFlight.size() >= maxEntries) {
+                meterRegistry.counter("analysis.inflight.overflow").increment();
+                return;
+            }
+            InFlightRequest request = new InFlightRequest(event, now, 1, now + timeoutMillis(1));
+            inFlight.put(event.getRequestId(), request);
+            dirty.add(event.getRequestId());
+            wheel.schedule(new Ticket(event.getRequestId(), 1), request.deadlineMillis());
+        }
+    }
+    
+    /**
+     * 분석 결과 저장 시 추적 종료 및 요청-결과 지연 기록
+     * 다른 인스턴스가 보낸 요청이면 DB에 기록된 요청 시각을 사용한다.
+     */
+    public void completeAll(List<String> requestIds) {
+        if (!enabled || requestIds.isEmpty()) {
+            return;
+        }
+        
+        long now = System.currentTimeMillis();
+        Set<String> local = new HashSet<>();
+        synchronized (this) {
+            for (String requestId : requestIds) {
+                InFlightRequest request = inFlight.remove(requestId);
+                if (request != null) {
+                    local.add(requestId);
+                    dirty.remove(requestId);
+                    // 직전 스냅샷이 행을 다시 기록했을 수 있으므로 다음 flush에서도 삭제
+                    removedSinceFlush.add(requestId);
+                    recordLatency(request.event().getPriority(), now - request.requestedAtMillis(), request.attempt(), "local");
+                }
+            }
+        }
+        
+        Set<String> resolved = new HashSet<>(local);
+        for (InFlightRow row : inFlightRepository.deleteAll(requestIds)) {
+            if (resolved.add(row.requestId())) {
+                recordLatency(row.priority(), now - toMillis(row.requestedAt()), row.attempts(), "persisted");
+            }
+        }
+        
+        int untracked = requestIds.size() - resolved.size();
+        if (untracked > 0) {
+            meterRegistry.counter("analysis.inflight.completed", "source", "untracked").increment(untracked);
+        }
+    }
+    
+    /**
+     * 데드라인이 지난 요청 재요청 또는 포기
+     */
+    @Scheduled(fixedDelayString = "${heimdall.analysis.inflight.tick-ms:1000}")
+    public void tick() {
+        if (!enabled) {
+            return;
+        }
+        
+        List<InFlightRequest> due = new ArrayList<>();
+        synchronized (this) {
+            for (Ticket ticket : wheel.advance(System.currentTimeMillis())) {
+                InFlightRequest request = inFlight.get(ticket.requestId());
+                // 그 사이 완료되었거나 재요청되어 데드라인이 바뀐 티켓은 무시
+                if (request != null && request.attempt() == ticket.attempt()) {
+                    due.add(request);
+                }
+            }
+        }
+        if (due.isEmpty()) {
+            return;
+        }
+        
+        Set<String> completedElsewhere = new HashSet<>(inFlightRepository.findCompleted(
+            due.stream().map(request -> request.event().getRequestId()).toList()
+        ));
+        
+        for (InFlightRequest request : due) {
+            String requestId = request.event().getRequestId();
+            if (completedElsewhere.contains(requestId)) {
+                remove(requestId);
+            } else if (request.attempt() < maxAttempts) {
+                retry(request);
+            } else {
+                giveUp(request);
+            }
+        }
+    }
+    
+    /**
+     * 변경된 요청 DB 기록, heartbeat 갱신 및 heartbeat가 끊긴 요청 인계
+     */
+    @Scheduled(fixedDelayString = "${heimdall.analysis.inflight.persist-interval-ms:10000}")
+    public void persist() {
+        if (!enabled) {
+            return;
+        }
+        
+        List<InFlightRow> changed;
+        List<String> removed;
+        synchronized (this) {
+            changed = new ArrayList<>(dirty.size());
+            for (String requestId : dirty) {
+                InFlightRequest request = inFlight.get(requestId);
+                if (request != null) {
+                    changed.add(toRow(request));
+                }
+            }
+            dirty.clear();
+            removed = new ArrayList<>(removedSinceFlush);
+            removedSinceFlush.clear();
+        }
+        
+        try {
+            LocalDateTime now = DateTimeUtil.now();
+            LocalDateTime staleBefore = now.minus(Duration.ofMillis(persistIntervalMillis * 3));
+            // 새로 기록한 행이 곧바로 인계 대상이 되지 않도록 heartbeat를 먼저 갱신
+            inFlightRepository.heartbeat(owner, now, staleBefore);
+            if (!changed.isEmpty()) {
+                inFlightRepository.upsertAll(changed, owner, now);
+            }
+            if (!removed.isEmpty()) {
+                inFlightRepository.deleteAll(removed);
+            }
+            
+            List<InFlightRow> claimed = inFlightRepository.claimStale(owner, now, staleBefore, maxEntries / 10);
+            for (InFlightRow row : claimed) {
+                adopt(row);
+            }
+            if (!claimed.isEmpty()) {
+                log.info("Claimed stale in-flight analysis requests: count={}", claimed.size());
+            }
+        } catch (Exception e) {
+            // 기록하지 못한 변경은 다음 주기에 다시 기록
+            synchronized (this) {
+                for (InFlightRow row : changed) {
+                    if (inFlight.containsKey(row.requestId())) {
+                        dirty.add(row.requestId());
+                    }
+                }
+                removedSinceFlush.addAll(removed);
+            }
+            log.error("Failed to persist in-flight analysis requests: changed={}, removed={}",
+                changed.size(), removed.size(), e);
+        }
+    }
+    
+    public synchronized int size() {
+        return inFlight.size();
+    }
+    
+    private void retry(InFlightRequest request) {
+        AnalysisRequestEvent event = request.event();
+        String requestId = event.getRequestId();
+        
+        if (analysisRequestDispatcher.isSaturated(event.getPriority())) {
+            defer(request, "lane_saturated");
+            return;
+        }
+        if (!retryBudget.acquirePermission()) {
+            defer(request, "retry_budget");
+            return;
+        }
+        synchronized (this) {
+            // 재요청 직전에 결과가 도착했으면 건너뛴다
+            if (inFlight.get(requestId) != request) {
+                return;
+            }
+        }
+        if (!analysisRequestDispatcher.dispatch(event)) {
+            defer(request, "lane_full");
+            return;
+        }
+        
+        int attempt = request.attempt() + 1;
+        InFlightRequest retried = new InFlightRequest(
+            event, request.requestedAtMillis(), attempt, System.currentTimeMillis() + timeoutMillis(attempt)
+        );
+        synchronized (this) {
+            if (inFlight.replace(requestId, request, retried)) {
+                dirty.add(requestId);
+                wheel.schedule(new Ticket(requestId, attempt), retried.deadlineMillis());
+            }
+        }
+        
+        meterRegistry.counter("analysis.inflight.retried", "priority", event.getPriority()).increment();
+        log.warn("Analysis result overdue, re-requested: requestId={}, logId={}, attempt={}",
+            requestId, event.getLogId(), attempt);
+    }
+    
+    /**
+     * 재요청을 보내지 않고 같은 시도 횟수로 데드라인만 연장
+     */
+    private void defer(InFlightRequest request, String reason) {
+        String requestId = request.event().getRequestId();
+        InFlightRequest deferred = new InFlightRequest(request.event(), request.requestedAtMillis(),
+            request.attempt(), System.currentTimeMillis() + timeoutMillis(request.attempt()));
+        
+        synchronized (this) {
+            if (!inFlight.replace(requestId, request, deferred)) {
+                return;
+            }
+            dirty.add(requestId);
+            wheel.schedule(new Ticket(requestId, deferred.attempt()), deferred.deadlineMillis());
+        }
+        
+        meterRegistry.counter("analysis.inflight.retry_deferred",
+            "priority", request.event().getPriority(), "reason", reason).increment();
+        log.debug("Analysis re-request deferred: requestId={}, attempt={}, reason={}",
+            requestId, request.attempt(), reason);
+    }
+    
+    private void giveUp(InFlightRequest request) {
+        String requestId = request.event().getRequestId();
+        if (!remove(requestId)) {
+            return;
+        }
+        
+        meterRegistry.counter("analysis.inflight.expired", "priority", request.event().getPriority()).increment();
+        log.error("Analysis result not received, giving up: requestId={}, logId={}, attempts={}",
+            requestId, request.event().getLogId(), request.attempt());
+        
+        // 병합 그룹의 follower가 있으면 하나를 새 리더로 승격해 다시 요청하고, 없으면 그룹을 닫는다
+        // 레인이 포화되어 거절되었으면 다음 follower도 거절되므로 그룹째 버린다
+        Optional<AnalysisCoalescer.Promotion> promotion;
+        while ((promotion = analysisCoalescer.abandon(requestId)).isPresent()) {
+            requestId = promotion.get().requestId();
+            Optional<LogEntry> leader = logEntryRepository.findById(promotion.get().logId());
+            if (leader.isPresent() && requestPromoted(request.event(), leader.get(), requestId)) {
+                return;
+            }
+            if (analysisRequestDispatcher.isSaturated(request.event().getPriority())) {
+                analysisCoalescer.drop(requestId);
+                return;
+            }
+        }
+    }
+    
+    /**
+     * 승격된 follower로 분석 재요청 (발행 확인 후 추적 시작)
+     * 같은 fingerprint 그룹이므로 포기한 요청의 우선순위와 분석 유형을 그대로 쓴다.
+     */
+    private boolean requestPromoted(AnalysisRequestEvent abandoned, LogEntry leader, String requestId) {
+        AnalysisRequestEvent event = AnalysisRequestEvent.builder()
+            .requestId(requestId)
+            .timestamp(DateTimeUtil.now())
+            .logId(leader.getId())
+            .logContent(leader.getLogContent())
+            .serviceName(leader.getServiceName())
+            .environment(leader.getEnvironment())
+            .analysisType(abandoned.getAnalysisType())
+            .priority(abandoned.getPriority())
+            .callbackTopic(abandoned.getCallbackTopic())
+            .correlationId(leader.getEventId())
+            .build();
+        
+        try {
+            CompletableFuture<Void> sent = analysisRequestDispatcher.submit(event);
+            if (sent.isCompletedExceptionally()) {
+                return false;
+            }
+            sent.thenRun(() -> register(event));
+            return true;
+        } catch (Exception e) {
+            log.error("Failed to request analysis for promoted follower: requestId={}, logId={}",
+                requestId, leader.getId(), e);
+            return false;
+        }
+    }
+    
+    private synchronized boolean remove(String requestId) {
+        if (inFlight.remove(requestId) == null) {
+            return false;
+        }
+        dirty.remove(requestId);
+        removedSinceFlush.add(requestId);
+        return true;
+    }
+    
+    private void adopt(InFlightRow row) {
+        try {
+            AnalysisRequestEvent event = objectMapper.readValue(row.payload(), AnalysisRequestEvent.class);
+            InFlightRequest request = new InFlightRequest(
+                event, toMillis(row.requestedAt()), row.attempts(), toMillis(row.deadlineAt())
+            );
+            
+            synchronized (this) {
+                if (inFlight.putIfAbsent(event.getRequestId(), request) == null) {
+                    wheel.schedule(new Ticket(event.getRequestId(), request.attempt()), request.deadlineMillis());
+                }
+            }
+        } catch (Exception e) {
+            log.error("Failed to restore in-flight analysis request: requestId={}", row.requestId(), e);
+        }
+    }
+    
+    private InFlightRow toRow(InFlightRequest request) {
+        AnalysisRequestEvent event = request.event();
+        String payload;
+        try {
+            payload = objectMapper.writeValueAsString(event);
+        } catch (Exception e) {
+            throw new IllegalStateException("Failed to serialize analysis request: " + event.getRequestId(), e);
+        }
+        return new InFlightRow(
+            event.getRequestId(),
+            event.getLogId(),
+            event.getPriority(),
+            request.attempt(),
+            payload,
+            toDateTime(request.requestedAtMillis()),
+            toDateTime(request.deadlineMillis())
+        );
+    }
+    
+    private void recordLatency(String priority, long latencyMillis, int attempts, String source) {
+        String lane = priority != null ? priority : "UNKNOWN";
+        Timer timer;
+        synchronized (latencyTimers) {
+            timer = latencyTimers.computeIfAbsent(lane, key -> Timer.builder("analysis.request.latency")
+                .tag("priority", key)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofMillis(100))
+                .maximumExpectedValue(Duration.ofMinutes(30))
+                .register(meterRegistry));
+        }
+        timer.record(Math.max(0, latencyMillis), TimeUnit.MILLISECONDS);
+        
+        meterRegistry.summary("analysis.request.attempts", "priority", lane).record(attempts);
+        meterRegistry.counter("analysis.inflight.completed", "source", source).increment();
+    }
+    
+    /**
+     * attempt번째 요청의 결과 대기 시간 (재요청마다 backoff-multiplier 배)
+     */
+    private long timeoutMillis(int attempt) {
+        return (long) (TimeUnit.SECONDS.toMillis(timeoutSeconds) * Math.pow(backoffMultiplier, attempt - 1));
+    }
+    
+    private static long toMillis(LocalDateTime dateTime) {
+        return dateTime.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+    
+    private static LocalDateTime toDateTime(long millis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), ZoneOffset.UTC);
+    }
+    
+    private record InFlightRequest(AnalysisRequestEvent event, long requestedAtMillis, int attempt, long deadlineMillis) {
+    }
+    
+    private record Ticket(String requestId, int attempt) {
+    }
+}
@@ -0,0 +1,103 @@
+package com.heimdall.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.heimdall.util.HashUtil;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * Redis 기반 조회 결과 캐시
+ * 정규화된 요청 파라미터를 키로 사용하며, 이미 마감된 시간 구간(지난 시간/일)은 길게,
+ * 아직 데이터가 들어오는 구간은 짧게 캐싱한다.
+ * 모든 키에 TTL을 부여하고 항목 크기 상한을 두어 Redis 메모리 사용량을 제한한다.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class QueryResultCache {
+    
+    private static final String KEY_PREFIX = "heimdall:query:";
+    
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    
+    @Value("${heimdall.cache.enabled:true}")
+    private boolean enabled;
+    
+    @Value("${heimdall.cache.closed-ttl-seconds:86400}")
+    private long closedTtlSeconds;
+    
+    @Value("${heimdall.cache.open-ttl-seconds:10}")
+    private long openTtlSeconds;
+    
+    @Value("${heimdall.cache.max-entry-bytes:262144}")
+    private int maxEntryBytes;
+    
+    /**
+     * 캐시 조회 후 없으면 계산하여 저장
+     * Redis 장애 시에는 캐시 없이 계산 결과를 그대로 반환한다.
+     * 
+     * @param cacheName 메트릭 태그 및 키 네임스페이스
+     * @param normalizedKey 정규화된 요청 파라미터 문자열
+     * @param closed 조회 구간이 마감되었는지 여부 (TTL 결정)
+     */
+    public <T> T getOrCompute(
+        String cacheName,
+        String normalizedKey,
+        boolean closed,
+        Class<T> type,
+        Supplier<T> loader
+    ) {
+        if (!enabled) {
+            return loader.get();
+        }
+        
+        String key = KEY_PREFIX + cacheName + ":" + HashUtil.sha256(normalizedKey);
+        
+        try {
+            String cached = redisTemplate.opsForValue().get(key);
+            if (cached != null) {
+                record(cacheName, "hit");
+                return objectMapper.readValue(cached, type);
+            }
+        } catch (Exception e) {
+            record(cacheName, "error");
+            log.warn("Query cache read failed: cache={}, error={}", cacheName, e.getMessage());
+            return loader.get();
+        }
+        
+        record(cacheName, "miss");
+        T result = loader.get();
+        
+        try {
+            String value = objectMapper.writeValueAsString(result);
+            if (value.length() > maxEntryBytes) {
+                record(cacheName, "oversized");
+                return result;
+            }
+            
+            Duration ttl = Duration.ofSeconds(closed ? closedTtlSeconds : openTtlSeconds);
+            redisTemplate.opsForValue().set(key, value, ttl);
+        } catch (Exception e) {
+            record(cacheName, "error");
+            log.warn("Query cache write failed: cache={}, error={}", cacheName, e.getMessage());
+        }
+        
+        return result;
+    }
+    
+    private void record(String cacheName, String result) {
+        meterRegistry.counter("query.cache.requests",
+            "cache", cacheName,
+            "result", result
+        ).increment();
+    }
+}
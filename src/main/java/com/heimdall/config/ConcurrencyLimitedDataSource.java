@@ -0,0 +1,113 @@
+package com.heimdall.config;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 커넥션 풀 크기만큼만 동시에 커넥션을 빌려주는 DataSource
+ * 가상 스레드 모드에서는 요청 수만큼 스레드가 생기므로, 풀 앞에 공정 세마포어를 두어
+ * 풀에 몰리는 대기자를 풀 크기로 제한하고 대기열이 넘치거나 오래 기다리면 바로 실패시킨다.
+ * 세마포어 대기는 캐리어 스레드를 점유하지 않는다.
+ */
+public class ConcurrencyLimitedDataSource extends DelegatingDataSource {
+    
+    private final Semaphore permits;
+    private final int maxConcurrency;
+    private final int maxWaiters;
+    private final long acquireTimeoutMs;
+    
+    public ConcurrencyLimitedDataSource(DataSource target, int maxConcurrency, int maxWaiters, long acquireTimeoutMs) {
+        super(target);
+        this.permits = new Semaphore(maxConcurrency, true);
+        this.maxConcurrency = maxConcurrency;
+        this.maxWaiters = maxWaiters;
+        this.acquireTimeoutMs = acquireTimeoutMs;
+    }
+    
+    @Override
+    public Connection getConnection() throws SQLException {
+        acquire();
+        try {
+            return limited(super.getConnection());
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+    
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        acquire();
+        try {
+            return limited(super.getConnection(username, password));
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+    
+    public int getInUse() {
+        return maxConcurrency - permits.availablePermits();
+    }
+    
+    public int getWaiting() {
+        return permits.getQueueLength();
+    }
+    
+    private void acquire() throws SQLException {
+        if (permits.getQueueLength() >= maxWaiters) {
+            throw new SQLTransientConnectionException("Too many threads waiting for a database connection");
+        }
+        try {
+            if (!permits.tryAcquire(acquireTimeoutMs, TimeUnit.MILLISECONDS)) {
+                throw new SQLTransientConnectionException(
+                    "Timed out waiting for a database connection after " + acquireTimeoutMs + "ms");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrupted while waiting for a database connection", e);
+        }
+    }
+    
+    /**
+     * close() 시 한 번만 허가를 반환하는 커넥션 프록시
+     */
+    private Connection limited(Connection connection) {
+        AtomicBoolean released = new AtomicBoolean();
+        InvocationHandler handler = (proxy, method, args) -> {
+            if ("close".equals(method.getName()) && method.getParameterCount() == 0) {
+                try {
+                    return method.invoke(connection);
+                } catch (InvocationTargetException e) {
+                    throw e.getTargetException();
+                } finally {
+                    if (released.compareAndSet(false, true)) {
+                        permits.release();
+                    }
+                }
+            }
+            return invoke(connection, method, args);
+        };
+        return (Connection) Proxy.newProxyInstance(
+            Connection.class.getClassLoader(), new Class<?>[] {Connection.class}, handler);
+    }
+    
+    private static Object invoke(Connection connection, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(connection, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+}
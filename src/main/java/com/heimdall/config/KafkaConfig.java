@@ -1,16 +1,25 @@
 package com.heimdall.config;
 
+import com.heimdall.kafka.parallel.ParallelLogIngestionListener;
+import com.heimdall.kafka.retry.RetryTopicRouter;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
 import org.apache.kafka.common.serialization.StringDeserializer;
 import org.apache.kafka.common.serialization.StringSerializer;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.thread.Threading;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.kafka.annotation.EnableKafka;
 import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
 import org.springframework.kafka.core.*;
 import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.listener.DeadLetterPublishingRecoverer;
 import org.springframework.kafka.listener.DefaultErrorHandler;
 import org.springframework.kafka.support.serializer.ErrorHandlingDeserializer;
 import org.springframework.util.backoff.FixedBackOff;
@@ -28,8 +37,20 @@ public class KafkaConfig {
     @Value("${spring.kafka.consumer.group-id}")
     private String groupId;
     
+    @Value("${spring.kafka.listener.concurrency:3}")
+    private int concurrency; // 초기값 (이후 ListenerConcurrencyController가 lag에 따라 조정)
+    
+    @Value("${heimdall.kafka.parallel.idle-interval-ms:200}")
+    private long parallelIdleIntervalMs;
+    
+    private final Environment environment;
+    
+    public KafkaConfig(Environment environment) {
+        this.environment = environment;
+    }
+    
     @Bean
-    public ConsumerFactory<String, String> consumerFactory() {
+    public ConsumerFactory<String, byte[]> consumerFactory() {
         Map<String, Object> config = new HashMap<>();
         
         config.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
@@ -37,7 +58,7 @@ public class KafkaConfig {
         config.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, ErrorHandlingDeserializer.class);
         config.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ErrorHandlingDeserializer.class);
         config.put(ErrorHandlingDeserializer.KEY_DESERIALIZER_CLASS, StringDeserializer.class);
-        config.put(ErrorHandlingDeserializer.VALUE_DESERIALIZER_CLASS, StringDeserializer.class);
+        config.put(ErrorHandlingDeserializer.VALUE_DESERIALIZER_CLASS, ByteArrayDeserializer.class); // JSON/protobuf는 content-type 헤더로 구분
         
         // At-least-once 보장
         config.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
@@ -52,32 +73,107 @@ public class KafkaConfig {
         return new DefaultKafkaConsumerFactory<>(config);
     }
     
+    /**
+     * 실패한 레코드는 제자리에서 재시도하지 않고 곧바로 재시도 토픽/DLQ로 넘겨 파티션을 막지 않는다
+     * (발행 자체가 실패하면 같은 레코드를 다시 받아 재시도)
+     */
+    @Bean
+    public DeadLetterPublishingRecoverer retryTopicRecoverer(RetryTopicRouter retryTopicRouter) {
+        DeadLetterPublishingRecoverer recoverer =
+            new DeadLetterPublishingRecoverer(kafkaTemplate(), retryTopicRouter::resolve);
+        recoverer.setHeadersFunction(retryTopicRouter::headers);
+        return recoverer;
+    }
+    
+    @Bean
+    public DefaultErrorHandler kafkaErrorHandler(DeadLetterPublishingRecoverer retryTopicRecoverer) {
+        DefaultErrorHandler errorHandler = new DefaultErrorHandler(retryTopicRecoverer, new FixedBackOff(0L, 0L));
+        errorHandler.setCommitRecovered(true);
+        return errorHandler;
+    }
+    
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, byte[]> kafkaListenerContainerFactory(
+        DefaultErrorHandler kafkaErrorHandler
+    ) {
+        ConcurrentKafkaListenerContainerFactory<String, byte[]> factory =
+            new ConcurrentKafkaListenerContainerFactory<>();
+        
+        factory.setConsumerFactory(consumerFactory());
+        factory.setConcurrency(concurrency); // 병렬 처리
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL_IMMEDIATE);
+        configureListenerThreads(factory);
+        
+        // 에러 핸들링 (재시도 토픽 → DLQ)
+        factory.setCommonErrorHandler(kafkaErrorHandler);
+        
+        return factory;
+    }
+    
+    /**
+     * 분석 결과처럼 poll 단위로 모아 처리하는 리스너용 배치 컨테이너
+     */
     @Bean
-    public ConcurrentKafkaListenerContainerFactory<String, String> kafkaListenerContainerFactory() {
-        ConcurrentKafkaListenerContainerFactory<String, String> factory =
+    public ConcurrentKafkaListenerContainerFactory<String, byte[]> batchKafkaListenerContainerFactory(
+        DefaultErrorHandler kafkaErrorHandler
+    ) {
+        ConcurrentKafkaListenerContainerFactory<String, byte[]> factory =
             new ConcurrentKafkaListenerContainerFactory<>();
         
         factory.setConsumerFactory(consumerFactory());
-        factory.setConcurrency(3); // 병렬 처리
+        factory.setConcurrency(concurrency);
+        factory.setBatchListener(true);
         factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL_IMMEDIATE);
+        configureListenerThreads(factory);
+        factory.setCommonErrorHandler(kafkaErrorHandler); // BatchListenerFailedException으로 실패 레코드 지정
         
-        // 에러 핸들링
-        factory.setCommonErrorHandler(
-            new DefaultErrorHandler(
-                new FixedBackOff(1000L, 3L) // 1초 간격으로 3번 재시도
-            )
-        );
+        return factory;
+    }
+    
+    /**
+     * 파티션 내 병렬 처리용 배치 컨테이너 (오프셋은 리스너가 워터마크 기준으로 직접 커밋)
+     */
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, byte[]> parallelKafkaListenerContainerFactory(
+        DefaultErrorHandler kafkaErrorHandler,
+        ObjectProvider<ParallelLogIngestionListener> parallelLogIngestionListener
+    ) {
+        ConcurrentKafkaListenerContainerFactory<String, byte[]> factory =
+            new ConcurrentKafkaListenerContainerFactory<>();
+        
+        factory.setConsumerFactory(consumerFactory());
+        factory.setConcurrency(concurrency);
+        factory.setBatchListener(true);
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL); // acknowledge 호출 없음
+        // 유휴 시 완료 구간 커밋, pause 중에는 대기열 재제출 (pause 중 poll이 오래 막히지 않도록 poll 대기도 같게)
+        factory.getContainerProperties().setIdleEventInterval(parallelIdleIntervalMs);
+        factory.getContainerProperties().setPollTimeout(parallelIdleIntervalMs);
+        parallelLogIngestionListener.ifAvailable(
+            listener -> factory.getContainerProperties().setConsumerRebalanceListener(listener));
+        configureListenerThreads(factory);
+        factory.setCommonErrorHandler(kafkaErrorHandler);
         
         return factory;
     }
     
+    /**
+     * 가상 스레드 모드에서는 리스너 컨테이너의 소비 스레드도 가상 스레드로 실행 (재시도 단계 컨테이너 포함)
+     */
+    private void configureListenerThreads(ConcurrentKafkaListenerContainerFactory<String, byte[]> factory) {
+        if (Threading.VIRTUAL.isActive(environment)) {
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("kafka-listener-");
+            executor.setVirtualThreads(true);
+            factory.getContainerProperties().setListenerTaskExecutor(executor);
+        }
+    }
+    
     @Bean
-    public ProducerFactory<String, String> producerFactory() {
+    public ProducerFactory<String, byte[]> producerFactory() {
         Map<String, Object> config = new HashMap<>();
         
         config.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
         config.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
-        config.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        config.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, ByteArraySerializer.class);
         
         // 신뢰성 설정
         config.put(ProducerConfig.ACKS_CONFIG, "all");
@@ -95,7 +191,7 @@ public class KafkaConfig {
     }
     
     @Bean
-    public KafkaTemplate<String, String> kafkaTemplate() {
+    public KafkaTemplate<String, byte[]> kafkaTemplate() {
         return new KafkaTemplate<>(producerFactory());
     }
 }
@@ -0,0 +1,78 @@
+package com.heimdall.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import net.devh.boot.grpc.server.serverfactory.GrpcServerConfigurer;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+/**
+ * 가상 스레드 실행 모드 (spring.threads.virtual.enabled=true, Java 21 이상에서만 활성화)
+ * Tomcat 요청 스레드와 스케줄러는 Spring Boot가, Kafka 리스너 컨테이너와 @Async 실행기는
+ * KafkaConfig/AsyncConfig가 가상 스레드로 전환하고, 여기서는 gRPC 서비스 실행기와
+ * DB 커넥션 동시 사용 제한을 담당한다.
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+@Slf4j
+public class VirtualThreadConfig {
+    
+    /**
+     * gRPC 호출 처리 (Netty 이벤트 루프에서 넘겨받으므로 동시 수 제한 없이 실행)
+     */
+    @Bean
+    public GrpcServerConfigurer virtualThreadGrpcServerConfigurer() {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("grpc-");
+        executor.setVirtualThreads(true);
+        return serverBuilder -> serverBuilder.executor(executor);
+    }
+    
+    /**
+     * Hikari 풀 앞에 풀 크기만큼의 허가를 두어 가상 스레드가 풀로 몰리지 않게 한다
+     */
+    @Bean
+    public static BeanPostProcessor connectionLimitingPostProcessor(Environment environment) {
+        int maxWaiters = environment.getProperty("heimdall.threads.virtual.jdbc.max-waiters", Integer.class, 1000);
+        long acquireTimeoutMs = environment.getProperty("heimdall.threads.virtual.jdbc.acquire-timeout-ms", Long.class, 5000L);
+        
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource hikari) {
+                    log.info("Limiting concurrent connection checkouts: dataSource={}, permits={}, maxWaiters={}",
+                        beanName, hikari.getMaximumPoolSize(), maxWaiters);
+                    return new ConcurrencyLimitedDataSource(hikari, hikari.getMaximumPoolSize(), maxWaiters, acquireTimeoutMs);
+                }
+                return bean;
+            }
+        };
+    }
+    
+    @Bean
+    public MeterBinder connectionPermitMetrics(DataSource dataSource) {
+        return registry -> {
+            try {
+                if (!dataSource.isWrapperFor(ConcurrencyLimitedDataSource.class)) {
+                    return;
+                }
+                ConcurrencyLimitedDataSource limited = dataSource.unwrap(ConcurrencyLimitedDataSource.class);
+                Gauge.builder("jdbc.connection.permits.in_use", limited, ConcurrencyLimitedDataSource::getInUse)
+                    .register(registry);
+                Gauge.builder("jdbc.connection.permits.waiting", limited, ConcurrencyLimitedDataSource::getWaiting)
+                    .register(registry);
+            } catch (SQLException e) {
+                log.warn("Failed to register connection permit metrics", e);
+            }
+        };
+    }
+}
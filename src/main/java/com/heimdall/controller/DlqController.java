@@ -0,0 +1,47 @@
+package com.heimdall.controller;
+
+import com.heimdall.dto.DlqReplayRequest;
+import com.heimdall.dto.DlqReplayResponse;
+import com.heimdall.kafka.retry.DlqReplayService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/v1/dlq")
+@RequiredArgsConstructor
+@Slf4j
+public class DlqController {
+    
+    private final DlqReplayService dlqReplayService;
+    
+    @PostMapping("/replays")
+    public ResponseEntity<DlqReplayResponse> startReplay(
+        @RequestBody DlqReplayRequest request
+    ) {
+        log.info("Start DLQ replay: {}", request);
+        
+        return ResponseEntity.accepted().body(dlqReplayService.startReplay(request));
+    }
+    
+    @GetMapping("/replays/{jobId}")
+    public ResponseEntity<DlqReplayResponse> getReplay(
+        @PathVariable String jobId
+    ) {
+        return dlqReplayService.getReplay(jobId)
+            .map(ResponseEntity::ok)
+            .orElse(ResponseEntity.notFound().build());
+    }
+    
+    @DeleteMapping("/replays/{jobId}")
+    public ResponseEntity<DlqReplayResponse> cancelReplay(
+        @PathVariable String jobId
+    ) {
+        log.info("Cancel DLQ replay: jobId={}", jobId);
+        
+        return dlqReplayService.cancelReplay(jobId)
+            .map(ResponseEntity::ok)
+            .orElse(ResponseEntity.notFound().build());
+    }
+}
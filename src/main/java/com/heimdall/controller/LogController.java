@@ -3,6 +3,7 @@ package com.heimdall.controller;
 import com.heimdall.dto.LogIngestionRequest;
 import com.heimdall.dto.LogIngestionResponse;
 import com.heimdall.entity.LogEntry;
+import com.heimdall.ingestion.admission.IngestionAdmissionController;
 import com.heimdall.kafka.event.LogIngestionEvent;
 import com.heimdall.service.LogIngestionService;
 import com.heimdall.util.DateTimeUtil;
@@ -22,6 +23,7 @@ import java.util.UUID;
 public class LogController {
     
     private final LogIngestionService logIngestionService;
+    private final IngestionAdmissionController ingestionAdmissionController;
     
     @PostMapping
     public ResponseEntity<LogIngestionResponse> ingestLog(
@@ -42,8 +44,12 @@ public class LogController {
             .metadata(request.getMetadata())
             .build();
         
-        // 로그 처리
-        LogEntry logEntry = logIngestionService.processLogIngestion(event);
+        // 로그 처리 (과부하 시 낮은 심각도부터 429로 거절)
+        LogEntry logEntry;
+        try (IngestionAdmissionController.Permit permit =
+                 ingestionAdmissionController.acquire(request.getSeverity(), "http")) {
+            logEntry = logIngestionService.processLogIngestion(event);
+        }
         
         // 응답 생성
         LogIngestionResponse response = LogIngestionResponse.builder()
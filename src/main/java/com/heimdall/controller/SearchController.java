@@ -1,7 +1,9 @@
 package com.heimdall.controller;
 
+import com.heimdall.dto.LogScrollResponse;
 import com.heimdall.dto.LogSearchRequest;
 import com.heimdall.dto.LogSearchResponse;
+import com.heimdall.service.ElasticsearchService;
 import com.heimdall.service.SearchService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -15,6 +17,7 @@ import org.springframework.web.bind.annotation.*;
 public class SearchController {
     
     private final SearchService searchService;
+    private final ElasticsearchService elasticsearchService;
     
     @GetMapping("/search")
     public ResponseEntity<LogSearchResponse> searchLogs(
@@ -45,4 +48,34 @@ public class SearchController {
         
         return ResponseEntity.ok(response);
     }
+    
+    @GetMapping("/search/scroll")
+    public ResponseEntity<LogScrollResponse> scrollLogs(
+        @RequestParam(required = false) String serviceName,
+        @RequestParam(required = false) String environment,
+        @RequestParam(required = false) String severity,
+        @RequestParam(required = false) String from,
+        @RequestParam(required = false) String to,
+        @RequestParam(required = false) String keyword,
+        @RequestParam(defaultValue = "100") Integer size,
+        @RequestParam(required = false) String cursor
+    ) {
+        log.debug("Scroll logs request: service={}, environment={}, severity={}, keyword={}, cursor={}", 
+            serviceName, environment, severity, keyword, cursor != null);
+        
+        LogSearchRequest request = LogSearchRequest.builder()
+            .serviceName(serviceName)
+            .environment(environment)
+            .severity(severity)
+            .from(from)
+            .to(to)
+            .keyword(keyword)
+            .size(size)
+            .cursor(cursor)
+            .build();
+        
+        LogScrollResponse response = elasticsearchService.scrollSearch(request);
+        
+        return ResponseEntity.ok(response);
+    }
 }
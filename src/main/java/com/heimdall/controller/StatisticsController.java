@@ -1,7 +1,14 @@
 package com.heimdall.controller;
 
+import com.heimdall.dto.DistinctCountResponse;
+import com.heimdall.dto.HeavyHitterResponse;
+import com.heimdall.dto.LogAggregationResponse;
+import com.heimdall.dto.LogSearchRequest;
+import com.heimdall.dto.StatisticsRangeResponse;
 import com.heimdall.dto.StatisticsResponse;
+import com.heimdall.service.ElasticsearchService;
 import com.heimdall.service.StatisticsService;
+import com.heimdall.util.DateTimeUtil;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.format.annotation.DateTimeFormat;
@@ -9,6 +16,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDate;
+import java.util.List;
 
 @RestController
 @RequestMapping("/api/v1/statistics")
@@ -17,6 +25,7 @@ import java.time.LocalDate;
 public class StatisticsController {
     
     private final StatisticsService statisticsService;
+    private final ElasticsearchService elasticsearchService;
     
     @GetMapping
     public ResponseEntity<StatisticsResponse> getStatistics(
@@ -33,4 +42,92 @@ public class StatisticsController {
         
         return ResponseEntity.ok(response);
     }
+    
+    @GetMapping("/histogram")
+    public ResponseEntity<LogAggregationResponse> getHistogram(
+        @RequestParam(required = false) String serviceName,
+        @RequestParam(required = false) String environment,
+        @RequestParam(required = false) String severity,
+        @RequestParam(required = false) String from,
+        @RequestParam(required = false) String to,
+        @RequestParam(required = false) String keyword,
+        @RequestParam(defaultValue = "1h") String interval,
+        @RequestParam(defaultValue = "10") Integer facetSize,
+        @RequestParam(defaultValue = "false") Boolean cardinality
+    ) {
+        log.debug("Get histogram: service={}, environment={}, severity={}, interval={}", 
+            serviceName, environment, severity, interval);
+        
+        LogSearchRequest request = LogSearchRequest.builder()
+            .serviceName(serviceName)
+            .environment(environment)
+            .severity(severity)
+            .from(from)
+            .to(to)
+            .keyword(keyword)
+            .build();
+        
+        LogAggregationResponse response = elasticsearchService.aggregate(
+            request, interval, facetSize, cardinality
+        );
+        
+        return ResponseEntity.ok(response);
+    }
+    
+    @GetMapping("/range")
+    public ResponseEntity<StatisticsRangeResponse> getRangeStatistics(
+        @RequestParam String from,
+        @RequestParam String to,
+        @RequestParam(defaultValue = "1h") String resolution,
+        @RequestParam(required = false) String serviceName,
+        @RequestParam(required = false) String environment
+    ) {
+        log.debug("Get range statistics: from={}, to={}, resolution={}, service={}, environment={}", 
+            from, to, resolution, serviceName, environment);
+        
+        StatisticsRangeResponse response = statisticsService.getRangeStatistics(
+            DateTimeUtil.parseIso(from),
+            DateTimeUtil.parseIso(to),
+            resolution,
+            serviceName,
+            environment
+        );
+        
+        return ResponseEntity.ok(response);
+    }
+    
+    @GetMapping("/heavy-hitters")
+    public ResponseEntity<HeavyHitterResponse> getHeavyHitters(
+        @RequestParam(defaultValue = "service") String dimension,
+        @RequestParam(defaultValue = "5") Integer windows,
+        @RequestParam(defaultValue = "10") Integer limit
+    ) {
+        log.debug("Get heavy hitters: dimension={}, windows={}, limit={}", dimension, windows, limit);
+        
+        HeavyHitterResponse response = statisticsService.getHeavyHitters(dimension, windows, limit);
+        
+        return ResponseEntity.ok(response);
+    }
+    
+    @GetMapping("/distinct")
+    public ResponseEntity<DistinctCountResponse> getDistinctCount(
+        @RequestParam String from,
+        @RequestParam String to,
+        @RequestParam(required = false) String serviceName,
+        @RequestParam(required = false) String environment,
+        @RequestParam(required = false) List<String> severity
+    ) {
+        log.debug("Get distinct count: from={}, to={}, service={}, environment={}, severity={}", 
+            from, to, serviceName, environment, severity);
+        
+        DistinctCountResponse response = statisticsService.getDistinctCount(
+            DateTimeUtil.parseIso(from),
+            DateTimeUtil.parseIso(to),
+            serviceName,
+            environment,
+            severity
+        );
+        
+        return ResponseEntity.ok(response);
+    }
 }
@@ -0,0 +1,34 @@
+package com.heimdall.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DistinctCountResponse {
+    
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss'Z'")
+    private LocalDateTime from;
+    
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss'Z'")
+    private LocalDateTime to;
+    
+    private String serviceName;
+    
+    private String environment;
+    
+    private List<String> severities;
+    
+    private Long totalLogs;
+    
+    /** 고유 log_hash 개수 추정값 (HyperLogLog, 표준 오차 약 1.6%) */
+    private Long distinctCount;
+}
@@ -0,0 +1,23 @@
+package com.heimdall.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DlqReplayRequest {
+    
+    private String errorType; // 예외 클래스 이름 (단순 이름 또는 FQCN, 비우면 전체)
+    
+    private String from; // ISO8601 timestamp (DLQ 적재 시각 기준)
+    
+    private String to; // ISO8601 timestamp
+    
+    private Integer ratePerSecond; // 재주입 속도 (비우면 기본값)
+    
+    private Long maxRecords; // 재주입 상한 (비우면 제한 없음)
+}
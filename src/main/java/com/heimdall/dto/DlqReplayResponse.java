@@ -0,0 +1,50 @@
+package com.heimdall.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DlqReplayResponse {
+    
+    private String jobId;
+    
+    private String status; // QUEUED, RUNNING, COMPLETED, CANCELLED, FAILED
+    
+    private String errorType;
+    
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss'Z'")
+    private LocalDateTime from;
+    
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss'Z'")
+    private LocalDateTime to;
+    
+    private Integer ratePerSecond;
+    
+    /** 조회한 DLQ 레코드 수 */
+    private Long scanned;
+    
+    /** 원본 토픽으로 재주입한 수 */
+    private Long replayed;
+    
+    /** 필터에 맞지 않아 건너뛴 수 */
+    private Long skipped;
+    
+    /** 원본 토픽을 알 수 없거나 발행에 실패한 수 */
+    private Long failed;
+    
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss'Z'")
+    private LocalDateTime startedAt;
+    
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss'Z'")
+    private LocalDateTime finishedAt;
+    
+    private String error;
+}
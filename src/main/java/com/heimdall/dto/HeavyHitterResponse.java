@@ -0,0 +1,48 @@
+package com.heimdall.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class HeavyHitterResponse {
+    
+    private String dimension;
+    
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss'Z'")
+    private LocalDateTime from;
+    
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss'Z'")
+    private LocalDateTime to;
+    
+    private Long totalLogs;
+    
+    private List<Hitter> hitters;
+    
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Hitter {
+        private String key;
+        
+        /** 템플릿 차원일 때 템플릿 식별자 */
+        private String fingerprint;
+        
+        /** 추정 빈도 (상한) */
+        private Long count;
+        
+        /** 보장 빈도 (하한) */
+        private Long guaranteedCount;
+        
+        private Double share;
+    }
+}
@@ -0,0 +1,49 @@
+package com.heimdall.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LogAggregationResponse {
+    
+    private Long totalLogs;
+    
+    private String interval;
+    
+    private List<HistogramBucket> histogram;
+    
+    private Map<String, List<FacetBucket>> facets;
+    
+    private Long distinctLogs; // 근사치 (cardinality), 요청 시에만 포함
+    
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class HistogramBucket {
+        @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss'Z'")
+        private LocalDateTime timestamp;
+        
+        private Long count;
+    }
+    
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class FacetBucket {
+        private String key;
+        
+        private Long count;
+    }
+}
@@ -0,0 +1,25 @@
+package com.heimdall.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LogScrollResponse {
+    
+    private List<LogSearchResponse.LogEntryDto> content;
+    
+    private Long totalElements;
+    
+    private Integer size;
+    
+    private String nextCursor; // 다음 페이지 요청 시 전달할 커서 (마지막 페이지면 null)
+    
+    private Boolean hasMore;
+}
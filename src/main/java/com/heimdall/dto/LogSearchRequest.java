@@ -23,6 +23,8 @@ public class LogSearchRequest {
     
     private String keyword;
     
+    private String cursor; // search_after 커서 (딥 페이지네이션)
+    
     @Builder.Default
     private Integer page = 0;
     
@@ -0,0 +1,46 @@
+package com.heimdall.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StatisticsRangeResponse {
+    
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss'Z'")
+    private LocalDateTime from;
+    
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss'Z'")
+    private LocalDateTime to;
+    
+    private String requestedResolution;
+    
+    /** 실제 적용된 해상도 (보관 기간 때문에 요청보다 거칠어질 수 있음) */
+    private String resolution;
+    
+    private String tier;
+    
+    private List<RangePoint> points;
+    
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class RangePoint {
+        @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss'Z'")
+        private LocalDateTime timestamp;
+        
+        private Long totalLogs;
+        
+        private Map<String, Long> bySeverity;
+    }
+}
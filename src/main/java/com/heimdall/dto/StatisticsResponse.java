@@ -49,5 +49,17 @@ public class StatisticsResponse {
         private Map<String, Integer> bySeverity;
         
         private Integer avgSizeBytes;
+        
+        private Long p50SizeBytes;
+        
+        private Long p95SizeBytes;
+        
+        private Long p99SizeBytes;
+        
+        private Long maxSizeBytes;
+        
+        private Long distinctLogs;
+        
+        private Long distinctErrors;
     }
 }
@@ -14,7 +14,8 @@ import java.time.LocalDateTime;
     indexes = {
         @Index(name = "idx_log_id", columnList = "log_id"),
         @Index(name = "idx_analyzed_at", columnList = "analyzed_at"),
-        @Index(name = "idx_severity", columnList = "severity")
+        @Index(name = "idx_severity", columnList = "severity"),
+        @Index(name = "idx_fingerprint_analyzed_at", columnList = "fingerprint, analyzed_at")
     }
 )
 @Data
@@ -39,6 +40,9 @@ public class AnalysisResult {
     @Column(name = "correlation_id", length = 36)
     private String correlationId;
     
+    @Column(length = 64)
+    private String fingerprint;
+    
     @Column(columnDefinition = "TEXT")
     private String summary;
     
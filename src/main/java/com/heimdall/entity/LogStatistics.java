@@ -51,6 +51,12 @@ public class LogStatistics {
     @Column(name = "avg_size_bytes")
     private Integer avgSizeBytes;
     
+    @Column(name = "size_sketch", columnDefinition = "bytea")
+    private byte[] sizeSketch; // DDSketch 직렬화 (로그 크기 분포)
+    
+    @Column(name = "distinct_sketch", columnDefinition = "bytea")
+    private byte[] distinctSketch; // HyperLogLog 직렬화 (log_hash 고유 개수)
+    
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt = LocalDateTime.now();
     
@@ -0,0 +1,61 @@
+package com.heimdall.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(
+    name = "log_statistics_daily",
+    uniqueConstraints = {
+        @UniqueConstraint(
+            name = "uk_daily_service_env_severity",
+            columnNames = {"date", "service_name", "environment", "severity"}
+        )
+    }
+)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LogStatisticsDaily {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(nullable = false)
+    private LocalDate date;
+    
+    @Column(name = "service_name", nullable = false, length = 100)
+    private String serviceName;
+    
+    @Column(nullable = false, length = 50)
+    private String environment;
+    
+    @Column(nullable = false, length = 20)
+    private String severity;
+    
+    @Column(nullable = false)
+    private Long count = 0L;
+    
+    @Column(name = "avg_size_bytes")
+    private Integer avgSizeBytes;
+    
+    @Column(name = "size_sketch", columnDefinition = "bytea")
+    private byte[] sizeSketch;
+    
+    @Column(name = "distinct_sketch", columnDefinition = "bytea")
+    private byte[] distinctSketch;
+    
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt = LocalDateTime.now();
+    
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+}
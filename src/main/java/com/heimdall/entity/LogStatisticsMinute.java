@@ -0,0 +1,49 @@
+package com.heimdall.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(
+    name = "log_statistics_minute",
+    uniqueConstraints = {
+        @UniqueConstraint(
+            name = "uk_minute_service_env_severity",
+            columnNames = {"bucket_start", "service_name", "environment", "severity"}
+        )
+    },
+    indexes = {
+        @Index(name = "idx_minute_bucket_start", columnList = "bucket_start")
+    }
+)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LogStatisticsMinute {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "bucket_start", nullable = false)
+    private LocalDateTime bucketStart;
+    
+    @Column(name = "service_name", nullable = false, length = 100)
+    private String serviceName;
+    
+    @Column(nullable = false, length = 50)
+    private String environment;
+    
+    @Column(nullable = false, length = 20)
+    private String severity;
+    
+    @Column(nullable = false)
+    private Integer count = 0;
+    
+    @Column(name = "size_bytes", nullable = false)
+    private Long sizeBytes = 0L;
+}
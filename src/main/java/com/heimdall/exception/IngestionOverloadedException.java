@@ -0,0 +1,18 @@
+package com.heimdall.exception;
+
+/**
+ * 과부하로 수집 요청을 거절할 때 사용 (HTTP 429 / gRPC RESOURCE_EXHAUSTED)
+ */
+public class IngestionOverloadedException extends HeimdallException {
+
+    private final long retryAfterSeconds;
+
+    public IngestionOverloadedException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
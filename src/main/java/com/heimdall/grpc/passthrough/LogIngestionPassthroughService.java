@@ -0,0 +1,252 @@
+package com.heimdall.grpc.passthrough;
+
+import com.heimdall.exception.IngestionOverloadedException;
+import com.heimdall.grpc.BatchLogIngestionResponse;
+import com.heimdall.grpc.LogIngestionResponse;
+import com.heimdall.grpc.LogServiceGrpc;
+import com.heimdall.ingestion.admission.IngestionAdmissionController;
+import com.heimdall.ingestion.admission.OverloadStatus;
+import com.heimdall.kafka.codec.KafkaEventCodec;
+import com.heimdall.kafka.codec.KafkaPayloadFormat;
+import io.grpc.BindableService;
+import io.grpc.MethodDescriptor;
+import io.grpc.ServerServiceDefinition;
+import io.grpc.Status;
+import io.grpc.protobuf.ProtoUtils;
+import io.grpc.stub.ServerCalls;
+import io.grpc.stub.StreamObserver;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import net.devh.boot.grpc.server.service.GrpcService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * gRPC → Kafka passthrough 수집 서비스 (heimdall.grpc.passthrough.enabled=true)
+ * IngestLog/BatchIngestLogs/StreamLogs 요청 본문을 protobuf 객체로 역직렬화하지 않고 바이트 그대로 받아,
+ * 라우팅 필드만 검증한 뒤 logs.ingestion 토픽으로 전달한다. 저장/분석은 토픽 소비자가 맡는다.
+ * 
+ * 수집 전용 엣지 노드용이며, 조회 RPC(GetLog/SearchLogs)는 등록하지 않아 UNIMPLEMENTED를 반환한다.
+ */
+@GrpcService
+@ConditionalOnProperty(name = "heimdall.grpc.passthrough.enabled", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class LogIngestionPassthroughService implements BindableService {
+    
+    private static final MethodDescriptor.Marshaller<byte[]> RAW = new RawMarshaller();
+    private static final MethodDescriptor.Marshaller<LogIngestionResponse> RESPONSE =
+        ProtoUtils.marshaller(LogIngestionResponse.getDefaultInstance());
+    
+    private final KafkaTemplate<String, byte[]> kafkaTemplate;
+    private final KafkaEventCodec kafkaEventCodec;
+    private final IngestionAdmissionController ingestionAdmissionController;
+    private final MeterRegistry meterRegistry;
+    
+    @Value("${kafka.topics.logs-ingestion}")
+    private String logsIngestionTopic;
+    
+    @Value("${heimdall.grpc.passthrough.max-content-bytes:1048576}")
+    private int maxContentBytes;
+    
+    @Override
+    public ServerServiceDefinition bindService() {
+        return ServerServiceDefinition.builder(LogServiceGrpc.SERVICE_NAME)
+            .addMethod(
+                LogServiceGrpc.getIngestLogMethod().toBuilder(RAW, RESPONSE).build(),
+                ServerCalls.asyncUnaryCall(this::ingestLog))
+            .addMethod(
+                LogServiceGrpc.getBatchIngestLogsMethod().toBuilder(RAW,
+                    ProtoUtils.marshaller(BatchLogIngestionResponse.getDefaultInstance())).build(),
+                ServerCalls.asyncUnaryCall(this::batchIngestLogs))
+            .addMethod(
+                LogServiceGrpc.getStreamLogsMethod().toBuilder(RAW, RESPONSE).build(),
+                ServerCalls.asyncBidiStreamingCall(this::streamLogs))
+            .build();
+    }
+    
+    private void ingestLog(byte[] request, StreamObserver<LogIngestionResponse> responseObserver) {
+        forward(request, "IngestLog").whenComplete((response, ex) -> {
+            if (ex instanceof IngestionOverloadedException overloaded) {
+                responseObserver.onError(OverloadStatus.resourceExhausted(overloaded));
+                return;
+            }
+            if (ex != null) {
+                responseObserver.onError(Status.UNAVAILABLE
+                    .withDescription("Failed to forward log: " + ex.getMessage())
+                    .asRuntimeException());
+                return;
+            }
+            responseObserver.onNext(response);
+            responseObserver.onCompleted();
+        });
+    }
+    
+    private void batchIngestLogs(byte[] request, StreamObserver<BatchLogIngestionResponse> responseObserver) {
+        List<byte[]> logs;
+        try {
+            logs = RoutingFields.splitBatch(request);
+        } catch (IOException e) {
+            responseObserver.onError(Status.INVALID_ARGUMENT
+                .withDescription("Malformed BatchLogIngestionRequest")
+                .asRuntimeException());
+            return;
+        }
+        
+        List<CompletableFuture<LogIngestionResponse>> futures = new ArrayList<>(logs.size());
+        for (byte[] log : logs) {
+            futures.add(forward(log, "BatchIngestLogs")
+                .exceptionally(LogIngestionPassthroughService::failureResponse));
+        }
+        
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).whenComplete((ignored, ex) -> {
+            BatchLogIngestionResponse.Builder builder = BatchLogIngestionResponse.newBuilder()
+                .setTotalCount(logs.size());
+            int success = 0;
+            for (CompletableFuture<LogIngestionResponse> future : futures) {
+                LogIngestionResponse response = future.join();
+                builder.addResponses(response);
+                if ("ACCEPTED".equals(response.getStatus())) {
+                    success++;
+                }
+            }
+            
+            responseObserver.onNext(builder
+                .setSuccessCount(success)
+                .setFailureCount(logs.size() - success)
+                .build());
+            responseObserver.onCompleted();
+        });
+    }
+    
+    private StreamObserver<byte[]> streamLogs(StreamObserver<LogIngestionResponse> responseObserver) {
+        return new StreamObserver<>() {
+            // 응답은 Kafka 발행 확인 시점에 보내므로 클라이언트 종료 후에도 남은 응답을 기다린다
+            private final AtomicInteger pending = new AtomicInteger(1);
+            
+            @Override
+            public void onNext(byte[] request) {
+                pending.incrementAndGet();
+                forward(request, "StreamLogs")
+                    .exceptionally(LogIngestionPassthroughService::failureResponse)
+                    .whenComplete((response, ex) -> {
+                        synchronized (responseObserver) {
+                            responseObserver.onNext(response);
+                        }
+                        release();
+                    });
+            }
+            
+            @Override
+            public void onError(Throwable t) {
+                log.warn("Passthrough stream aborted by client", t);
+            }
+            
+            @Override
+            public void onCompleted() {
+                release();
+            }
+            
+            private void release() {
+                if (pending.decrementAndGet() == 0) {
+                    synchronized (responseObserver) {
+                        responseObserver.onCompleted();
+                    }
+                }
+            }
+        };
+    }
+    
+    /**
+     * 라우팅 필드 검증과 admission을 거쳐 요청 바이트를 그대로 발행하고, 발행 확인 시 응답 생성
+     * 과부하로 거절되면 IngestionOverloadedException으로 완료된다.
+     */
+    private CompletableFuture<LogIngestionResponse> forward(byte[] request, String rpc) {
+        RoutingFields fields = null;
+        String rejected;
+        try {
+            fields = RoutingFields.parse(request);
+            rejected = fields.validate(maxContentBytes);
+        } catch (IOException e) {
+            rejected = "malformed";
+        }
+        
+        if (rejected != null) {
+            meterRegistry.counter("grpc.passthrough.rejected", "rpc", rpc, "reason", rejected).increment();
+            return CompletableFuture.completedFuture(errorResponse("Rejected: " + rejected));
+        }
+        
+        // 동시 처리 구간은 Kafka 발행 확인까지 (브로커 지연이 한도에 반영된다)
+        IngestionAdmissionController.Permit permit;
+        try {
+            permit = ingestionAdmissionController.acquire(fields.severity(), "grpc_passthrough");
+        } catch (IngestionOverloadedException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        
+        CompletableFuture<SendResult<String, byte[]>> sent;
+        try {
+            sent = kafkaTemplate.send(kafkaEventCodec.toRawRecord(
+                logsIngestionTopic, fields.partitionKey(), request, KafkaPayloadFormat.GRPC_LOG_REQUEST));
+        } catch (RuntimeException e) {
+            permit.close();
+            throw e;
+        }
+        
+        return sent
+            .whenComplete((result, ex) -> permit.close())
+            .thenApply(result -> {
+                meterRegistry.counter("grpc.passthrough.forwarded", "rpc", rpc).increment();
+                meterRegistry.counter("grpc.passthrough.bytes").increment(request.length);
+                return LogIngestionResponse.newBuilder()
+                    .setTimestampMillis(result.getRecordMetadata().timestamp())
+                    .setStatus("ACCEPTED")
+                    .build();
+            });
+    }
+    
+    private static LogIngestionResponse failureResponse(Throwable ex) {
+        if (ex instanceof IngestionOverloadedException) {
+            return errorResponse(ex.getMessage());
+        }
+        return errorResponse("Failed to forward log: " + ex.getMessage());
+    }
+    
+    private static LogIngestionResponse errorResponse(String message) {
+        return LogIngestionResponse.newBuilder()
+            .setStatus("REJECTED")
+            .setErrorMessage(message)
+            .build();
+    }
+    
+    /**
+     * 요청 본문을 바이트 배열로만 읽는 marshaller (protobuf 파싱 없음)
+     */
+    private static final class RawMarshaller implements MethodDescriptor.Marshaller<byte[]> {
+        
+        @Override
+        public InputStream stream(byte[] value) {
+            return new ByteArrayInputStream(value);
+        }
+        
+        @Override
+        public byte[] parse(InputStream stream) {
+            try {
+                return stream.readAllBytes();
+            } catch (IOException e) {
+                throw Status.INTERNAL.withDescription("Failed to read request").withCause(e).asRuntimeException();
+            }
+        }
+    }
+}
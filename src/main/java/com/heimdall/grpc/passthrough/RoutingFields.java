@@ -0,0 +1,101 @@
+package com.heimdall.grpc.passthrough;
+
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.google.protobuf.WireFormat;
+import com.heimdall.entity.LogEntry;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 직렬화된 LogIngestionRequest에서 라우팅/검증에 필요한 필드만 읽은 결과
+ * 메시지 전체를 객체로 만들지 않고 태그를 따라가며 필요한 필드만 읽고 나머지는 건너뛴다.
+ */
+public record RoutingFields(String source, String serviceName, String severity, int contentLength) {
+    
+    // log_service.proto LogIngestionRequest 필드 번호
+    private static final int SOURCE = 1;
+    private static final int SERVICE_NAME = 2;
+    private static final int SEVERITY = 4;
+    private static final int LOG_CONTENT = 5;
+    
+    // BatchLogIngestionRequest.logs 필드 번호
+    private static final int BATCH_LOGS = 1;
+    
+    public static RoutingFields parse(byte[] bytes) throws IOException {
+        CodedInputStream input = CodedInputStream.newInstance(bytes);
+        String source = "";
+        String serviceName = "";
+        String severity = "";
+        int contentLength = 0;
+        
+        int tag;
+        while ((tag = input.readTag()) != 0) {
+            int field = WireFormat.getTagFieldNumber(tag);
+            if (WireFormat.getTagWireType(tag) != WireFormat.WIRETYPE_LENGTH_DELIMITED) {
+                input.skipField(tag);
+                continue;
+            }
+            switch (field) {
+                case SOURCE -> source = input.readStringRequireUtf8();
+                case SERVICE_NAME -> serviceName = input.readStringRequireUtf8();
+                case SEVERITY -> severity = input.readStringRequireUtf8();
+                case LOG_CONTENT -> {
+                    contentLength = input.readRawVarint32();
+                    input.skipRawBytes(contentLength);
+                }
+                default -> input.skipField(tag);
+            }
+        }
+        return new RoutingFields(source, serviceName, severity, contentLength);
+    }
+    
+    /**
+     * 소비자가 LogEntry로 저장할 수 없는 요청이면 거절 사유, 아니면 null
+     */
+    public String validate(int maxContentBytes) {
+        if (source.isEmpty()) {
+            return "missing_source";
+        }
+        if (contentLength == 0) {
+            return "empty_content";
+        }
+        if (contentLength > maxContentBytes) {
+            return "content_too_large";
+        }
+        try {
+            LogEntry.SeverityLevel.valueOf(severity);
+        } catch (IllegalArgumentException e) {
+            return "invalid_severity";
+        }
+        return null;
+    }
+    
+    /**
+     * Kafka 레코드 키 (같은 서비스의 로그가 한 파티션에서 순서대로 소비되도록 서비스명, 없으면 source)
+     */
+    public String partitionKey() {
+        return serviceName.isEmpty() ? source : serviceName;
+    }
+    
+    /**
+     * 배치 요청(BatchLogIngestionRequest)에서 개별 LogIngestionRequest 바이트 분리
+     */
+    public static List<byte[]> splitBatch(byte[] bytes) throws IOException {
+        CodedInputStream input = CodedInputStream.newInstance(bytes);
+        List<byte[]> logs = new ArrayList<>();
+        
+        int tag;
+        while ((tag = input.readTag()) != 0) {
+            if (WireFormat.getTagFieldNumber(tag) == BATCH_LOGS
+                && WireFormat.getTagWireType(tag) == WireFormat.WIRETYPE_LENGTH_DELIMITED) {
+                logs.add(input.readByteArray());
+            } else if (!input.skipField(tag)) {
+                throw InvalidProtocolBufferException.invalidEndTag();
+            }
+        }
+        return logs;
+    }
+}
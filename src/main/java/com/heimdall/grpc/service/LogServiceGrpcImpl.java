@@ -2,13 +2,17 @@ package com.heimdall.grpc.service;
 
 import com.heimdall.dto.LogEntryRequest;
 import com.heimdall.entity.LogEntry;
+import com.heimdall.exception.IngestionOverloadedException;
 import com.heimdall.grpc.*;
+import com.heimdall.ingestion.admission.IngestionAdmissionController;
+import com.heimdall.ingestion.admission.OverloadStatus;
 import com.heimdall.service.LogIngestionService;
 import com.heimdall.service.SearchService;
 import io.grpc.stub.StreamObserver;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import net.devh.boot.grpc.server.service.GrpcService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.data.domain.Page;
 
 import java.time.Instant;
@@ -23,12 +27,14 @@ import java.util.concurrent.atomic.AtomicInteger;
  * 고성능 로그 수집을 위한 gRPC 인터페이스
  */
 @GrpcService
+@ConditionalOnProperty(name = "heimdall.grpc.passthrough.enabled", havingValue = "false", matchIfMissing = true)
 @RequiredArgsConstructor
 @Slf4j
 public class LogServiceGrpcImpl extends LogServiceGrpc.LogServiceImplBase {
 
     private final LogIngestionService logIngestionService;
     private final SearchService searchService;
+    private final IngestionAdmissionController ingestionAdmissionController;
 
     /**
      * 단일 로그 수집
@@ -41,8 +47,12 @@ public class LogServiceGrpcImpl extends LogServiceGrpc.LogServiceImplBase {
             // gRPC 요청을 내부 DTO로 변환
             LogEntryRequest logRequest = convertToLogEntryRequest(request);
 
-            // 로그 수집 처리
-            com.heimdall.dto.LogIngestionResponse response = logIngestionService.ingestLog(logRequest);
+            // 로그 수집 처리 (과부하 시 낮은 심각도부터 RESOURCE_EXHAUSTED로 거절)
+            com.heimdall.dto.LogIngestionResponse response;
+            try (IngestionAdmissionController.Permit permit =
+                     ingestionAdmissionController.acquire(request.getSeverity(), "grpc")) {
+                response = logIngestionService.ingestLog(logRequest);
+            }
 
             // gRPC 응답 생성
             LogIngestionResponse grpcResponse = LogIngestionResponse.newBuilder()
@@ -56,6 +66,8 @@ public class LogServiceGrpcImpl extends LogServiceGrpc.LogServiceImplBase {
             responseObserver.onNext(grpcResponse);
             responseObserver.onCompleted();
 
+        } catch (IngestionOverloadedException e) {
+            responseObserver.onError(OverloadStatus.resourceExhausted(e));
         } catch (Exception e) {
             log.error("Error in gRPC IngestLog", e);
             responseObserver.onError(io.grpc.Status.INTERNAL
@@ -78,7 +90,11 @@ public class LogServiceGrpcImpl extends LogServiceGrpc.LogServiceImplBase {
                 try {
                     // 로그 수집 처리
                     LogEntryRequest logRequest = convertToLogEntryRequest(request);
-                    com.heimdall.dto.LogIngestionResponse response = logIngestionService.ingestLog(logRequest);
+                    com.heimdall.dto.LogIngestionResponse response;
+                    try (IngestionAdmissionController.Permit permit =
+                             ingestionAdmissionController.acquire(request.getSeverity(), "grpc")) {
+                        response = logIngestionService.ingestLog(logRequest);
+                    }
 
                     // 응답 전송
                     LogIngestionResponse grpcResponse = LogIngestionResponse.newBuilder()
@@ -92,6 +108,8 @@ public class LogServiceGrpcImpl extends LogServiceGrpc.LogServiceImplBase {
                     responseObserver.onNext(grpcResponse);
                     count.incrementAndGet();
 
+                } catch (IngestionOverloadedException e) {
+                    responseObserver.onNext(rejectedResponse(e));
                 } catch (Exception e) {
                     log.error("Error processing stream log", e);
                     LogIngestionResponse errorResponse = LogIngestionResponse.newBuilder()
@@ -133,7 +151,11 @@ public class LogServiceGrpcImpl extends LogServiceGrpc.LogServiceImplBase {
             for (LogIngestionRequest logRequest : request.getLogsList()) {
                 try {
                     LogEntryRequest logEntryRequest = convertToLogEntryRequest(logRequest);
-                    com.heimdall.dto.LogIngestionResponse response = logIngestionService.ingestLog(logEntryRequest);
+                    com.heimdall.dto.LogIngestionResponse response;
+                    try (IngestionAdmissionController.Permit permit =
+                             ingestionAdmissionController.acquire(logRequest.getSeverity(), "grpc")) {
+                        response = logIngestionService.ingestLog(logEntryRequest);
+                    }
 
                     LogIngestionResponse grpcResponse = LogIngestionResponse.newBuilder()
                             .setLogId(response.getLogId())
@@ -146,6 +168,9 @@ public class LogServiceGrpcImpl extends LogServiceGrpc.LogServiceImplBase {
                     responseBuilder.addResponses(grpcResponse);
                     successCount.incrementAndGet();
 
+                } catch (IngestionOverloadedException e) {
+                    responseBuilder.addResponses(rejectedResponse(e));
+                    failureCount.incrementAndGet();
                 } catch (Exception e) {
                     log.error("Error processing batch log", e);
                     LogIngestionResponse errorResponse = LogIngestionResponse.newBuilder()
@@ -264,6 +289,16 @@ public class LogServiceGrpcImpl extends LogServiceGrpc.LogServiceImplBase {
 
     // Helper methods
 
+    /**
+     * 배치/스트림 중 과부하로 거절된 개별 로그 응답 (다른 로그는 계속 처리)
+     */
+    private LogIngestionResponse rejectedResponse(IngestionOverloadedException e) {
+        return LogIngestionResponse.newBuilder()
+                .setStatus("REJECTED")
+                .setErrorMessage(e.getMessage())
+                .build();
+    }
+
     private LogEntryRequest convertToLogEntryRequest(LogIngestionRequest grpcRequest) {
         LogEntryRequest request = new LogEntryRequest();
         request.setSource(grpcRequest.getSource());
@@ -0,0 +1,84 @@
+package com.heimdall.ingestion.admission;
+
+/**
+ * 관측 지연 기반 AIMD 동시성 한도
+ * 윈도우마다 평균 지연을 기준 지연과 비교해 허용 배수를 넘으면 한도를 backoffRatio만큼 줄이고,
+ * 지연이 정상인데 한도 근처까지 사용 중이었으면 1씩 늘린다.
+ * 기준 지연은 관측된 윈도우 평균의 최저치이며, 지연 분포 변화에 따라가도록 윈도우마다 최대 1%까지만 상승한다.
+ *
+ * 스레드 안전하지 않으므로 호출자가 동기화해야 한다.
+ */
+public class AdaptiveConcurrencyLimit {
+
+    private static final double BASELINE_DRIFT = 0.01;
+    private static final double GROW_UTILIZATION = 0.8;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double latencyTolerance;
+    private final double backoffRatio;
+    private final long windowNanos;
+
+    private double limit;
+    private double baselineNanos;
+
+    private long windowStart;
+    private long windowSum;
+    private int windowCount;
+    private int windowMaxInFlight;
+
+    public AdaptiveConcurrencyLimit(int initialLimit, int minLimit, int maxLimit,
+                                    double latencyTolerance, double backoffRatio, long windowNanos) {
+        if (minLimit < 1 || maxLimit < minLimit) {
+            throw new IllegalArgumentException("Invalid limit bounds: " + minLimit + ".." + maxLimit);
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.latencyTolerance = latencyTolerance;
+        this.backoffRatio = backoffRatio;
+        this.windowNanos = windowNanos;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+    }
+
+    /**
+     * 완료된 요청 하나의 지연과 완료 시점 동시 처리 수 기록
+     *
+     * @return 윈도우가 끝나 한도가 바뀌었으면 true
+     */
+    public boolean onSample(long latencyNanos, int inFlight, long nowNanos) {
+        if (windowCount == 0) {
+            windowStart = nowNanos;
+        }
+        windowSum += latencyNanos;
+        windowCount++;
+        windowMaxInFlight = Math.max(windowMaxInFlight, inFlight);
+
+        if (nowNanos - windowStart < windowNanos) {
+            return false;
+        }
+
+        double average = (double) windowSum / windowCount;
+        int maxInFlight = windowMaxInFlight;
+        windowSum = 0;
+        windowCount = 0;
+        windowMaxInFlight = 0;
+
+        int previous = getLimit();
+        if (baselineNanos > 0 && average > baselineNanos * latencyTolerance) {
+            limit = Math.max(minLimit, limit * backoffRatio);
+        } else if (maxInFlight >= limit * GROW_UTILIZATION) {
+            limit = Math.min(maxLimit, limit + 1);
+        }
+
+        baselineNanos = baselineNanos == 0 ? average : Math.min(average, baselineNanos * (1 + BASELINE_DRIFT));
+        return getLimit() != previous;
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public long getBaselineNanos() {
+        return (long) baselineNanos;
+    }
+}
@@ -0,0 +1,179 @@
+package com.heimdall.ingestion.admission;
+
+import com.heimdall.exception.IngestionOverloadedException;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * HTTP/gRPC 로그 수집 admission control (심각도 기반 load shedding)
+ * 동시 처리 한도는 관측 지연에 따라 AdaptiveConcurrencyLimit이 min-limit~max-limit 범위에서 조정하며,
+ * 허용 시점에 동시 처리 수를 CAS로 늘리며 한도와 비교해 강제한다.
+ * DEBUG/INFO/WARN은 한도의 일부만 사용할 수 있어 과부하 시 낮은 심각도부터 거절되며,
+ * ERROR/FATAL은 한도와 관계없이 항상 허용한다 (동시 처리 수에는 포함).
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class IngestionAdmissionController {
+
+    private final MeterRegistry meterRegistry;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private AdaptiveConcurrencyLimit adaptiveLimit;
+    private volatile int limit;
+
+    @Value("${heimdall.ingestion.admission.enabled:true}")
+    private boolean enabled;
+
+    @Value("${heimdall.ingestion.admission.initial-limit:100}")
+    private int initialLimit;
+
+    @Value("${heimdall.ingestion.admission.min-limit:10}")
+    private int minLimit;
+
+    @Value("${heimdall.ingestion.admission.max-limit:500}")
+    private int maxLimit;
+
+    @Value("${heimdall.ingestion.admission.latency-tolerance:2.0}")
+    private double latencyTolerance;
+
+    @Value("${heimdall.ingestion.admission.backoff-ratio:0.9}")
+    private double backoffRatio;
+
+    @Value("${heimdall.ingestion.admission.window-ms:1000}")
+    private long windowMs;
+
+    @Value("${heimdall.ingestion.admission.debug-share:0.5}")
+    private double debugShare;
+
+    @Value("${heimdall.ingestion.admission.info-share:0.75}")
+    private double infoShare;
+
+    @Value("${heimdall.ingestion.admission.warn-share:0.9}")
+    private double warnShare;
+
+    @Value("${heimdall.ingestion.admission.retry-after-seconds:1}")
+    private long retryAfterSeconds;
+
+    @PostConstruct
+    public void init() {
+        adaptiveLimit = new AdaptiveConcurrencyLimit(initialLimit, minLimit, maxLimit,
+            latencyTolerance, backoffRatio, Duration.ofMillis(windowMs).toNanos());
+        limit = adaptiveLimit.getLimit();
+
+        meterRegistry.gauge("ingestion.admission.limit", this, controller -> controller.limit);
+        meterRegistry.gauge("ingestion.admission.in_flight", inFlight);
+    }
+
+    /**
+     * 수집 요청 허용 여부 판단, 거절 시 IngestionOverloadedException
+     * 반환된 Permit은 처리가 끝나면 반드시 close해야 한다.
+     */
+    public Permit acquire(String severity, String transport) {
+        if (!enabled) {
+            return new Permit(false);
+        }
+
+        String level = severity != null ? severity.toUpperCase(Locale.ROOT) : "";
+        boolean critical = "ERROR".equals(level) || "FATAL".equals(level);
+        String shedBy = critical ? null : tryAcquire(share(level));
+
+        meterRegistry.counter("ingestion.admission.total",
+            "result", shedBy == null ? "admitted" : "shed",
+            "reason", shedBy == null ? "none" : shedBy,
+            "severity", level.isEmpty() ? "unknown" : level,
+            "transport", transport
+        ).increment();
+
+        if (shedBy != null) {
+            long retryAfter = retryAfterSeconds(level);
+            log.debug("Ingestion shed: severity={}, transport={}, reason={}, inFlight={}, limit={}",
+                level, transport, shedBy, inFlight.get(), limit);
+            throw new IngestionOverloadedException(
+                "Ingestion overloaded, retry after " + retryAfter + "s", retryAfter);
+        }
+
+        if (critical) {
+            inFlight.incrementAndGet();
+        }
+        return new Permit(true);
+    }
+
+    /**
+     * 현재 한도의 심각도별 몫 안에서 동시 처리 수를 하나 늘린다 (거절 사유 반환, 허용 시 null)
+     * 심각도별 몫은 ERROR/FATAL을 포함한 전체 동시 처리 수 기준
+     */
+    private String tryAcquire(double share) {
+        int current;
+        do {
+            current = inFlight.get();
+            if (current >= limit * share) {
+                return "severity_share";
+            }
+        } while (!inFlight.compareAndSet(current, current + 1));
+        return null;
+    }
+
+    private double share(String level) {
+        return switch (level) {
+            case "DEBUG" -> debugShare;
+            case "WARN" -> warnShare;
+            default -> infoShare;
+        };
+    }
+
+    /**
+     * 낮은 심각도일수록 재시도를 늦게 하도록 안내
+     */
+    private long retryAfterSeconds(String level) {
+        return switch (level) {
+            case "DEBUG" -> retryAfterSeconds * 4;
+            case "WARN" -> retryAfterSeconds;
+            default -> retryAfterSeconds * 2;
+        };
+    }
+
+    private void release(Permit permit) {
+        int current = inFlight.getAndDecrement();
+
+        long now = System.nanoTime();
+        boolean changed;
+        int next;
+        synchronized (adaptiveLimit) {
+            changed = adaptiveLimit.onSample(now - permit.startNanos, current, now);
+            next = adaptiveLimit.getLimit();
+        }
+        if (changed) {
+            log.debug("Ingestion concurrency limit changed: {} -> {}", limit, next);
+            limit = next;
+        }
+    }
+
+    /**
+     * 허용된 수집 요청 하나의 처리 구간 (close 시 지연 기록 및 permit 반환)
+     */
+    public final class Permit implements AutoCloseable {
+
+        private final boolean tracked;
+        private final long startNanos = System.nanoTime();
+
+        private Permit(boolean tracked) {
+            this.tracked = tracked;
+        }
+
+        @Override
+        public void close() {
+            if (tracked) {
+                release(this);
+            }
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.heimdall.ingestion.admission;
+
+import com.heimdall.exception.IngestionOverloadedException;
+import io.grpc.Metadata;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+
+/**
+ * 수집 거절을 gRPC 상태로 변환
+ * grpc-retry-pushback-ms 트레일러는 gRPC 클라이언트 재시도 정책이 그대로 따르는 재시도 지연 힌트다.
+ */
+public final class OverloadStatus {
+
+    private static final Metadata.Key<String> RETRY_PUSHBACK_MS =
+        Metadata.Key.of("grpc-retry-pushback-ms", Metadata.ASCII_STRING_MARSHALLER);
+
+    private OverloadStatus() {
+    }
+
+    public static StatusRuntimeException resourceExhausted(IngestionOverloadedException e) {
+        Metadata trailers = new Metadata();
+        trailers.put(RETRY_PUSHBACK_MS, String.valueOf(e.getRetryAfterSeconds() * 1000));
+        return Status.RESOURCE_EXHAUSTED
+            .withDescription(e.getMessage())
+            .asRuntimeException(trailers);
+    }
+}
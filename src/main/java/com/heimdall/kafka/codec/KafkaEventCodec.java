@@ -0,0 +1,128 @@
+package com.heimdall.kafka.codec;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.google.protobuf.MessageLite;
+import com.heimdall.grpc.LogIngestionRequest;
+import com.heimdall.kafka.event.AnalysisRequestEvent;
+import com.heimdall.kafka.event.AnalysisResultEvent;
+import com.heimdall.kafka.event.LogIngestionEvent;
+import com.heimdall.kafka.proto.AnalysisRequestEventMessage;
+import com.heimdall.kafka.proto.AnalysisResultEventMessage;
+import com.heimdall.kafka.proto.LogIngestionEventMessage;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.header.Header;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+/**
+ * Kafka 이벤트 인코딩/디코딩
+ * 발행 형식은 설정(heimdall.kafka.payload-format)을 따르고 content-type 헤더에 기록한다.
+ * 수신 시에는 헤더를 보고 형식을 고르므로, 이전 형식으로 발행하는 생산자가 남아 있는 마이그레이션 기간에도
+ * JSON과 protobuf 메시지를 같은 토픽에서 함께 소비할 수 있다. 헤더가 없으면 JSON으로 본다.
+ */
+@Component
+@RequiredArgsConstructor
+public class KafkaEventCodec {
+    
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    
+    @Value("${heimdall.kafka.payload-format:json}")
+    private String payloadFormatName;
+    
+    private KafkaPayloadFormat payloadFormat;
+    
+    @PostConstruct
+    public void init() {
+        payloadFormat = KafkaPayloadFormat.valueOf(payloadFormatName.trim().toUpperCase());
+    }
+    
+    /**
+     * 설정된 형식으로 인코딩한 레코드 생성 (protobuf 스키마가 없는 페이로드는 JSON)
+     */
+    public ProducerRecord<String, byte[]> toRecord(String topic, String key, Object event) throws IOException {
+        MessageLite message = payloadFormat == KafkaPayloadFormat.PROTOBUF ? toProto(event) : null;
+        
+        KafkaPayloadFormat format = message != null ? KafkaPayloadFormat.PROTOBUF : KafkaPayloadFormat.JSON;
+        byte[] value = message != null ? message.toByteArray() : objectMapper.writeValueAsBytes(event);
+        
+        return withContentType(new ProducerRecord<>(topic, key, value), format);
+    }
+    
+    /**
+     * 이미 직렬화된 JSON 문자열로 레코드 생성
+     */
+    public ProducerRecord<String, byte[]> toJsonRecord(String topic, String key, String json) {
+        return withContentType(
+            new ProducerRecord<>(topic, key, json.getBytes(StandardCharsets.UTF_8)), KafkaPayloadFormat.JSON
+        );
+    }
+    
+    public <T> T decode(ConsumerRecord<String, byte[]> record, Class<T> type) throws IOException {
+        Header header = record.headers().lastHeader(KafkaPayloadFormat.HEADER);
+        KafkaPayloadFormat format = KafkaPayloadFormat.fromContentType(
+            header != null ? new String(header.value(), StandardCharsets.UTF_8) : null
+        );
+        
+        meterRegistry.counter("kafka.payload.decoded", "format", format.name(), "topic", record.topic()).increment();
+        
+        if (format == KafkaPayloadFormat.PROTOBUF) {
+            return type.cast(fromProto(record.value(), type));
+        }
+        if (format == KafkaPayloadFormat.GRPC_LOG_REQUEST && type == LogIngestionEvent.class) {
+            // 재전달되어도 같은 eventId가 되도록 레코드 위치로 생성 (중복 저장 방지)
+            String eventId = UUID.nameUUIDFromBytes(
+                (record.topic() + "/" + record.partition() + "/" + record.offset()).getBytes(StandardCharsets.UTF_8)
+            ).toString();
+            return type.cast(ProtoEventMapper.fromIngestionRequest(LogIngestionRequest.parseFrom(record.value()), eventId));
+        }
+        return objectMapper.readValue(record.value(), type);
+    }
+    
+    /**
+     * 이미 인코딩된 페이로드를 그대로 담은 레코드 생성 (gRPC passthrough)
+     */
+    public ProducerRecord<String, byte[]> toRawRecord(String topic, String key, byte[] value, KafkaPayloadFormat format) {
+        return withContentType(new ProducerRecord<>(topic, key, value), format);
+    }
+    
+    private ProducerRecord<String, byte[]> withContentType(ProducerRecord<String, byte[]> record, KafkaPayloadFormat format) {
+        record.headers().add(KafkaPayloadFormat.HEADER, format.getContentType().getBytes(StandardCharsets.UTF_8));
+        return record;
+    }
+    
+    private static MessageLite toProto(Object event) {
+        if (event instanceof LogIngestionEvent logIngestionEvent) {
+            return ProtoEventMapper.toProto(logIngestionEvent);
+        }
+        if (event instanceof AnalysisRequestEvent analysisRequestEvent) {
+            return ProtoEventMapper.toProto(analysisRequestEvent);
+        }
+        if (event instanceof AnalysisResultEvent analysisResultEvent) {
+            return ProtoEventMapper.toProto(analysisResultEvent);
+        }
+        return null;
+    }
+    
+    private static Object fromProto(byte[] value, Class<?> type) throws InvalidProtocolBufferException {
+        if (type == LogIngestionEvent.class) {
+            return ProtoEventMapper.fromProto(LogIngestionEventMessage.parseFrom(value));
+        }
+        if (type == AnalysisRequestEvent.class) {
+            return ProtoEventMapper.fromProto(AnalysisRequestEventMessage.parseFrom(value));
+        }
+        if (type == AnalysisResultEvent.class) {
+            return ProtoEventMapper.fromProto(AnalysisResultEventMessage.parseFrom(value));
+        }
+        throw new IllegalArgumentException("No protobuf schema for " + type.getSimpleName());
+    }
+}
@@ -0,0 +1,35 @@
+package com.heimdall.kafka.codec;
+
+/**
+ * Kafka 메시지 페이로드 형식 (content-type 헤더 값)
+ */
+public enum KafkaPayloadFormat {
+    JSON("application/json"),
+    PROTOBUF("application/x-protobuf"),
+    /** gRPC passthrough로 그대로 전달된 heimdall.LogIngestionRequest */
+    GRPC_LOG_REQUEST("application/x-protobuf; proto=heimdall.LogIngestionRequest");
+    
+    public static final String HEADER = "content-type";
+    
+    private final String contentType;
+    
+    KafkaPayloadFormat(String contentType) {
+        this.contentType = contentType;
+    }
+    
+    public String getContentType() {
+        return contentType;
+    }
+    
+    /**
+     * 헤더 값으로 형식 판단 (헤더가 없거나 모르는 값이면 기존 JSON)
+     */
+    public static KafkaPayloadFormat fromContentType(String contentType) {
+        for (KafkaPayloadFormat format : values()) {
+            if (format.contentType.equalsIgnoreCase(contentType)) {
+                return format;
+            }
+        }
+        return JSON;
+    }
+}
@@ -0,0 +1,240 @@
+package com.heimdall.kafka.codec;
+
+import com.google.common.base.Strings;
+import com.google.protobuf.ListValue;
+import com.google.protobuf.NullValue;
+import com.google.protobuf.Struct;
+import com.google.protobuf.Value;
+import com.heimdall.grpc.LogIngestionRequest;
+import com.heimdall.kafka.event.AnalysisRequestEvent;
+import com.heimdall.kafka.event.AnalysisResultEvent;
+import com.heimdall.kafka.event.LogIngestionEvent;
+import com.heimdall.kafka.proto.AnalysisRequestEventMessage;
+import com.heimdall.kafka.proto.AnalysisResultDetailMessage;
+import com.heimdall.kafka.proto.AnalysisResultEventMessage;
+import com.heimdall.kafka.proto.LogIngestionEventMessage;
+import com.heimdall.util.DateTimeUtil;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Kafka 이벤트 DTO ↔ protobuf 메시지 변환
+ * proto3 문자열은 null을 가질 수 없으므로 null은 빈 문자열로 보내고, 받을 때 다시 null로 되돌린다.
+ */
+public final class ProtoEventMapper {
+    
+    private ProtoEventMapper() {
+    }
+    
+    public static LogIngestionEventMessage toProto(LogIngestionEvent event) {
+        LogIngestionEventMessage.Builder builder = LogIngestionEventMessage.newBuilder()
+            .setEventId(Strings.nullToEmpty(event.getEventId()))
+            .setTimestampMillis(toMillis(event.getTimestamp()))
+            .setSource(Strings.nullToEmpty(event.getSource()))
+            .setServiceName(Strings.nullToEmpty(event.getServiceName()))
+            .setEnvironment(Strings.nullToEmpty(event.getEnvironment()))
+            .setSeverity(Strings.nullToEmpty(event.getSeverity()))
+            .setLogContent(Strings.nullToEmpty(event.getLogContent()));
+        if (event.getMetadata() != null) {
+            builder.setMetadata(toStruct(event.getMetadata()));
+        }
+        return builder.build();
+    }
+    
+    public static LogIngestionEvent fromProto(LogIngestionEventMessage message) {
+        return LogIngestionEvent.builder()
+            .eventId(Strings.emptyToNull(message.getEventId()))
+            .timestamp(toDateTime(message.getTimestampMillis()))
+            .source(Strings.emptyToNull(message.getSource()))
+            .serviceName(Strings.emptyToNull(message.getServiceName()))
+            .environment(Strings.emptyToNull(message.getEnvironment()))
+            .severity(Strings.emptyToNull(message.getSeverity()))
+            .logContent(message.getLogContent())
+            .metadata(message.hasMetadata() ? fromStruct(message.getMetadata()) : null)
+            .build();
+    }
+    
+    public static AnalysisRequestEventMessage toProto(AnalysisRequestEvent event) {
+        return AnalysisRequestEventMessage.newBuilder()
+            .setRequestId(Strings.nullToEmpty(event.getRequestId()))
+            .setTimestampMillis(toMillis(event.getTimestamp()))
+            .setLogId(event.getLogId() != null ? event.getLogId() : 0L)
+            .setLogContent(Strings.nullToEmpty(event.getLogContent()))
+            .setServiceName(Strings.nullToEmpty(event.getServiceName()))
+            .setEnvironment(Strings.nullToEmpty(event.getEnvironment()))
+            .setAnalysisType(Strings.nullToEmpty(event.getAnalysisType()))
+            .setPriority(Strings.nullToEmpty(event.getPriority()))
+            .setCallbackTopic(Strings.nullToEmpty(event.getCallbackTopic()))
+            .setCorrelationId(Strings.nullToEmpty(event.getCorrelationId()))
+            .build();
+    }
+    
+    public static AnalysisRequestEvent fromProto(AnalysisRequestEventMessage message) {
+        return AnalysisRequestEvent.builder()
+            .requestId(Strings.emptyToNull(message.getRequestId()))
+            .timestamp(toDateTime(message.getTimestampMillis()))
+            .logId(message.getLogId())
+            .logContent(message.getLogContent())
+            .serviceName(Strings.emptyToNull(message.getServiceName()))
+            .environment(Strings.emptyToNull(message.getEnvironment()))
+            .analysisType(Strings.emptyToNull(message.getAnalysisType()))
+            .priority(Strings.emptyToNull(message.getPriority()))
+            .callbackTopic(Strings.emptyToNull(message.getCallbackTopic()))
+            .correlationId(Strings.emptyToNull(message.getCorrelationId()))
+            .build();
+    }
+    
+    public static AnalysisResultEventMessage toProto(AnalysisResultEvent event) {
+        AnalysisResultEventMessage.Builder builder = AnalysisResultEventMessage.newBuilder()
+            .setRequestId(Strings.nullToEmpty(event.getRequestId()))
+            .setCorrelationId(Strings.nullToEmpty(event.getCorrelationId()))
+            .setTimestampMillis(toMillis(event.getTimestamp()))
+            .setLogId(event.getLogId() != null ? event.getLogId() : 0L)
+            .setModel(Strings.nullToEmpty(event.getModel()));
+        if (event.getBifrostAnalysisId() != null) {
+            builder.setBifrostAnalysisId(event.getBifrostAnalysisId());
+        }
+        if (event.getDurationSeconds() != null) {
+            builder.setDurationSeconds(event.getDurationSeconds().toPlainString());
+        }
+        
+        AnalysisResultEvent.AnalysisResultDetail detail = event.getAnalysisResult();
+        if (detail != null) {
+            AnalysisResultDetailMessage.Builder detailBuilder = AnalysisResultDetailMessage.newBuilder()
+                .setSummary(Strings.nullToEmpty(detail.getSummary()))
+                .setRootCause(Strings.nullToEmpty(detail.getRootCause()))
+                .setRecommendation(Strings.nullToEmpty(detail.getRecommendation()))
+                .setSeverity(Strings.nullToEmpty(detail.getSeverity()));
+            if (detail.getConfidence() != null) {
+                detailBuilder.setConfidence(detail.getConfidence().toPlainString());
+            }
+            builder.setAnalysisResult(detailBuilder);
+        }
+        return builder.build();
+    }
+    
+    public static AnalysisResultEvent fromProto(AnalysisResultEventMessage message) {
+        AnalysisResultEvent.AnalysisResultDetail detail = null;
+        if (message.hasAnalysisResult()) {
+            AnalysisResultDetailMessage detailMessage = message.getAnalysisResult();
+            detail = AnalysisResultEvent.AnalysisResultDetail.builder()
+                .summary(Strings.emptyToNull(detailMessage.getSummary()))
+                .rootCause(Strings.emptyToNull(detailMessage.getRootCause()))
+                .recommendation(Strings.emptyToNull(detailMessage.getRecommendation()))
+                .severity(Strings.emptyToNull(detailMessage.getSeverity()))
+                .confidence(detailMessage.hasConfidence() ? new BigDecimal(detailMessage.getConfidence()) : null)
+                .build();
+        }
+        
+        return AnalysisResultEvent.builder()
+            .requestId(Strings.emptyToNull(message.getRequestId()))
+            .correlationId(Strings.emptyToNull(message.getCorrelationId()))
+            .timestamp(toDateTime(message.getTimestampMillis()))
+            .logId(message.getLogId())
+            .analysisResult(detail)
+            .bifrostAnalysisId(message.hasBifrostAnalysisId() ? message.getBifrostAnalysisId() : null)
+            .model(Strings.emptyToNull(message.getModel()))
+            .durationSeconds(message.hasDurationSeconds() ? new BigDecimal(message.getDurationSeconds()) : null)
+            .build();
+    }
+    
+    /**
+     * gRPC passthrough로 전달된 수집 요청을 수집 이벤트로 변환 (LogServiceGrpcImpl과 같은 규칙)
+     */
+    public static LogIngestionEvent fromIngestionRequest(LogIngestionRequest request, String eventId) {
+        Map<String, Object> metadata = new HashMap<>(request.getMetadataMap());
+        if (!request.getTraceId().isEmpty()) {
+            metadata.put("trace_id", request.getTraceId());
+        }
+        if (!request.getSpanId().isEmpty()) {
+            metadata.put("span_id", request.getSpanId());
+        }
+        
+        return LogIngestionEvent.builder()
+            .eventId(eventId)
+            .timestamp(request.getTimestampMillis() > 0 ? toDateTime(request.getTimestampMillis()) : DateTimeUtil.now())
+            .source(request.getSource())
+            .serviceName(Strings.emptyToNull(request.getServiceName()))
+            .environment(Strings.emptyToNull(request.getEnvironment()))
+            .severity(request.getSeverity())
+            .logContent(request.getLogContent())
+            .metadata(metadata)
+            .build();
+    }
+    
+    private static long toMillis(LocalDateTime dateTime) {
+        return dateTime != null ? dateTime.toInstant(ZoneOffset.UTC).toEpochMilli() : 0L;
+    }
+    
+    private static LocalDateTime toDateTime(long millis) {
+        return millis != 0 ? LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), ZoneOffset.UTC) : null;
+    }
+    
+    private static Struct toStruct(Map<String, Object> map) {
+        Struct.Builder builder = Struct.newBuilder();
+        map.forEach((key, value) -> builder.putFields(key, toValue(value)));
+        return builder.build();
+    }
+    
+    @SuppressWarnings("unchecked")
+    private static Value toValue(Object value) {
+        if (value == null) {
+            return Value.newBuilder().setNullValue(NullValue.NULL_VALUE).build();
+        }
+        if (value instanceof Boolean bool) {
+            return Value.newBuilder().setBoolValue(bool).build();
+        }
+        if (value instanceof Number number) {
+            return Value.newBuilder().setNumberValue(number.doubleValue()).build();
+        }
+        if (value instanceof Map<?, ?> map) {
+            return Value.newBuilder().setStructValue(toStruct((Map<String, Object>) map)).build();
+        }
+        if (value instanceof List<?> list) {
+            ListValue.Builder listBuilder = ListValue.newBuilder();
+            list.forEach(item -> listBuilder.addValues(toValue(item)));
+            return Value.newBuilder().setListValue(listBuilder).build();
+        }
+        return Value.newBuilder().setStringValue(value.toString()).build();
+    }
+    
+    private static Map<String, Object> fromStruct(Struct struct) {
+        Map<String, Object> map = new LinkedHashMap<>();
+        struct.getFieldsMap().forEach((key, value) -> map.put(key, fromValue(value)));
+        return map;
+    }
+    
+    private static Object fromValue(Value value) {
+        return switch (value.getKindCase()) {
+            case BOOL_VALUE -> value.getBoolValue();
+            case NUMBER_VALUE -> fromNumber(value.getNumberValue());
+            case STRING_VALUE -> value.getStringValue();
+            case STRUCT_VALUE -> fromStruct(value.getStructValue());
+            case LIST_VALUE -> {
+                List<Object> list = new ArrayList<>();
+                value.getListValue().getValuesList().forEach(item -> list.add(fromValue(item)));
+                yield list;
+            }
+            default -> null;
+        };
+    }
+    
+    /**
+     * Struct는 숫자를 double로만 담으므로 정수 값은 JSON 역직렬화와 같이 정수로 되돌린다
+     */
+    private static Object fromNumber(double number) {
+        if (number == Math.rint(number) && Math.abs(number) < 1e15) {
+            long integral = (long) number;
+            return integral >= Integer.MIN_VALUE && integral <= Integer.MAX_VALUE ? (Object) (int) integral : integral;
+        }
+        return number;
+    }
+}
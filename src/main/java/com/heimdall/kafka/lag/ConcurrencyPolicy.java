@@ -0,0 +1,60 @@
+package com.heimdall.kafka.lag;
+
+/**
+ * 리스너 컨테이너 동시성 조정 규칙
+ * 적체를 비우는 데 걸리는 예상 시간이 길면 한 단계 늘리고, 충분히 짧으면 한 단계 줄인다.
+ * 다만 처리 지연이 기준보다 크게 늘었다면 DB 등 하위 자원이 포화된 것으로 보고 늘리지 않는다
+ * (소비자를 더 붙여도 처리량은 늘지 않고 지연만 커진다).
+ * 
+ * @param min 최소 동시성
+ * @param max 최대 동시성 (토픽 파티션 수를 넘지 않음)
+ * @param scaleUpDrainSeconds 이보다 오래 걸릴 적체면 증가
+ * @param scaleDownDrainSeconds 이보다 빨리 비울 적체면 감소
+ * @param maxLatencyRatio 기준 처리 지연 대비 허용 배율
+ */
+public record ConcurrencyPolicy(
+    int min,
+    int max,
+    double scaleUpDrainSeconds,
+    double scaleDownDrainSeconds,
+    double maxLatencyRatio
+) {
+    
+    public ConcurrencyPolicy {
+        if (min <= 0 || max < min) {
+            throw new IllegalArgumentException("Invalid concurrency bounds: min=" + min + ", max=" + max);
+        }
+        if (scaleDownDrainSeconds >= scaleUpDrainSeconds) {
+            throw new IllegalArgumentException("scaleDownDrainSeconds must be below scaleUpDrainSeconds");
+        }
+    }
+    
+    /**
+     * 다음 동시성
+     * 
+     * @param partitions 토픽 파티션 수 (그 이상의 소비 스레드는 할당받을 파티션이 없음)
+     * @param latencyMs 최근 구간 처리 지연 (측정값이 없으면 NaN)
+     * @param baselineLatencyMs 평상시 처리 지연 (모르면 0 이하)
+     */
+    public int next(int current, int partitions, double drainSeconds, double latencyMs, double baselineLatencyMs) {
+        int upper = Math.max(min, Math.min(max, partitions));
+        if (current > upper) {
+            return upper;
+        }
+        if (current < min) {
+            return min;
+        }
+        
+        if (drainSeconds > scaleUpDrainSeconds && current < upper && !saturated(latencyMs, baselineLatencyMs)) {
+            return current + 1;
+        }
+        if (drainSeconds < scaleDownDrainSeconds && current > min) {
+            return current - 1;
+        }
+        return current;
+    }
+    
+    private boolean saturated(double latencyMs, double baselineLatencyMs) {
+        return baselineLatencyMs > 0 && !Double.isNaN(latencyMs) && latencyMs > baselineLatencyMs * maxLatencyRatio;
+    }
+}
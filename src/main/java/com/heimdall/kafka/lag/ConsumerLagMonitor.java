@@ -0,0 +1,227 @@
+package com.heimdall.kafka.lag;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.MultiGauge;
+import io.micrometer.core.instrument.Tags;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.admin.AdminClient;
+import org.apache.kafka.clients.admin.ListOffsetsResult;
+import org.apache.kafka.clients.admin.MemberDescription;
+import org.apache.kafka.clients.admin.OffsetSpec;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaAdmin;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 컨슈머 그룹 lag 수집
+ * 그룹의 커밋 오프셋과 파티션 끝 오프셋을 주기적으로 비교해 파티션/토픽별 lag을 기록하고,
+ * 커밋 오프셋 증가량으로 구한 소비 속도로 적체를 비우는 데 걸릴 예상 시간을 계산한다.
+ * 그룹 전체 값이므로 모든 인스턴스가 같은 값을 내보내며, HPA는 토픽별 최댓값을 외부 메트릭으로 사용한다.
+ * 소비 속도를 아직 한 번도 측정하지 못했으면 예상 소진 시간은 NaN으로 둔다 (첫 샘플에서 상한값이 나가 오판하지 않도록).
+ * 
+ * 토픽별로 파티션을 할당받은 그룹 멤버의 호스트 수(인스턴스 수)도 함께 기록해, 인스턴스별 동시성 상한 계산에 쓴다.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ConsumerLagMonitor {
+    
+    private final KafkaAdmin kafkaAdmin;
+    private final MeterRegistry meterRegistry;
+    
+    @Value("${spring.kafka.consumer.group-id}")
+    private String groupId;
+    
+    @Value("${heimdall.kafka.lag.enabled:true}")
+    private boolean enabled;
+    
+    @Value("${heimdall.kafka.lag.timeout-ms:5000}")
+    private long timeoutMs;
+    
+    @Value("${heimdall.kafka.lag.rate-alpha:0.3}")
+    private double rateAlpha;
+    
+    @Value("${heimdall.kafka.lag.max-drain-seconds:3600}")
+    private double maxDrainSeconds;
+    
+    private AdminClient adminClient;
+    private MultiGauge partitionLagGauge;
+    private MultiGauge topicLagGauge;
+    private MultiGauge consumeRateGauge;
+    private MultiGauge drainSecondsGauge;
+    
+    private final Map<String, Double> consumeRates = new HashMap<>();
+    private Map<TopicPartition, Long> previousCommitted = Map.of();
+    private long previousSampleAt;
+    private volatile Map<String, TopicLag> topicLags = Map.of();
+    
+    /**
+     * 토픽 단위 lag 요약
+     * 
+     * @param consumeRate 초당 커밋 오프셋 증가량 (EWMA)
+     * @param drainSeconds 현재 속도로 lag을 비우는 데 걸리는 예상 시간 (상한 max-drain-seconds, 속도 측정 전이면 NaN)
+     * @param instances 이 토픽의 파티션을 할당받은 그룹 멤버의 호스트 수 (모르면 1)
+     */
+    public record TopicLag(String topic, int partitions, long lag, double consumeRate, double drainSeconds, int instances) {
+    }
+    
+    @PostConstruct
+    public void init() {
+        if (!enabled) {
+            return;
+        }
+        partitionLagGauge = MultiGauge.builder("kafka.consumer.group.lag")
+            .description("Consumer group lag per partition")
+            .register(meterRegistry);
+        topicLagGauge = MultiGauge.builder("kafka.consumer.group.topic.lag")
+            .description("Consumer group lag per topic")
+            .register(meterRegistry);
+        consumeRateGauge = MultiGauge.builder("kafka.consumer.group.consume.rate")
+            .description("Committed records per second per topic")
+            .register(meterRegistry);
+        drainSecondsGauge = MultiGauge.builder("kafka.consumer.group.drain.seconds")
+            .description("Estimated seconds to drain the topic lag")
+            .register(meterRegistry);
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        if (adminClient != null) {
+            adminClient.close();
+        }
+    }
+    
+    public Optional<TopicLag> getTopicLag(String topic) {
+        return Optional.ofNullable(topicLags.get(topic));
+    }
+    
+    @Scheduled(fixedDelayString = "${heimdall.kafka.lag.interval-ms:10000}")
+    public synchronized void sample() {
+        if (!enabled) {
+            return;
+        }
+        
+        try {
+            if (adminClient == null) {
+                adminClient = AdminClient.create(kafkaAdmin.getConfigurationProperties());
+            }
+            Map<TopicPartition, OffsetAndMetadata> committed = adminClient.listConsumerGroupOffsets(groupId)
+                .partitionsToOffsetAndMetadata()
+                .get(timeoutMs, TimeUnit.MILLISECONDS);
+            
+            Map<TopicPartition, OffsetSpec> request = new HashMap<>();
+            committed.forEach((partition, offset) -> {
+                if (offset != null) {
+                    request.put(partition, OffsetSpec.latest());
+                }
+            });
+            Map<TopicPartition, ListOffsetsResult.ListOffsetsResultInfo> endOffsets = adminClient.listOffsets(request)
+                .all()
+                .get(timeoutMs, TimeUnit.MILLISECONDS);
+            
+            Collection<MemberDescription> members = adminClient.describeConsumerGroups(List.of(groupId))
+                .describedGroups()
+                .get(groupId)
+                .get(timeoutMs, TimeUnit.MILLISECONDS)
+                .members();
+            
+            record(committed, endOffsets, members, System.currentTimeMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.warn("Failed to sample consumer group lag: groupId={}", groupId, e);
+        }
+    }
+    
+    void record(
+        Map<TopicPartition, OffsetAndMetadata> committed,
+        Map<TopicPartition, ListOffsetsResult.ListOffsetsResultInfo> endOffsets,
+        Collection<MemberDescription> members,
+        long now
+    ) {
+        Map<String, Set<String>> hostsByTopic = new HashMap<>();
+        for (MemberDescription member : members) {
+            for (TopicPartition partition : member.assignment().topicPartitions()) {
+                hostsByTopic.computeIfAbsent(partition.topic(), topic -> new HashSet<>()).add(member.host());
+            }
+        }
+        
+        Map<String, Long> lagByTopic = new HashMap<>();
+        Map<String, Long> consumedByTopic = new HashMap<>();
+        Map<String, Integer> partitionsByTopic = new HashMap<>();
+        Map<TopicPartition, Long> currentCommitted = new HashMap<>();
+        List<MultiGauge.Row<?>> partitionRows = new ArrayList<>();
+        
+        endOffsets.forEach((partition, end) -> {
+            long offset = committed.get(partition).offset();
+            long lag = Math.max(0, end.offset() - offset);
+            currentCommitted.put(partition, offset);
+            
+            lagByTopic.merge(partition.topic(), lag, Long::sum);
+            partitionsByTopic.merge(partition.topic(), 1, Integer::sum);
+            Long previous = previousCommitted.get(partition);
+            if (previous != null && offset >= previous) {
+                consumedByTopic.merge(partition.topic(), offset - previous, Long::sum);
+            }
+            
+            partitionRows.add(MultiGauge.Row.of(
+                Tags.of("topic", partition.topic(), "partition", String.valueOf(partition.partition())), lag));
+        });
+        
+        double elapsedSeconds = previousSampleAt > 0 ? (now - previousSampleAt) / 1000.0 : 0;
+        Map<String, TopicLag> summaries = new HashMap<>();
+        List<MultiGauge.Row<?>> topicRows = new ArrayList<>();
+        List<MultiGauge.Row<?>> rateRows = new ArrayList<>();
+        List<MultiGauge.Row<?>> drainRows = new ArrayList<>();
+        
+        lagByTopic.forEach((topic, lag) -> {
+            if (elapsedSeconds > 0 && consumedByTopic.containsKey(topic)) {
+                double rate = consumedByTopic.get(topic) / elapsedSeconds;
+                consumeRates.merge(topic, rate, (old, sampled) -> old + rateAlpha * (sampled - old));
+            }
+            Double rate = consumeRates.get(topic);
+            double drain;
+            if (lag == 0) {
+                drain = 0;
+            } else if (rate == null) {
+                drain = Double.NaN;
+            } else {
+                drain = rate > 0 ? Math.min(maxDrainSeconds, lag / rate) : maxDrainSeconds;
+            }
+            int instances = Math.max(1, hostsByTopic.getOrDefault(topic, Set.of()).size());
+            
+            summaries.put(topic, new TopicLag(topic, partitionsByTopic.get(topic), lag,
+                rate != null ? rate : 0.0, drain, instances));
+            Tags tags = Tags.of("topic", topic);
+            topicRows.add(MultiGauge.Row.of(tags, lag));
+            rateRows.add(MultiGauge.Row.of(tags, rate != null ? rate : 0.0));
+            drainRows.add(MultiGauge.Row.of(tags, drain));
+        });
+        
+        partitionLagGauge.register(partitionRows, true);
+        topicLagGauge.register(topicRows, true);
+        consumeRateGauge.register(rateRows, true);
+        drainSecondsGauge.register(drainRows, true);
+        
+        consumeRates.keySet().retainAll(lagByTopic.keySet());
+        previousCommitted = currentCommitted;
+        previousSampleAt = now;
+        topicLags = summaries;
+    }
+}
@@ -0,0 +1,203 @@
+package com.heimdall.kafka.lag;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.listener.ConcurrentMessageListenerContainer;
+import org.springframework.kafka.listener.MessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * lag/처리 지연 기반 리스너 컨테이너 동시성 조정
+ * 동시성 변경은 컨테이너 재시작(리밸런스)을 동반하므로 긴 주기로 한 단계씩만 바꾸고,
+ * 줄이는 쪽은 여러 주기 연속으로 여유가 있을 때만 적용한다.
+ * 처리 지연은 Spring Kafka 리스너 타이머(spring.kafka.listener)의 주기별 평균을 쓴다.
+ * 
+ * 모든 인스턴스가 같은 그룹 lag을 보므로 인스턴스별 상한은 파티션 수를 그룹 인스턴스 수로 나눈 값이고,
+ * 인스턴스들이 같은 주기에 동시에 바꿔 리밸런스가 겹치지 않도록 변경 사이에 무작위 지연(jitter)을 둔다.
+ * HPA가 같은 lag 메트릭으로 파드 수를 조정하는 배포에서는 끄는 것을 권장한다 (KAFKA_CONCURRENCY_CONTROL_ENABLED).
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ListenerConcurrencyController {
+    
+    private static final String LISTENER_TIMER = "spring.kafka.listener";
+    private static final double BASELINE_DRIFT = 1.05; // 기준 지연이 주기마다 올라갈 수 있는 비율
+    
+    private final KafkaListenerEndpointRegistry listenerRegistry;
+    private final ConsumerLagMonitor consumerLagMonitor;
+    private final MeterRegistry meterRegistry;
+    
+    @Value("${heimdall.kafka.concurrency.enabled:true}")
+    private boolean enabled;
+    
+    @Value("${heimdall.kafka.concurrency.listeners:log-ingestion,parallel-log-ingestion,analysis-result}")
+    private List<String> listenerIds;
+    
+    @Value("${heimdall.kafka.concurrency.min:1}")
+    private int minConcurrency;
+    
+    @Value("${heimdall.kafka.concurrency.max:6}")
+    private int maxConcurrency;
+    
+    @Value("${heimdall.kafka.concurrency.scale-up-drain-seconds:60}")
+    private double scaleUpDrainSeconds;
+    
+    @Value("${heimdall.kafka.concurrency.scale-down-drain-seconds:5}")
+    private double scaleDownDrainSeconds;
+    
+    @Value("${heimdall.kafka.concurrency.max-latency-ratio:2.0}")
+    private double maxLatencyRatio;
+    
+    @Value("${heimdall.kafka.concurrency.scale-down-intervals:3}")
+    private int scaleDownIntervals;
+    
+    @Value("${heimdall.kafka.concurrency.jitter-ms:60000}")
+    private long jitterMs;
+    
+    private ConcurrencyPolicy policy;
+    private final Map<String, ListenerState> states = new HashMap<>();
+    
+    @PostConstruct
+    public void init() {
+        policy = new ConcurrencyPolicy(
+            minConcurrency, maxConcurrency, scaleUpDrainSeconds, scaleDownDrainSeconds, maxLatencyRatio);
+    }
+    
+    @Scheduled(
+        fixedDelayString = "${heimdall.kafka.concurrency.interval-ms:60000}",
+        initialDelayString = "${heimdall.kafka.concurrency.interval-ms:60000}"
+    )
+    public synchronized void adjust() {
+        if (!enabled) {
+            return;
+        }
+        
+        for (String listenerId : listenerIds) {
+            MessageListenerContainer container = listenerRegistry.getListenerContainer(listenerId);
+            if (container instanceof ConcurrentMessageListenerContainer<?, ?> concurrent && concurrent.isRunning()) {
+                adjust(listenerId, concurrent);
+            }
+        }
+    }
+    
+    private void adjust(String listenerId, ConcurrentMessageListenerContainer<?, ?> container) {
+        ListenerState state = states.computeIfAbsent(listenerId, id -> {
+            Gauge.builder("kafka.listener.concurrency", container, ConcurrentMessageListenerContainer::getConcurrency)
+                .tag("listener", id)
+                .register(meterRegistry);
+            ListenerState created = new ListenerState();
+            created.holdUntilMillis = System.currentTimeMillis() + jitter();
+            return created;
+        });
+        
+        String[] topics = container.getContainerProperties().getTopics();
+        if (topics == null || topics.length == 0) {
+            return;
+        }
+        ConsumerLagMonitor.TopicLag lag = consumerLagMonitor.getTopicLag(topics[0]).orElse(null);
+        if (lag == null) {
+            return;
+        }
+        
+        double latencyMs = state.intervalLatencyMs(listenerId);
+        int current = container.getConcurrency();
+        int partitionShare = (lag.partitions() + lag.instances() - 1) / lag.instances();
+        int next = policy.next(current, partitionShare, lag.drainSeconds(), latencyMs, state.baselineLatencyMs);
+        state.updateBaseline(latencyMs);
+        
+        // 여유가 있어 줄이는 결정은 연속으로 나와야 적용 (리밸런스 반복 방지, 상한 초과분은 바로 적용)
+        boolean withinBounds = current <= Math.min(maxConcurrency, partitionShare);
+        if (next < current && withinBounds) {
+            if (++state.scaleDownVotes < scaleDownIntervals) {
+                return;
+            }
+        }
+        state.scaleDownVotes = 0;
+        
+        if (next == current) {
+            return;
+        }
+        
+        long now = System.currentTimeMillis();
+        if (withinBounds && now < state.holdUntilMillis) {
+            return;
+        }
+        state.holdUntilMillis = now + jitter();
+        
+        log.info("Adjusting listener concurrency: listener={}, topic={}, {} -> {}, lag={}, drainSeconds={}, latencyMs={}, instances={}",
+            listenerId, topics[0], current, next, lag.lag(), String.format("%.1f", lag.drainSeconds()),
+            String.format("%.1f", latencyMs), lag.instances());
+        meterRegistry.counter("kafka.listener.concurrency.changes",
+            "listener", listenerId,
+            "direction", next > current ? "up" : "down"
+        ).increment();
+        
+        container.stop(() -> {
+            container.setConcurrency(next);
+            container.start();
+        });
+    }
+    
+    /**
+     * 다음 변경까지의 무작위 대기 시간 (0 ~ jitter-ms)
+     */
+    private long jitter() {
+        return jitterMs > 0 ? ThreadLocalRandom.current().nextLong(jitterMs) : 0;
+    }
+    
+    private final class ListenerState {
+        
+        private long holdUntilMillis;
+        private long previousCount;
+        private double previousTotalMs;
+        private double baselineLatencyMs;
+        private int scaleDownVotes;
+        
+        /**
+         * 지난 주기 동안의 리스너 호출 평균 시간 (호출이 없으면 NaN)
+         */
+        private double intervalLatencyMs(String listenerId) {
+            long count = 0;
+            double totalMs = 0;
+            for (Timer timer : meterRegistry.find(LISTENER_TIMER).timers()) {
+                String name = timer.getId().getTag("name");
+                if (name != null && name.startsWith(listenerId + "-")) {
+                    count += timer.count();
+                    totalMs += timer.totalTime(TimeUnit.MILLISECONDS);
+                }
+            }
+            
+            long calls = count - previousCount;
+            double elapsedMs = totalMs - previousTotalMs;
+            previousCount = count;
+            previousTotalMs = totalMs;
+            return calls > 0 ? elapsedMs / calls : Double.NaN;
+        }
+        
+        /**
+         * 기준 지연은 관측된 최소값을 따르되 조금씩 올라갈 수 있게 하여 부하 특성 변화에 적응
+         */
+        private void updateBaseline(double latencyMs) {
+            if (Double.isNaN(latencyMs)) {
+                return;
+            }
+            baselineLatencyMs = baselineLatencyMs <= 0
+                ? latencyMs
+                : Math.min(latencyMs, baselineLatencyMs * BASELINE_DRIFT);
+        }
+    }
+}
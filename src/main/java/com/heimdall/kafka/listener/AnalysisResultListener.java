@@ -1,54 +1,102 @@
 package com.heimdall.kafka.listener;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.heimdall.kafka.codec.KafkaEventCodec;
 import com.heimdall.kafka.event.AnalysisResultEvent;
+import com.heimdall.kafka.retry.RetryableRecordHandler;
 import com.heimdall.service.LogProcessingService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.listener.BatchListenerFailedException;
 import org.springframework.kafka.support.Acknowledgment;
-import org.springframework.kafka.support.KafkaHeaders;
-import org.springframework.messaging.handler.annotation.Header;
-import org.springframework.messaging.handler.annotation.Payload;
 import org.springframework.stereotype.Component;
 
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
 @Component
 @RequiredArgsConstructor
 @Slf4j
-public class AnalysisResultListener {
+public class AnalysisResultListener implements RetryableRecordHandler {
     
     private final LogProcessingService logProcessingService;
-    private final ObjectMapper objectMapper;
+    private final KafkaEventCodec kafkaEventCodec;
+    
+    @Value("${kafka.topics.analysis-result}")
+    private String analysisResultTopic;
+    
+    @Value("${heimdall.analysis.result-batch.enabled:true}")
+    private boolean batchEnabled;
     
+    /**
+     * 실패한 레코드는 BatchListenerFailedException으로 위치를 알려 에러 핸들러가 재시도 토픽/DLQ로 넘기게 한다
+     * (앞선 레코드는 커밋, 뒤의 레코드는 다시 수신되며 결과 저장은 request_id 기준으로 멱등)
+     */
     @KafkaListener(
+        id = "analysis-result",
         topics = "${kafka.topics.analysis-result}",
         groupId = "${spring.kafka.consumer.group-id}",
-        containerFactory = "kafkaListenerContainerFactory"
+        containerFactory = "batchKafkaListenerContainerFactory",
+        properties = "max.poll.records:${heimdall.analysis.result-batch.max-poll-records:500}"
     )
-    public void handleAnalysisResult(
-        @Payload String message,
-        @Header(KafkaHeaders.RECEIVED_KEY) String key,
-        @Header(KafkaHeaders.RECEIVED_PARTITION) int partition,
-        @Header(KafkaHeaders.OFFSET) long offset,
+    public void handleAnalysisResults(
+        List<ConsumerRecord<String, byte[]>> records,
         Acknowledgment acknowledgment
     ) {
-        try {
-            log.debug("Received analysis result message: key={}, partition={}, offset={}", 
-                key, partition, offset);
-            
-            AnalysisResultEvent event = objectMapper.readValue(message, AnalysisResultEvent.class);
-            logProcessingService.processAnalysisResult(event);
-            
-            // 수동 커밋
-            acknowledgment.acknowledge();
-            
-            log.info("Successfully processed analysis result: requestId={}, logId={}", 
-                event.getRequestId(), event.getLogId());
-        } catch (Exception e) {
-            log.error("Error processing analysis result message: key={}, offset={}", 
-                key, offset, e);
-            // 에러 발생 시에도 acknowledge
-            acknowledgment.acknowledge();
+        log.debug("Received analysis result batch: size={}", records.size());
+        
+        // 역직렬화에 실패한 레코드 앞까지만 처리
+        List<AnalysisResultEvent> events = new ArrayList<>(records.size());
+        Exception decodeFailure = null;
+        for (ConsumerRecord<String, byte[]> record : records) {
+            try {
+                events.add(kafkaEventCodec.decode(record, AnalysisResultEvent.class));
+            } catch (Exception e) {
+                decodeFailure = e;
+                break;
+            }
+        }
+        int decoded = events.size();
+        
+        if (batchEnabled) {
+            try {
+                logProcessingService.processAnalysisResults(events);
+                events = List.of();
+            } catch (Exception e) {
+                // 배치 전체가 롤백되면 한 건씩 다시 처리하여 문제 메시지만 골라낸다
+                log.warn("Analysis result batch failed, falling back to per-event processing: size={}",
+                    events.size(), e);
+            }
+        }
+        
+        for (int i = 0; i < events.size(); i++) {
+            try {
+                logProcessingService.processAnalysisResult(events.get(i));
+            } catch (Exception e) {
+                throw new BatchListenerFailedException("Error processing analysis result: requestId="
+                    + events.get(i).getRequestId(), e, i);
+            }
         }
+        
+        if (decodeFailure != null) {
+            throw new BatchListenerFailedException(
+                "Error deserializing analysis result message", decodeFailure, decoded);
+        }
+        
+        // 수동 커밋
+        acknowledgment.acknowledge();
+    }
+    
+    @Override
+    public String topic() {
+        return analysisResultTopic;
+    }
+    
+    @Override
+    public void handle(ConsumerRecord<String, byte[]> record) throws IOException {
+        logProcessingService.processAnalysisResult(kafkaEventCodec.decode(record, AnalysisResultEvent.class));
     }
 }
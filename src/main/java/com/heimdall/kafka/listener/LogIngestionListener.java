@@ -1,53 +1,61 @@
 package com.heimdall.kafka.listener;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.heimdall.kafka.codec.KafkaEventCodec;
 import com.heimdall.kafka.event.LogIngestionEvent;
+import com.heimdall.kafka.retry.RetryableRecordHandler;
 import com.heimdall.service.LogIngestionService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.kafka.support.Acknowledgment;
-import org.springframework.kafka.support.KafkaHeaders;
-import org.springframework.messaging.handler.annotation.Header;
-import org.springframework.messaging.handler.annotation.Payload;
 import org.springframework.stereotype.Component;
 
+import java.io.IOException;
+
 @Component
 @RequiredArgsConstructor
 @Slf4j
-public class LogIngestionListener {
+public class LogIngestionListener implements RetryableRecordHandler {
     
     private final LogIngestionService logIngestionService;
-    private final ObjectMapper objectMapper;
+    private final KafkaEventCodec kafkaEventCodec;
+    
+    @Value("${kafka.topics.logs-ingestion}")
+    private String logsIngestionTopic;
     
     @KafkaListener(
+        id = "log-ingestion",
         topics = "${kafka.topics.logs-ingestion}",
         groupId = "${spring.kafka.consumer.group-id}",
-        containerFactory = "kafkaListenerContainerFactory"
+        containerFactory = "kafkaListenerContainerFactory",
+        autoStartup = "#{!${heimdall.kafka.parallel.enabled:false}}" // 병렬 모드에서는 ParallelLogIngestionListener가 소비
     )
     public void handleLogIngestion(
-        @Payload String message,
-        @Header(KafkaHeaders.RECEIVED_KEY) String key,
-        @Header(KafkaHeaders.RECEIVED_PARTITION) int partition,
-        @Header(KafkaHeaders.OFFSET) long offset,
+        ConsumerRecord<String, byte[]> record,
         Acknowledgment acknowledgment
-    ) {
-        try {
-            log.debug("Received log ingestion message: key={}, partition={}, offset={}", 
-                key, partition, offset);
-            
-            LogIngestionEvent event = objectMapper.readValue(message, LogIngestionEvent.class);
-            logIngestionService.processLogIngestion(event);
-            
-            // 수동 커밋
-            acknowledgment.acknowledge();
-            
-            log.info("Successfully processed log ingestion: eventId={}", event.getEventId());
-        } catch (Exception e) {
-            log.error("Error processing log ingestion message: key={}, offset={}", 
-                key, offset, e);
-            // 에러 발생 시에도 acknowledge하여 재처리 방지 (DLQ로 보내기)
-            acknowledgment.acknowledge();
-        }
+    ) throws IOException {
+        log.debug("Received log ingestion message: key={}, partition={}, offset={}", 
+            record.key(), record.partition(), record.offset());
+        
+        // 실패 시 예외를 그대로 던져 에러 핸들러가 재시도 토픽/DLQ로 넘긴다
+        handle(record);
+        
+        // 수동 커밋
+        acknowledgment.acknowledge();
+    }
+    
+    @Override
+    public String topic() {
+        return logsIngestionTopic;
+    }
+    
+    @Override
+    public void handle(ConsumerRecord<String, byte[]> record) throws IOException {
+        LogIngestionEvent event = kafkaEventCodec.decode(record, LogIngestionEvent.class);
+        logIngestionService.processLogIngestion(event);
+        
+        log.info("Successfully processed log ingestion: eventId={}", event.getEventId());
     }
 }
@@ -0,0 +1,9 @@
+package com.heimdall.kafka.outbox;
+
+/**
+ * outbox 이벤트 종류 (relay의 발행 경로 결정)
+ */
+public enum OutboxEventType {
+    /** 우선순위 레인 디스패처를 거쳐 발행 */
+    ANALYSIS_REQUEST
+}
@@ -0,0 +1,17 @@
+package com.heimdall.kafka.outbox;
+
+import java.time.LocalDateTime;
+
+/**
+ * 발행 대기 중인 outbox 행
+ */
+public record OutboxMessage(
+    Long id,
+    String eventType,
+    String topic,
+    String key,
+    String payload,
+    int attempts,
+    LocalDateTime createdAt
+) {
+}
@@ -0,0 +1,230 @@
+package com.heimdall.kafka.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.heimdall.analysis.dispatch.AnalysisRequestDispatcher;
+import com.heimdall.analysis.inflight.InFlightRequestTracker;
+import com.heimdall.kafka.event.AnalysisRequestEvent;
+import com.heimdall.repository.OutboxRepository;
+import com.heimdall.util.DateTimeUtil;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * outbox relay
+ * 발행 대기 행을 배치로 lease 하여 Kafka로 보내고, 발행 확인된 행은 다음 주기에 한 번에 삭제한다.
+ * 실패한 행은 lease를 풀어 retry-delay 이후 다시 시도하므로, 커밋된 이벤트는 발행될 때까지 유실되지 않는다(at-least-once).
+ * max-attempts만큼 실패했거나 페이로드를 해석할 수 없는 행은 parked 상태로 옮겨 배치 용량을 막지 않게 한다.
+ * 분석 레인이 가득 차 거절된 것은 실패가 아니라 backpressure이므로 시도 횟수를 늘리지 않고 미루며,
+ * 같은 배치의 나머지 행도 보내지 않고 함께 미룬다.
+ * 분석 요청의 결과 대기 추적은 발행이 확인된 시점에 시작한다.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class OutboxRelay {
+    
+    private final OutboxRepository outboxRepository;
+    private final AnalysisRequestDispatcher analysisRequestDispatcher;
+    private final InFlightRequestTracker inFlightRequestTracker;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    
+    private final Queue<Long> published = new ConcurrentLinkedQueue<>();
+    private final Queue<Long> failed = new ConcurrentLinkedQueue<>();
+    private final Queue<Long> poisoned = new ConcurrentLinkedQueue<>();
+    private final Queue<Long> deferred = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pending = new AtomicInteger();
+    private final AtomicLong lagSeconds = new AtomicLong();
+    private final AtomicLong parkedCount = new AtomicLong();
+    private final AtomicBoolean laneFull = new AtomicBoolean();
+    private String owner;
+    private long parkedRefreshedAt;
+    private boolean parkedRefreshDue = true;
+    
+    @Value("${heimdall.outbox.enabled:true}")
+    private boolean enabled;
+    
+    @Value("${heimdall.outbox.batch-size:500}")
+    private int batchSize;
+    
+    @Value("${heimdall.outbox.max-pending:2000}")
+    private int maxPending;
+    
+    @Value("${heimdall.outbox.lease-seconds:300}")
+    private long leaseSeconds;
+    
+    @Value("${heimdall.outbox.retry-delay-seconds:5}")
+    private long retryDelaySeconds;
+    
+    @Value("${heimdall.outbox.max-attempts:10}")
+    private int maxAttempts;
+    
+    @Value("${heimdall.outbox.parked-refresh-seconds:60}")
+    private long parkedRefreshSeconds;
+    
+    @Value("${heimdall.outbox.owner:${HOSTNAME:}}")
+    private String configuredOwner;
+    
+    @PostConstruct
+    public void init() {
+        owner = configuredOwner == null || configuredOwner.isBlank() ? UUID.randomUUID().toString() : configuredOwner;
+        
+        meterRegistry.gauge("outbox.relay.pending", pending);
+        meterRegistry.gauge("outbox.lag.seconds", lagSeconds);
+        // 스크레이프마다 COUNT(*)를 실행하지 않도록 relay 주기에서 갱신한 값을 노출
+        meterRegistry.gauge("outbox.parked", parkedCount);
+    }
+    
+    @Scheduled(fixedDelayString = "${heimdall.outbox.poll-interval-ms:200}")
+    public void relay() {
+        if (!enabled) {
+            return;
+        }
+        
+        try {
+            acknowledge();
+            
+            // 발행 확인을 기다리는 건수가 상한에 가까우면 새로 가져가지 않는다
+            int capacity = Math.min(batchSize, maxPending - pending.get());
+            if (capacity > 0) {
+                LocalDateTime now = DateTimeUtil.now();
+                List<OutboxMessage> claimed = outboxRepository.claim(
+                    owner, now, now.plusSeconds(leaseSeconds), capacity
+                );
+                laneFull.set(false);
+                for (OutboxMessage message : claimed) {
+                    if (laneFull.get()) {
+                        deferred.add(message.id());
+                    } else {
+                        publish(message);
+                    }
+                }
+                if (!claimed.isEmpty()) {
+                    meterRegistry.summary("outbox.relay.batch.size").record(claimed.size());
+                }
+            }
+            
+            LocalDateTime oldest = outboxRepository.findOldestCreatedAt();
+            lagSeconds.set(oldest != null ? Math.max(0, Duration.between(oldest, DateTimeUtil.now()).toSeconds()) : 0);
+            refreshParkedCount();
+        } catch (Exception e) {
+            log.error("Outbox relay failed", e);
+        }
+    }
+    
+    private void publish(OutboxMessage message) {
+        AnalysisRequestEvent event;
+        try {
+            // 해석할 수 없는 행은 재시도해도 성공하지 않는다
+            OutboxEventType.valueOf(message.eventType());
+            event = objectMapper.readValue(message.payload(), AnalysisRequestEvent.class);
+        } catch (Exception e) {
+            poisoned.add(message.id());
+            log.error("Undecodable outbox event, parking: id={}, type={}", message.id(), message.eventType(), e);
+            return;
+        }
+        
+        pending.incrementAndGet();
+        CompletableFuture<Void> future;
+        try {
+            future = analysisRequestDispatcher.submit(event);
+        } catch (Exception e) {
+            future = CompletableFuture.failedFuture(e);
+        }
+        
+        future.whenComplete((result, ex) -> {
+            pending.decrementAndGet();
+            if (ex == null) {
+                published.add(message.id());
+                inFlightRequestTracker.register(event);
+            } else if (isRejected(ex)) {
+                laneFull.set(true);
+                deferred.add(message.id());
+                log.debug("Outbox publish deferred, analysis lane full: id={}", message.id());
+            } else if (message.attempts() + 1 >= maxAttempts) {
+                poisoned.add(message.id());
+                log.error("Outbox publish failed {} times, parking: id={}, type={}, cause={}",
+                    message.attempts() + 1, message.id(), message.eventType(), ex.toString());
+            } else {
+                failed.add(message.id());
+                log.warn("Outbox publish failed: id={}, type={}, attempts={}, cause={}",
+                    message.id(), message.eventType(), message.attempts() + 1, ex.toString());
+            }
+        });
+    }
+    
+    /**
+     * 이전 주기 이후 발행 확인/실패한 행 일괄 반영
+     */
+    private void acknowledge() {
+        List<Long> publishedIds = drain(published);
+        if (!publishedIds.isEmpty()) {
+            outboxRepository.deleteAll(publishedIds);
+            meterRegistry.counter("outbox.relay.published").increment(publishedIds.size());
+        }
+        
+        List<Long> failedIds = drain(failed);
+        if (!failedIds.isEmpty()) {
+            outboxRepository.releaseAll(failedIds, DateTimeUtil.now().plusSeconds(retryDelaySeconds));
+            meterRegistry.counter("outbox.relay.failed").increment(failedIds.size());
+        }
+        
+        List<Long> deferredIds = drain(deferred);
+        if (!deferredIds.isEmpty()) {
+            outboxRepository.deferAll(deferredIds, DateTimeUtil.now().plusSeconds(retryDelaySeconds));
+            meterRegistry.counter("outbox.relay.deferred").increment(deferredIds.size());
+        }
+        
+        List<Long> parkedIds = drain(poisoned);
+        if (!parkedIds.isEmpty()) {
+            outboxRepository.parkAll(parkedIds, DateTimeUtil.now());
+            meterRegistry.counter("outbox.relay.parked").increment(parkedIds.size());
+            parkedRefreshDue = true;
+        }
+    }
+    
+    /**
+     * parked 건수는 새로 park한 직후 또는 parked-refresh-seconds마다 다시 센다 (수동 정리도 반영되도록)
+     */
+    private void refreshParkedCount() {
+        long now = System.currentTimeMillis();
+        if (parkedRefreshDue || now - parkedRefreshedAt >= parkedRefreshSeconds * 1000) {
+            parkedCount.set(outboxRepository.countParked());
+            parkedRefreshedAt = now;
+            parkedRefreshDue = false;
+        }
+    }
+    
+    private static boolean isRejected(Throwable ex) {
+        Throwable cause = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+        return cause instanceof RejectedExecutionException;
+    }
+    
+    private static List<Long> drain(Queue<Long> queue) {
+        List<Long> ids = new ArrayList<>();
+        Long id;
+        while ((id = queue.poll()) != null) {
+            ids.add(id);
+        }
+        return ids;
+    }
+}
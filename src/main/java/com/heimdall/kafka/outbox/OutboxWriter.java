@@ -0,0 +1,47 @@
+package com.heimdall.kafka.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.heimdall.kafka.event.AnalysisRequestEvent;
+import com.heimdall.repository.OutboxRepository;
+import com.heimdall.util.DateTimeUtil;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * 호출자의 트랜잭션 안에서 outbox에 이벤트 기록
+ * 트랜잭션이 커밋되어야만 이벤트가 발행되고, 커밋된 이벤트는 발행될 때까지 남는다.
+ */
+@Component
+@RequiredArgsConstructor
+public class OutboxWriter {
+    
+    private final OutboxRepository outboxRepository;
+    private final ObjectMapper objectMapper;
+    
+    @Value("${kafka.topics.analysis-request}")
+    private String analysisRequestTopic;
+    
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void appendAnalysisRequest(AnalysisRequestEvent event) {
+        append(OutboxEventType.ANALYSIS_REQUEST, analysisRequestTopic, event.getLogId().toString(), event);
+    }
+    
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void append(OutboxEventType eventType, String topic, String key, Object payload) {
+        try {
+            outboxRepository.insert(
+                eventType.name(),
+                topic,
+                key,
+                payload instanceof String value ? value : objectMapper.writeValueAsString(payload),
+                DateTimeUtil.now()
+            );
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Failed to serialize outbox payload: " + eventType, e);
+        }
+    }
+}
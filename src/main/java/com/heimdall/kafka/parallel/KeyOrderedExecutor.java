@@ -0,0 +1,95 @@
+package com.heimdall.kafka.parallel;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 같은 키의 작업은 제출 순서대로 하나씩, 다른 키의 작업은 동시에 실행하는 실행기
+ * 키별로 대기열을 두고 실행 중인 키의 작업은 대기열에 쌓았다가 앞 작업이 끝난 스레드가 이어서 실행한다.
+ * 대기 중인 작업까지 포함한 전체 작업 수를 maxInFlight로 제한하며, 가득 차면 submit이 대기한다.
+ * 키가 null인 작업은 순서 보장 없이 바로 실행한다.
+ */
+public class KeyOrderedExecutor {
+    
+    private final Executor executor;
+    private final Semaphore permits;
+    private final int maxInFlight;
+    private final Map<Object, ArrayDeque<Runnable>> queues = new HashMap<>();
+    
+    public KeyOrderedExecutor(Executor executor, int maxInFlight) {
+        if (maxInFlight <= 0) {
+            throw new IllegalArgumentException("maxInFlight must be positive");
+        }
+        this.executor = executor;
+        this.maxInFlight = maxInFlight;
+        this.permits = new Semaphore(maxInFlight);
+    }
+    
+    /**
+     * 허용량이 날 때까지 최대 timeout 동안 기다린 뒤 제출, 시간 안에 자리가 나지 않으면 false
+     */
+    public boolean submit(Object key, Runnable task, long timeout, TimeUnit unit) throws InterruptedException {
+        if (!permits.tryAcquire(timeout, unit)) {
+            return false;
+        }
+        
+        if (key != null) {
+            synchronized (queues) {
+                ArrayDeque<Runnable> queue = queues.get(key);
+                if (queue != null) {
+                    queue.add(task);
+                    return true;
+                }
+                queues.put(key, new ArrayDeque<>());
+            }
+        }
+        
+        try {
+            executor.execute(() -> runChain(key, task));
+        } catch (RuntimeException e) {
+            permits.release();
+            if (key != null) {
+                synchronized (queues) {
+                    queues.remove(key);
+                }
+            }
+            throw e;
+        }
+        return true;
+    }
+    
+    public int inFlight() {
+        return maxInFlight - permits.availablePermits();
+    }
+    
+    private void runChain(Object key, Runnable first) {
+        Runnable task = first;
+        while (task != null) {
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                // 한 작업의 실패로 같은 키의 뒤 작업이 멈추지 않도록 보고만 하고 계속
+                Thread current = Thread.currentThread();
+                current.getUncaughtExceptionHandler().uncaughtException(current, e);
+            } finally {
+                permits.release();
+            }
+            task = key != null ? next(key) : null;
+        }
+    }
+    
+    private Runnable next(Object key) {
+        synchronized (queues) {
+            ArrayDeque<Runnable> queue = queues.get(key);
+            Runnable task = queue.poll();
+            if (task == null) {
+                queues.remove(key);
+            }
+            return task;
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.heimdall.kafka.parallel;
+
+import java.util.TreeSet;
+
+/**
+ * 파티션 하나의 커밋 가능 오프셋 (워터마크)
+ * 레코드는 순서와 상관없이 완료되지만, 커밋은 아직 끝나지 않은 가장 작은 오프셋 직전까지만 한다.
+ * 그보다 뒤에서 이미 끝난 레코드는 재시작 시 다시 처리될 수 있다 (at-least-once).
+ */
+public class OffsetWatermark {
+    
+    private final TreeSet<Long> incomplete = new TreeSet<>();
+    private long nextOffset = -1; // 추적한 가장 큰 오프셋 + 1
+    private long committed = -1;
+    
+    public synchronized void track(long offset) {
+        if (nextOffset < 0) {
+            committed = offset;
+        }
+        incomplete.add(offset);
+        nextOffset = Math.max(nextOffset, offset + 1);
+    }
+    
+    /**
+     * 마지막으로 추적한 오프셋의 추적 취소 (처리를 맡기지 못해 다음에 다시 추적할 레코드)
+     */
+    public synchronized void untrack(long offset) {
+        if (offset + 1 != nextOffset || !incomplete.remove(offset)) {
+            throw new IllegalStateException("Only the last tracked offset can be untracked: " + offset);
+        }
+        nextOffset = offset;
+    }
+    
+    public synchronized void complete(long offset) {
+        incomplete.remove(offset);
+    }
+    
+    /**
+     * 마지막 커밋 이후 새로 커밋할 수 있는 오프셋 (다음에 읽을 위치), 없으면 -1
+     */
+    public synchronized long pollCommittable() {
+        if (nextOffset < 0) {
+            return -1;
+        }
+        long candidate = incomplete.isEmpty() ? nextOffset : incomplete.first();
+        if (candidate <= committed) {
+            return -1;
+        }
+        committed = candidate;
+        return candidate;
+    }
+    
+    /**
+     * 추적 중이지만 아직 끝나지 않은 레코드 수
+     */
+    public synchronized int pending() {
+        return incomplete.size();
+    }
+}
@@ -0,0 +1,344 @@
+package com.heimdall.kafka.parallel;
+
+import com.heimdall.kafka.codec.KafkaEventCodec;
+import com.heimdall.kafka.event.LogIngestionEvent;
+import com.heimdall.kafka.listener.LogIngestionListener;
+import com.heimdall.service.LogIngestionService;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.thread.Threading;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.event.ConsumerStoppingEvent;
+import org.springframework.kafka.event.ListenerContainerIdleEvent;
+import org.springframework.kafka.listener.ConsumerAwareRebalanceListener;
+import org.springframework.kafka.listener.DeadLetterPublishingRecoverer;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * logs.ingestion 파티션 내 병렬 처리 (heimdall.kafka.parallel.enabled=true)
+ * poll한 레코드를 순서 키(레코드 키 또는 서비스)별로 나누어 워커에서 동시에 처리하고,
+ * 같은 키끼리는 오프셋 순서를 지킨다. 커밋은 파티션별 워터마크(끝나지 않은 가장 작은 오프셋 직전)까지만
+ * 컨슈머 스레드에서 수행한다 (poll마다, 유휴 이벤트마다, 리밸런스 직전). 컨테이너 동시성이 2 이상이면
+ * 워터마크 맵은 여러 컨슈머가 함께 쓰므로 각 컨슈머는 자신에게 할당된 파티션만 커밋한다.
+ * 
+ * 처리 중인 레코드가 상한에 닿으면 리스너에서 기다리지 않고 남은 레코드를 컨슈머별 대기열에 두고
+ * 할당된 파티션을 pause한 채 poll을 계속한다 (max.poll.interval.ms 초과로 그룹에서 빠지지 않도록).
+ * 대기열은 유휴 이벤트마다 다시 제출하고, 모두 제출되면 pause한 파티션을 resume한다.
+ * 
+ * 처리에 실패한 레코드는 단건 리스너와 같은 경로로 재시도 토픽/DLQ에 넘긴 뒤 완료로 본다.
+ */
+@Component
+@ConditionalOnProperty(name = "heimdall.kafka.parallel.enabled", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class ParallelLogIngestionListener implements ConsumerAwareRebalanceListener {
+    
+    public static final String LISTENER_ID = "parallel-log-ingestion";
+    
+    private static final long RECOVER_RETRY_MS = 1000;
+    
+    private final LogIngestionListener logIngestionListener;
+    private final LogIngestionService logIngestionService;
+    private final KafkaEventCodec kafkaEventCodec;
+    private final DeadLetterPublishingRecoverer retryTopicRecoverer;
+    private final MeterRegistry meterRegistry;
+    private final Environment environment;
+    
+    @Value("${kafka.topics.logs-ingestion}")
+    private String logsIngestionTopic;
+    
+    @Value("${heimdall.kafka.parallel.max-in-flight:256}")
+    private int maxInFlight;
+    
+    @Value("${heimdall.kafka.parallel.worker-threads:16}")
+    private int workerThreads;
+    
+    @Value("${heimdall.kafka.parallel.ordering:key}")
+    private String ordering;
+    
+    @Value("${heimdall.kafka.parallel.drain-timeout-ms:10000}")
+    private long drainTimeoutMs;
+    
+    private final Map<TopicPartition, OffsetWatermark> watermarks = new ConcurrentHashMap<>();
+    private final Map<Consumer<?, ?>, Backlog> backlogs = new ConcurrentHashMap<>();
+    
+    private ExecutorService workerPool;
+    private KeyOrderedExecutor executor;
+    private boolean orderByService;
+    
+    @PostConstruct
+    public void init() {
+        if (Threading.VIRTUAL.isActive(environment)) {
+            // 가상 스레드 모드에서는 동시성을 max-in-flight와 커넥션 허가로만 제한
+            SimpleAsyncTaskExecutor virtualExecutor = new SimpleAsyncTaskExecutor("parallel-ingest-");
+            virtualExecutor.setVirtualThreads(true);
+            executor = new KeyOrderedExecutor(virtualExecutor, maxInFlight);
+        } else {
+            AtomicInteger sequence = new AtomicInteger();
+            workerPool = Executors.newFixedThreadPool(workerThreads, runnable -> {
+                Thread thread = new Thread(runnable, "parallel-ingest-" + sequence.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+            executor = new KeyOrderedExecutor(workerPool, maxInFlight);
+        }
+        orderByService = "service".equalsIgnoreCase(ordering);
+        
+        Gauge.builder("kafka.parallel.in_flight", executor, KeyOrderedExecutor::inFlight)
+            .tag("topic", logsIngestionTopic)
+            .register(meterRegistry);
+        Gauge.builder("kafka.parallel.backlog", backlogs,
+                map -> map.values().stream().mapToInt(backlog -> backlog.records.size()).sum())
+            .tag("topic", logsIngestionTopic)
+            .register(meterRegistry);
+        Gauge.builder("kafka.parallel.uncommitted", watermarks,
+                map -> map.values().stream().mapToInt(OffsetWatermark::pending).sum())
+            .tag("topic", logsIngestionTopic)
+            .register(meterRegistry);
+        
+        log.info("Parallel log ingestion enabled: maxInFlight={}, ordering={}",
+            maxInFlight, orderByService ? "service" : "key");
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        if (workerPool != null) {
+            workerPool.shutdown();
+        }
+    }
+    
+    @KafkaListener(
+        id = LISTENER_ID,
+        topics = "${kafka.topics.logs-ingestion}",
+        groupId = "${spring.kafka.consumer.group-id}",
+        containerFactory = "parallelKafkaListenerContainerFactory",
+        properties = "max.poll.records:${heimdall.kafka.parallel.max-poll-records:500}"
+    )
+    public void handleLogIngestionBatch(
+        List<ConsumerRecord<String, byte[]>> records,
+        Consumer<?, ?> consumer
+    ) throws InterruptedException {
+        Backlog backlog = backlogs.computeIfAbsent(consumer, key -> new Backlog());
+        backlog.records.addAll(records);
+        drain(consumer, backlog);
+        commitCompleted(consumer);
+    }
+    
+    /**
+     * 새 레코드가 없어도 끝난 레코드의 오프셋이 커밋되도록 유휴 이벤트(컨슈머 스레드)에서 커밋
+     */
+    @EventListener(condition = "event.listenerId.startsWith('" + LISTENER_ID + "')")
+    public void onIdle(ListenerContainerIdleEvent event) throws InterruptedException {
+        Consumer<?, ?> consumer = event.getConsumer();
+        Backlog backlog = backlogs.get(consumer);
+        if (backlog != null) {
+            drain(consumer, backlog);
+        }
+        commitCompleted(consumer);
+    }
+    
+    /**
+     * 컨테이너가 멈추면(동시성 조정으로 재시작하는 경우 포함) 해당 컨슈머의 대기열을 버린다
+     * 제출하지 못한 레코드는 커밋되지 않았으므로 다음 소유자가 다시 읽는다.
+     */
+    @EventListener
+    public void onConsumerStopping(ConsumerStoppingEvent event) {
+        Backlog backlog = backlogs.remove(event.getConsumer());
+        if (backlog != null && !backlog.records.isEmpty()) {
+            log.debug("Discarded parallel ingestion backlog of stopped consumer: records={}", backlog.records.size());
+        }
+    }
+    
+    /**
+     * 파티션을 넘기기 전에 처리 중인 레코드를 기다렸다가 커밋하여 새 소유자의 중복 처리를 줄인다
+     */
+    @Override
+    public void onPartitionsRevokedBeforeCommit(Consumer<?, ?> consumer, Collection<TopicPartition> partitions) {
+        // 아직 제출하지 않은 레코드는 커밋되지 않았으므로 새 소유자가 다시 읽는다
+        discardBacklog(consumer, partitions);
+        
+        long deadline = System.currentTimeMillis() + drainTimeoutMs;
+        for (TopicPartition partition : partitions) {
+            OffsetWatermark watermark = watermarks.get(partition);
+            while (watermark != null && watermark.pending() > 0 && System.currentTimeMillis() < deadline) {
+                try {
+                    Thread.sleep(10);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+        }
+        
+        commitCompleted(consumer, partitions);
+        partitions.forEach(watermarks::remove);
+    }
+    
+    @Override
+    public void onPartitionsLost(Consumer<?, ?> consumer, Collection<TopicPartition> partitions) {
+        discardBacklog(consumer, partitions);
+        partitions.forEach(watermarks::remove);
+    }
+    
+    /**
+     * 대기열의 레코드를 자리가 나는 만큼 기다리지 않고 제출
+     * 자리가 모자라면 할당된 파티션을 pause하고, 대기열이 비면 pause했던 파티션을 resume한다.
+     */
+    private void drain(Consumer<?, ?> consumer, Backlog backlog) throws InterruptedException {
+        ConsumerRecord<String, byte[]> record;
+        while ((record = backlog.records.peek()) != null) {
+            if (!trySubmit(record)) {
+                break;
+            }
+            backlog.records.poll();
+        }
+        
+        if (!backlog.records.isEmpty()) {
+            Set<TopicPartition> assignment = consumer.assignment();
+            if (!backlog.paused.containsAll(assignment)) {
+                consumer.pause(assignment);
+                backlog.paused.addAll(assignment);
+                meterRegistry.counter("kafka.parallel.paused", "topic", logsIngestionTopic).increment();
+                log.debug("Parallel ingestion saturated, partitions paused: backlog={}, inFlight={}",
+                    backlog.records.size(), executor.inFlight());
+            }
+        } else if (!backlog.paused.isEmpty()) {
+            Set<TopicPartition> resumable = new HashSet<>(backlog.paused);
+            resumable.retainAll(consumer.assignment());
+            consumer.resume(resumable);
+            backlog.paused.clear();
+        }
+    }
+    
+    private boolean trySubmit(ConsumerRecord<String, byte[]> record) throws InterruptedException {
+        TopicPartition partition = new TopicPartition(record.topic(), record.partition());
+        OffsetWatermark watermark = watermarks.computeIfAbsent(partition, key -> new OffsetWatermark());
+        
+        LogIngestionEvent event = orderByService ? decodeQuietly(record) : null;
+        Object key = orderByService
+            ? (event != null ? event.getServiceName() : null)
+            : record.key();
+        Runnable task = () -> {
+            process(record, event);
+            watermark.complete(record.offset());
+        };
+        
+        // 작업이 끝나기 전에 추적해야 하므로 먼저 추적하고, 자리가 없으면 되돌린다
+        watermark.track(record.offset());
+        if (!executor.submit(key, task, 0, TimeUnit.MILLISECONDS)) {
+            watermark.untrack(record.offset());
+            return false;
+        }
+        return true;
+    }
+    
+    private void discardBacklog(Consumer<?, ?> consumer, Collection<TopicPartition> partitions) {
+        Backlog backlog = backlogs.get(consumer);
+        if (backlog == null) {
+            return;
+        }
+        backlog.records.removeIf(record ->
+            partitions.contains(new TopicPartition(record.topic(), record.partition())));
+        backlog.paused.removeAll(partitions);
+        if (backlog.records.isEmpty() && backlog.paused.isEmpty()) {
+            // 다음 poll에서 다시 만든다
+            backlogs.remove(consumer);
+        }
+    }
+    
+    private void process(ConsumerRecord<String, byte[]> record, LogIngestionEvent event) {
+        try {
+            if (event != null) {
+                logIngestionService.processLogIngestion(event);
+            } else {
+                logIngestionListener.handle(record);
+            }
+        } catch (Exception e) {
+            recover(record, e);
+        }
+    }
+    
+    /**
+     * 재시도 토픽/DLQ 발행이 성공할 때까지 반복 (발행 전에 완료 처리하면 레코드가 유실된다)
+     */
+    private void recover(ConsumerRecord<String, byte[]> record, Exception exception) {
+        while (true) {
+            try {
+                retryTopicRecoverer.accept(record, exception);
+                return;
+            } catch (RuntimeException e) {
+                log.error("Failed to route failed record, retrying: partition={}, offset={}",
+                    record.partition(), record.offset(), e);
+                try {
+                    Thread.sleep(RECOVER_RETRY_MS);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    throw e;
+                }
+            }
+        }
+    }
+    
+    private void commitCompleted(Consumer<?, ?> consumer) {
+        commitCompleted(consumer, consumer.assignment());
+    }
+    
+    private void commitCompleted(Consumer<?, ?> consumer, Collection<TopicPartition> partitions) {
+        Map<TopicPartition, OffsetAndMetadata> offsets = new HashMap<>();
+        for (TopicPartition partition : partitions) {
+            OffsetWatermark watermark = watermarks.get(partition);
+            long offset = watermark != null ? watermark.pollCommittable() : -1;
+            if (offset >= 0) {
+                offsets.put(partition, new OffsetAndMetadata(offset));
+            }
+        }
+        
+        if (!offsets.isEmpty()) {
+            consumer.commitSync(offsets);
+        }
+    }
+    
+    private LogIngestionEvent decodeQuietly(ConsumerRecord<String, byte[]> record) {
+        try {
+            return kafkaEventCodec.decode(record, LogIngestionEvent.class);
+        } catch (Exception e) {
+            // 처리 단계에서 다시 디코딩하다 실패하여 DLQ로 간다
+            return null;
+        }
+    }
+    
+    /**
+     * 컨슈머 하나가 poll했지만 아직 제출하지 못한 레코드와 그 때문에 pause한 파티션 (컨슈머 스레드 전용)
+     */
+    private static final class Backlog {
+        
+        private final ArrayDeque<ConsumerRecord<String, byte[]>> records = new ArrayDeque<>();
+        private final Set<TopicPartition> paused = new HashSet<>();
+    }
+}
@@ -1,6 +1,6 @@
 package com.heimdall.kafka.producer;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.heimdall.kafka.codec.KafkaEventCodec;
 import com.heimdall.kafka.event.AnalysisRequestEvent;
 import com.heimdall.kafka.event.LogIngestionEvent;
 import lombok.RequiredArgsConstructor;
@@ -17,8 +17,8 @@ import java.util.concurrent.CompletableFuture;
 @Slf4j
 public class KafkaProducerService {
     
-    private final KafkaTemplate<String, String> kafkaTemplate;
-    private final ObjectMapper objectMapper;
+    private final KafkaTemplate<String, byte[]> kafkaTemplate;
+    private final KafkaEventCodec kafkaEventCodec;
     
     @Value("${kafka.topics.logs-ingestion}")
     private String logsIngestionTopic;
@@ -32,10 +32,9 @@ public class KafkaProducerService {
     public void sendLogIngestion(LogIngestionEvent event) {
         try {
             String key = event.getEventId();
-            String value = objectMapper.writeValueAsString(event);
             
-            CompletableFuture<SendResult<String, String>> future = 
-                kafkaTemplate.send(logsIngestionTopic, key, value);
+            CompletableFuture<SendResult<String, byte[]>> future = 
+                kafkaTemplate.send(kafkaEventCodec.toRecord(logsIngestionTopic, key, event));
             
             future.whenComplete((result, ex) -> {
                 if (ex == null) {
@@ -51,32 +50,37 @@ public class KafkaProducerService {
         }
     }
     
-    public void sendAnalysisRequest(AnalysisRequestEvent event) {
+    public CompletableFuture<SendResult<String, byte[]>> sendAnalysisRequest(AnalysisRequestEvent event) {
+        return sendAnalysisRequest(event, analysisRequestTopic);
+    }
+    
+    public CompletableFuture<SendResult<String, byte[]>> sendAnalysisRequest(AnalysisRequestEvent event, String topic) {
         try {
             String key = event.getLogId().toString();
-            String value = objectMapper.writeValueAsString(event);
             
-            CompletableFuture<SendResult<String, String>> future = 
-                kafkaTemplate.send(analysisRequestTopic, key, value);
+            CompletableFuture<SendResult<String, byte[]>> future = 
+                kafkaTemplate.send(kafkaEventCodec.toRecord(topic, key, event));
             
             future.whenComplete((result, ex) -> {
                 if (ex == null) {
-                    log.info("Analysis request sent successfully: requestId={}, logId={}, offset={}",
-                        event.getRequestId(), event.getLogId(), 
+                    log.info("Analysis request sent successfully: topic={}, requestId={}, logId={}, offset={}",
+                        topic, event.getRequestId(), event.getLogId(), 
                         result.getRecordMetadata().offset());
                 } else {
                     log.error("Failed to send analysis request: requestId={}, logId={}", 
                         event.getRequestId(), event.getLogId(), ex);
                 }
             });
+            return future;
         } catch (Exception e) {
             log.error("Error serializing analysis request event", e);
+            return CompletableFuture.failedFuture(e);
         }
     }
     
     public void sendNotificationAlert(String key, String message) {
-        CompletableFuture<SendResult<String, String>> future = 
-            kafkaTemplate.send(notificationAlertTopic, key, message);
+        CompletableFuture<SendResult<String, byte[]>> future = 
+            kafkaTemplate.send(kafkaEventCodec.toJsonRecord(notificationAlertTopic, key, message));
         
         future.whenComplete((result, ex) -> {
             if (ex == null) {
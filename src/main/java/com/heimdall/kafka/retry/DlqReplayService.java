@@ -0,0 +1,359 @@
+package com.heimdall.kafka.retry;
+
+import com.heimdall.dto.DlqReplayRequest;
+import com.heimdall.dto.DlqReplayResponse;
+import com.heimdall.exception.LogProcessingException;
+import com.heimdall.util.DateTimeUtil;
+import io.github.resilience4j.ratelimiter.RateLimiter;
+import io.github.resilience4j.ratelimiter.RateLimiterConfig;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.OffsetAndTimestamp;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * DLQ 레코드를 원본 토픽으로 재주입하는 작업
+ * 요청 시점의 DLQ 끝 오프셋까지만 읽으므로 재주입 후 다시 실패해 DLQ로 돌아온 레코드는 같은 작업에서 다시 읽지 않는다.
+ * 재주입한 레코드는 재시도 횟수를 초기화하여 재시도 단계를 처음부터 다시 거친다.
+ * 
+ * 작업은 인스턴스 로컬 단일 스레드에서 순서대로 실행된다.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class DlqReplayService {
+    
+    private static final int MAX_RETAINED_JOBS = 100;
+    private static final String DLT_HEADER_PREFIX = "kafka_dlt-";
+    
+    private final ConsumerFactory<String, byte[]> consumerFactory;
+    private final KafkaTemplate<String, byte[]> kafkaTemplate;
+    private final RetryTopicRouter retryTopicRouter;
+    private final MeterRegistry meterRegistry;
+    
+    @Value("${heimdall.kafka.dlq.replay.default-rate-per-second:50}")
+    private int defaultRatePerSecond;
+    
+    @Value("${heimdall.kafka.dlq.replay.max-rate-per-second:1000}")
+    private int maxRatePerSecond;
+    
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "dlq-replay");
+        thread.setDaemon(true);
+        return thread;
+    });
+    
+    private final Map<String, ReplayJob> jobs = new LinkedHashMap<>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, ReplayJob> eldest) {
+            return size() > MAX_RETAINED_JOBS && eldest.getValue().isFinished();
+        }
+    };
+    
+    public DlqReplayResponse startReplay(DlqReplayRequest request) {
+        int rate = request.getRatePerSecond() != null ? request.getRatePerSecond() : defaultRatePerSecond;
+        if (rate <= 0 || rate > maxRatePerSecond) {
+            throw new LogProcessingException("ratePerSecond must be between 1 and " + maxRatePerSecond);
+        }
+        
+        LocalDateTime from = request.getFrom() != null ? parseTime("from", request.getFrom()) : null;
+        LocalDateTime to = request.getTo() != null ? parseTime("to", request.getTo()) : DateTimeUtil.now();
+        if (from != null && from.isAfter(to)) {
+            throw new LogProcessingException("from must be before to");
+        }
+        
+        String errorType = request.getErrorType() != null && !request.getErrorType().isBlank()
+            ? request.getErrorType().trim() : null;
+        ReplayJob job = new ReplayJob(UUID.randomUUID().toString(), errorType, from, to, rate, request.getMaxRecords());
+        
+        synchronized (jobs) {
+            jobs.put(job.id, job);
+        }
+        executor.execute(() -> run(job));
+        
+        log.info("DLQ replay queued: jobId={}, errorType={}, from={}, to={}, rate={}",
+            job.id, errorType, from, to, rate);
+        return job.toResponse();
+    }
+    
+    public Optional<DlqReplayResponse> getReplay(String jobId) {
+        synchronized (jobs) {
+            return Optional.ofNullable(jobs.get(jobId)).map(ReplayJob::toResponse);
+        }
+    }
+    
+    public Optional<DlqReplayResponse> cancelReplay(String jobId) {
+        synchronized (jobs) {
+            ReplayJob job = jobs.get(jobId);
+            if (job == null) {
+                return Optional.empty();
+            }
+            job.cancelled = true;
+            return Optional.of(job.toResponse());
+        }
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        synchronized (jobs) {
+            jobs.values().forEach(job -> job.cancelled = true);
+        }
+        executor.shutdownNow();
+    }
+    
+    private LocalDateTime parseTime(String field, String value) {
+        try {
+            return DateTimeUtil.parseIso(value);
+        } catch (DateTimeParseException e) {
+            throw new LogProcessingException(field + " must be an ISO-8601 timestamp: " + value, e);
+        }
+    }
+    
+    private void run(ReplayJob job) {
+        if (job.cancelled) {
+            job.finish("CANCELLED", null);
+            return;
+        }
+        job.start();
+        
+        RateLimiter rateLimiter = RateLimiter.of("dlq-replay-" + job.id, RateLimiterConfig.custom()
+            .limitForPeriod(job.ratePerSecond)
+            .limitRefreshPeriod(Duration.ofSeconds(1))
+            .timeoutDuration(Duration.ofSeconds(1))
+            .build());
+        
+        try (Consumer<String, byte[]> consumer = consumerFactory.createConsumer("heimdall-dlq-replay", "-" + job.id)) {
+            String dlqTopic = retryTopicRouter.getDlqTopic();
+            List<TopicPartition> partitions = consumer.partitionsFor(dlqTopic).stream()
+                .map(info -> new TopicPartition(dlqTopic, info.partition()))
+                .toList();
+            consumer.assign(partitions);
+            
+            // 요청 시점의 끝 오프셋까지만 읽고, 시작 시각 이후의 첫 오프셋부터 시작
+            Map<TopicPartition, Long> endOffsets = consumer.endOffsets(partitions);
+            long fromMillis = job.from != null ? job.from.toInstant(ZoneOffset.UTC).toEpochMilli() : 0L;
+            Map<TopicPartition, Long> timestamps = new HashMap<>();
+            partitions.forEach(partition -> timestamps.put(partition, fromMillis));
+            Map<TopicPartition, OffsetAndTimestamp> startOffsets = consumer.offsetsForTimes(timestamps);
+            
+            Set<TopicPartition> remaining = new HashSet<>();
+            for (TopicPartition partition : partitions) {
+                OffsetAndTimestamp start = startOffsets.get(partition);
+                if (start != null && start.offset() < endOffsets.get(partition)) {
+                    consumer.seek(partition, start.offset());
+                    remaining.add(partition);
+                }
+            }
+            consumer.pause(difference(partitions, remaining));
+            
+            long toMillis = job.to.toInstant(ZoneOffset.UTC).toEpochMilli();
+            while (!remaining.isEmpty() && !job.cancelled) {
+                for (ConsumerRecord<String, byte[]> record : consumer.poll(Duration.ofMillis(500))) {
+                    TopicPartition partition = new TopicPartition(record.topic(), record.partition());
+                    if (!remaining.contains(partition)) {
+                        continue;
+                    }
+                    if (record.offset() >= endOffsets.get(partition) || record.timestamp() > toMillis) {
+                        finishPartition(consumer, remaining, partition);
+                        continue;
+                    }
+                    
+                    job.scanned.incrementAndGet();
+                    if (!job.matches(record)) {
+                        job.skipped.incrementAndGet();
+                        continue;
+                    }
+                    if (job.maxRecords != null && job.replayed.get() >= job.maxRecords) {
+                        remaining.clear();
+                        break;
+                    }
+                    
+                    while (!rateLimiter.acquirePermission()) {
+                        if (job.cancelled) {
+                            break;
+                        }
+                    }
+                    if (job.cancelled) {
+                        break;
+                    }
+                    replay(job, record);
+                }
+                
+                for (TopicPartition partition : List.copyOf(remaining)) {
+                    if (consumer.position(partition) >= endOffsets.get(partition)) {
+                        finishPartition(consumer, remaining, partition);
+                    }
+                }
+            }
+            
+            job.finish(job.cancelled ? "CANCELLED" : "COMPLETED", null);
+            log.info("DLQ replay finished: jobId={}, status={}, scanned={}, replayed={}, skipped={}, failed={}",
+                job.id, job.status, job.scanned.get(), job.replayed.get(), job.skipped.get(), job.failed.get());
+        } catch (Exception e) {
+            log.error("DLQ replay failed: jobId={}", job.id, e);
+            job.finish("FAILED", e.getMessage());
+        }
+    }
+    
+    private void replay(ReplayJob job, ConsumerRecord<String, byte[]> record) {
+        Header origin = record.headers().lastHeader(RetryHeaders.ORIGIN_TOPIC);
+        if (origin == null) {
+            log.warn("DLQ record without origin topic: partition={}, offset={}", record.partition(), record.offset());
+            job.failed.incrementAndGet();
+            return;
+        }
+        String topic = new String(origin.value(), StandardCharsets.UTF_8);
+        
+        try {
+            kafkaTemplate.send(new ProducerRecord<>(topic, null, record.key(), record.value(), replayHeaders(record)))
+                .get(30, TimeUnit.SECONDS);
+            job.replayed.incrementAndGet();
+            meterRegistry.counter("kafka.dlq.replayed", "topic", topic).increment();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            job.cancelled = true;
+        } catch (Exception e) {
+            log.warn("Failed to replay DLQ record: partition={}, offset={}, topic={}",
+                record.partition(), record.offset(), topic, e);
+            job.failed.incrementAndGet();
+        }
+    }
+    
+    /**
+     * 재시도/DLQ 헤더를 제거하고 나머지(content-type 등)는 유지
+     */
+    private Headers replayHeaders(ConsumerRecord<String, byte[]> record) {
+        RecordHeaders headers = new RecordHeaders();
+        for (Header header : record.headers()) {
+            if (!RetryHeaders.isRetryHeader(header.key()) && !header.key().startsWith(DLT_HEADER_PREFIX)) {
+                headers.add(header);
+            }
+        }
+        headers.add(RetryHeaders.REPLAYED_AT, String.valueOf(System.currentTimeMillis()).getBytes(StandardCharsets.UTF_8));
+        return headers;
+    }
+    
+    private void finishPartition(Consumer<String, byte[]> consumer, Set<TopicPartition> remaining, TopicPartition partition) {
+        remaining.remove(partition);
+        consumer.pause(List.of(partition));
+    }
+    
+    private List<TopicPartition> difference(List<TopicPartition> partitions, Set<TopicPartition> remaining) {
+        return partitions.stream().filter(partition -> !remaining.contains(partition)).toList();
+    }
+    
+    private static final class ReplayJob {
+        
+        private final String id;
+        private final String errorType;
+        private final LocalDateTime from;
+        private final LocalDateTime to;
+        private final int ratePerSecond;
+        private final Long maxRecords;
+        
+        private final AtomicLong scanned = new AtomicLong();
+        private final AtomicLong replayed = new AtomicLong();
+        private final AtomicLong skipped = new AtomicLong();
+        private final AtomicLong failed = new AtomicLong();
+        
+        private volatile String status = "QUEUED";
+        private volatile boolean cancelled;
+        private volatile LocalDateTime startedAt;
+        private volatile LocalDateTime finishedAt;
+        private volatile String error;
+        
+        private ReplayJob(String id, String errorType, LocalDateTime from, LocalDateTime to,
+                          int ratePerSecond, Long maxRecords) {
+            this.id = id;
+            this.errorType = errorType;
+            this.from = from;
+            this.to = to;
+            this.ratePerSecond = ratePerSecond;
+            this.maxRecords = maxRecords;
+        }
+        
+        private void start() {
+            startedAt = DateTimeUtil.now();
+            status = "RUNNING";
+        }
+        
+        private void finish(String finalStatus, String message) {
+            finishedAt = DateTimeUtil.now();
+            error = message;
+            status = finalStatus;
+        }
+        
+        private boolean isFinished() {
+            return finishedAt != null;
+        }
+        
+        /**
+         * 리스너 예외는 ListenerExecutionFailedException으로 감싸지므로 원인 예외 이름도 함께 비교
+         */
+        private boolean matches(ConsumerRecord<String, byte[]> record) {
+            if (errorType == null) {
+                return true;
+            }
+            return matchesHeader(record, KafkaHeaders.DLT_EXCEPTION_FQCN)
+                || matchesHeader(record, KafkaHeaders.DLT_EXCEPTION_CAUSE_FQCN);
+        }
+        
+        private boolean matchesHeader(ConsumerRecord<String, byte[]> record, String key) {
+            Header header = record.headers().lastHeader(key);
+            if (header == null) {
+                return false;
+            }
+            String className = new String(header.value(), StandardCharsets.UTF_8);
+            return className.equals(errorType) || className.endsWith("." + errorType);
+        }
+        
+        private DlqReplayResponse toResponse() {
+            return DlqReplayResponse.builder()
+                .jobId(id)
+                .status(status)
+                .errorType(errorType)
+                .from(from)
+                .to(to)
+                .ratePerSecond(ratePerSecond)
+                .scanned(scanned.get())
+                .replayed(replayed.get())
+                .skipped(skipped.get())
+                .failed(failed.get())
+                .startedAt(startedAt)
+                .finishedAt(finishedAt)
+                .error(error)
+                .build();
+        }
+    }
+}
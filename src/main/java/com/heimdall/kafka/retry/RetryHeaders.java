@@ -0,0 +1,54 @@
+package com.heimdall.kafka.retry;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.header.Header;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 재시도/DLQ 레코드에 붙는 헤더 (원본 토픽, 재시도 횟수, 재처리 가능 시각)
+ */
+public final class RetryHeaders {
+    
+    public static final String ORIGIN_TOPIC = "x-heimdall-origin-topic";
+    public static final String ATTEMPT = "x-heimdall-retry-attempt";
+    public static final String DUE_AT = "x-heimdall-retry-due-at";
+    public static final String REPLAYED_AT = "x-heimdall-replayed-at";
+    
+    private RetryHeaders() {
+    }
+    
+    /**
+     * 최초 수신 토픽 (재시도 토픽을 거치는 동안에도 유지)
+     */
+    public static String originTopic(ConsumerRecord<?, ?> record) {
+        Header header = record.headers().lastHeader(ORIGIN_TOPIC);
+        return header != null ? new String(header.value(), StandardCharsets.UTF_8) : record.topic();
+    }
+    
+    /**
+     * 지금까지 실패로 재시도 토픽에 보내진 횟수 (원본 토픽에서는 0)
+     */
+    public static int attempt(ConsumerRecord<?, ?> record) {
+        Header header = record.headers().lastHeader(ATTEMPT);
+        return header != null ? ByteBuffer.wrap(header.value()).getInt() : 0;
+    }
+    
+    public static long dueAt(ConsumerRecord<?, ?> record) {
+        Header header = record.headers().lastHeader(DUE_AT);
+        return header != null ? ByteBuffer.wrap(header.value()).getLong() : 0L;
+    }
+    
+    public static boolean isRetryHeader(String key) {
+        return ORIGIN_TOPIC.equals(key) || ATTEMPT.equals(key) || DUE_AT.equals(key) || REPLAYED_AT.equals(key);
+    }
+    
+    static byte[] intValue(int value) {
+        return ByteBuffer.allocate(Integer.BYTES).putInt(value).array();
+    }
+    
+    static byte[] longValue(long value) {
+        return ByteBuffer.allocate(Long.BYTES).putLong(value).array();
+    }
+}
@@ -0,0 +1,106 @@
+package com.heimdall.kafka.retry;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.listener.AcknowledgingMessageListener;
+import org.springframework.kafka.listener.ConcurrentMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 재시도 토픽 소비자 (단계마다 별도 컨테이너)
+ * 재처리 시각이 되지 않은 레코드를 만나면 nack으로 해당 컨테이너만 잠시 멈추고 (poll은 계속되어 리밸런스 없음)
+ * 시각이 되면 원본 토픽의 핸들러로 다시 처리한다. 한 단계의 레코드는 모두 같은 지연을 가지므로
+ * 앞 레코드를 기다리는 동안 뒤 레코드가 먼저 준비되는 경우는 거의 없다.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RetryTopicConsumers {
+    
+    private final RetryTopicRouter retryTopicRouter;
+    private final List<RetryableRecordHandler> handlers;
+    private final MeterRegistry meterRegistry;
+    private final ConcurrentKafkaListenerContainerFactory<String, byte[]> kafkaListenerContainerFactory; // 이름으로 단건 컨테이너 팩토리 선택
+    
+    @Value("${heimdall.kafka.retry.enabled:true}")
+    private boolean enabled;
+    
+    @Value("${heimdall.kafka.retry.concurrency:1}")
+    private int concurrency;
+    
+    private final List<ConcurrentMessageListenerContainer<String, byte[]>> containers = new ArrayList<>();
+    private final Map<String, RetryableRecordHandler> handlersByTopic = new HashMap<>();
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        
+        for (RetryableRecordHandler handler : handlers) {
+            handlersByTopic.put(handler.topic(), handler);
+        }
+        
+        List<String> topics = retryTopicRouter.getTierTopics();
+        for (int tier = 0; tier < topics.size(); tier++) {
+            ConcurrentMessageListenerContainer<String, byte[]> container =
+                kafkaListenerContainerFactory.createContainer(topics.get(tier));
+            container.setConcurrency(concurrency);
+            container.getContainerProperties().setMessageListener(listener(retryTopicRouter.getTierDelayMs(tier)));
+            container.setBeanName("retry-tier-" + tier);
+            container.start();
+            containers.add(container);
+        }
+        log.info("Retry topic consumers started: topics={}, handlers={}", topics, handlersByTopic.keySet());
+    }
+    
+    @PreDestroy
+    public void stop() {
+        containers.forEach(ConcurrentMessageListenerContainer::stop);
+        containers.clear();
+    }
+    
+    private AcknowledgingMessageListener<String, byte[]> listener(long tierDelayMs) {
+        return (record, acknowledgment) -> {
+            long wait = RetryHeaders.dueAt(record) - System.currentTimeMillis();
+            if (wait > 0) {
+                // 같은 오프셋부터 다시 받도록 되돌리고 대기 (지연보다 길게 멈추지 않음)
+                acknowledgment.nack(Duration.ofMillis(Math.min(wait, tierDelayMs)));
+                return;
+            }
+            
+            String origin = RetryHeaders.originTopic(record);
+            RetryableRecordHandler handler = handlersByTopic.get(origin);
+            if (handler == null) {
+                throw new IllegalArgumentException("No retry handler for topic: " + origin);
+            }
+            
+            try {
+                handler.handle(record);
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new IllegalStateException("Retry handling failed: origin=" + origin, e);
+            }
+            
+            acknowledgment.acknowledge();
+            meterRegistry.counter("kafka.retry.recovered",
+                "origin", origin,
+                "attempt", String.valueOf(RetryHeaders.attempt(record))
+            ).increment();
+        };
+    }
+}
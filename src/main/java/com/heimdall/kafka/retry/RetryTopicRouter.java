@@ -0,0 +1,131 @@
+package com.heimdall.kafka.retry;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.google.protobuf.InvalidProtocolBufferException;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.support.serializer.DeserializationException;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 처리 실패 레코드의 다음 목적지 결정
+ * 실패한 레코드는 원본 파티션을 막지 않고 지연 단계별 재시도 토픽(retry.0, retry.1, ...)으로 넘어가며,
+ * 단계마다 지연이 지수적으로 늘어난다. 모든 단계를 소진했거나 다시 시도해도 같은 결과가 나올 예외
+ * (역직렬화 실패, 잘못된 값)는 곧바로 DLQ(dlq.failed)로 보낸다.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RetryTopicRouter {
+    
+    private static final List<Class<? extends Throwable>> NON_RETRYABLE = List.of(
+        DeserializationException.class,
+        JsonProcessingException.class,
+        InvalidProtocolBufferException.class,
+        IllegalArgumentException.class,
+        ClassCastException.class
+    );
+    
+    private final MeterRegistry meterRegistry;
+    
+    @Value("${kafka.topics.retry-prefix:retry}")
+    private String retryTopicPrefix;
+    
+    @Value("${kafka.topics.dlq-failed}")
+    private String dlqTopic;
+    
+    @Value("${heimdall.kafka.retry.attempts:3}")
+    private int attempts;
+    
+    @Value("${heimdall.kafka.retry.initial-delay-ms:1000}")
+    private long initialDelayMs;
+    
+    @Value("${heimdall.kafka.retry.multiplier:5.0}")
+    private double multiplier;
+    
+    @Value("${heimdall.kafka.retry.max-delay-ms:300000}")
+    private long maxDelayMs;
+    
+    private final List<String> tierTopics = new ArrayList<>();
+    private final List<Long> tierDelays = new ArrayList<>();
+    
+    @PostConstruct
+    public void init() {
+        double delay = initialDelayMs;
+        for (int i = 0; i < attempts; i++) {
+            tierTopics.add(retryTopicPrefix + "." + i);
+            tierDelays.add(Math.min(maxDelayMs, (long) delay));
+            delay *= multiplier;
+        }
+        log.info("Kafka retry tiers: topics={}, delaysMs={}, dlq={}", tierTopics, tierDelays, dlqTopic);
+    }
+    
+    public List<String> getTierTopics() {
+        return tierTopics;
+    }
+    
+    public long getTierDelayMs(int tier) {
+        return tierDelays.get(tier);
+    }
+    
+    public String getDlqTopic() {
+        return dlqTopic;
+    }
+    
+    /**
+     * DeadLetterPublishingRecoverer 목적지 (파티션은 키 기준으로 producer가 선택)
+     */
+    public TopicPartition resolve(ConsumerRecord<?, ?> record, Exception exception) {
+        String destination = toDlq(record, exception) ? dlqTopic : tierTopics.get(RetryHeaders.attempt(record));
+        
+        meterRegistry.counter("kafka.retry.routed",
+            "origin", RetryHeaders.originTopic(record),
+            "destination", destination
+        ).increment();
+        log.warn("Routing failed record: origin={}, topic={}, partition={}, offset={}, destination={}",
+            RetryHeaders.originTopic(record), record.topic(), record.partition(), record.offset(),
+            destination, exception);
+        
+        return new TopicPartition(destination, -1);
+    }
+    
+    /**
+     * 재시도 단계 헤더 (기존 값보다 뒤에 추가되므로 lastHeader로 읽는다)
+     */
+    public Headers headers(ConsumerRecord<?, ?> record, Exception exception) {
+        int attempt = RetryHeaders.attempt(record);
+        RecordHeaders headers = new RecordHeaders();
+        headers.add(RetryHeaders.ORIGIN_TOPIC, RetryHeaders.originTopic(record).getBytes(StandardCharsets.UTF_8));
+        headers.add(RetryHeaders.ATTEMPT, RetryHeaders.intValue(attempt + 1));
+        if (!toDlq(record, exception)) {
+            headers.add(RetryHeaders.DUE_AT, RetryHeaders.longValue(System.currentTimeMillis() + tierDelays.get(attempt)));
+        }
+        return headers;
+    }
+    
+    private boolean toDlq(ConsumerRecord<?, ?> record, Exception exception) {
+        return RetryHeaders.attempt(record) >= tierTopics.size() || !isRetryable(exception);
+    }
+    
+    private boolean isRetryable(Throwable exception) {
+        for (Throwable cause = exception; cause != null; cause = cause.getCause()) {
+            for (Class<? extends Throwable> type : NON_RETRYABLE) {
+                if (type.isInstance(cause)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+}
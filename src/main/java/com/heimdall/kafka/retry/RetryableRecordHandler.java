@@ -0,0 +1,17 @@
+package com.heimdall.kafka.retry;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+
+/**
+ * 재시도 토픽에서 다시 꺼낸 레코드를 원본 토픽의 처리 로직으로 넘기기 위한 핸들러
+ * 원본 토픽 리스너가 구현하며, 실패 시 예외를 던지면 다음 재시도 단계(또는 DLQ)로 넘어간다.
+ */
+public interface RetryableRecordHandler {
+    
+    /**
+     * 처리하는 원본 토픽
+     */
+    String topic();
+    
+    void handle(ConsumerRecord<String, byte[]> record) throws Exception;
+}
@@ -0,0 +1,180 @@
+package com.heimdall.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * 분석 요청 병합 그룹 저장소
+ * (fingerprint, window_start) 유니크 키로 윈도우당 리더 요청 하나만 생성되도록 보장한다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class AnalysisCoalescingRepository {
+    
+    private static final String INSERT_GROUP_SQL =
+        "INSERT INTO analysis_coalesce_groups (request_id, fingerprint, window_start, leader_log_id, created_at) " +
+        "VALUES (?, ?, ?, ?, CURRENT_TIMESTAMP) " +
+        "ON CONFLICT (fingerprint, window_start) DO NOTHING";
+    
+    private static final String SELECT_REQUEST_ID_SQL =
+        "SELECT request_id FROM analysis_coalesce_groups WHERE fingerprint = ? AND window_start = ?";
+    
+    // 그룹 행에 공유 잠금을 걸어, 합류 트랜잭션이 커밋되기 전에는 그룹을 닫거나 리더를 승격할 수 없게 한다
+    private static final String INSERT_FOLLOWER_SQL =
+        "INSERT INTO analysis_coalesce_followers (request_id, log_id) " +
+        "SELECT g.request_id, ? FROM " +
+        "(SELECT request_id FROM analysis_coalesce_groups WHERE request_id = ? FOR SHARE) g " +
+        "ON CONFLICT DO NOTHING";
+    
+    private static final String LOCK_GROUP_SQL =
+        "SELECT request_id FROM analysis_coalesce_groups WHERE request_id = ? FOR UPDATE";
+    
+    private static final String SELECT_FIRST_FOLLOWER_SQL =
+        "SELECT log_id FROM analysis_coalesce_followers WHERE request_id = ? ORDER BY log_id LIMIT 1";
+    
+    private static final String DELETE_FOLLOWER_SQL =
+        "DELETE FROM analysis_coalesce_followers WHERE request_id = ? AND log_id = ?";
+    
+    private static final String MOVE_FOLLOWERS_SQL =
+        "UPDATE analysis_coalesce_followers SET request_id = ? WHERE request_id = ?";
+    
+    private static final String PROMOTE_GROUP_SQL =
+        "UPDATE analysis_coalesce_groups SET request_id = ?, leader_log_id = ? WHERE request_id = ?";
+    
+    private static final String DELETE_FOLLOWERS_SQL =
+        "DELETE FROM analysis_coalesce_followers WHERE request_id = ? RETURNING log_id";
+    
+    private static final String DELETE_GROUP_SQL =
+        "DELETE FROM analysis_coalesce_groups WHERE request_id = ?";
+    
+    private static final String DROP_GROUP_SQL =
+        "WITH dropped AS (DELETE FROM analysis_coalesce_groups WHERE request_id = ?) " +
+        "DELETE FROM analysis_coalesce_followers WHERE request_id = ?";
+    
+    private static final String DELETE_FOLLOWERS_IN_SQL =
+        "DELETE FROM analysis_coalesce_followers WHERE request_id IN (%s) RETURNING request_id, log_id";
+    
+    private static final String DELETE_GROUPS_IN_SQL =
+        "DELETE FROM analysis_coalesce_groups WHERE request_id IN (%s)";
+    
+    private static final String DELETE_EXPIRED_FOLLOWERS_SQL =
+        "DELETE FROM analysis_coalesce_followers f WHERE NOT EXISTS " +
+        "(SELECT 1 FROM analysis_coalesce_groups g WHERE g.request_id = f.request_id) " +
+        "OR f.request_id IN (SELECT request_id FROM analysis_coalesce_groups WHERE created_at < ?)";
+    
+    private static final String DELETE_EXPIRED_GROUPS_SQL =
+        "DELETE FROM analysis_coalesce_groups WHERE created_at < ?";
+    
+    private final JdbcTemplate jdbcTemplate;
+    
+    /**
+     * 윈도우의 리더 그룹 생성 시도 (이미 있으면 false)
+     */
+    public boolean tryCreateGroup(String requestId, String fingerprint, LocalDateTime windowStart, Long leaderLogId) {
+        return jdbcTemplate.update(INSERT_GROUP_SQL,
+            requestId, fingerprint, Timestamp.valueOf(windowStart), leaderLogId) > 0;
+    }
+    
+    public Optional<String> findRequestId(String fingerprint, LocalDateTime windowStart) {
+        return jdbcTemplate.query(SELECT_REQUEST_ID_SQL,
+                (rs, rowNum) -> rs.getString("request_id"),
+                fingerprint, Timestamp.valueOf(windowStart))
+            .stream()
+            .findFirst();
+    }
+    
+    /**
+     * 그룹에 follower로 합류 (그 사이 그룹이 닫혔거나 리더가 바뀌었으면 false)
+     */
+    public boolean addFollower(String requestId, Long logId) {
+        return jdbcTemplate.update(INSERT_FOLLOWER_SQL, logId, requestId) > 0;
+    }
+    
+    /**
+     * 리더 요청을 포기할 때 가장 먼저 합류한 follower를 새 requestId의 리더로 승격하고 남은 follower를 넘긴다.
+     * follower가 없으면 그룹을 닫는다.
+     *
+     * @return 승격된 follower의 logId (그룹이 없거나 follower가 없으면 empty)
+     */
+    @Transactional
+    public Optional<Long> promoteFollower(String requestId, String newRequestId) {
+        if (jdbcTemplate.queryForList(LOCK_GROUP_SQL, String.class, requestId).isEmpty()) {
+            return Optional.empty();
+        }
+        
+        List<Long> first = jdbcTemplate.queryForList(SELECT_FIRST_FOLLOWER_SQL, Long.class, requestId);
+        if (first.isEmpty()) {
+            jdbcTemplate.update(DELETE_GROUP_SQL, requestId);
+            return Optional.empty();
+        }
+        
+        Long leaderLogId = first.get(0);
+        jdbcTemplate.update(DELETE_FOLLOWER_SQL, requestId, leaderLogId);
+        jdbcTemplate.update(MOVE_FOLLOWERS_SQL, newRequestId, requestId);
+        jdbcTemplate.update(PROMOTE_GROUP_SQL, newRequestId, leaderLogId, requestId);
+        return Optional.of(leaderLogId);
+    }
+    
+    /**
+     * 그룹을 닫고 그동안 합류한 follower의 logId 반환
+     * 그룹을 먼저 삭제하므로 이후 같은 fingerprint의 로그는 새 그룹의 리더가 된다.
+     */
+    @Transactional
+    public List<Long> completeGroup(String requestId) {
+        jdbcTemplate.update(DELETE_GROUP_SQL, requestId);
+        return jdbcTemplate.queryForList(DELETE_FOLLOWERS_SQL, Long.class, requestId);
+    }
+    
+    /**
+     * 그룹과 follower를 한 문장으로 삭제 (follower를 승격하지 않고 그룹째 버릴 때)
+     *
+     * @return 버려진 follower 수
+     */
+    public int dropGroup(String requestId) {
+        return jdbcTemplate.update(DROP_GROUP_SQL, requestId, requestId);
+    }
+    
+    /**
+     * 여러 그룹을 한 번에 닫고 requestId별 follower logId 반환
+     */
+    @Transactional
+    public Map<String, List<Long>> completeGroups(List<String> requestIds) {
+        Map<String, List<Long>> followers = new HashMap<>();
+        if (requestIds.isEmpty()) {
+            return followers;
+        }
+        
+        String placeholders = String.join(", ", Collections.nCopies(requestIds.size(), "?"));
+        Object[] args = requestIds.toArray();
+        
+        jdbcTemplate.update(String.format(DELETE_GROUPS_IN_SQL, placeholders), args);
+        jdbcTemplate.query(String.format(DELETE_FOLLOWERS_IN_SQL, placeholders), rs -> {
+            followers.computeIfAbsent(rs.getString("request_id"), key -> new ArrayList<>())
+                .add(rs.getLong("log_id"));
+        }, args);
+        return followers;
+    }
+    
+    /**
+     * 결과가 오지 않은 채 만료된 그룹과 고아 follower 정리
+     *
+     * @return 삭제된 그룹 수
+     */
+    @Transactional
+    public int deleteExpired(LocalDateTime createdBefore) {
+        Timestamp cutoff = Timestamp.valueOf(createdBefore);
+        jdbcTemplate.update(DELETE_EXPIRED_FOLLOWERS_SQL, cutoff);
+        return jdbcTemplate.update(DELETE_EXPIRED_GROUPS_SQL, cutoff);
+    }
+}
@@ -0,0 +1,157 @@
+package com.heimdall.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 결과 대기 중인 분석 요청 저장소
+ * 각 인스턴스가 변경된 in-flight 요청만 주기적으로 기록하고 heartbeat로 소유를 유지하며,
+ * heartbeat가 끊긴 인스턴스의 행은 다른 인스턴스가 인계한다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class AnalysisInFlightRepository {
+    
+    private static final String UPSERT_SQL =
+        "INSERT INTO analysis_inflight_requests " +
+        "(request_id, log_id, priority, owner, attempts, payload, requested_at, deadline_at, updated_at) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?) " +
+        "ON CONFLICT (request_id) DO UPDATE SET " +
+        "attempts = EXCLUDED.attempts, deadline_at = EXCLUDED.deadline_at, updated_at = EXCLUDED.updated_at " +
+        "WHERE analysis_inflight_requests.owner = EXCLUDED.owner";
+    
+    private static final String DELETE_RETURNING_SQL =
+        "DELETE FROM analysis_inflight_requests WHERE request_id IN (%s) " +
+        "RETURNING request_id, priority, attempts, requested_at";
+    
+    private static final String CLAIM_STALE_SQL =
+        "UPDATE analysis_inflight_requests SET owner = ?, updated_at = ? " +
+        "WHERE request_id IN (" +
+        "SELECT r.request_id FROM analysis_inflight_requests r " +
+        "LEFT JOIN analysis_inflight_owners o ON o.owner = r.owner " +
+        "WHERE r.owner <> ? AND (o.heartbeat_at IS NULL OR o.heartbeat_at < ?) " +
+        "ORDER BY r.updated_at LIMIT ? FOR UPDATE OF r SKIP LOCKED) " +
+        "RETURNING request_id, priority, attempts, payload, requested_at, deadline_at";
+    
+    private static final String HEARTBEAT_SQL =
+        "INSERT INTO analysis_inflight_owners (owner, heartbeat_at) VALUES (?, ?) " +
+        "ON CONFLICT (owner) DO UPDATE SET heartbeat_at = EXCLUDED.heartbeat_at";
+    
+    private static final String DELETE_STALE_OWNERS_SQL =
+        "DELETE FROM analysis_inflight_owners WHERE heartbeat_at < ?";
+    
+    private static final String SELECT_COMPLETED_SQL =
+        "SELECT request_id FROM analysis_results WHERE request_id IN (%s)";
+    
+    private static final int CHUNK_SIZE = 500;
+    
+    private final JdbcTemplate jdbcTemplate;
+    
+    public void upsertAll(List<InFlightRow> rows, String owner, LocalDateTime updatedAt) {
+        List<Object[]> args = new ArrayList<>(rows.size());
+        for (InFlightRow row : rows) {
+            args.add(new Object[] {
+                row.requestId(),
+                row.logId(),
+                row.priority(),
+                owner,
+                row.attempts(),
+                row.payload(),
+                Timestamp.valueOf(row.requestedAt()),
+                Timestamp.valueOf(row.deadlineAt()),
+                Timestamp.valueOf(updatedAt)
+            });
+        }
+        jdbcTemplate.batchUpdate(UPSERT_SQL, args);
+    }
+    
+    /**
+     * 완료/포기된 요청 삭제 후 삭제된 행 반환 (payload, logId, deadline 제외)
+     */
+    public List<InFlightRow> deleteAll(List<String> requestIds) {
+        List<InFlightRow> deleted = new ArrayList<>();
+        
+        for (List<String> chunk : chunks(requestIds)) {
+            jdbcTemplate.query(String.format(DELETE_RETURNING_SQL, placeholders(chunk.size())), rs -> {
+                deleted.add(new InFlightRow(
+                    rs.getString("request_id"),
+                    null,
+                    rs.getString("priority"),
+                    rs.getInt("attempts"),
+                    null,
+                    rs.getTimestamp("requested_at").toLocalDateTime(),
+                    null
+                ));
+            }, chunk.toArray());
+        }
+        return deleted;
+    }
+    
+    /**
+     * owner의 heartbeat 갱신 및 staleBefore 이전에 끊긴 heartbeat 정리
+     * 요청 행마다 갱신 시각을 다시 쓰지 않고 인스턴스 단위로 소유를 유지한다 (정리된 owner의 행은 계속 인계 대상).
+     */
+    public void heartbeat(String owner, LocalDateTime now, LocalDateTime staleBefore) {
+        jdbcTemplate.update(HEARTBEAT_SQL, owner, Timestamp.valueOf(now));
+        jdbcTemplate.update(DELETE_STALE_OWNERS_SQL, Timestamp.valueOf(staleBefore));
+    }
+    
+    /**
+     * staleBefore 이전부터 heartbeat가 끊긴 인스턴스의 요청을 owner로 인계 (재시작/장애 인스턴스의 요청)
+     */
+    public List<InFlightRow> claimStale(String owner, LocalDateTime now, LocalDateTime staleBefore, int limit) {
+        return jdbcTemplate.query(CLAIM_STALE_SQL,
+            (rs, rowNum) -> new InFlightRow(
+                rs.getString("request_id"),
+                null,
+                rs.getString("priority"),
+                rs.getInt("attempts"),
+                rs.getString("payload"),
+                rs.getTimestamp("requested_at").toLocalDateTime(),
+                rs.getTimestamp("deadline_at").toLocalDateTime()
+            ),
+            owner, Timestamp.valueOf(now), owner, Timestamp.valueOf(staleBefore), limit);
+    }
+    
+    /**
+     * 분석 결과가 이미 저장된 requestId (다른 인스턴스가 결과를 처리한 요청)
+     */
+    public List<String> findCompleted(List<String> requestIds) {
+        List<String> completed = new ArrayList<>();
+        for (List<String> chunk : chunks(requestIds)) {
+            completed.addAll(jdbcTemplate.queryForList(
+                String.format(SELECT_COMPLETED_SQL, placeholders(chunk.size())), String.class, chunk.toArray()));
+        }
+        return completed;
+    }
+    
+    private static List<List<String>> chunks(List<String> values) {
+        List<List<String>> chunks = new ArrayList<>();
+        for (int start = 0; start < values.size(); start += CHUNK_SIZE) {
+            chunks.add(values.subList(start, Math.min(start + CHUNK_SIZE, values.size())));
+        }
+        return chunks;
+    }
+    
+    private static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+    
+    public record InFlightRow(
+        String requestId,
+        Long logId,
+        String priority,
+        int attempts,
+        String payload,
+        LocalDateTime requestedAt,
+        LocalDateTime deadlineAt
+    ) {
+    }
+}
@@ -0,0 +1,80 @@
+package com.heimdall.repository;
+
+import com.heimdall.entity.AnalysisResult;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 분석 결과 bulk insert
+ * IDENTITY 키라 JPA saveAll은 행마다 INSERT를 보내므로, 다중 VALUES INSERT ... RETURNING으로
+ * 청크당 한 번에 저장하고 생성된 id를 돌려받는다.
+ * 같은 request_id가 이미 있으면(재전달된 결과) 건너뛰고, 한 배치 안에서 중복되면 첫 결과만 저장한다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class AnalysisResultBatchRepository {
+    
+    private static final int INSERT_CHUNK_SIZE = 200;
+    
+    private static final String INSERT_SQL =
+        "INSERT INTO analysis_results " +
+        "(log_id, bifrost_analysis_id, request_id, correlation_id, fingerprint, summary, root_cause, " +
+        "recommendation, severity, confidence, model, duration_seconds, analyzed_at, created_at) " +
+        "VALUES %s " +
+        "ON CONFLICT (request_id) DO NOTHING " +
+        "RETURNING id, request_id";
+    
+    private static final String ROW_PLACEHOLDER = "(?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    
+    private final JdbcTemplate jdbcTemplate;
+    
+    /**
+     * 분석 결과 일괄 저장 후 실제로 저장된 결과만 id를 채워 반환
+     */
+    public List<AnalysisResult> insertAll(List<AnalysisResult> results) {
+        List<AnalysisResult> inserted = new ArrayList<>(results.size());
+        
+        for (int start = 0; start < results.size(); start += INSERT_CHUNK_SIZE) {
+            List<AnalysisResult> chunk = results.subList(start, Math.min(start + INSERT_CHUNK_SIZE, results.size()));
+            
+            Map<String, AnalysisResult> byRequestId = new HashMap<>();
+            List<Object> args = new ArrayList<>(chunk.size() * 14);
+            for (AnalysisResult result : chunk) {
+                // RETURNING 행을 요청 객체에 정확히 대응시키기 위해 청크 안의 중복은 보내지 않는다
+                if (byRequestId.putIfAbsent(result.getRequestId(), result) != null) {
+                    continue;
+                }
+                args.add(result.getLogEntry().getId());
+                args.add(result.getBifrostAnalysisId());
+                args.add(result.getRequestId());
+                args.add(result.getCorrelationId());
+                args.add(result.getFingerprint());
+                args.add(result.getSummary());
+                args.add(result.getRootCause());
+                args.add(result.getRecommendation());
+                args.add(result.getSeverity());
+                args.add(result.getConfidence());
+                args.add(result.getModel());
+                args.add(result.getDurationSeconds());
+                args.add(result.getAnalyzedAt() != null ? Timestamp.valueOf(result.getAnalyzedAt()) : null);
+                args.add(Timestamp.valueOf(result.getCreatedAt()));
+            }
+            
+            String values = String.join(", ", Collections.nCopies(byRequestId.size(), ROW_PLACEHOLDER));
+            jdbcTemplate.query(String.format(INSERT_SQL, values), rs -> {
+                AnalysisResult result = byRequestId.get(rs.getString("request_id"));
+                result.setId(rs.getLong("id"));
+                inserted.add(result);
+            }, args.toArray());
+        }
+        return inserted;
+    }
+}
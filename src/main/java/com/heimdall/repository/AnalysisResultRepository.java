@@ -9,6 +9,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -23,6 +24,17 @@ public interface AnalysisResultRepository extends JpaRepository<AnalysisResult,
     
     Optional<AnalysisResult> findFirstByLogEntry_IdOrderByAnalyzedAtDesc(Long logId);
     
+    Optional<AnalysisResult> findFirstByFingerprintAndAnalyzedAtAfterOrderByAnalyzedAtDesc(
+        String fingerprint,
+        LocalDateTime analyzedAfter
+    );
+    
+    /**
+     * 주어진 로그 중 분석 결과가 있는 로그 id (한 번의 IN 조회)
+     */
+    @Query("SELECT DISTINCT a.logEntry.id FROM AnalysisResult a WHERE a.logEntry.id IN :logIds")
+    List<Long> findAnalyzedLogIds(@Param("logIds") Collection<Long> logIds);
+    
     Page<AnalysisResult> findByAnalyzedAtBetween(
         LocalDateTime from,
         LocalDateTime to,
@@ -0,0 +1,26 @@
+package com.heimdall.repository;
+
+import com.heimdall.entity.LogStatisticsDaily;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface LogStatisticsDailyRepository extends JpaRepository<LogStatisticsDaily, Long> {
+    
+    @Query("SELECT s FROM LogStatisticsDaily s WHERE " +
+           "s.date BETWEEN :from AND :to AND " +
+           "(:serviceName IS NULL OR s.serviceName = :serviceName) AND " +
+           "(:environment IS NULL OR s.environment = :environment) " +
+           "ORDER BY s.date ASC")
+    List<LogStatisticsDaily> findRange(
+        @Param("from") LocalDate from,
+        @Param("to") LocalDate to,
+        @Param("serviceName") String serviceName,
+        @Param("environment") String environment
+    );
+}
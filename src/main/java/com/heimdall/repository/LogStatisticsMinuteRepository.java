@@ -0,0 +1,33 @@
+package com.heimdall.repository;
+
+import com.heimdall.entity.LogStatisticsMinute;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface LogStatisticsMinuteRepository extends JpaRepository<LogStatisticsMinute, Long> {
+    
+    @Query("SELECT s FROM LogStatisticsMinute s WHERE " +
+           "s.bucketStart >= :from AND s.bucketStart < :to AND " +
+           "(:serviceName IS NULL OR s.serviceName = :serviceName) AND " +
+           "(:environment IS NULL OR s.environment = :environment) " +
+           "ORDER BY s.bucketStart ASC")
+    List<LogStatisticsMinute> findRange(
+        @Param("from") LocalDateTime from,
+        @Param("to") LocalDateTime to,
+        @Param("serviceName") String serviceName,
+        @Param("environment") String environment
+    );
+    
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM LogStatisticsMinute s WHERE s.bucketStart < :before")
+    int deleteByBucketStartBefore(@Param("before") LocalDateTime before);
+}
@@ -36,6 +36,21 @@ public interface LogStatisticsRepository extends JpaRepository<LogStatistics, Lo
         @Param("environment") String environment
     );
     
+    @Query("SELECT s FROM LogStatistics s WHERE " +
+           "s.date BETWEEN :from AND :to AND " +
+           "(:serviceName IS NULL OR s.serviceName = :serviceName) AND " +
+           "(:environment IS NULL OR s.environment = :environment) " +
+           "ORDER BY s.date ASC, s.hour ASC")
+    List<LogStatistics> findRange(
+        @Param("from") LocalDate from,
+        @Param("to") LocalDate to,
+        @Param("serviceName") String serviceName,
+        @Param("environment") String environment
+    );
+    
+    @Query("SELECT DISTINCT s.date FROM LogStatistics s WHERE s.date < :before")
+    List<LocalDate> findDatesBefore(@Param("before") LocalDate before);
+    
     @Query("SELECT s.serviceName, SUM(s.count) as total FROM LogStatistics s WHERE " +
            "s.date BETWEEN :from AND :to " +
            "GROUP BY s.serviceName " +
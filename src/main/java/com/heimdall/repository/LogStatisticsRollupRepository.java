@@ -0,0 +1,135 @@
+package com.heimdall.repository;
+
+import com.heimdall.statistics.sketch.DDSketch;
+import com.heimdall.statistics.sketch.HyperLogLog;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 시간 단위 통계를 일 단위로 롤업
+ * 같은 날짜를 여러 번 롤업해도 결과가 같도록 일 단위 행을 덮어쓴다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class LogStatisticsRollupRepository {
+    
+    private static final String SELECT_HOURLY_SQL =
+        "SELECT COALESCE(service_name, 'unknown') AS service_name, " +
+        "COALESCE(environment, 'unknown') AS environment, " +
+        "COALESCE(severity, 'unknown') AS severity, " +
+        "count, avg_size_bytes, size_sketch, distinct_sketch " +
+        "FROM log_statistics WHERE date = ?";
+    
+    private static final String UPSERT_DAILY_SQL =
+        "INSERT INTO log_statistics_daily " +
+        "(date, service_name, environment, severity, count, avg_size_bytes, size_sketch, distinct_sketch, created_at) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?, ?, CURRENT_TIMESTAMP) " +
+        "ON CONFLICT (date, service_name, environment, severity) DO UPDATE SET " +
+        "count = EXCLUDED.count, " +
+        "avg_size_bytes = EXCLUDED.avg_size_bytes, " +
+        "size_sketch = EXCLUDED.size_sketch, " +
+        "distinct_sketch = EXCLUDED.distinct_sketch";
+    
+    private static final String DELETE_HOURLY_SQL =
+        "DELETE FROM log_statistics WHERE date = ?";
+    
+    private final JdbcTemplate jdbcTemplate;
+    
+    /**
+     * 해당 날짜의 시간 단위 행을 (서비스, 환경, 심각도)별로 합산해 일 단위 행으로 저장
+     *
+     * @return 저장된 일 단위 행 수
+     */
+    @Transactional
+    public int rollupDay(LocalDate date) {
+        Map<String, DailyAccumulator> accumulators = new TreeMap<>();
+        
+        jdbcTemplate.query(SELECT_HOURLY_SQL, rs -> {
+            String serviceName = rs.getString("service_name");
+            String environment = rs.getString("environment");
+            String severity = rs.getString("severity");
+            
+            DailyAccumulator acc = accumulators.computeIfAbsent(
+                String.join("\u0000", serviceName, environment, severity),
+                k -> new DailyAccumulator(serviceName, environment, severity)
+            );
+            acc.add(
+                rs.getInt("count"),
+                (Integer) rs.getObject("avg_size_bytes"),
+                rs.getBytes("size_sketch"),
+                rs.getBytes("distinct_sketch")
+            );
+        }, Date.valueOf(date));
+        
+        List<Object[]> args = new ArrayList<>(accumulators.size());
+        for (DailyAccumulator acc : accumulators.values()) {
+            args.add(new Object[] {
+                Date.valueOf(date),
+                acc.serviceName,
+                acc.environment,
+                acc.severity,
+                acc.count,
+                acc.avgSizeBytes(),
+                acc.sketch.getCount() > 0 ? acc.sketch.toBytes() : null,
+                acc.hashSketch.isEmpty() ? null : acc.hashSketch.toBytes()
+            });
+        }
+        jdbcTemplate.batchUpdate(UPSERT_DAILY_SQL, args);
+        
+        return args.size();
+    }
+    
+    /**
+     * 일 단위로 롤업한 뒤 같은 트랜잭션에서 시간 단위 행 삭제 (보관 기간 만료)
+     */
+    @Transactional
+    public int compactDay(LocalDate date) {
+        rollupDay(date);
+        return jdbcTemplate.update(DELETE_HOURLY_SQL, Date.valueOf(date));
+    }
+    
+    private static final class DailyAccumulator {
+        
+        private final String serviceName;
+        private final String environment;
+        private final String severity;
+        private final DDSketch sketch = new DDSketch();
+        private final HyperLogLog hashSketch = new HyperLogLog();
+        private long count;
+        private long sizedCount;
+        private long weightedSizeSum;
+        
+        private DailyAccumulator(String serviceName, String environment, String severity) {
+            this.serviceName = serviceName;
+            this.environment = environment;
+            this.severity = severity;
+        }
+        
+        private void add(int rowCount, Integer avgSizeBytes, byte[] sizeSketch, byte[] distinctSketch) {
+            count += rowCount;
+            if (avgSizeBytes != null) {
+                weightedSizeSum += (long) avgSizeBytes * rowCount;
+                sizedCount += rowCount;
+            }
+            if (sizeSketch != null) {
+                sketch.merge(DDSketch.fromBytes(sizeSketch));
+            }
+            if (distinctSketch != null) {
+                hashSketch.merge(HyperLogLog.fromBytes(distinctSketch));
+            }
+        }
+        
+        private Integer avgSizeBytes() {
+            return sizedCount > 0 ? (int) (weightedSizeSum / sizedCount) : null;
+        }
+    }
+}
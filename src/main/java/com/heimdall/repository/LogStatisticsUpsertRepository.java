@@ -0,0 +1,184 @@
+package com.heimdall.repository;
+
+import com.heimdall.statistics.BucketDelta;
+import com.heimdall.statistics.MinuteBucketKey;
+import com.heimdall.statistics.StatisticsBucketKey;
+import com.heimdall.statistics.sketch.DDSketch;
+import com.heimdall.statistics.sketch.HyperLogLog;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Date;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 통계 티어 배치 upsert
+ * log_statistics는 유니크 키(date, hour, service_name, environment, severity) 충돌 시 건수를 누적하고
+ * 평균 크기는 건수 가중 평균으로, 크기 스케치와 log_hash HLL은 기존 행의 스케치와 병합한다.
+ * log_statistics_minute는 건수와 누적 바이트만 더한다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class LogStatisticsUpsertRepository {
+    
+    private static final int SELECT_CHUNK_SIZE = 100;
+    
+    private static final Comparator<StatisticsBucketKey> KEY_ORDER = Comparator
+        .comparing(StatisticsBucketKey::date)
+        .thenComparing(StatisticsBucketKey::hour)
+        .thenComparing(StatisticsBucketKey::serviceName)
+        .thenComparing(StatisticsBucketKey::environment)
+        .thenComparing(StatisticsBucketKey::severity);
+    
+    private static final String UPSERT_SQL =
+        "INSERT INTO log_statistics " +
+        "(date, hour, service_name, environment, severity, count, avg_size_bytes, created_at) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?, CURRENT_TIMESTAMP) " +
+        "ON CONFLICT (date, hour, service_name, environment, severity) DO UPDATE SET " +
+        "avg_size_bytes = ((COALESCE(log_statistics.avg_size_bytes, 0)::bigint * log_statistics.count " +
+        "+ EXCLUDED.avg_size_bytes::bigint * EXCLUDED.count) " +
+        "/ GREATEST(log_statistics.count + EXCLUDED.count, 1))::int, " +
+        "count = log_statistics.count + EXCLUDED.count";
+    
+    private static final String SELECT_SKETCH_SQL =
+        "SELECT date, hour, service_name, environment, severity, size_sketch, distinct_sketch " +
+        "FROM log_statistics WHERE (date, hour, service_name, environment, severity) IN (%s)";
+    
+    private static final String UPDATE_SKETCH_SQL =
+        "UPDATE log_statistics SET size_sketch = ?, distinct_sketch = ? " +
+        "WHERE date = ? AND hour = ? AND service_name = ? AND environment = ? AND severity = ?";
+    
+    private static final String UPSERT_MINUTE_SQL =
+        "INSERT INTO log_statistics_minute " +
+        "(bucket_start, service_name, environment, severity, count, size_bytes) " +
+        "VALUES (?, ?, ?, ?, ?, ?) " +
+        "ON CONFLICT (bucket_start, service_name, environment, severity) DO UPDATE SET " +
+        "count = log_statistics_minute.count + EXCLUDED.count, " +
+        "size_bytes = log_statistics_minute.size_bytes + EXCLUDED.size_bytes";
+    
+    private static final Comparator<MinuteBucketKey> MINUTE_KEY_ORDER = Comparator
+        .comparing(MinuteBucketKey::bucketStart)
+        .thenComparing(MinuteBucketKey::serviceName)
+        .thenComparing(MinuteBucketKey::environment)
+        .thenComparing(MinuteBucketKey::severity);
+    
+    private final JdbcTemplate jdbcTemplate;
+    
+    /**
+     * 분 단위와 시간 단위 증가분을 한 트랜잭션으로 반영
+     */
+    @Transactional
+    public void upsert(
+        Map<MinuteBucketKey, BucketDelta> minuteDeltas,
+        Map<StatisticsBucketKey, BucketDelta> hourlyDeltas
+    ) {
+        upsertMinutes(minuteDeltas);
+        upsertHourly(hourlyDeltas);
+    }
+    
+    private void upsertMinutes(Map<MinuteBucketKey, BucketDelta> deltas) {
+        List<MinuteBucketKey> keys = new ArrayList<>(deltas.keySet());
+        keys.sort(MINUTE_KEY_ORDER);
+        
+        List<Object[]> args = new ArrayList<>(keys.size());
+        for (MinuteBucketKey key : keys) {
+            BucketDelta delta = deltas.get(key);
+            args.add(new Object[] {
+                key.bucketStart(),
+                key.serviceName(),
+                key.environment(),
+                key.severity(),
+                (int) delta.count(),
+                delta.bytes()
+            });
+        }
+        jdbcTemplate.batchUpdate(UPSERT_MINUTE_SQL, args);
+    }
+    
+    /**
+     * 건수 upsert 후 같은 트랜잭션에서 스케치를 읽어 병합
+     * upsert가 이미 행 잠금을 잡고 있으므로 다른 인스턴스의 flush와 병합 결과가 섞이지 않으며,
+     * 키를 정렬된 순서로 처리하여 인스턴스 간 교착을 피한다.
+     */
+    private void upsertHourly(Map<StatisticsBucketKey, BucketDelta> deltas) {
+        List<StatisticsBucketKey> keys = new ArrayList<>(deltas.keySet());
+        keys.sort(KEY_ORDER);
+        
+        List<Object[]> upsertArgs = new ArrayList<>(keys.size());
+        for (StatisticsBucketKey key : keys) {
+            BucketDelta delta = deltas.get(key);
+            long avgSize = delta.count() > 0 ? delta.bytes() / delta.count() : 0;
+            upsertArgs.add(new Object[] {
+                Date.valueOf(key.date()),
+                key.hour(),
+                key.serviceName(),
+                key.environment(),
+                key.severity(),
+                (int) delta.count(),
+                (int) avgSize
+            });
+        }
+        jdbcTemplate.batchUpdate(UPSERT_SQL, upsertArgs);
+        
+        Map<StatisticsBucketKey, byte[][]> existing = loadSketches(keys);
+        
+        List<Object[]> sketchArgs = new ArrayList<>(keys.size());
+        for (StatisticsBucketKey key : keys) {
+            byte[][] stored = existing.getOrDefault(key, new byte[2][]);
+            DDSketch merged = DDSketch.fromBytes(stored[0]);
+            merged.merge(deltas.get(key).sizeSketch());
+            HyperLogLog mergedHashes = HyperLogLog.fromBytes(stored[1]);
+            mergedHashes.merge(deltas.get(key).hashSketch());
+            sketchArgs.add(new Object[] {
+                merged.toBytes(),
+                mergedHashes.toBytes(),
+                Date.valueOf(key.date()),
+                key.hour(),
+                key.serviceName(),
+                key.environment(),
+                key.severity()
+            });
+        }
+        jdbcTemplate.batchUpdate(UPDATE_SKETCH_SQL, sketchArgs);
+    }
+    
+    /**
+     * 키별 저장된 스케치 [size_sketch, distinct_sketch]
+     */
+    private Map<StatisticsBucketKey, byte[][]> loadSketches(List<StatisticsBucketKey> keys) {
+        Map<StatisticsBucketKey, byte[][]> sketches = new HashMap<>();
+        
+        for (int start = 0; start < keys.size(); start += SELECT_CHUNK_SIZE) {
+            List<StatisticsBucketKey> chunk = keys.subList(start, Math.min(start + SELECT_CHUNK_SIZE, keys.size()));
+            
+            String placeholders = String.join(", ", Collections.nCopies(chunk.size(), "(?, ?, ?, ?, ?)"));
+            List<Object> args = new ArrayList<>(chunk.size() * 5);
+            for (StatisticsBucketKey key : chunk) {
+                args.add(Date.valueOf(key.date()));
+                args.add(key.hour());
+                args.add(key.serviceName());
+                args.add(key.environment());
+                args.add(key.severity());
+            }
+            
+            jdbcTemplate.query(String.format(SELECT_SKETCH_SQL, placeholders), rs -> {
+                StatisticsBucketKey key = new StatisticsBucketKey(
+                    rs.getDate("date").toLocalDate(),
+                    rs.getShort("hour"),
+                    rs.getString("service_name"),
+                    rs.getString("environment"),
+                    rs.getString("severity")
+                );
+                sketches.put(key, new byte[][] {rs.getBytes("size_sketch"), rs.getBytes("distinct_sketch")});
+            }, args.toArray());
+        }
+        return sketches;
+    }
+}
@@ -0,0 +1,146 @@
+package com.heimdall.repository;
+
+import com.heimdall.kafka.outbox.OutboxMessage;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * outbox 저장소
+ * relay는 행을 잠그는 대신 lease를 걸어 가져가므로, 발행 확인까지 트랜잭션을 열어 둘 필요가 없다.
+ * lease가 만료된 행은 다른 relay(인스턴스)가 다시 가져간다.
+ * 재시도 한도를 넘었거나 해석할 수 없는 행은 parked_at을 기록해 더 이상 가져가지 않는다 (수동 확인 후 삭제/복구).
+ */
+@Repository
+@RequiredArgsConstructor
+public class OutboxRepository {
+    
+    private static final int CHUNK_SIZE = 500;
+    
+    private static final String INSERT_SQL =
+        "INSERT INTO outbox_events (event_type, topic, message_key, payload, created_at) VALUES (?, ?, ?, ?, ?)";
+    
+    private static final String CLAIM_SQL =
+        "UPDATE outbox_events SET lease_owner = ?, lease_until = ? " +
+        "WHERE id IN (" +
+        "SELECT id FROM outbox_events WHERE parked_at IS NULL AND (lease_until IS NULL OR lease_until < ?) " +
+        "ORDER BY id LIMIT ? FOR UPDATE SKIP LOCKED) " +
+        "RETURNING id, event_type, topic, message_key, payload, attempts, created_at";
+    
+    private static final String DELETE_SQL =
+        "DELETE FROM outbox_events WHERE id IN (%s)";
+    
+    private static final String RELEASE_SQL =
+        "UPDATE outbox_events SET attempts = attempts + 1, lease_owner = NULL, lease_until = ? WHERE id IN (%s)";
+    
+    private static final String DEFER_SQL =
+        "UPDATE outbox_events SET lease_owner = NULL, lease_until = ? WHERE id IN (%s)";
+    
+    private static final String PARK_SQL =
+        "UPDATE outbox_events SET attempts = attempts + 1, lease_owner = NULL, lease_until = NULL, parked_at = ? " +
+        "WHERE id IN (%s)";
+    
+    private static final String OLDEST_CREATED_AT_SQL =
+        "SELECT created_at FROM outbox_events WHERE parked_at IS NULL ORDER BY id LIMIT 1";
+    
+    private static final String COUNT_PARKED_SQL =
+        "SELECT COUNT(*) FROM outbox_events WHERE parked_at IS NOT NULL";
+    
+    private final JdbcTemplate jdbcTemplate;
+    
+    public void insert(String eventType, String topic, String key, String payload, LocalDateTime createdAt) {
+        jdbcTemplate.update(INSERT_SQL, eventType, topic, key, payload, Timestamp.valueOf(createdAt));
+    }
+    
+    /**
+     * 발행 대기 행을 id 순으로 가져와 leaseUntil까지 owner에게 할당
+     */
+    public List<OutboxMessage> claim(String owner, LocalDateTime now, LocalDateTime leaseUntil, int limit) {
+        return jdbcTemplate.query(CLAIM_SQL,
+            (rs, rowNum) -> new OutboxMessage(
+                rs.getLong("id"),
+                rs.getString("event_type"),
+                rs.getString("topic"),
+                rs.getString("message_key"),
+                rs.getString("payload"),
+                rs.getInt("attempts"),
+                rs.getTimestamp("created_at").toLocalDateTime()
+            ),
+            owner, Timestamp.valueOf(leaseUntil), Timestamp.valueOf(now), limit);
+    }
+    
+    /**
+     * 발행 확인된 행 일괄 삭제
+     */
+    public void deleteAll(List<Long> ids) {
+        for (List<Long> chunk : chunks(ids)) {
+            jdbcTemplate.update(String.format(DELETE_SQL, placeholders(chunk.size())), chunk.toArray());
+        }
+    }
+    
+    /**
+     * 발행 실패한 행의 lease를 풀고 retryAt 이후 다시 가져가도록 설정
+     */
+    public void releaseAll(List<Long> ids, LocalDateTime retryAt) {
+        for (List<Long> chunk : chunks(ids)) {
+            List<Object> args = new ArrayList<>(chunk.size() + 1);
+            args.add(Timestamp.valueOf(retryAt));
+            args.addAll(chunk);
+            jdbcTemplate.update(String.format(RELEASE_SQL, placeholders(chunk.size())), args.toArray());
+        }
+    }
+    
+    /**
+     * 발행하지 못한 행을 시도 횟수 증가 없이 retryAt 이후로 미룸 (분석 레인 포화 등 backpressure)
+     */
+    public void deferAll(List<Long> ids, LocalDateTime retryAt) {
+        for (List<Long> chunk : chunks(ids)) {
+            List<Object> args = new ArrayList<>(chunk.size() + 1);
+            args.add(Timestamp.valueOf(retryAt));
+            args.addAll(chunk);
+            jdbcTemplate.update(String.format(DEFER_SQL, placeholders(chunk.size())), args.toArray());
+        }
+    }
+    
+    /**
+     * 더 이상 재시도하지 않을 행을 parked 상태로 전환
+     */
+    public void parkAll(List<Long> ids, LocalDateTime parkedAt) {
+        for (List<Long> chunk : chunks(ids)) {
+            List<Object> args = new ArrayList<>(chunk.size() + 1);
+            args.add(Timestamp.valueOf(parkedAt));
+            args.addAll(chunk);
+            jdbcTemplate.update(String.format(PARK_SQL, placeholders(chunk.size())), args.toArray());
+        }
+    }
+    
+    public long countParked() {
+        Long count = jdbcTemplate.queryForObject(COUNT_PARKED_SQL, Long.class);
+        return count != null ? count : 0;
+    }
+    
+    public LocalDateTime findOldestCreatedAt() {
+        return jdbcTemplate.queryForList(OLDEST_CREATED_AT_SQL, Timestamp.class).stream()
+            .findFirst()
+            .map(Timestamp::toLocalDateTime)
+            .orElse(null);
+    }
+    
+    private static List<List<Long>> chunks(List<Long> values) {
+        List<List<Long>> chunks = new ArrayList<>();
+        for (int start = 0; start < values.size(); start += CHUNK_SIZE) {
+            chunks.add(values.subList(start, Math.min(start + CHUNK_SIZE, values.size())));
+        }
+        return chunks;
+    }
+    
+    private static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+}
@@ -0,0 +1,71 @@
+package com.heimdall.search.cursor;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.heimdall.exception.LogProcessingException;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Point-in-time + search_after 커서
+ * 클라이언트에게는 불투명한 Base64 토큰으로 전달되며, 검색 조건도 함께 담아
+ * 다음 페이지 요청 시 커서만으로 동일한 검색을 이어갈 수 있도록 한다.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SearchCursor {
+
+    private String pitId;
+
+    private List<Object> searchAfter;
+
+    private String serviceName;
+
+    private String environment;
+
+    private String severity;
+
+    private String from;
+
+    private String to;
+
+    private String keyword;
+
+    private Integer size;
+
+    public String encode(ObjectMapper objectMapper) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(this);
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(json);
+        } catch (Exception e) {
+            throw new LogProcessingException("Failed to encode search cursor", e);
+        }
+    }
+
+    /**
+     * 클라이언트가 보낸 토큰 복원
+     * 토큰은 변조될 수 있으므로 페이지 크기는 다시 검증하고 maxSize로 제한한다.
+     */
+    public static SearchCursor decode(String token, ObjectMapper objectMapper, int maxSize) {
+        SearchCursor cursor;
+        try {
+            byte[] json = Base64.getUrlDecoder().decode(token.getBytes(StandardCharsets.US_ASCII));
+            cursor = objectMapper.readValue(json, SearchCursor.class);
+        } catch (Exception e) {
+            throw new LogProcessingException("Invalid search cursor", e);
+        }
+
+        if (cursor == null || cursor.getSize() == null || cursor.getSize() < 1) {
+            throw new LogProcessingException("Invalid search cursor: missing page size");
+        }
+        cursor.setSize(Math.min(cursor.getSize(), maxSize));
+        return cursor;
+    }
+}
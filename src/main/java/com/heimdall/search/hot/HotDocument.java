@@ -0,0 +1,29 @@
+package com.heimdall.search.hot;
+
+/**
+ * Hot tail 인덱스에 보관되는 로그 문서
+ */
+public record HotDocument(
+    long logId,
+    long timestampMillis,
+    String serviceName,
+    String environment,
+    String severity,
+    String logContent
+) {
+    
+    /**
+     * 메모리 사용량 추정치 (바이트)
+     */
+    long estimatedBytes() {
+        return 64L
+            + stringBytes(serviceName)
+            + stringBytes(environment)
+            + stringBytes(severity)
+            + stringBytes(logContent);
+    }
+    
+    static long stringBytes(String value) {
+        return value == null ? 0 : 40L + 2L * value.length();
+    }
+}
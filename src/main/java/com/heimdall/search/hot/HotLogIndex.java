@@ -0,0 +1,174 @@
+package com.heimdall.search.hot;
+
+import com.heimdall.entity.LogEntry;
+import com.heimdall.util.DateTimeUtil;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 최근 N분 로그에 대한 인메모리 역색인 (hot tail)
+ * 시간 구간별 세그먼트로 나누어 보관하며, 보존 시간이 지나거나 메모리 한도를 넘으면
+ * 가장 오래된 세그먼트부터 통째로 제거한다.
+ * 
+ * coverageStart 이후의 로그는 이 인스턴스가 수집한 것에 한해 모두 포함된다.
+ * 여러 인스턴스가 수집을 나눠 처리하는 환경에서는 결과가 불완전하므로 기본 비활성화한다.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class HotLogIndex {
+    
+    private static final Comparator<HotDocument> NEWEST_FIRST = Comparator
+        .comparingLong(HotDocument::timestampMillis)
+        .thenComparingLong(HotDocument::logId)
+        .reversed();
+    
+    private final MeterRegistry meterRegistry;
+    
+    private final ConcurrentNavigableMap<Long, HotSegment> segments = new ConcurrentSkipListMap<>();
+    private final AtomicLong estimatedBytes = new AtomicLong();
+    
+    private volatile long coverageStartMillis;
+    
+    @Value("${heimdall.search.hot-index.enabled:false}")
+    private boolean enabled;
+    
+    @Value("${heimdall.search.hot-index.retention-minutes:15}")
+    private long retentionMinutes;
+    
+    @Value("${heimdall.search.hot-index.segment-seconds:60}")
+    private long segmentSeconds;
+    
+    @Value("${heimdall.search.hot-index.max-memory-mb:64}")
+    private long maxMemoryMb;
+    
+    @PostConstruct
+    public void init() {
+        // 기동 이전에 수집된 로그는 포함하지 않으므로 기동 시점부터 커버리지 시작
+        coverageStartMillis = System.currentTimeMillis();
+        meterRegistry.gauge("search.hot_index.bytes", estimatedBytes);
+        meterRegistry.gaugeMapSize("search.hot_index.segments", List.of(), segments);
+    }
+    
+    public boolean isEnabled() {
+        return enabled;
+    }
+    
+    /**
+     * 이 시각 이후의 로그는 hot 인덱스만으로 완전한 결과를 얻을 수 있다
+     */
+    public LocalDateTime getCoverageStart() {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(coverageStartMillis), ZoneOffset.UTC);
+    }
+    
+    /**
+     * 저장된 로그 엔트리를 색인
+     */
+    public void index(LogEntry logEntry) {
+        if (!enabled || logEntry.getId() == null || logEntry.getTimestamp() == null) {
+            return;
+        }
+        
+        long timestampMillis = toMillis(logEntry.getTimestamp());
+        if (timestampMillis < coverageStartMillis) {
+            // 이미 제거된 구간의 지연 로그는 영속 저장소에서 조회된다
+            return;
+        }
+        
+        long segmentMillis = segmentSeconds * 1000L;
+        long segmentStart = timestampMillis - Math.floorMod(timestampMillis, segmentMillis);
+        HotSegment segment = segments.computeIfAbsent(
+            segmentStart, start -> new HotSegment(start, start + segmentMillis)
+        );
+        
+        HotDocument document = new HotDocument(
+            logEntry.getId(),
+            timestampMillis,
+            logEntry.getServiceName(),
+            logEntry.getEnvironment(),
+            logEntry.getSeverity().name(),
+            logEntry.getLogContent()
+        );
+        
+        estimatedBytes.addAndGet(segment.add(document));
+        
+        if (estimatedBytes.get() > maxMemoryMb * 1024 * 1024) {
+            evictForMemory();
+        }
+    }
+    
+    /**
+     * 키워드 검색 (최신순 정렬)
+     */
+    public List<HotDocument> search(String keyword, LocalDateTime from, LocalDateTime to) {
+        long fromMillis = Math.max(toMillis(from), coverageStartMillis);
+        long toMillis = toMillis(to);
+        
+        List<HotDocument> matches = new ArrayList<>();
+        for (HotSegment segment : segments.values()) {
+            segment.search(keyword, fromMillis, toMillis, matches::add);
+        }
+        matches.sort(NEWEST_FIRST);
+        
+        meterRegistry.counter("search.hot_index.queries").increment();
+        return matches;
+    }
+    
+    /**
+     * 보존 시간이 지난 세그먼트 제거
+     */
+    @Scheduled(fixedDelayString = "${heimdall.search.hot-index.eviction-interval-ms:10000}")
+    public void evictExpired() {
+        if (!enabled) {
+            return;
+        }
+        
+        long cutoff = System.currentTimeMillis() - retentionMinutes * 60_000L;
+        while (!segments.isEmpty() && segments.firstEntry().getValue().getEndMillis() <= cutoff) {
+            evictOldest();
+        }
+    }
+    
+    private synchronized void evictForMemory() {
+        long budget = maxMemoryMb * 1024 * 1024;
+        // 현재 기록 중인 세그먼트 하나는 남겨둔다
+        while (estimatedBytes.get() > budget && segments.size() > 1) {
+            evictOldest();
+            meterRegistry.counter("search.hot_index.evicted.memory").increment();
+        }
+    }
+    
+    private synchronized void evictOldest() {
+        Map.Entry<Long, HotSegment> oldest = segments.pollFirstEntry();
+        if (oldest == null) {
+            return;
+        }
+        
+        HotSegment segment = oldest.getValue();
+        estimatedBytes.addAndGet(-segment.close());
+        coverageStartMillis = Math.max(coverageStartMillis, segment.getEndMillis());
+        
+        log.debug("Evicted hot index segment: start={}, documents={}", 
+            segment.getStartMillis(), segment.size());
+    }
+    
+    private long toMillis(LocalDateTime dateTime) {
+        return dateTime.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+}
@@ -0,0 +1,199 @@
+package com.heimdall.search.hot;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+
+/**
+ * 시간 구간 단위의 인메모리 역색인 세그먼트
+ * 단어를 3-gram으로 나눈 gram -> postings(문서 순번, int 배열) 구조이며 세그먼트 단위로 통째로 제거된다.
+ * 부분 문자열 검색도 검색어 gram의 postings를 해시 조회로 교집합하므로 term 전체를 순회하지 않는다.
+ */
+class HotSegment {
+    
+    private static final int GRAM_LENGTH = 3;
+    
+    private final long startMillis;
+    private final long endMillis;
+    
+    private final List<HotDocument> documents = new ArrayList<>();
+    private final Map<String, Postings> postings = new HashMap<>();
+    
+    private long estimatedBytes;
+    private boolean closed;
+    
+    HotSegment(long startMillis, long endMillis) {
+        this.startMillis = startMillis;
+        this.endMillis = endMillis;
+    }
+    
+    long getStartMillis() {
+        return startMillis;
+    }
+    
+    long getEndMillis() {
+        return endMillis;
+    }
+    
+    synchronized long getEstimatedBytes() {
+        return estimatedBytes;
+    }
+    
+    /**
+     * 세그먼트를 닫고 해제되는 메모리 추정치를 반환
+     */
+    synchronized long close() {
+        closed = true;
+        return estimatedBytes;
+    }
+    
+    synchronized int size() {
+        return documents.size();
+    }
+    
+    /**
+     * 문서 추가 후 증가한 메모리 추정치를 반환
+     */
+    synchronized long add(HotDocument document) {
+        if (closed) {
+            // 제거된 세그먼트에 늦게 도착한 문서는 버린다
+            return 0;
+        }
+        
+        int docId = documents.size();
+        documents.add(document);
+        
+        long added = document.estimatedBytes();
+        for (String term : tokenize(document.logContent())) {
+            for (int i = 0; i + GRAM_LENGTH <= term.length(); i++) {
+                String gram = term.substring(i, i + GRAM_LENGTH);
+                Postings list = postings.get(gram);
+                if (list == null) {
+                    list = new Postings();
+                    postings.put(gram, list);
+                    added += 48L + HotDocument.stringBytes(gram);
+                }
+                // 같은 문서에서 반복된 gram은 한 번만 기록
+                if (list.last() != docId) {
+                    added += list.add(docId);
+                }
+            }
+        }
+        
+        estimatedBytes += added;
+        return added;
+    }
+    
+    /**
+     * 키워드(대소문자 무시 부분 문자열)와 시간 범위에 맞는 문서 수집
+     * 키워드 토큰들의 gram postings를 교집합하여 후보를 좁힌 뒤
+     * 원문에 대해 부분 문자열 일치를 검증하므로 DB의 LIKE 검색과 결과가 동일하다.
+     */
+    synchronized void search(String keyword, long fromMillis, long toMillis, Consumer<HotDocument> collector) {
+        if (endMillis <= fromMillis || startMillis > toMillis || documents.isEmpty()) {
+            return;
+        }
+        
+        String needle = keyword.toLowerCase(Locale.ROOT);
+        BitSet candidates = null;
+        
+        // gram보다 짧은 토큰은 어느 단어의 일부인지 gram으로 알 수 없으므로 후보를 좁히지 않는다
+        Set<String> grams = new HashSet<>();
+        for (String token : tokenize(needle)) {
+            for (int i = 0; i + GRAM_LENGTH <= token.length(); i++) {
+                grams.add(token.substring(i, i + GRAM_LENGTH));
+            }
+        }
+        for (String gram : grams) {
+            Postings list = postings.get(gram);
+            if (list == null) {
+                return;
+            }
+            BitSet matches = new BitSet(documents.size());
+            list.forEach(matches::set);
+            if (candidates == null) {
+                candidates = matches;
+            } else {
+                candidates.and(matches);
+            }
+            if (candidates.isEmpty()) {
+                return;
+            }
+        }
+        
+        // gram이 없는 키워드(구두점, 짧은 단어 등)는 전체 스캔
+        if (candidates == null) {
+            candidates = new BitSet(documents.size());
+            candidates.set(0, documents.size());
+        }
+        
+        for (int docId = candidates.nextSetBit(0); docId >= 0; docId = candidates.nextSetBit(docId + 1)) {
+            HotDocument document = documents.get(docId);
+            if (document.timestampMillis() >= fromMillis
+                && document.timestampMillis() <= toMillis
+                && document.logContent().toLowerCase(Locale.ROOT).contains(needle)) {
+                collector.accept(document);
+            }
+        }
+    }
+    
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean letter = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (letter && start < 0) {
+                start = i;
+            } else if (!letter && start >= 0) {
+                tokens.add(text.substring(start, i).toLowerCase(Locale.ROOT));
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+    
+    /**
+     * 오름차순 문서 순번 목록 (primitive int 배열)
+     */
+    static final class Postings {
+        
+        private int[] docIds = new int[4];
+        private int size;
+        
+        int last() {
+            return size == 0 ? -1 : docIds[size - 1];
+        }
+        
+        /**
+         * 추가로 할당된 바이트 수 반환
+         */
+        long add(int docId) {
+            long grown = 0;
+            if (size == docIds.length) {
+                int capacity = docIds.length * 2;
+                docIds = Arrays.copyOf(docIds, capacity);
+                grown = 4L * (capacity - size);
+            }
+            docIds[size++] = docId;
+            return grown;
+        }
+        
+        void forEach(IntConsumer consumer) {
+            for (int i = 0; i < size; i++) {
+                consumer.accept(docIds[i]);
+            }
+        }
+    }
+}
@@ -1,14 +1,50 @@
 package com.heimdall.service;
 
+import co.elastic.clients.elasticsearch._types.Time;
+import co.elastic.clients.elasticsearch._types.aggregations.Aggregate;
+import co.elastic.clients.elasticsearch._types.aggregations.Aggregation;
+import co.elastic.clients.elasticsearch._types.aggregations.DateHistogramBucket;
+import co.elastic.clients.elasticsearch._types.aggregations.StringTermsBucket;
+import co.elastic.clients.elasticsearch._types.query_dsl.Query;
+import co.elastic.clients.json.JsonData;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.heimdall.dto.LogAggregationResponse;
+import com.heimdall.dto.LogScrollResponse;
+import com.heimdall.dto.LogSearchRequest;
+import com.heimdall.dto.LogSearchResponse;
+import com.heimdall.exception.LogProcessingException;
+import com.heimdall.search.cursor.SearchCursor;
 import com.heimdall.search.document.LogDocument;
 import com.heimdall.search.repository.LogSearchRepository;
+import com.heimdall.util.DateTimeUtil;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.elasticsearch.client.elc.ElasticsearchAggregations;
+import org.springframework.data.elasticsearch.client.elc.NativeQuery;
+import org.springframework.data.elasticsearch.client.elc.NativeQueryBuilder;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.SearchHit;
+import org.springframework.data.elasticsearch.core.SearchHits;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 
 /**
  * Elasticsearch 기반 검색 서비스
@@ -19,7 +55,29 @@ import java.time.LocalDateTime;
 @Slf4j
 public class ElasticsearchService {
 
+    private static final String HISTOGRAM_AGG = "histogram";
+    private static final String CARDINALITY_AGG = "distinctLogs";
+    private static final List<String> FACET_FIELDS = List.of("severity", "serviceName", "environment");
+    private static final Pattern INTERVAL_PATTERN = Pattern.compile("(\\d{1,9})(ms|s|m|h|d)");
+
     private final LogSearchRepository logSearchRepository;
+    private final ElasticsearchOperations elasticsearchOperations;
+    private final ObjectMapper objectMapper;
+
+    @Value("${heimdall.search.pit-keep-alive-seconds:120}")
+    private long pitKeepAliveSeconds;
+
+    @Value("${heimdall.search.max-page-size:1000}")
+    private int maxPageSize;
+
+    @Value("${heimdall.search.aggregation.max-facet-size:100}")
+    private int maxFacetSize;
+
+    @Value("${heimdall.search.aggregation.max-buckets:10000}")
+    private int maxHistogramBuckets;
+
+    @Value("${heimdall.log.retention-days:90}")
+    private int retentionDays;
 
     /**
      * 로그 내용 전문 검색
@@ -44,6 +102,161 @@ public class ElasticsearchService {
         return logSearchRepository.advancedSearch(from, to, serviceName, environment, severity, pageable);
     }
 
+    /**
+     * 딥 페이지네이션 검색 (Point-in-time + search_after)
+     * from/size 방식과 달리 index.max_result_window 제한이 없고 페이지 깊이와 무관하게 비용이 일정하다.
+     * (timestamp, logId) 내림차순으로 정렬하여 페이지 경계가 안정적으로 유지된다.
+     */
+    public LogScrollResponse scrollSearch(LogSearchRequest request) {
+        SearchCursor cursor = request.getCursor() != null && !request.getCursor().isEmpty()
+            ? SearchCursor.decode(request.getCursor(), objectMapper, maxPageSize)
+            : newCursor(request);
+
+        Duration keepAlive = Duration.ofSeconds(pitKeepAliveSeconds);
+        if (cursor.getPitId() == null) {
+            cursor.setPitId(elasticsearchOperations.openPointInTime(
+                elasticsearchOperations.getIndexCoordinatesFor(LogDocument.class), keepAlive));
+        }
+
+        log.debug("Scroll search: pit={}, searchAfter={}", cursor.getPitId(), cursor.getSearchAfter());
+
+        NativeQuery query = NativeQuery.builder()
+            .withQuery(buildFilterQuery(
+                cursor.getKeyword(),
+                cursor.getServiceName(),
+                cursor.getEnvironment(),
+                cursor.getSeverity(),
+                cursor.getFrom(),
+                cursor.getTo()
+            ))
+            .withSort(Sort.by(Sort.Order.desc("timestamp"), Sort.Order.desc("logId")))
+            .withPageable(PageRequest.of(0, cursor.getSize()))
+            .withPointInTime(new org.springframework.data.elasticsearch.core.query.Query.PointInTime(
+                cursor.getPitId(), keepAlive))
+            .withSearchAfter(cursor.getSearchAfter())
+            .build();
+
+        SearchHits<LogDocument> searchHits = elasticsearchOperations.search(query, LogDocument.class);
+        List<SearchHit<LogDocument>> hits = searchHits.getSearchHits();
+
+        // PIT ID는 검색마다 갱신될 수 있으므로 최신 값을 이어서 사용
+        if (searchHits.getPointInTimeId() != null) {
+            cursor.setPitId(searchHits.getPointInTimeId());
+        }
+
+        boolean hasMore = hits.size() == cursor.getSize();
+        String nextCursor = null;
+        if (hasMore) {
+            cursor.setSearchAfter(hits.get(hits.size() - 1).getSortValues());
+            nextCursor = cursor.encode(objectMapper);
+        } else {
+            closePointInTime(cursor.getPitId());
+        }
+
+        List<LogSearchResponse.LogEntryDto> content = hits.stream()
+            .map(hit -> convertToDto(hit.getContent()))
+            .collect(Collectors.toList());
+
+        return LogScrollResponse.builder()
+            .content(content)
+            .totalElements(searchHits.getTotalHits())
+            .size(cursor.getSize())
+            .nextCursor(nextCursor)
+            .hasMore(hasMore)
+            .build();
+    }
+
+    /**
+     * 집계 검색 (date_histogram + terms facet + 선택적 cardinality)
+     * 임의의 검색 조건에 대해 한 번의 요청으로 시계열 건수와 심각도/서비스/환경별 분포를 반환한다.
+     */
+    public LogAggregationResponse aggregate(
+        LogSearchRequest request,
+        String interval,
+        int facetSize,
+        boolean includeCardinality
+    ) {
+        if (facetSize < 1 || facetSize > maxFacetSize) {
+            throw new LogProcessingException("'facetSize' must be between 1 and " + maxFacetSize);
+        }
+        validateHistogramBuckets(request, interval);
+
+        log.debug("Aggregation search: request={}, interval={}, facetSize={}", request, interval, facetSize);
+
+        NativeQueryBuilder builder = NativeQuery.builder()
+            .withQuery(buildFilterQuery(
+                request.getKeyword(),
+                request.getServiceName(),
+                request.getEnvironment(),
+                request.getSeverity(),
+                request.getFrom(),
+                request.getTo()
+            ))
+            .withMaxResults(0)
+            .withTrackTotalHits(true)
+            .withAggregation(HISTOGRAM_AGG, Aggregation.of(a -> a
+                .dateHistogram(h -> h
+                    .field("timestamp")
+                    .fixedInterval(Time.of(t -> t.time(interval)))
+                    .minDocCount(0))));
+
+        FACET_FIELDS.forEach(field -> builder.withAggregation(field, Aggregation.of(a -> a
+            .terms(t -> t.field(field).size(facetSize)))));
+
+        if (includeCardinality) {
+            builder.withAggregation(CARDINALITY_AGG, Aggregation.of(a -> a
+                .cardinality(c -> c.field("logHash"))));
+        }
+
+        SearchHits<LogDocument> searchHits = elasticsearchOperations.search(builder.build(), LogDocument.class);
+
+        Map<String, Aggregate> aggregates = new HashMap<>();
+        if (searchHits.getAggregations() instanceof ElasticsearchAggregations elasticsearchAggregations) {
+            elasticsearchAggregations.aggregationsAsMap().forEach((name, aggregation) ->
+                aggregates.put(name, aggregation.aggregation().getAggregate()));
+        }
+
+        List<LogAggregationResponse.HistogramBucket> histogram = new ArrayList<>();
+        Aggregate histogramAggregate = aggregates.get(HISTOGRAM_AGG);
+        if (histogramAggregate != null) {
+            for (DateHistogramBucket bucket : histogramAggregate.dateHistogram().buckets().array()) {
+                histogram.add(LogAggregationResponse.HistogramBucket.builder()
+                    .timestamp(LocalDateTime.ofInstant(Instant.ofEpochMilli(bucket.key()), ZoneOffset.UTC))
+                    .count(bucket.docCount())
+                    .build());
+            }
+        }
+
+        Map<String, List<LogAggregationResponse.FacetBucket>> facets = new LinkedHashMap<>();
+        for (String field : FACET_FIELDS) {
+            List<LogAggregationResponse.FacetBucket> buckets = new ArrayList<>();
+            Aggregate facetAggregate = aggregates.get(field);
+            if (facetAggregate != null) {
+                for (StringTermsBucket bucket : facetAggregate.sterms().buckets().array()) {
+                    buckets.add(LogAggregationResponse.FacetBucket.builder()
+                        .key(bucket.key().stringValue())
+                        .count(bucket.docCount())
+                        .build());
+                }
+            }
+            facets.put(field, buckets);
+        }
+
+        Long distinctLogs = null;
+        Aggregate cardinalityAggregate = aggregates.get(CARDINALITY_AGG);
+        if (cardinalityAggregate != null) {
+            distinctLogs = cardinalityAggregate.cardinality().value();
+        }
+
+        return LogAggregationResponse.builder()
+            .totalLogs(searchHits.getTotalHits())
+            .interval(interval)
+            .histogram(histogram)
+            .facets(facets)
+            .distinctLogs(distinctLogs)
+            .build();
+    }
+
     /**
      * 로그 문서 인덱싱
      */
@@ -65,4 +278,117 @@ public class ElasticsearchService {
     public Page<LogDocument> findAnalyzedLogs(Pageable pageable) {
         return logSearchRepository.findByHasAnalysisTrue(pageable);
     }
+
+    private SearchCursor newCursor(LogSearchRequest request) {
+        int size = request.getSize() != null && request.getSize() > 0 ? request.getSize() : 20;
+
+        return SearchCursor.builder()
+            .serviceName(request.getServiceName())
+            .environment(request.getEnvironment())
+            .severity(request.getSeverity())
+            .from(request.getFrom())
+            .to(request.getTo())
+            .keyword(request.getKeyword())
+            .size(Math.min(size, maxPageSize))
+            .build();
+    }
+
+    /**
+     * 버킷 수가 상한을 넘는 간격 거절 (ES search.max_buckets 초과로 검색 자체가 실패하지 않도록)
+     * 시작 시각이 없으면 보존 기간 전체를 범위로 본다.
+     */
+    private void validateHistogramBuckets(LogSearchRequest request, String interval) {
+        Matcher matcher = interval != null ? INTERVAL_PATTERN.matcher(interval) : null;
+        if (matcher == null || !matcher.matches()) {
+            throw new LogProcessingException("Invalid histogram interval: " + interval);
+        }
+        long intervalMillis = Long.parseLong(matcher.group(1)) * switch (matcher.group(2)) {
+            case "ms" -> 1L;
+            case "s" -> 1_000L;
+            case "m" -> 60_000L;
+            case "h" -> 3_600_000L;
+            default -> 86_400_000L;
+        };
+        if (intervalMillis <= 0) {
+            throw new LogProcessingException("Histogram interval must be positive: " + interval);
+        }
+
+        LocalDateTime to = request.getTo() != null ? parseTime("to", request.getTo()) : DateTimeUtil.now();
+        LocalDateTime from = request.getFrom() != null
+            ? parseTime("from", request.getFrom()) : to.minusDays(retentionDays);
+        if (from.isAfter(to)) {
+            throw new LogProcessingException("'from' must be before 'to'");
+        }
+        long buckets = Duration.between(from, to).toMillis() / intervalMillis + 1;
+        if (buckets > maxHistogramBuckets) {
+            throw new LogProcessingException("Histogram interval " + interval + " yields " + buckets
+                + " buckets (max " + maxHistogramBuckets + "), use a larger interval or a narrower range");
+        }
+    }
+
+    private LocalDateTime parseTime(String field, String value) {
+        try {
+            return DateTimeUtil.parseIso(value);
+        } catch (DateTimeParseException e) {
+            throw new LogProcessingException("'" + field + "' must be an ISO-8601 timestamp: " + value, e);
+        }
+    }
+
+    private Query buildFilterQuery(
+        String keyword,
+        String serviceName,
+        String environment,
+        String severity,
+        String from,
+        String to
+    ) {
+        return Query.of(q -> q.bool(b -> {
+            if (keyword != null && !keyword.isEmpty()) {
+                b.must(m -> m.match(mt -> mt.field("logContent").query(keyword)));
+            }
+            if (serviceName != null) {
+                b.filter(f -> f.term(t -> t.field("serviceName").value(serviceName)));
+            }
+            if (environment != null) {
+                b.filter(f -> f.term(t -> t.field("environment").value(environment)));
+            }
+            if (severity != null) {
+                b.filter(f -> f.term(t -> t.field("severity").value(severity)));
+            }
+            if (from != null || to != null) {
+                b.filter(f -> f.range(r -> {
+                    r.field("timestamp");
+                    if (from != null) {
+                        r.gte(JsonData.of(DateTimeUtil.parseIso(from).toString()));
+                    }
+                    if (to != null) {
+                        r.lte(JsonData.of(DateTimeUtil.parseIso(to).toString()));
+                    }
+                    return r;
+                }));
+            }
+            return b;
+        }));
+    }
+
+    private void closePointInTime(String pitId) {
+        try {
+            elasticsearchOperations.closePointInTime(pitId);
+        } catch (Exception e) {
+            // keep-alive 만료 시 자동 정리되므로 실패해도 무시
+            log.warn("Failed to close point-in-time: {}", e.getMessage());
+        }
+    }
+
+    private LogSearchResponse.LogEntryDto convertToDto(LogDocument document) {
+        return LogSearchResponse.LogEntryDto.builder()
+            .logId(document.getLogId())
+            .timestamp(document.getTimestamp())
+            .serviceName(document.getServiceName())
+            .environment(document.getEnvironment())
+            .severity(document.getSeverity())
+            .logContent(document.getLogContent())
+            .hasAnalysis(Boolean.TRUE.equals(document.getHasAnalysis()))
+            .build();
+    }
 }
@@ -0,0 +1,169 @@
+package com.heimdall.service;
+
+import com.heimdall.search.document.LogDocument;
+import com.heimdall.util.DateTimeUtil;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.document.Document;
+import org.springframework.data.elasticsearch.core.query.UpdateQuery;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * LogDocument 부분 업데이트 서비스
+ * 분석 완료 이벤트를 eventId 기준으로 병합(coalesce)한 뒤 bulk update로 일괄 반영한다.
+ * 문서 전체를 재색인하지 않고 hasAnalysis/analysisStatus/updatedAt 필드만 갱신한다.
+ * bulk 요청이 실패하면 배치를 대기열로 되돌려 max-attempts번까지 다음 flush에서 다시 보낸다.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class LogDocumentUpdateService {
+    
+    private final ElasticsearchOperations elasticsearchOperations;
+    private final MeterRegistry meterRegistry;
+    
+    private final Map<String, PendingUpdate> pendingUpdates = new ConcurrentHashMap<>();
+    
+    @Value("${heimdall.search.update.enabled:true}")
+    private boolean enabled;
+    
+    @Value("${heimdall.search.update.batch-size:500}")
+    private int batchSize;
+    
+    @Value("${heimdall.search.update.max-pending:10000}")
+    private int maxPending;
+    
+    @Value("${heimdall.search.update.max-attempts:3}")
+    private int maxAttempts;
+    
+    @PostConstruct
+    public void registerMetrics() {
+        meterRegistry.gaugeMapSize("search.document.updates.pending", List.of(), pendingUpdates);
+    }
+    
+    /**
+     * 분석 완료 상태를 업데이트 대기열에 추가
+     * 동일한 eventId에 대한 업데이트는 마지막 값 하나로 병합된다.
+     */
+    public void markAnalyzed(String eventId, String analysisStatus) {
+        if (!enabled || eventId == null) {
+            return;
+        }
+        
+        PendingUpdate previous = pendingUpdates.put(
+            eventId, new PendingUpdate(analysisStatus, DateTimeUtil.now(), 0)
+        );
+        if (previous != null) {
+            meterRegistry.counter("search.document.updates.coalesced").increment();
+        }
+        
+        // 대기열이 상한을 넘으면 호출 스레드에서 즉시 반영 (backpressure)
+        if (pendingUpdates.size() >= maxPending) {
+            flush();
+        }
+    }
+    
+    /**
+     * 대기 중인 업데이트를 batch-size 단위 bulk 요청으로 반영
+     */
+    @Scheduled(fixedDelayString = "${heimdall.search.update.flush-interval-ms:1000}")
+    public synchronized void flush() {
+        if (pendingUpdates.isEmpty()) {
+            return;
+        }
+        
+        // 실패해 되돌린 업데이트가 같은 flush에서 곧바로 재전송되지 않도록 키를 먼저 고정
+        List<String> eventIds = new ArrayList<>(pendingUpdates.keySet());
+        Map<String, PendingUpdate> batch = new LinkedHashMap<>();
+        for (String eventId : eventIds) {
+            // 순회 이후 추가된 업데이트는 다음 flush에서 처리된다
+            PendingUpdate update = pendingUpdates.remove(eventId);
+            if (update == null) {
+                continue;
+            }
+            
+            batch.put(eventId, update);
+            if (batch.size() >= batchSize) {
+                sendBulk(batch);
+                batch = new LinkedHashMap<>();
+            }
+        }
+        
+        if (!batch.isEmpty()) {
+            sendBulk(batch);
+        }
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+    
+    private UpdateQuery toUpdateQuery(String eventId, PendingUpdate update) {
+        Document document = Document.create();
+        document.put("hasAnalysis", true);
+        document.put("analysisStatus", update.analysisStatus());
+        document.put("updatedAt", update.updatedAt().toString());
+        
+        return UpdateQuery.builder(eventId)
+            .withDocument(document)
+            .withRetryOnConflict(3)
+            .build();
+    }
+    
+    private void sendBulk(Map<String, PendingUpdate> batch) {
+        List<UpdateQuery> queries = new ArrayList<>(batch.size());
+        batch.forEach((eventId, update) -> queries.add(toUpdateQuery(eventId, update)));
+        
+        try {
+            elasticsearchOperations.bulkUpdate(
+                queries, elasticsearchOperations.getIndexCoordinatesFor(LogDocument.class)
+            );
+            meterRegistry.counter("search.document.updates.flushed").increment(batch.size());
+            log.debug("Flushed {} log document updates", batch.size());
+        } catch (Exception e) {
+            int requeued = requeue(batch);
+            meterRegistry.counter("search.document.updates.retried").increment(requeued);
+            meterRegistry.counter("search.document.updates.failed").increment(batch.size() - requeued);
+            log.error("Failed to flush {} log document updates (requeued={}): {}",
+                batch.size(), requeued, e.getMessage());
+        }
+    }
+    
+    /**
+     * 실패한 배치를 대기열로 되돌림
+     * 그 사이 같은 eventId에 새 업데이트가 들어왔으면 새 값이 우선하고, 시도 횟수를 다 쓴 업데이트는 버린다.
+     */
+    private int requeue(Map<String, PendingUpdate> batch) {
+        int requeued = 0;
+        for (Map.Entry<String, PendingUpdate> entry : batch.entrySet()) {
+            PendingUpdate update = entry.getValue();
+            if (update.attempts() + 1 >= maxAttempts) {
+                continue;
+            }
+            pendingUpdates.putIfAbsent(entry.getKey(), update.retried());
+            requeued++;
+        }
+        return requeued;
+    }
+    
+    private record PendingUpdate(String analysisStatus, LocalDateTime updatedAt, int attempts) {
+        
+        PendingUpdate retried() {
+            return new PendingUpdate(analysisStatus, updatedAt, attempts + 1);
+        }
+    }
+}
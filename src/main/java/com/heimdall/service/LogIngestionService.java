@@ -1,10 +1,24 @@
 package com.heimdall.service;
 
+import com.heimdall.analysis.AnalysisFingerprint;
+import com.heimdall.analysis.admission.AnalysisAdmissionController;
+import com.heimdall.analysis.anomaly.AnomalySignal;
+import com.heimdall.analysis.anomaly.ErrorRateDetector;
+import com.heimdall.analysis.cache.AnalysisResultCache;
+import com.heimdall.analysis.cache.CachedAnalysis;
+import com.heimdall.analysis.coalesce.AnalysisCoalescer;
+import com.heimdall.analysis.dispatch.AnalysisRequestDispatcher;
+import com.heimdall.analysis.inflight.InFlightRequestTracker;
+import com.heimdall.entity.AnalysisResult;
 import com.heimdall.entity.LogEntry;
 import com.heimdall.kafka.event.AnalysisRequestEvent;
 import com.heimdall.kafka.event.LogIngestionEvent;
-import com.heimdall.kafka.producer.KafkaProducerService;
+import com.heimdall.kafka.outbox.OutboxWriter;
+import com.heimdall.repository.AnalysisResultRepository;
 import com.heimdall.repository.LogEntryRepository;
+import com.heimdall.search.hot.HotLogIndex;
+import com.heimdall.statistics.StatisticsAggregator;
+import com.heimdall.statistics.topk.HeavyHitterTracker;
 import com.heimdall.util.DateTimeUtil;
 import com.heimdall.util.HashUtil;
 import io.micrometer.core.instrument.MeterRegistry;
@@ -13,8 +27,14 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 @Service
 @RequiredArgsConstructor
@@ -22,8 +42,19 @@ import java.util.UUID;
 public class LogIngestionService {
     
     private final LogEntryRepository logEntryRepository;
-    private final KafkaProducerService kafkaProducerService;
+    private final AnalysisRequestDispatcher analysisRequestDispatcher;
+    private final InFlightRequestTracker inFlightRequestTracker;
+    private final OutboxWriter outboxWriter;
     private final MeterRegistry meterRegistry;
+    private final HotLogIndex hotLogIndex;
+    private final StatisticsAggregator statisticsAggregator;
+    private final HeavyHitterTracker heavyHitterTracker;
+    private final ErrorRateDetector errorRateDetector;
+    private final AnalysisAdmissionController analysisAdmissionController;
+    private final AnalysisCoalescer analysisCoalescer;
+    private final AnalysisResultCache analysisResultCache;
+    private final AnalysisResultRepository analysisResultRepository;
+    private final LogDocumentUpdateService logDocumentUpdateService;
     
     @Value("${heimdall.analysis.enabled:true}")
     private boolean analysisEnabled;
@@ -31,6 +62,15 @@ public class LogIngestionService {
     @Value("${heimdall.analysis.auto-request:true}")
     private boolean autoRequestAnalysis;
     
+    @Value("${heimdall.analysis.anomaly.always-analyze-fatal:true}")
+    private boolean alwaysAnalyzeFatal;
+    
+    @Value("${heimdall.outbox.enabled:true}")
+    private boolean outboxEnabled;
+    
+    @Value("${heimdall.analysis.dispatch.production-environments:production,prod}")
+    private List<String> productionEnvironments;
+    
     @Transactional
     public LogEntry processLogIngestion(LogIngestionEvent event) {
         log.info("Processing log ingestion: eventId={}, source={}, severity={}", 
@@ -52,15 +92,23 @@ public class LogIngestionService {
         // 데이터베이스 저장
         LogEntry savedEntry = logEntryRepository.save(logEntry);
         
+        // 최근 로그 인메모리 색인 및 통계 집계 (커밋 이후 반영)
+        afterCommit(() -> {
+            hotLogIndex.index(savedEntry);
+            statisticsAggregator.record(savedEntry);
+            heavyHitterTracker.record(savedEntry);
+        });
+        
         // 메트릭 기록
         meterRegistry.counter("logs.ingested.total",
             "service", event.getServiceName() != null ? event.getServiceName() : "unknown",
             "severity", event.getSeverity()
         ).increment();
         
-        // AI 분석 요청 (조건 충족 시)
-        if (shouldRequestAnalysis(savedEntry)) {
-            requestAnalysis(savedEntry);
+        // 발생률 급증 감지 후 AI 분석 요청 (조건 충족 시)
+        AnomalySignal signal = errorRateDetector.observe(savedEntry);
+        if (shouldRequestAnalysis(savedEntry, signal)) {
+            resolveAnalysis(savedEntry);
         }
         
         log.info("Log ingestion completed: logId={}, eventId={}", 
@@ -69,20 +117,107 @@ public class LogIngestionService {
         return savedEntry;
     }
     
-    private boolean shouldRequestAnalysis(LogEntry logEntry) {
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+    
+    private boolean shouldRequestAnalysis(LogEntry logEntry, AnomalySignal signal) {
         if (!analysisEnabled || !autoRequestAnalysis) {
             return false;
         }
         
-        // ERROR 이상의 심각도만 분석 요청
-        return logEntry.getSeverity() == LogEntry.SeverityLevel.ERROR ||
-               logEntry.getSeverity() == LogEntry.SeverityLevel.FATAL;
+        boolean error = logEntry.getSeverity() == LogEntry.SeverityLevel.ERROR ||
+                        logEntry.getSeverity() == LogEntry.SeverityLevel.FATAL;
+        
+        // 급증 감지를 끄면 ERROR 이상의 심각도를 모두 분석 요청
+        if (!errorRateDetector.isEnabled()) {
+            return error;
+        }
+        
+        if (logEntry.getSeverity() == LogEntry.SeverityLevel.FATAL && alwaysAnalyzeFatal) {
+            return true;
+        }
+        
+        // 에러는 급증 구간 동안과 조용한 서비스의 단발성 발생 시, 경고는 급증이 시작된 시점에만 분석 요청
+        return error ? signal.isSpike() || signal == AnomalySignal.ISOLATED : signal == AnomalySignal.SPIKE_START;
     }
     
-    private void requestAnalysis(LogEntry logEntry) {
+    /**
+     * 같은 fingerprint의 최근 분석 결과가 있으면 그대로 첨부하고,
+     * 없으면 진행 중인 요청에 follower로 합류하거나 리더로서 admission을 거쳐 요청
+     * 리더가 요청하지 못하면 승격된 follower로 이어서 시도한다 (follower마다 한 번씩이므로 반드시 끝난다).
+     * admission 거절은 follower에게도 똑같이 적용되므로 승격하지 않고 그룹째 버린다.
+     */
+    private void resolveAnalysis(LogEntry logEntry) {
+        String fingerprint = AnalysisFingerprint.of(logEntry);
+        
+        Optional<CachedAnalysis> cached = analysisResultCache.lookup(fingerprint);
+        if (cached.isPresent()) {
+            attachCachedAnalysis(logEntry, fingerprint, cached.get());
+            return;
+        }
+        
+        AnalysisCoalescer.Membership membership = analysisCoalescer.join(logEntry, fingerprint);
+        if (!membership.leader()) {
+            return;
+        }
+        
+        if (!analysisAdmissionController.admit(logEntry)) {
+            analysisCoalescer.drop(membership.requestId());
+            return;
+        }
+        
+        String requestId = membership.requestId();
+        LogEntry leader = logEntry;
+        while (leader == null || !requestAnalysis(leader, requestId)) {
+            Optional<AnalysisCoalescer.Promotion> promotion = analysisCoalescer.abandon(requestId);
+            if (promotion.isEmpty()) {
+                return;
+            }
+            requestId = promotion.get().requestId();
+            leader = logEntryRepository.findById(promotion.get().logId()).orElse(null);
+        }
+    }
+    
+    private void attachCachedAnalysis(LogEntry logEntry, String fingerprint, CachedAnalysis cached) {
+        AnalysisResult analysisResult = new AnalysisResult();
+        analysisResult.setLogEntry(logEntry);
+        analysisResult.setBifrostAnalysisId(cached.bifrostAnalysisId());
+        analysisResult.setRequestId(UUID.randomUUID().toString());
+        analysisResult.setCorrelationId(logEntry.getEventId());
+        analysisResult.setFingerprint(fingerprint);
+        analysisResult.setSummary(cached.summary());
+        analysisResult.setRootCause(cached.rootCause());
+        analysisResult.setRecommendation(cached.recommendation());
+        analysisResult.setSeverity(cached.severity());
+        analysisResult.setConfidence(cached.confidence());
+        analysisResult.setModel(cached.model());
+        analysisResult.setDurationSeconds(BigDecimal.ZERO);
+        analysisResult.setAnalyzedAt(cached.analyzedAt());
+        analysisResult.setCreatedAt(DateTimeUtil.now());
+        analysisResultRepository.save(analysisResult);
+        
+        afterCommit(() -> logDocumentUpdateService.markAnalyzed(logEntry.getEventId(), "COMPLETED"));
+        
+        meterRegistry.counter("analysis.result_cache.attached",
+            "service", logEntry.getServiceName() != null ? logEntry.getServiceName() : "unknown"
+        ).increment();
+        log.info("Cached analysis attached: logId={}, sourceAnalysisId={}", logEntry.getId(), cached.analysisId());
+    }
+    
+    private boolean requestAnalysis(LogEntry logEntry, String requestId) {
         try {
             AnalysisRequestEvent analysisRequest = AnalysisRequestEvent.builder()
-                .requestId(UUID.randomUUID().toString())
+                .requestId(requestId)
                 .timestamp(DateTimeUtil.now())
                 .logId(logEntry.getId())
                 .logContent(logEntry.getLogContent())
@@ -94,7 +229,17 @@ public class LogIngestionService {
                 .correlationId(logEntry.getEventId())
                 .build();
             
-            kafkaProducerService.sendAnalysisRequest(analysisRequest);
+            if (outboxEnabled) {
+                // 로그 저장과 같은 트랜잭션으로 기록하고 발행은 relay에 맡긴다 (결과 대기 추적은 relay가 발행 후 시작)
+                outboxWriter.appendAnalysisRequest(analysisRequest);
+            } else {
+                CompletableFuture<Void> sent = analysisRequestDispatcher.submit(analysisRequest);
+                if (sent.isCompletedExceptionally()) {
+                    return false;
+                }
+                // 레인 대기 시간이 결과 대기 시간에 포함되지 않도록 발행 확인 후 추적 시작
+                sent.thenRun(() -> inFlightRequestTracker.register(analysisRequest));
+            }
             
             meterRegistry.counter("analysis.requested.total",
                 "service", logEntry.getServiceName() != null ? logEntry.getServiceName() : "unknown",
@@ -102,16 +247,24 @@ public class LogIngestionService {
             ).increment();
             
             log.info("Analysis requested for logId={}", logEntry.getId());
+            return true;
         } catch (Exception e) {
             log.error("Failed to request analysis for logId={}", logEntry.getId(), e);
+            return false;
         }
     }
     
+    /**
+     * 심각도 기준 우선순위 (운영 외 환경은 한 단계 낮춰 운영 FATAL이 항상 최상위 레인을 사용)
+     */
     private String determinePriority(LogEntry logEntry) {
+        boolean production = logEntry.getEnvironment() != null &&
+                             productionEnvironments.contains(logEntry.getEnvironment().toLowerCase());
+        
         return switch (logEntry.getSeverity()) {
-            case FATAL -> "CRITICAL";
-            case ERROR -> "HIGH";
-            case WARN -> "MEDIUM";
+            case FATAL -> production ? "CRITICAL" : "HIGH";
+            case ERROR -> production ? "HIGH" : "MEDIUM";
+            case WARN -> production ? "MEDIUM" : "LOW";
             default -> "LOW";
         };
     }
@@ -1,16 +1,34 @@
 package com.heimdall.service;
 
+import com.heimdall.analysis.AnalysisFingerprint;
+import com.heimdall.analysis.cache.AnalysisResultCache;
+import com.heimdall.analysis.cache.CachedAnalysis;
+import com.heimdall.analysis.coalesce.AnalysisCoalescer;
+import com.heimdall.analysis.inflight.InFlightRequestTracker;
 import com.heimdall.entity.AnalysisResult;
 import com.heimdall.entity.LogEntry;
 import com.heimdall.kafka.event.AnalysisResultEvent;
-import com.heimdall.repository.AnalysisResultRepository;
+import com.heimdall.repository.AnalysisResultBatchRepository;
 import com.heimdall.repository.LogEntryRepository;
 import com.heimdall.util.DateTimeUtil;
 import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 @Service
 @RequiredArgsConstructor
@@ -18,25 +36,207 @@ import org.springframework.transaction.annotation.Transactional;
 public class LogProcessingService {
     
     private final LogEntryRepository logEntryRepository;
-    private final AnalysisResultRepository analysisResultRepository;
+    private final AnalysisResultBatchRepository analysisResultBatchRepository;
     private final NotificationService notificationService;
+    private final LogDocumentUpdateService logDocumentUpdateService;
+    private final AnalysisCoalescer analysisCoalescer;
+    private final AnalysisResultCache analysisResultCache;
+    private final InFlightRequestTracker inFlightRequestTracker;
     private final MeterRegistry meterRegistry;
     
     @Transactional
     public void processAnalysisResult(AnalysisResultEvent event) {
-        log.info("Processing analysis result: requestId={}, logId={}", 
-            event.getRequestId(), event.getLogId());
+        processAnalysisResults(List.of(event));
+    }
+    
+    /**
+     * 분석 결과 배치 처리
+     * logId를 한 번의 IN 조회로 해석하고, 리더와 병합된 follower 결과를 한 번에 bulk insert 한다.
+     * 알림은 커밋 이후 비동기로 생성한다.
+     */
+    @Transactional
+    public void processAnalysisResults(List<AnalysisResultEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        long startNanos = System.nanoTime();
+        
+        // 로그 엔트리 일괄 조회
+        Map<Long, LogEntry> logEntries = findLogEntries(
+            events.stream().map(AnalysisResultEvent::getLogId).toList()
+        );
+        
+        // 리더 분석 결과 생성
+        Map<String, AnalysisResultEvent> eventsByRequestId = new HashMap<>();
+        List<AnalysisResult> leaderResults = new ArrayList<>(events.size());
+        for (AnalysisResultEvent event : events) {
+            LogEntry logEntry = logEntries.get(event.getLogId());
+            if (logEntry == null) {
+                log.warn("LogEntry not found for analysis result: requestId={}, logId={}",
+                    event.getRequestId(), event.getLogId());
+                meterRegistry.counter("analysis.result.orphaned").increment();
+                continue;
+            }
+            if (eventsByRequestId.putIfAbsent(event.getRequestId(), event) != null) {
+                continue;
+            }
+            
+            leaderResults.add(buildAnalysisResult(
+                logEntry, event, event.getRequestId(), event.getCorrelationId(), AnalysisFingerprint.of(logEntry)
+            ));
+        }
+        
+        // 병합된 follower 로그에 같은 결과 반영
+        List<AnalysisResult> followerResults = buildFollowerResults(leaderResults, eventsByRequestId);
+        
+        // 데이터베이스 일괄 저장 (이미 저장된 request_id는 제외)
+        List<AnalysisResult> allResults = new ArrayList<>(leaderResults.size() + followerResults.size());
+        allResults.addAll(leaderResults);
+        allResults.addAll(followerResults);
+        List<AnalysisResult> inserted = analysisResultBatchRepository.insertAll(allResults);
+        
+        Set<String> leaderRequestIds = eventsByRequestId.keySet();
+        List<String> completedRequestIds = new ArrayList<>();
+        List<AnalysisResult> notifications = new ArrayList<>();
+        Map<String, CachedAnalysis> cacheEntries = new HashMap<>();
+        List<String> analyzedEventIds = new ArrayList<>(inserted.size());
+        for (AnalysisResult result : inserted) {
+            analyzedEventIds.add(result.getLogEntry().getEventId());
+            
+            if (leaderRequestIds.contains(result.getRequestId())) {
+                completedRequestIds.add(result.getRequestId());
+                cacheEntries.put(result.getFingerprint(), CachedAnalysis.from(result));
+                if (shouldSendNotification(result)) {
+                    notifications.add(result);
+                }
+            }
+        }
+        
+        recordMetrics(inserted, leaderRequestIds);
+        
+        // 검색 인덱스(배치 부분 업데이트)와 캐시는 롤백된 결과가 남지 않도록 커밋 이후 반영
+        afterCommit(() -> {
+            analyzedEventIds.forEach(eventId -> logDocumentUpdateService.markAnalyzed(eventId, "COMPLETED"));
+            cacheEntries.forEach(analysisResultCache::put);
+        });
         
-        // 로그 엔트리 조회
-        LogEntry logEntry = logEntryRepository.findById(event.getLogId())
-            .orElseThrow(() -> new RuntimeException("LogEntry not found: " + event.getLogId()));
+        // 요청-결과 지연 기록 및 재요청 추적 종료 (롤백되면 추적을 유지해 재요청되도록 커밋 이후)
+        afterCommit(() -> inFlightRequestTracker.completeAll(completedRequestIds));
         
-        // 분석 결과 생성
+        // 알림 처리 (조건 충족 시, 커밋 이후 비동기)
+        if (!notifications.isEmpty()) {
+            afterCommit(() -> notificationService.sendAnalysisNotifications(notifications));
+        }
+        
+        meterRegistry.summary("analysis.result.batch.size").record(events.size());
+        meterRegistry.timer("analysis.result.batch.duration")
+            .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        log.info("Analysis results processed: received={}, inserted={}, followers={}",
+            events.size(), inserted.size(), followerResults.size());
+    }
+    
+    private Map<Long, LogEntry> findLogEntries(List<Long> logIds) {
+        Map<Long, LogEntry> logEntries = new HashMap<>();
+        for (LogEntry logEntry : logEntryRepository.findAllById(new HashSet<>(logIds))) {
+            logEntries.put(logEntry.getId(), logEntry);
+        }
+        return logEntries;
+    }
+    
+    /**
+     * 같은 fingerprint로 병합되어 요청을 생략한 follower 로그에 리더의 분석 결과를 복제
+     * 알림은 리더 결과에 대해서만 발송한다.
+     */
+    private List<AnalysisResult> buildFollowerResults(
+        List<AnalysisResult> leaderResults,
+        Map<String, AnalysisResultEvent> eventsByRequestId
+    ) {
+        Map<String, List<Long>> followersByRequestId = analysisCoalescer.completeAll(
+            leaderResults.stream().map(AnalysisResult::getRequestId).toList()
+        );
+        if (followersByRequestId.isEmpty()) {
+            return List.of();
+        }
+        
+        Map<Long, LogEntry> followers = findLogEntries(
+            followersByRequestId.values().stream().flatMap(List::stream).toList()
+        );
+        
+        List<AnalysisResult> followerResults = new ArrayList<>();
+        for (AnalysisResult leader : leaderResults) {
+            AnalysisResultEvent event = eventsByRequestId.get(leader.getRequestId());
+            for (Long followerLogId : followersByRequestId.getOrDefault(leader.getRequestId(), List.of())) {
+                LogEntry follower = followers.get(followerLogId);
+                if (follower != null) {
+                    followerResults.add(buildAnalysisResult(
+                        follower, event, UUID.randomUUID().toString(), follower.getEventId(), leader.getFingerprint()
+                    ));
+                }
+            }
+        }
+        
+        meterRegistry.counter("analysis.coalesce.fanout").increment(followerResults.size());
+        return followerResults;
+    }
+    
+    /**
+     * 결과별 메트릭을 서비스/심각도 단위로 모아 한 번씩 반영
+     */
+    private void recordMetrics(List<AnalysisResult> inserted, Set<String> leaderRequestIds) {
+        Map<List<String>, Integer> completed = new HashMap<>();
+        Map<String, List<Long>> durationsByService = new HashMap<>();
+        
+        for (AnalysisResult result : inserted) {
+            if (!leaderRequestIds.contains(result.getRequestId())) {
+                continue;
+            }
+            String serviceName = result.getLogEntry().getServiceName() != null ?
+                result.getLogEntry().getServiceName() : "unknown";
+            
+            completed.merge(List.of(serviceName, String.valueOf(result.getSeverity())), 1, Integer::sum);
+            if (result.getDurationSeconds() != null) {
+                durationsByService.computeIfAbsent(serviceName, key -> new ArrayList<>())
+                    .add(result.getDurationSeconds().multiply(BigDecimal.valueOf(1000)).longValue());
+            }
+        }
+        
+        completed.forEach((key, count) -> meterRegistry.counter("analysis.completed.total",
+            "service", key.get(0),
+            "severity", key.get(1)
+        ).increment(count));
+        
+        durationsByService.forEach((serviceName, durations) -> {
+            Timer timer = meterRegistry.timer("analysis.duration", "service", serviceName);
+            durations.forEach(millis -> timer.record(millis, TimeUnit.MILLISECONDS));
+        });
+    }
+    
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+    
+    private AnalysisResult buildAnalysisResult(
+        LogEntry logEntry,
+        AnalysisResultEvent event,
+        String requestId,
+        String correlationId,
+        String fingerprint
+    ) {
         AnalysisResult analysisResult = new AnalysisResult();
         analysisResult.setLogEntry(logEntry);
         analysisResult.setBifrostAnalysisId(event.getBifrostAnalysisId());
-        analysisResult.setRequestId(event.getRequestId());
-        analysisResult.setCorrelationId(event.getCorrelationId());
+        analysisResult.setRequestId(requestId);
+        analysisResult.setCorrelationId(correlationId);
+        analysisResult.setFingerprint(fingerprint);
         analysisResult.setSummary(event.getAnalysisResult().getSummary());
         analysisResult.setRootCause(event.getAnalysisResult().getRootCause());
         analysisResult.setRecommendation(event.getAnalysisResult().getRecommendation());
@@ -46,29 +246,7 @@ public class LogProcessingService {
         analysisResult.setDurationSeconds(event.getDurationSeconds());
         analysisResult.setAnalyzedAt(event.getTimestamp());
         analysisResult.setCreatedAt(DateTimeUtil.now());
-        
-        // 데이터베이스 저장
-        AnalysisResult savedResult = analysisResultRepository.save(analysisResult);
-        
-        // 메트릭 기록
-        meterRegistry.counter("analysis.completed.total",
-            "service", logEntry.getServiceName() != null ? logEntry.getServiceName() : "unknown",
-            "severity", event.getAnalysisResult().getSeverity()
-        ).increment();
-        
-        meterRegistry.timer("analysis.duration",
-            "service", logEntry.getServiceName() != null ? logEntry.getServiceName() : "unknown"
-        ).record(java.time.Duration.ofMillis(
-            event.getDurationSeconds().multiply(java.math.BigDecimal.valueOf(1000)).longValue()
-        ));
-        
-        // 알림 처리 (조건 충족 시)
-        if (shouldSendNotification(savedResult)) {
-            notificationService.sendAnalysisNotification(savedResult);
-        }
-        
-        log.info("Analysis result processed: analysisId={}, logId={}", 
-            savedResult.getId(), logEntry.getId());
+        return analysisResult;
     }
     
     private boolean shouldSendNotification(AnalysisResult analysisResult) {
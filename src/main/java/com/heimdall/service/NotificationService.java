@@ -7,9 +7,13 @@ import com.heimdall.util.DateTimeUtil;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.List;
+
 @Service
 @RequiredArgsConstructor
 @Slf4j
@@ -28,19 +32,7 @@ public class NotificationService {
         }
         
         try {
-            String message = buildNotificationMessage(analysisResult);
-            
-            Notification notification = new Notification();
-            notification.setLogEntry(analysisResult.getLogEntry());
-            notification.setAnalysisResult(analysisResult);
-            notification.setType("ANALYSIS_ALERT");
-            notification.setChannel("EMAIL"); // 기본값
-            notification.setRecipient("admin@example.com"); // 설정에서 가져와야 함
-            notification.setMessage(message);
-            notification.setSentAt(DateTimeUtil.now());
-            notification.setStatus(Notification.NotificationStatus.PENDING);
-            
-            notificationRepository.save(notification);
+            notificationRepository.save(buildNotification(analysisResult));
             
             // 실제 알림 발송 로직 (이메일, Slack 등)
             // TODO: 실제 구현 필요
@@ -52,6 +44,42 @@ public class NotificationService {
         }
     }
     
+    /**
+     * 배치 처리된 분석 결과의 알림을 별도 스레드에서 생성 (결과 저장 트랜잭션과 분리)
+     */
+    @Async
+    @Transactional
+    public void sendAnalysisNotifications(List<AnalysisResult> analysisResults) {
+        if (!notificationEnabled || analysisResults.isEmpty()) {
+            return;
+        }
+        
+        List<Notification> notifications = new ArrayList<>(analysisResults.size());
+        for (AnalysisResult analysisResult : analysisResults) {
+            try {
+                notifications.add(buildNotification(analysisResult));
+            } catch (Exception e) {
+                log.error("Failed to build notification for analysisId={}", analysisResult.getId(), e);
+            }
+        }
+        notificationRepository.saveAll(notifications);
+        
+        log.info("Notifications created: count={}", notifications.size());
+    }
+    
+    private Notification buildNotification(AnalysisResult analysisResult) {
+        Notification notification = new Notification();
+        notification.setLogEntry(analysisResult.getLogEntry());
+        notification.setAnalysisResult(analysisResult);
+        notification.setType("ANALYSIS_ALERT");
+        notification.setChannel("EMAIL"); // 기본값
+        notification.setRecipient("admin@example.com"); // 설정에서 가져와야 함
+        notification.setMessage(buildNotificationMessage(analysisResult));
+        notification.setSentAt(DateTimeUtil.now());
+        notification.setStatus(Notification.NotificationStatus.PENDING);
+        return notification;
+    }
+    
     private String buildNotificationMessage(AnalysisResult analysisResult) {
         return String.format(
             "⚠️ Log Analysis Alert\n\n" +
@@ -1,9 +1,13 @@
 package com.heimdall.service;
 
+import com.heimdall.cache.QueryResultCache;
 import com.heimdall.dto.LogSearchRequest;
 import com.heimdall.dto.LogSearchResponse;
 import com.heimdall.entity.LogEntry;
+import com.heimdall.repository.AnalysisResultRepository;
 import com.heimdall.repository.LogEntryRepository;
+import com.heimdall.search.hot.HotDocument;
+import com.heimdall.search.hot.HotLogIndex;
 import com.heimdall.util.DateTimeUtil;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -14,8 +18,16 @@ import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -24,11 +36,24 @@ import java.util.stream.Collectors;
 public class SearchService {
     
     private final LogEntryRepository logEntryRepository;
+    private final AnalysisResultRepository analysisResultRepository;
+    private final HotLogIndex hotLogIndex;
+    private final QueryResultCache queryResultCache;
     
     @Transactional(readOnly = true)
     public LogSearchResponse searchLogs(LogSearchRequest request) {
         log.debug("Searching logs: {}", request);
         
+        return queryResultCache.getOrCompute(
+            "search",
+            normalizeCacheKey(request),
+            isClosedRange(request),
+            LogSearchResponse.class,
+            () -> executeSearch(request)
+        );
+    }
+    
+    private LogSearchResponse executeSearch(LogSearchRequest request) {
         Pageable pageable = PageRequest.of(
             request.getPage(),
             request.getSize(),
@@ -36,16 +61,22 @@ public class SearchService {
         );
         
         Page<LogEntry> logPage;
+        String keyword = normalizeKeyword(request.getKeyword());
         
-        if (request.getKeyword() != null && !request.getKeyword().isEmpty()) {
+        if (!keyword.isEmpty()) {
             // 키워드 검색
             LocalDateTime from = request.getFrom() != null ? 
                 DateTimeUtil.parseIso(request.getFrom()) : LocalDateTime.now().minusDays(7);
             LocalDateTime to = request.getTo() != null ? 
                 DateTimeUtil.parseIso(request.getTo()) : LocalDateTime.now();
             
+            // 최근 구간은 인메모리 hot 인덱스에서 먼저 조회
+            if (hotLogIndex.isEnabled() && !to.isBefore(hotLogIndex.getCoverageStart())) {
+                return searchWithHotTail(keyword, from, to, pageable);
+            }
+            
             logPage = logEntryRepository.searchByKeyword(
-                request.getKeyword(),
+                keyword,
                 from,
                 to,
                 pageable
@@ -103,6 +134,137 @@ public class SearchService {
             .build();
     }
     
+    /**
+     * 검색어 정규화 (앞뒤 공백 제거, 소문자) - 조회와 캐시 키에 같은 값을 쓴다
+     * 키워드 조회는 대소문자를 구분하지 않으므로 소문자로 바꿔도 결과는 같다.
+     */
+    private String normalizeKeyword(String keyword) {
+        return keyword != null ? keyword.trim().toLowerCase(Locale.ROOT) : "";
+    }
+    
+    private String normalizeCacheKey(LogSearchRequest request) {
+        String keyword = normalizeKeyword(request.getKeyword());
+        
+        return String.join("|",
+            "service=" + Objects.toString(request.getServiceName(), ""),
+            "env=" + Objects.toString(request.getEnvironment(), ""),
+            "severity=" + Objects.toString(request.getSeverity(), ""),
+            "from=" + Objects.toString(request.getFrom(), ""),
+            "to=" + Objects.toString(request.getTo(), ""),
+            "keyword=" + keyword,
+            "page=" + request.getPage(),
+            "size=" + request.getSize()
+        );
+    }
+    
+    /**
+     * 조회 시작/종료 시각이 모두 주어지고 종료 시각이 현재 시간 버킷 이전이면 더 이상 변하지 않는 구간으로 본다
+     * 시작 시각이 없으면 최근 7일 기준으로 구간이 계속 움직이고, 서비스+환경 검색은 시간 조건을 쓰지 않는다.
+     */
+    private boolean isClosedRange(LogSearchRequest request) {
+        if (request.getFrom() == null || request.getTo() == null) {
+            return false;
+        }
+        boolean usesRange = !normalizeKeyword(request.getKeyword()).isEmpty()
+            || request.getSeverity() != null
+            || request.getServiceName() == null
+            || request.getEnvironment() == null;
+        if (!usesRange) {
+            return false;
+        }
+        
+        LocalDateTime currentHour = DateTimeUtil.now().truncatedTo(ChronoUnit.HOURS);
+        return DateTimeUtil.parseIso(request.getTo()).isBefore(currentHour);
+    }
+    
+    /**
+     * hot 인덱스 결과(최신 구간)와 DB 결과(이전 구간)를 최신순으로 이어 붙여 페이지 구성
+     */
+    private LogSearchResponse searchWithHotTail(
+        String keyword,
+        LocalDateTime from,
+        LocalDateTime to,
+        Pageable pageable
+    ) {
+        LocalDateTime coverageStart = hotLogIndex.getCoverageStart();
+        List<HotDocument> hotMatches = hotLogIndex.search(keyword, from, to);
+        
+        int size = pageable.getPageSize();
+        long offset = pageable.getOffset();
+        List<LogSearchResponse.LogEntryDto> content = new ArrayList<>();
+        
+        List<HotDocument> hotPage = hotMatches.subList(
+            (int) Math.min(offset, hotMatches.size()), (int) Math.min(offset + size, hotMatches.size()));
+        // hot 인덱스에는 분석 여부가 없으므로 페이지에 담긴 로그만 한 번에 조회
+        Set<Long> analyzed = hotPage.isEmpty() ? Set.of() : new HashSet<>(
+            analysisResultRepository.findAnalyzedLogIds(hotPage.stream().map(HotDocument::logId).toList()));
+        for (HotDocument document : hotPage) {
+            content.add(convertToDto(document, analyzed.contains(document.logId())));
+        }
+        
+        long coldTotal = 0;
+        if (from.isBefore(coverageStart)) {
+            // hot 인덱스가 커버하지 않는 이전 구간은 DB에서 조회 (경계 시각 제외)
+            LocalDateTime coldTo = coverageStart.minusNanos(1000);
+            long coldOffset = Math.max(0, offset - hotMatches.size());
+            int coldPage = (int) (coldOffset / size);
+            int skip = (int) (coldOffset % size);
+            
+            Page<LogEntry> coldPageResult = logEntryRepository.searchByKeyword(
+                keyword, from, coldTo, PageRequest.of(coldPage, size, pageable.getSort())
+            );
+            coldTotal = coldPageResult.getTotalElements();
+            
+            if (content.size() < size) {
+                appendCold(content, coldPageResult.getContent(), skip, size);
+                
+                if (content.size() < size && coldPageResult.hasNext()) {
+                    Page<LogEntry> nextPage = logEntryRepository.searchByKeyword(
+                        keyword, from, coldTo, coldPageResult.nextPageable()
+                    );
+                    appendCold(content, nextPage.getContent(), 0, size);
+                }
+            }
+        }
+        
+        long totalElements = hotMatches.size() + coldTotal;
+        LogSearchResponse.PageInfo pageInfo = LogSearchResponse.PageInfo.builder()
+            .size(size)
+            .totalElements(totalElements)
+            .totalPages((int) ((totalElements + size - 1) / size))
+            .number(pageable.getPageNumber())
+            .build();
+        
+        return LogSearchResponse.builder()
+            .content(content)
+            .page(pageInfo)
+            .build();
+    }
+    
+    private void appendCold(
+        List<LogSearchResponse.LogEntryDto> content,
+        List<LogEntry> entries,
+        int skip,
+        int size
+    ) {
+        for (int i = skip; i < entries.size() && content.size() < size; i++) {
+            content.add(convertToDto(entries.get(i)));
+        }
+    }
+    
+    private LogSearchResponse.LogEntryDto convertToDto(HotDocument document, boolean hasAnalysis) {
+        return LogSearchResponse.LogEntryDto.builder()
+            .logId(document.logId())
+            .timestamp(LocalDateTime.ofInstant(
+                Instant.ofEpochMilli(document.timestampMillis()), ZoneOffset.UTC))
+            .serviceName(document.serviceName())
+            .environment(document.environment())
+            .severity(document.severity())
+            .logContent(document.logContent())
+            .hasAnalysis(hasAnalysis)
+            .build();
+    }
+    
     private LogSearchResponse.LogEntryDto convertToDto(LogEntry logEntry) {
         return LogSearchResponse.LogEntryDto.builder()
             .logId(logEntry.getId())
@@ -0,0 +1,81 @@
+package com.heimdall.service;
+
+import com.heimdall.repository.LogStatisticsMinuteRepository;
+import com.heimdall.repository.LogStatisticsRepository;
+import com.heimdall.repository.LogStatisticsRollupRepository;
+import com.heimdall.util.DateTimeUtil;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 통계 티어 압축 작업
+ * 완료된 날짜의 시간 단위 통계를 일 단위로 롤업하고, 보관 기간이 지난 분/시간 단위 행을 정리한다.
+ * 롤업은 덮어쓰기이므로 여러 인스턴스에서 동시에 실행되어도 결과가 같다.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class StatisticsRollupService {
+    
+    private final LogStatisticsRollupRepository rollupRepository;
+    private final LogStatisticsRepository logStatisticsRepository;
+    private final LogStatisticsMinuteRepository minuteRepository;
+    private final MeterRegistry meterRegistry;
+    
+    @Value("${heimdall.statistics.rollup.enabled:true}")
+    private boolean enabled;
+    
+    @Value("${heimdall.statistics.rollup.lookback-days:2}")
+    private int lookbackDays;
+    
+    @Value("${heimdall.statistics.rollup.minute-retention-hours:24}")
+    private long minuteRetentionHours;
+    
+    @Value("${heimdall.statistics.rollup.hourly-retention-days:30}")
+    private long hourlyRetentionDays;
+    
+    @Scheduled(
+        fixedDelayString = "${heimdall.statistics.rollup.interval-ms:3600000}",
+        initialDelayString = "${heimdall.statistics.rollup.initial-delay-ms:60000}"
+    )
+    public void compact() {
+        if (!enabled) {
+            return;
+        }
+        
+        LocalDate today = DateTimeUtil.now().toLocalDate();
+        
+        try {
+            // 최근 완료된 날짜는 늦게 도착한 로그를 반영하기 위해 매번 다시 롤업
+            for (int i = lookbackDays; i >= 1; i--) {
+                rollupRepository.rollupDay(today.minusDays(i));
+            }
+            
+            LocalDate hourlyCutoff = today.minusDays(hourlyRetentionDays);
+            List<LocalDate> expiredDates = logStatisticsRepository.findDatesBefore(hourlyCutoff);
+            for (LocalDate date : expiredDates) {
+                int deleted = rollupRepository.compactDay(date);
+                log.info("Compacted hourly statistics into daily tier: date={}, rows={}", date, deleted);
+            }
+            
+            LocalDateTime minuteCutoff = DateTimeUtil.now().minusHours(minuteRetentionHours);
+            int deletedMinutes = minuteRepository.deleteByBucketStartBefore(minuteCutoff);
+            
+            meterRegistry.counter("statistics.rollup.runs", "result", "success").increment();
+            log.debug("Statistics rollup completed: compactedDays={}, deletedMinuteRows={}",
+                expiredDates.size(), deletedMinutes);
+            
+        } catch (Exception e) {
+            meterRegistry.counter("statistics.rollup.runs", "result", "failure").increment();
+            log.error("Statistics rollup failed", e);
+        }
+    }
+}
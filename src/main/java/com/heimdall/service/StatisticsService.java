@@ -1,19 +1,47 @@
 package com.heimdall.service;
 
+import com.heimdall.cache.QueryResultCache;
+import com.heimdall.dto.DistinctCountResponse;
+import com.heimdall.dto.HeavyHitterResponse;
+import com.heimdall.dto.StatisticsRangeResponse;
 import com.heimdall.dto.StatisticsResponse;
 import com.heimdall.entity.LogStatistics;
+import com.heimdall.entity.LogStatisticsDaily;
+import com.heimdall.entity.LogStatisticsMinute;
+import com.heimdall.exception.LogProcessingException;
+import com.heimdall.repository.LogStatisticsDailyRepository;
+import com.heimdall.repository.LogStatisticsMinuteRepository;
 import com.heimdall.repository.LogStatisticsRepository;
+import com.heimdall.statistics.StatisticsAggregator;
+import com.heimdall.statistics.StatisticsTier;
+import com.heimdall.statistics.topk.HeavyHitter;
+import com.heimdall.statistics.topk.HeavyHitterTracker;
+import com.heimdall.statistics.sketch.DDSketch;
+import com.heimdall.statistics.sketch.HyperLogLog;
+import com.heimdall.util.DateTimeUtil;
+import com.heimdall.util.HashUtil;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 @Service
@@ -21,13 +49,42 @@ import java.util.stream.Collectors;
 @Slf4j
 public class StatisticsService {
     
+    private static final Set<String> ERROR_SEVERITIES = Set.of("ERROR", "FATAL");
+    
+    private static final Pattern RESOLUTION_PATTERN = Pattern.compile("(\\d+)(m|h|d)");
+    
     private final LogStatisticsRepository logStatisticsRepository;
+    private final LogStatisticsMinuteRepository minuteRepository;
+    private final LogStatisticsDailyRepository dailyRepository;
+    private final QueryResultCache queryResultCache;
+    private final HeavyHitterTracker heavyHitterTracker;
+    private final StatisticsAggregator statisticsAggregator;
+    
+    @Value("${heimdall.statistics.rollup.minute-retention-hours:24}")
+    private long minuteRetentionHours;
+    
+    @Value("${heimdall.statistics.rollup.hourly-retention-days:30}")
+    private long hourlyRetentionDays;
     
     @Transactional(readOnly = true)
     public StatisticsResponse getStatistics(LocalDate date, String serviceName, String environment) {
         log.debug("Getting statistics: date={}, service={}, environment={}", 
             date, serviceName, environment);
         
+        // 지난 날짜라도 그날 끝 이후의 flush가 반영된 뒤에야 더 이상 변하지 않으므로 길게 캐싱
+        LocalDateTime dayEnd = date.plusDays(1).atStartOfDay();
+        boolean closed = !dayEnd.isAfter(DateTimeUtil.now()) && statisticsAggregator.isFlushedThrough(dayEnd);
+        
+        return queryResultCache.getOrCompute(
+            "statistics",
+            String.join("|", date.toString(), serviceName, environment),
+            closed,
+            StatisticsResponse.class,
+            () -> loadStatistics(date, serviceName, environment)
+        );
+    }
+    
+    private StatisticsResponse loadStatistics(LocalDate date, String serviceName, String environment) {
         List<LogStatistics> stats = logStatisticsRepository.findHourlyStats(
             date, serviceName, environment
         );
@@ -76,11 +133,36 @@ public class StatisticsService {
             bySeverity.put(stat.getSeverity(), stat.getCount());
         }
         
-        int avgSizeBytes = stats.stream()
-            .filter(s -> s.getAvgSizeBytes() != null)
-            .mapToInt(LogStatistics::getAvgSizeBytes)
-            .findFirst()
-            .orElse(0);
+        // 심각도별 스케치를 병합하여 전체 크기 분포 계산
+        DDSketch sizeSketch = new DDSketch();
+        long weightedSizeSum = 0;
+        long sizedCount = 0;
+        for (LogStatistics stat : stats) {
+            if (stat.getSizeSketch() != null) {
+                sizeSketch.merge(DDSketch.fromBytes(stat.getSizeSketch()));
+            }
+            if (stat.getAvgSizeBytes() != null) {
+                weightedSizeSum += (long) stat.getAvgSizeBytes() * stat.getCount();
+                sizedCount += stat.getCount();
+            }
+        }
+        
+        // 심각도별 log_hash HLL의 합집합
+        HyperLogLog distinctLogs = new HyperLogLog();
+        HyperLogLog distinctErrors = new HyperLogLog();
+        for (LogStatistics stat : stats) {
+            if (stat.getDistinctSketch() != null) {
+                HyperLogLog hashes = HyperLogLog.fromBytes(stat.getDistinctSketch());
+                distinctLogs.merge(hashes);
+                if (ERROR_SEVERITIES.contains(stat.getSeverity())) {
+                    distinctErrors.merge(hashes);
+                }
+            }
+        }
+        
+        int avgSizeBytes = sizeSketch.getCount() > 0
+            ? (int) sizeSketch.getAverage()
+            : (sizedCount > 0 ? (int) (weightedSizeSum / sizedCount) : 0);
         
         return StatisticsResponse.StatisticEntry.builder()
             .timestamp(date.atTime(hour, 0))
@@ -89,6 +171,355 @@ public class StatisticsService {
             .totalLogs(totalLogs)
             .bySeverity(bySeverity)
             .avgSizeBytes(avgSizeBytes)
+            .p50SizeBytes(sizeSketch.quantile(0.50))
+            .p95SizeBytes(sizeSketch.quantile(0.95))
+            .p99SizeBytes(sizeSketch.quantile(0.99))
+            .maxSizeBytes(sizeSketch.getMax())
+            .distinctLogs(distinctLogs.estimate())
+            .distinctErrors(distinctErrors.estimate())
+            .build();
+    }
+    
+    /**
+     * 임의 기간/해상도 통계 조회
+     * 요청 해상도를 나눌 수 있고 보관 기간이 from을 커버하는 가장 거친 티어를 읽어 재버킷팅한다.
+     */
+    @Transactional(readOnly = true)
+    public StatisticsRangeResponse getRangeStatistics(
+        LocalDateTime from,
+        LocalDateTime to,
+        String resolution,
+        String serviceName,
+        String environment
+    ) {
+        if (!from.isBefore(to)) {
+            throw new LogProcessingException("'from' must be before 'to'");
+        }
+        Duration requested = parseResolution(resolution);
+        
+        log.debug("Getting range statistics: from={}, to={}, resolution={}, service={}, environment={}",
+            from, to, resolution, serviceName, environment);
+        
+        // 마지막 구간이 속한 티어 버킷(일 단위면 그날 전체)이 끝나야 마감으로 본다 (오늘 일 단위 행은 계속 갱신됨)
+        StatisticsTier tier = selectTier(requested, from);
+        LocalDateTime lastBucketEnd = tier.truncate(to.minusNanos(1)).plus(tier.getGranularity());
+        boolean closed = !lastBucketEnd.isAfter(DateTimeUtil.now().truncatedTo(ChronoUnit.HOURS))
+            && statisticsAggregator.isFlushedThrough(lastBucketEnd);
+        
+        return queryResultCache.getOrCompute(
+            "statistics-range",
+            String.join("|",
+                from.toString(),
+                to.toString(),
+                resolution,
+                Objects.toString(serviceName, ""),
+                Objects.toString(environment, "")),
+            closed,
+            StatisticsRangeResponse.class,
+            () -> loadRangeStatistics(from, to, resolution, requested, tier, serviceName, environment)
+        );
+    }
+    
+    private StatisticsRangeResponse loadRangeStatistics(
+        LocalDateTime from,
+        LocalDateTime to,
+        String requestedResolution,
+        Duration requested,
+        StatisticsTier tier,
+        String serviceName,
+        String environment
+    ) {
+        Duration effective = tier.divides(requested) ? requested : roundUp(requested, tier.getGranularity());
+        
+        List<TierRow> rows = switch (tier) {
+            case MINUTE -> loadMinuteRows(from, to, serviceName, environment);
+            case HOUR -> loadHourlyRows(from.toLocalDate(), to.toLocalDate(), serviceName, environment, Set.of());
+            case DAY -> loadDailyRows(from.toLocalDate(), to.toLocalDate(), serviceName, environment);
+        };
+        
+        LocalDateTime lowerBound = tier.truncate(from);
+        long resolutionMillis = effective.toMillis();
+        
+        Map<LocalDateTime, Map<String, Long>> buckets = new TreeMap<>();
+        for (TierRow row : rows) {
+            if (row.timestamp().isBefore(lowerBound) || !row.timestamp().isBefore(to)) {
+                continue;
+            }
+            long millis = row.timestamp().toInstant(ZoneOffset.UTC).toEpochMilli();
+            LocalDateTime bucketStart = LocalDateTime.ofEpochSecond(
+                Math.floorDiv(millis, resolutionMillis) * resolutionMillis / 1000, 0, ZoneOffset.UTC
+            );
+            buckets.computeIfAbsent(bucketStart, k -> new HashMap<>())
+                .merge(row.severity(), row.count(), Long::sum);
+        }
+        
+        List<StatisticsRangeResponse.RangePoint> points = new ArrayList<>(buckets.size());
+        buckets.forEach((timestamp, bySeverity) -> points.add(
+            StatisticsRangeResponse.RangePoint.builder()
+                .timestamp(timestamp)
+                .totalLogs(bySeverity.values().stream().mapToLong(Long::longValue).sum())
+                .bySeverity(bySeverity)
+                .build()
+        ));
+        
+        return StatisticsRangeResponse.builder()
+            .from(from)
+            .to(to)
+            .requestedResolution(requestedResolution)
+            .resolution(formatResolution(effective))
+            .tier(tier.name())
+            .points(points)
+            .build();
+    }
+    
+    /**
+     * 보관 기간이 from을 커버하는 티어 중 요청 해상도를 나누는 가장 거친 티어를 선택하고,
+     * 그런 티어가 없으면 커버 가능한 가장 세밀한 티어를 선택한다.
+     */
+    private StatisticsTier selectTier(Duration resolution, LocalDateTime from) {
+        StatisticsTier selected = null;
+        StatisticsTier finestCovering = null;
+        
+        for (StatisticsTier tier : StatisticsTier.values()) {
+            if (!covers(tier, from)) {
+                continue;
+            }
+            if (finestCovering == null) {
+                finestCovering = tier;
+            }
+            if (tier.divides(resolution)) {
+                selected = tier;
+            }
+        }
+        
+        if (selected != null) {
+            return selected;
+        }
+        return finestCovering != null ? finestCovering : StatisticsTier.DAY;
+    }
+    
+    private boolean covers(StatisticsTier tier, LocalDateTime from) {
+        LocalDateTime now = DateTimeUtil.now();
+        return switch (tier) {
+            case MINUTE -> !from.isBefore(now.minusHours(minuteRetentionHours));
+            case HOUR -> !from.toLocalDate().isBefore(now.toLocalDate().minusDays(hourlyRetentionDays));
+            case DAY -> true;
+        };
+    }
+    
+    private List<TierRow> loadMinuteRows(
+        LocalDateTime from,
+        LocalDateTime to,
+        String serviceName,
+        String environment
+    ) {
+        List<LogStatisticsMinute> stats = minuteRepository.findRange(
+            from.truncatedTo(ChronoUnit.MINUTES), to, serviceName, environment
+        );
+        
+        List<TierRow> rows = new ArrayList<>(stats.size());
+        for (LogStatisticsMinute stat : stats) {
+            rows.add(new TierRow(stat.getBucketStart(), stat.getSeverity(), stat.getCount()));
+        }
+        return rows;
+    }
+    
+    private List<TierRow> loadHourlyRows(
+        LocalDate from,
+        LocalDate to,
+        String serviceName,
+        String environment,
+        Set<LocalDate> excludedDates
+    ) {
+        List<LogStatistics> stats = logStatisticsRepository.findRange(from, to, serviceName, environment);
+        
+        List<TierRow> rows = new ArrayList<>(stats.size());
+        for (LogStatistics stat : stats) {
+            if (excludedDates.contains(stat.getDate())) {
+                continue;
+            }
+            rows.add(new TierRow(
+                stat.getDate().atTime(stat.getHour(), 0),
+                Objects.toString(stat.getSeverity(), "unknown"),
+                stat.getCount()
+            ));
+        }
+        return rows;
+    }
+    
+    /**
+     * 일 단위 티어 조회
+     * 아직 롤업되지 않은 날짜(오늘, 최근 완료일)는 시간 단위 행을 합산해 채운다.
+     */
+    private List<TierRow> loadDailyRows(
+        LocalDate from,
+        LocalDate to,
+        String serviceName,
+        String environment
+    ) {
+        List<LogStatisticsDaily> stats = dailyRepository.findRange(from, to, serviceName, environment);
+        
+        List<TierRow> rows = new ArrayList<>(stats.size());
+        Set<LocalDate> rolledUpDates = new HashSet<>();
+        for (LogStatisticsDaily stat : stats) {
+            rolledUpDates.add(stat.getDate());
+            rows.add(new TierRow(stat.getDate().atStartOfDay(), stat.getSeverity(), stat.getCount()));
+        }
+        
+        LocalDate hourlyFrom = DateTimeUtil.now().toLocalDate().minusDays(hourlyRetentionDays);
+        if (hourlyFrom.isBefore(from)) {
+            hourlyFrom = from;
+        }
+        if (!hourlyFrom.isAfter(to)) {
+            for (TierRow row : loadHourlyRows(hourlyFrom, to, serviceName, environment, rolledUpDates)) {
+                rows.add(new TierRow(row.timestamp().toLocalDate().atStartOfDay(), row.severity(), row.count()));
+            }
+        }
+        return rows;
+    }
+    
+    private Duration parseResolution(String resolution) {
+        Matcher matcher = resolution != null ? RESOLUTION_PATTERN.matcher(resolution) : null;
+        if (matcher == null || !matcher.matches()) {
+            throw new LogProcessingException("Invalid statistics resolution: " + resolution);
+        }
+        
+        long amount = Long.parseLong(matcher.group(1));
+        if (amount <= 0) {
+            throw new LogProcessingException("Invalid statistics resolution: " + resolution);
+        }
+        
+        return switch (matcher.group(2)) {
+            case "m" -> Duration.ofMinutes(amount);
+            case "h" -> Duration.ofHours(amount);
+            default -> Duration.ofDays(amount);
+        };
+    }
+    
+    private Duration roundUp(Duration resolution, Duration granularity) {
+        long units = (resolution.toMillis() + granularity.toMillis() - 1) / granularity.toMillis();
+        return granularity.multipliedBy(Math.max(units, 1));
+    }
+    
+    private String formatResolution(Duration resolution) {
+        if (resolution.toMinutes() % (24 * 60) == 0) {
+            return resolution.toDays() + "d";
+        }
+        if (resolution.toMinutes() % 60 == 0) {
+            return resolution.toHours() + "h";
+        }
+        return resolution.toMinutes() + "m";
+    }
+    
+    private record TierRow(LocalDateTime timestamp, String severity, long count) {
+    }
+    
+    /**
+     * 기간 내 고유 log_hash 개수 추정
+     * 시간 단위 버킷(보관 기간이 지난 날짜는 일 단위 버킷)의 HLL을 서비스/심각도에 걸쳐 합집합한다.
+     * 시간 단위 행은 시 단위로, 일 단위 행은 날짜 단위로 from/to에 포함 여부를 판단한다.
+     */
+    @Transactional(readOnly = true)
+    public DistinctCountResponse getDistinctCount(
+        LocalDateTime from,
+        LocalDateTime to,
+        String serviceName,
+        String environment,
+        List<String> severities
+    ) {
+        if (!from.isBefore(to)) {
+            throw new LogProcessingException("'from' must be before 'to'");
+        }
+        
+        List<String> normalizedSeverities = severities == null || severities.isEmpty()
+            ? List.of("ERROR", "FATAL")
+            : severities.stream().map(String::toUpperCase).sorted().toList();
+        Set<String> severityFilter = new HashSet<>(normalizedSeverities);
+        
+        HyperLogLog union = new HyperLogLog();
+        long totalLogs = 0;
+        
+        LocalDate hourlyCutoff = DateTimeUtil.now().toLocalDate().minusDays(hourlyRetentionDays);
+        LocalDateTime lowerBound = from.truncatedTo(ChronoUnit.HOURS);
+        
+        if (from.toLocalDate().isBefore(hourlyCutoff)) {
+            LocalDate dailyTo = to.toLocalDate().isBefore(hourlyCutoff) ? to.toLocalDate() : hourlyCutoff.minusDays(1);
+            for (LogStatisticsDaily stat : dailyRepository.findRange(
+                    from.toLocalDate(), dailyTo, serviceName, environment)) {
+                if (severityFilter.contains(stat.getSeverity())) {
+                    totalLogs += stat.getCount();
+                    union.merge(HyperLogLog.fromBytes(stat.getDistinctSketch()));
+                }
+            }
+        }
+        
+        LocalDate hourlyFrom = from.toLocalDate().isBefore(hourlyCutoff) ? hourlyCutoff : from.toLocalDate();
+        if (!hourlyFrom.isAfter(to.toLocalDate())) {
+            for (LogStatistics stat : logStatisticsRepository.findRange(
+                    hourlyFrom, to.toLocalDate(), serviceName, environment)) {
+                LocalDateTime bucketStart = stat.getDate().atTime(stat.getHour(), 0);
+                if (bucketStart.isBefore(lowerBound) || !bucketStart.isBefore(to)
+                        || !severityFilter.contains(stat.getSeverity())) {
+                    continue;
+                }
+                totalLogs += stat.getCount();
+                union.merge(HyperLogLog.fromBytes(stat.getDistinctSketch()));
+            }
+        }
+        
+        return DistinctCountResponse.builder()
+            .from(from)
+            .to(to)
+            .serviceName(serviceName)
+            .environment(environment)
+            .severities(normalizedSeverities)
+            .totalLogs(totalLogs)
+            .distinctCount(union.estimate())
+            .build();
+    }
+    
+    /**
+     * 최근 윈도우의 heavy hitter 조회 (이 인스턴스가 수집한 로그 기준)
+     */
+    public HeavyHitterResponse getHeavyHitters(String dimension, int windows, int limit) {
+        if (!heavyHitterTracker.isEnabled()) {
+            throw new LogProcessingException("Heavy hitter tracking is disabled");
+        }
+        
+        HeavyHitterTracker.Dimension parsed;
+        try {
+            parsed = HeavyHitterTracker.Dimension.valueOf(dimension.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new LogProcessingException("Invalid heavy hitter dimension: " + dimension);
+        }
+        if (windows < 1 || windows > heavyHitterTracker.getRetainedWindows()) {
+            throw new LogProcessingException(
+                "'windows' must be between 1 and " + heavyHitterTracker.getRetainedWindows());
+        }
+        if (limit < 1 || limit > heavyHitterTracker.getCapacity()) {
+            throw new LogProcessingException("'limit' must be between 1 and " + heavyHitterTracker.getCapacity());
+        }
+        
+        HeavyHitterTracker.Snapshot snapshot = heavyHitterTracker.top(parsed, windows, limit);
+        
+        List<HeavyHitterResponse.Hitter> hitters = new ArrayList<>(snapshot.hitters().size());
+        for (HeavyHitter hitter : snapshot.hitters()) {
+            hitters.add(HeavyHitterResponse.Hitter.builder()
+                .key(hitter.key())
+                .fingerprint(parsed == HeavyHitterTracker.Dimension.TEMPLATE
+                    ? HashUtil.sha256(hitter.key()).substring(0, 16) : null)
+                .count(hitter.count())
+                .guaranteedCount(hitter.guaranteedCount())
+                .share(snapshot.total() > 0 ? (double) hitter.count() / snapshot.total() : 0.0)
+                .build());
+        }
+        
+        return HeavyHitterResponse.builder()
+            .dimension(parsed.name())
+            .from(LocalDateTime.ofInstant(Instant.ofEpochMilli(snapshot.fromMillis()), ZoneOffset.UTC))
+            .to(LocalDateTime.ofInstant(Instant.ofEpochMilli(snapshot.toMillis()), ZoneOffset.UTC))
+            .totalLogs(snapshot.total())
+            .hitters(hitters)
             .build();
     }
     
@@ -0,0 +1,23 @@
+package com.heimdall.statistics;
+
+import com.heimdall.statistics.sketch.DDSketch;
+import com.heimdall.statistics.sketch.HyperLogLog;
+
+/**
+ * flush 한 번 동안 한 버킷에 누적된 증가분
+ */
+public record BucketDelta(long count, long bytes, DDSketch sizeSketch, HyperLogLog hashSketch) {
+    
+    public static BucketDelta empty() {
+        return new BucketDelta(0, 0, new DDSketch(), new HyperLogLog());
+    }
+    
+    /**
+     * 두 증가분을 합친 값 (이 객체의 스케치에 병합된다)
+     */
+    public BucketDelta merge(BucketDelta other) {
+        sizeSketch.merge(other.sizeSketch());
+        hashSketch.merge(other.hashSketch());
+        return new BucketDelta(count + other.count(), bytes + other.bytes(), sizeSketch, hashSketch);
+    }
+}
@@ -0,0 +1,42 @@
+package com.heimdall.statistics;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * 분 단위 집계 버킷 키 (log_statistics_minute 유니크 키)
+ */
+public record MinuteBucketKey(
+    LocalDateTime bucketStart,
+    String serviceName,
+    String environment,
+    String severity
+) {
+    
+    public static MinuteBucketKey of(
+        LocalDateTime timestamp,
+        String serviceName,
+        String environment,
+        String severity
+    ) {
+        return new MinuteBucketKey(
+            timestamp.truncatedTo(ChronoUnit.MINUTES),
+            serviceName != null ? serviceName : StatisticsBucketKey.UNKNOWN,
+            environment != null ? environment : StatisticsBucketKey.UNKNOWN,
+            severity
+        );
+    }
+    
+    /**
+     * 상위 티어(시간 단위) 키로 변환
+     */
+    public StatisticsBucketKey toHourly() {
+        return new StatisticsBucketKey(
+            bucketStart.toLocalDate(),
+            (short) bucketStart.getHour(),
+            serviceName,
+            environment,
+            severity
+        );
+    }
+}
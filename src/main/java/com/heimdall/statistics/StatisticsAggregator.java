@@ -0,0 +1,155 @@
+package com.heimdall.statistics;
+
+import com.heimdall.entity.LogEntry;
+import com.heimdall.repository.LogStatisticsUpsertRepository;
+import com.heimdall.statistics.sketch.HyperLogLog;
+import com.heimdall.util.DateTimeUtil;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 실시간 로그 통계 집계기
+ * 수집 경로에서 버킷별 striped 카운터와 스케치(크기 분포, log_hash 고유 개수)만 갱신하고, 주기적으로 log_statistics에 배치 upsert한다.
+ * 로그마다 통계 행을 갱신하지 않으므로 hot row 경합이 없다.
+ * 마지막으로 성공한 flush의 시작 시각을 기록하여, 조회 측이 어떤 구간이 DB에 모두 반영되었는지 판단할 수 있게 한다.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class StatisticsAggregator {
+    
+    private final LogStatisticsUpsertRepository upsertRepository;
+    private final MeterRegistry meterRegistry;
+    
+    private final Map<MinuteBucketKey, StripedCounter> counters = new ConcurrentHashMap<>();
+    
+    @Value("${heimdall.statistics.aggregation.enabled:true}")
+    private boolean enabled;
+    
+    @Value("${heimdall.statistics.aggregation.idle-bucket-hours:2}")
+    private long idleBucketHours;
+    
+    @Value("${heimdall.statistics.rollup.hourly-retention-days:30}")
+    private long hourlyRetentionDays;
+    
+    @Value("${heimdall.statistics.aggregation.flush-interval-ms:5000}")
+    private long flushIntervalMs;
+    
+    private volatile LocalDateTime lastFlushStartedAt;
+    
+    @PostConstruct
+    public void registerMetrics() {
+        meterRegistry.gaugeMapSize("statistics.aggregation.buckets", List.of(), counters);
+    }
+    
+    public void record(LogEntry logEntry) {
+        if (!enabled || logEntry.getTimestamp() == null) {
+            return;
+        }
+        
+        // 시간 단위 보관 기간을 넘긴 로그는 이미 일 단위로 압축된 날짜이므로 집계하지 않는다
+        if (logEntry.getTimestamp().toLocalDate()
+                .isBefore(DateTimeUtil.now().toLocalDate().minusDays(hourlyRetentionDays))) {
+            meterRegistry.counter("statistics.aggregation.dropped", "reason", "expired").increment();
+            return;
+        }
+        
+        MinuteBucketKey key = MinuteBucketKey.of(
+            logEntry.getTimestamp(),
+            logEntry.getServiceName(),
+            logEntry.getEnvironment(),
+            logEntry.getSeverity().name()
+        );
+        
+        long sizeBytes = logEntry.getLogContent() != null
+            ? logEntry.getLogContent().getBytes(StandardCharsets.UTF_8).length
+            : 0;
+        
+        long logHash = HyperLogLog.hashOf(logEntry.getLogHash());
+        // flush가 유휴 버킷을 제거하며 retire한 카운터를 잡았으면 새 카운터를 만들어 다시 기록
+        while (!counters.computeIfAbsent(key, k -> new StripedCounter()).add(sizeBytes, logHash)) {
+            meterRegistry.counter("statistics.aggregation.recreated").increment();
+        }
+    }
+    
+    /**
+     * 주어진 시각 이전에 수집된 증가분이 모두 DB에 반영되었는지 여부
+     * 그 시각보다 flush 주기 이상 늦게 시작한 flush가 성공했어야 한다 (다른 인스턴스의 flush 주기도 감안).
+     */
+    public boolean isFlushedThrough(LocalDateTime time) {
+        if (!enabled) {
+            return true;
+        }
+        LocalDateTime flushedAt = lastFlushStartedAt;
+        return flushedAt != null && flushedAt.isAfter(time.plus(Duration.ofMillis(flushIntervalMs)));
+    }
+    
+    /**
+     * 누적된 증가분을 분 단위 티어에 반영하고, 같은 증가분을 시간 단위(log_statistics)로 롤업하여 함께 반영
+     */
+    @Scheduled(fixedDelayString = "${heimdall.statistics.aggregation.flush-interval-ms:5000}")
+    public synchronized void flush() {
+        LocalDateTime startedAt = DateTimeUtil.now();
+        if (counters.isEmpty()) {
+            lastFlushStartedAt = startedAt;
+            return;
+        }
+        
+        LocalDateTime idleBefore = DateTimeUtil.now().minusHours(idleBucketHours);
+        Map<MinuteBucketKey, BucketDelta> deltas = new HashMap<>();
+        
+        counters.forEach((key, counter) -> {
+            // 오래된 버킷은 맵에서 제거한 뒤 retire하여 회수 (이후 도착한 증가분은 새 버킷에 기록된다)
+            BucketDelta delta = key.bucketStart().isBefore(idleBefore) && counters.remove(key, counter)
+                ? counter.retire()
+                : counter.drain();
+            
+            if (delta.count() > 0) {
+                deltas.put(key, delta);
+            }
+        });
+        
+        if (deltas.isEmpty()) {
+            lastFlushStartedAt = startedAt;
+            return;
+        }
+        
+        Map<StatisticsBucketKey, BucketDelta> hourlyDeltas = new HashMap<>();
+        deltas.forEach((key, delta) -> {
+            BucketDelta hourly = hourlyDeltas.getOrDefault(key.toHourly(), BucketDelta.empty());
+            hourlyDeltas.put(key.toHourly(), hourly.merge(delta));
+        });
+        
+        try {
+            upsertRepository.upsert(deltas, hourlyDeltas);
+            lastFlushStartedAt = startedAt;
+            meterRegistry.counter("statistics.aggregation.flushed").increment(deltas.size());
+            log.debug("Flushed {} statistics buckets", deltas.size());
+        } catch (Exception e) {
+            // 실패한 증가분은 다시 카운터에 되돌려 다음 flush에서 재시도
+            log.error("Failed to flush statistics buckets: {}", e.getMessage());
+            meterRegistry.counter("statistics.aggregation.failed").increment(deltas.size());
+            deltas.forEach((key, delta) ->
+                counters.computeIfAbsent(key, k -> new StripedCounter()).restore(delta));
+        }
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+}
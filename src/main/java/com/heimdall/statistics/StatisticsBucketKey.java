@@ -0,0 +1,41 @@
+package com.heimdall.statistics;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * log_statistics 유니크 키와 동일한 집계 버킷 키
+ * (date, hour, service_name, environment, severity)
+ */
+public record StatisticsBucketKey(
+    LocalDate date,
+    short hour,
+    String serviceName,
+    String environment,
+    String severity
+) {
+    
+    static final String UNKNOWN = "unknown";
+    
+    /**
+     * NULL은 유니크 제약에서 서로 다른 값으로 취급되어 upsert가 동작하지 않으므로 unknown으로 정규화
+     */
+    public static StatisticsBucketKey of(
+        LocalDateTime timestamp,
+        String serviceName,
+        String environment,
+        String severity
+    ) {
+        return new StatisticsBucketKey(
+            timestamp.toLocalDate(),
+            (short) timestamp.getHour(),
+            serviceName != null ? serviceName : UNKNOWN,
+            environment != null ? environment : UNKNOWN,
+            severity
+        );
+    }
+    
+    public LocalDateTime bucketStart() {
+        return date.atTime(hour, 0);
+    }
+}
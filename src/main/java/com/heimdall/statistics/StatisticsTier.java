@@ -0,0 +1,40 @@
+package com.heimdall.statistics;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * 통계 저장 티어
+ * 분 단위는 최근 하루, 시간 단위는 30일, 일 단위는 그 이후를 보관한다.
+ */
+public enum StatisticsTier {
+    MINUTE(ChronoUnit.MINUTES),
+    HOUR(ChronoUnit.HOURS),
+    DAY(ChronoUnit.DAYS);
+    
+    private final ChronoUnit unit;
+    
+    StatisticsTier(ChronoUnit unit) {
+        this.unit = unit;
+    }
+    
+    public Duration getGranularity() {
+        return unit.getDuration();
+    }
+    
+    /**
+     * 이 티어의 버킷 시작 시각으로 내림
+     */
+    public LocalDateTime truncate(LocalDateTime timestamp) {
+        return timestamp.truncatedTo(unit);
+    }
+    
+    /**
+     * 요청 해상도를 정확히 나눌 수 있는지 여부
+     */
+    public boolean divides(Duration resolution) {
+        return resolution.compareTo(getGranularity()) >= 0
+            && resolution.toMillis() % getGranularity().toMillis() == 0;
+    }
+}
@@ -0,0 +1,118 @@
+package com.heimdall.statistics;
+
+import com.heimdall.statistics.sketch.DDSketch;
+import com.heimdall.statistics.sketch.HyperLogLog;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 스레드별로 분산된 버킷 카운터 (건수 + 누적 바이트 + 크기 분포 스케치 + log_hash HLL)
+ * 건수/바이트는 캐시 라인 단위로 떨어뜨린 lock-free stripe에 누적하고,
+ * drain 시 stripe별 getAndSet(0)으로 원자적으로 회수하므로 증가분이 유실되지 않는다.
+ * 스케치는 stripe 단위 잠금만 사용하므로 같은 버킷에 대한 경합이 분산된다.
+ * retire 이후에는 add가 거절되므로, 맵에서 제거된 카운터에 늦게 도착한 증가분은 호출자가 새 카운터에 다시 기록한다.
+ */
+public class StripedCounter {
+    
+    private static final int PADDING = 8; // 64바이트 / long
+    private static final int STRIPES = stripeCount();
+    private static final int MASK = STRIPES - 1;
+    
+    private final AtomicLongArray counts = new AtomicLongArray(STRIPES * PADDING);
+    private final AtomicLongArray bytes = new AtomicLongArray(STRIPES * PADDING);
+    private final DDSketch[] sketches = new DDSketch[STRIPES];
+    private final HyperLogLog[] hashSketches = new HyperLogLog[STRIPES];
+    private final AtomicLongArray writers = new AtomicLongArray(STRIPES * PADDING);
+    private volatile boolean retired;
+    
+    public StripedCounter() {
+        for (int i = 0; i < STRIPES; i++) {
+            sketches[i] = new DDSketch();
+            hashSketches[i] = new HyperLogLog();
+        }
+    }
+    
+    /**
+     * 증가분 누적
+     * @return retire된 카운터면 false (누적하지 않음)
+     */
+    public boolean add(long sizeBytes, long logHash) {
+        int stripe = System.identityHashCode(Thread.currentThread()) & MASK;
+        // 진행 중인 writer를 먼저 표시한 뒤 retired를 확인하므로, retire는 통과한 writer가 끝날 때까지 기다린다
+        writers.incrementAndGet(stripe * PADDING);
+        try {
+            if (retired) {
+                return false;
+            }
+            counts.incrementAndGet(stripe * PADDING);
+            bytes.addAndGet(stripe * PADDING, sizeBytes);
+            
+            DDSketch sketch = sketches[stripe];
+            synchronized (sketch) {
+                sketch.add(sizeBytes);
+                hashSketches[stripe].addHash(logHash);
+            }
+            return true;
+        } finally {
+            writers.decrementAndGet(stripe * PADDING);
+        }
+    }
+    
+    /**
+     * flush 실패 시 회수했던 값을 되돌림
+     */
+    public void restore(BucketDelta delta) {
+        counts.addAndGet(0, delta.count());
+        bytes.addAndGet(0, delta.bytes());
+        
+        DDSketch sketch = sketches[0];
+        synchronized (sketch) {
+            sketch.merge(delta.sizeSketch());
+            hashSketches[0].merge(delta.hashSketch());
+        }
+    }
+    
+    /**
+     * 누적값을 회수하고 초기화
+     */
+    public BucketDelta drain() {
+        long count = 0;
+        long totalBytes = 0;
+        DDSketch merged = new DDSketch();
+        HyperLogLog mergedHashes = new HyperLogLog();
+        
+        for (int i = 0; i < STRIPES; i++) {
+            count += counts.getAndSet(i * PADDING, 0);
+            totalBytes += bytes.getAndSet(i * PADDING, 0);
+            
+            DDSketch sketch = sketches[i];
+            synchronized (sketch) {
+                merged.merge(sketch);
+                sketch.clear();
+                mergedHashes.merge(hashSketches[i]);
+                hashSketches[i].clear();
+            }
+        }
+        return new BucketDelta(count, totalBytes, merged, mergedHashes);
+    }
+    
+    /**
+     * 이후의 add를 거절하고, 이미 진행 중인 add가 끝나기를 기다린 뒤 남은 누적값을 회수
+     * 맵에서 제거한 다음 호출해야 거절된 writer가 새 카운터를 만들 수 있다.
+     */
+    public BucketDelta retire() {
+        retired = true;
+        for (int i = 0; i < STRIPES; i++) {
+            while (writers.get(i * PADDING) > 0) {
+                Thread.onSpinWait();
+            }
+        }
+        return drain();
+    }
+    
+    private static int stripeCount() {
+        int processors = Runtime.getRuntime().availableProcessors();
+        int stripes = Integer.highestOneBit(Math.max(1, Math.min(processors, 16)) * 2 - 1);
+        return Math.max(stripes, 1);
+    }
+}
@@ -0,0 +1,202 @@
+package com.heimdall.statistics.sketch;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * 로그 크기 분포용 DDSketch (상대 오차 보장 quantile 스케치)
+ * 값 x는 ceil(log_gamma(x)) 인덱스의 bin에 누적되며, 모든 quantile은 상대 오차 1% 이내로 추정된다.
+ * 같은 정확도 설정끼리 bin을 더하는 것만으로 병합되므로 시간/서비스 단위로 자유롭게 합칠 수 있다.
+ * 
+ * 스레드 안전하지 않으므로 호출자가 동기화해야 한다.
+ */
+public class DDSketch {
+    
+    public static final double RELATIVE_ACCURACY = 0.01;
+    
+    private static final byte FORMAT_VERSION = 1;
+    private static final double GAMMA = (1 + RELATIVE_ACCURACY) / (1 - RELATIVE_ACCURACY);
+    private static final double MULTIPLIER = 1 / Math.log(GAMMA);
+    
+    private long[] bins = new long[0];
+    private int offset; // bins[0]의 인덱스
+    private long zeroCount;
+    private long count;
+    private long sum;
+    private long min = Long.MAX_VALUE;
+    private long max = Long.MIN_VALUE;
+    
+    public void add(long value) {
+        if (value <= 0) {
+            zeroCount++;
+            value = 0;
+        } else {
+            int index = (int) Math.ceil(Math.log(value) * MULTIPLIER);
+            ensureCapacity(index, index);
+            bins[index - offset]++;
+        }
+        
+        count++;
+        sum += value;
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+    }
+    
+    public void merge(DDSketch other) {
+        if (other == null || other.count == 0) {
+            return;
+        }
+        
+        if (other.bins.length > 0) {
+            ensureCapacity(other.offset, other.offset + other.bins.length - 1);
+            for (int i = 0; i < other.bins.length; i++) {
+                bins[other.offset + i - offset] += other.bins[i];
+            }
+        }
+        
+        zeroCount += other.zeroCount;
+        count += other.count;
+        sum += other.sum;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+    }
+    
+    /**
+     * quantile 추정값 (0 <= q <= 1)
+     */
+    public long quantile(double q) {
+        if (count == 0) {
+            return 0;
+        }
+        if (q <= 0) {
+            return min;
+        }
+        if (q >= 1) {
+            return max;
+        }
+        
+        long rank = (long) Math.floor(q * (count - 1));
+        long seen = zeroCount;
+        if (rank < seen) {
+            return 0;
+        }
+        
+        for (int i = 0; i < bins.length; i++) {
+            seen += bins[i];
+            if (rank < seen) {
+                double estimate = 2 * Math.pow(GAMMA, offset + i) / (GAMMA + 1);
+                return Math.max(min, Math.min(max, Math.round(estimate)));
+            }
+        }
+        return max;
+    }
+    
+    public void clear() {
+        bins = new long[0];
+        offset = 0;
+        zeroCount = 0;
+        count = 0;
+        sum = 0;
+        min = Long.MAX_VALUE;
+        max = Long.MIN_VALUE;
+    }
+    
+    public long getCount() {
+        return count;
+    }
+    
+    public long getSum() {
+        return sum;
+    }
+    
+    public long getMax() {
+        return count == 0 ? 0 : max;
+    }
+    
+    public long getAverage() {
+        return count == 0 ? 0 : sum / count;
+    }
+    
+    /**
+     * 0이 아닌 bin만 (인덱스 차분, 건수) 쌍으로 기록하는 압축 직렬화
+     */
+    public byte[] toBytes() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(32);
+        out.write(FORMAT_VERSION);
+        VarInts.writeVarLong(out, count);
+        VarInts.writeVarLong(out, sum);
+        VarInts.writeVarLong(out, count == 0 ? 0 : min);
+        VarInts.writeVarLong(out, count == 0 ? 0 : max);
+        VarInts.writeVarLong(out, zeroCount);
+        
+        int nonEmpty = 0;
+        for (long bin : bins) {
+            if (bin != 0) {
+                nonEmpty++;
+            }
+        }
+        VarInts.writeVarLong(out, nonEmpty);
+        
+        int previous = 0;
+        for (int i = 0; i < bins.length; i++) {
+            if (bins[i] != 0) {
+                int index = offset + i;
+                VarInts.writeZigZag(out, index - previous);
+                VarInts.writeVarLong(out, bins[i]);
+                previous = index;
+            }
+        }
+        return out.toByteArray();
+    }
+    
+    public static DDSketch fromBytes(byte[] bytes) {
+        DDSketch sketch = new DDSketch();
+        if (bytes == null || bytes.length == 0) {
+            return sketch;
+        }
+        
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        byte version = buffer.get();
+        if (version != FORMAT_VERSION) {
+            throw new IllegalArgumentException("Unsupported sketch version: " + version);
+        }
+        
+        sketch.count = VarInts.readVarLong(buffer);
+        sketch.sum = VarInts.readVarLong(buffer);
+        long min = VarInts.readVarLong(buffer);
+        long max = VarInts.readVarLong(buffer);
+        sketch.min = sketch.count == 0 ? Long.MAX_VALUE : min;
+        sketch.max = sketch.count == 0 ? Long.MIN_VALUE : max;
+        sketch.zeroCount = VarInts.readVarLong(buffer);
+        
+        int nonEmpty = (int) VarInts.readVarLong(buffer);
+        int index = 0;
+        for (int i = 0; i < nonEmpty; i++) {
+            index += (int) VarInts.readZigZag(buffer);
+            long binCount = VarInts.readVarLong(buffer);
+            sketch.ensureCapacity(index, index);
+            sketch.bins[index - sketch.offset] += binCount;
+        }
+        return sketch;
+    }
+    
+    private void ensureCapacity(int minIndex, int maxIndex) {
+        if (bins.length == 0) {
+            offset = minIndex;
+            bins = new long[maxIndex - minIndex + 1];
+            return;
+        }
+        
+        int currentMax = offset + bins.length - 1;
+        if (minIndex >= offset && maxIndex <= currentMax) {
+            return;
+        }
+        
+        int newOffset = Math.min(offset, minIndex);
+        int newMax = Math.max(currentMax, maxIndex);
+        long[] grown = new long[newMax - newOffset + 1];
+        System.arraycopy(bins, 0, grown, offset - newOffset, bins.length);
+        bins = grown;
+        offset = newOffset;
+    }
+}
@@ -0,0 +1,168 @@
+package com.heimdall.statistics.sketch;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * 고유 값 개수 추정용 HyperLogLog (precision 12, 레지스터 4096개, 표준 오차 약 1.6%)
+ * 레지스터별 최댓값만으로 병합되므로 시간/서비스/심각도 단위로 자유롭게 합집합을 구할 수 있다.
+ * 레지스터 배열은 첫 값이 들어올 때 할당하고 clear 시 해제한다.
+ * 
+ * 스레드 안전하지 않으므로 호출자가 동기화해야 한다.
+ */
+public class HyperLogLog {
+    
+    public static final int PRECISION = 12;
+    
+    private static final byte FORMAT_VERSION = 1;
+    private static final byte ENCODING_SPARSE = 0;
+    private static final byte ENCODING_DENSE = 1;
+    private static final int REGISTER_COUNT = 1 << PRECISION;
+    private static final double ALPHA_M2 = 0.7213 / (1 + 1.079 / REGISTER_COUNT) * REGISTER_COUNT * REGISTER_COUNT;
+    
+    private byte[] registers;
+    
+    /**
+     * log_hash(SHA-256 16진수)의 앞 64비트를 해시로 사용하고, 그 외 문자열은 64비트 믹싱으로 해시
+     */
+    public static long hashOf(String value) {
+        if (value == null) {
+            return 0;
+        }
+        if (value.length() >= 16) {
+            try {
+                return Long.parseUnsignedLong(value.substring(0, 16), 16);
+            } catch (NumberFormatException ignored) {
+                // 16진수가 아니면 아래 믹싱 해시 사용
+            }
+        }
+        long h = value.hashCode() * 0x9E3779B97F4A7C15L;
+        h ^= h >>> 32;
+        h *= 0xD6E8FEB86659FD93L;
+        return h ^ (h >>> 32);
+    }
+    
+    public void addHash(long hash) {
+        if (registers == null) {
+            registers = new byte[REGISTER_COUNT];
+        }
+        
+        int index = (int) (hash >>> (64 - PRECISION));
+        // 남은 비트의 선행 0 개수 + 1 (최솟값 보장을 위해 끝에 1 비트를 둔다)
+        byte rank = (byte) (Long.numberOfLeadingZeros((hash << PRECISION) | (1L << (PRECISION - 1))) + 1);
+        if (registers[index] < rank) {
+            registers[index] = rank;
+        }
+    }
+    
+    public void merge(HyperLogLog other) {
+        if (other == null || other.registers == null) {
+            return;
+        }
+        if (registers == null) {
+            registers = other.registers.clone();
+            return;
+        }
+        for (int i = 0; i < REGISTER_COUNT; i++) {
+            if (registers[i] < other.registers[i]) {
+                registers[i] = other.registers[i];
+            }
+        }
+    }
+    
+    public long estimate() {
+        if (registers == null) {
+            return 0;
+        }
+        
+        double sum = 0;
+        int zeros = 0;
+        for (byte register : registers) {
+            sum += 1.0 / (1L << register);
+            if (register == 0) {
+                zeros++;
+            }
+        }
+        
+        double estimate = ALPHA_M2 / sum;
+        // 작은 범위는 linear counting으로 보정
+        if (estimate <= 2.5 * REGISTER_COUNT && zeros > 0) {
+            estimate = REGISTER_COUNT * Math.log((double) REGISTER_COUNT / zeros);
+        }
+        return Math.round(estimate);
+    }
+    
+    public boolean isEmpty() {
+        return registers == null;
+    }
+    
+    public void clear() {
+        registers = null;
+    }
+    
+    /**
+     * 0이 아닌 레지스터가 적으면 (인덱스 차분, 값) 쌍으로, 많으면 레지스터 배열 그대로 직렬화
+     */
+    public byte[] toBytes() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(64);
+        out.write(FORMAT_VERSION);
+        
+        int nonZero = 0;
+        if (registers != null) {
+            for (byte register : registers) {
+                if (register != 0) {
+                    nonZero++;
+                }
+            }
+        }
+        
+        // 희소 표현은 레지스터당 최대 3바이트
+        if (nonZero * 3 < REGISTER_COUNT) {
+            out.write(ENCODING_SPARSE);
+            VarInts.writeVarLong(out, nonZero);
+            int previous = 0;
+            for (int i = 0; nonZero > 0 && i < REGISTER_COUNT; i++) {
+                if (registers[i] != 0) {
+                    VarInts.writeVarLong(out, i - previous);
+                    out.write(registers[i]);
+                    previous = i;
+                }
+            }
+        } else {
+            out.write(ENCODING_DENSE);
+            out.write(registers, 0, REGISTER_COUNT);
+        }
+        return out.toByteArray();
+    }
+    
+    public static HyperLogLog fromBytes(byte[] bytes) {
+        HyperLogLog hll = new HyperLogLog();
+        if (bytes == null || bytes.length == 0) {
+            return hll;
+        }
+        
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        byte version = buffer.get();
+        if (version != FORMAT_VERSION) {
+            throw new IllegalArgumentException("Unsupported sketch version: " + version);
+        }
+        
+        byte encoding = buffer.get();
+        if (encoding == ENCODING_DENSE) {
+            hll.registers = new byte[REGISTER_COUNT];
+            buffer.get(hll.registers);
+            return hll;
+        }
+        
+        int nonZero = (int) VarInts.readVarLong(buffer);
+        if (nonZero > 0) {
+            hll.registers = new byte[REGISTER_COUNT];
+            int index = 0;
+            for (int i = 0; i < nonZero; i++) {
+                index += (int) VarInts.readVarLong(buffer);
+                hll.registers[index] = buffer.get();
+            }
+        }
+        return hll;
+    }
+}
@@ -0,0 +1,46 @@
+package com.heimdall.statistics.sketch;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * 스케치 직렬화용 가변 길이 정수 인코딩 (LEB128)
+ */
+final class VarInts {
+    
+    private VarInts() {
+    }
+    
+    static void writeVarLong(ByteArrayOutputStream out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+    
+    static long readVarLong(ByteBuffer buffer) {
+        long result = 0;
+        int shift = 0;
+        while (true) {
+            byte b = buffer.get();
+            result |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return result;
+            }
+            shift += 7;
+            if (shift > 63) {
+                throw new IllegalArgumentException("Malformed varint");
+            }
+        }
+    }
+    
+    static void writeZigZag(ByteArrayOutputStream out, long value) {
+        writeVarLong(out, (value << 1) ^ (value >> 63));
+    }
+    
+    static long readZigZag(ByteBuffer buffer) {
+        long raw = readVarLong(buffer);
+        return (raw >>> 1) ^ -(raw & 1);
+    }
+}
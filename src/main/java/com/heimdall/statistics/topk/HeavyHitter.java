@@ -0,0 +1,12 @@
+package com.heimdall.statistics.topk;
+
+/**
+ * Space-Saving 추정 결과
+ * count는 실제 빈도의 상한이며, count - error는 실제 빈도의 하한이다.
+ */
+public record HeavyHitter(String key, long count, long error) {
+    
+    public long guaranteedCount() {
+        return count - error;
+    }
+}
@@ -0,0 +1,164 @@
+package com.heimdall.statistics.topk;
+
+import com.heimdall.entity.LogEntry;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * 실시간 heavy hitter 추적기
+ * 수집 시각 기준 고정 길이 윈도우마다 서비스별, 로그 템플릿별 Space-Saving 요약을 유지한다.
+ * 윈도우당 메모리는 capacity로 고정되며, 보관 윈도우 수를 넘으면 가장 오래된 윈도우부터 버린다.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class HeavyHitterTracker {
+    
+    public enum Dimension {
+        SERVICE,
+        TEMPLATE
+    }
+    
+    private final MeterRegistry meterRegistry;
+    
+    private final ConcurrentNavigableMap<Long, Window> windows = new ConcurrentSkipListMap<>();
+    
+    @Value("${heimdall.statistics.heavy-hitters.enabled:true}")
+    private boolean enabled;
+    
+    @Value("${heimdall.statistics.heavy-hitters.capacity:200}")
+    private int capacity;
+    
+    @Value("${heimdall.statistics.heavy-hitters.window-seconds:60}")
+    private long windowSeconds;
+    
+    @Value("${heimdall.statistics.heavy-hitters.retained-windows:60}")
+    private int retainedWindows;
+    
+    @Value("${heimdall.statistics.heavy-hitters.template-max-length:200}")
+    private int templateMaxLength;
+    
+    @PostConstruct
+    public void registerMetrics() {
+        meterRegistry.gaugeMapSize("statistics.heavy_hitters.windows", List.of(), windows);
+    }
+    
+    public boolean isEnabled() {
+        return enabled;
+    }
+    
+    public long getWindowSeconds() {
+        return windowSeconds;
+    }
+    
+    public int getCapacity() {
+        return capacity;
+    }
+    
+    public int getRetainedWindows() {
+        return retainedWindows;
+    }
+    
+    public void record(LogEntry logEntry) {
+        if (!enabled) {
+            return;
+        }
+        
+        Window window = currentWindow(System.currentTimeMillis());
+        window.services.offer(logEntry.getServiceName() != null ? logEntry.getServiceName() : "unknown");
+        window.templates.offer(LogTemplates.normalize(logEntry.getLogContent(), templateMaxLength));
+    }
+    
+    /**
+     * 최근 windowCount개 윈도우(진행 중인 윈도우 포함)를 합산한 상위 limit개
+     * 윈도우에 없는 키는 그 윈도우의 최소 카운터만큼 오차로 더한다.
+     */
+    public Snapshot top(Dimension dimension, int windowCount, int limit) {
+        long now = System.currentTimeMillis();
+        long windowMillis = windowSeconds * 1000;
+        long currentStart = Math.floorDiv(now, windowMillis) * windowMillis;
+        long fromStart = currentStart - (long) (Math.max(windowCount, 1) - 1) * windowMillis;
+        
+        List<Window> selected = new ArrayList<>(windows.tailMap(fromStart, true).values());
+        
+        Map<String, long[]> merged = new HashMap<>();
+        long total = 0;
+        long missingErrorSum = 0;
+        
+        for (Window window : selected) {
+            SpaceSaving summary = window.summary(dimension);
+            total += summary.getTotal();
+            long minCount = summary.getMinCount();
+            missingErrorSum += minCount;
+            
+            for (HeavyHitter hitter : summary.top(summary.getCapacity())) {
+                long[] acc = merged.computeIfAbsent(hitter.key(), k -> new long[3]);
+                acc[0] += hitter.count();
+                acc[1] += hitter.error();
+                acc[2] += minCount;
+            }
+        }
+        
+        List<HeavyHitter> hitters = new ArrayList<>(merged.size());
+        for (Map.Entry<String, long[]> entry : merged.entrySet()) {
+            long[] acc = entry.getValue();
+            // 이 키가 빠진 윈도우에서의 빈도는 해당 윈도우의 최소 카운터 이하
+            long absentError = missingErrorSum - acc[2];
+            hitters.add(new HeavyHitter(entry.getKey(), acc[0] + absentError, acc[1] + absentError));
+        }
+        hitters.sort(Comparator.comparingLong(HeavyHitter::count).reversed()
+            .thenComparing(HeavyHitter::key));
+        
+        return new Snapshot(
+            selected.isEmpty() ? currentStart : fromStart,
+            currentStart + windowMillis,
+            total,
+            hitters.size() > limit ? hitters.subList(0, limit) : hitters
+        );
+    }
+    
+    private Window currentWindow(long nowMillis) {
+        long windowMillis = windowSeconds * 1000;
+        long start = Math.floorDiv(nowMillis, windowMillis) * windowMillis;
+        
+        Window window = windows.get(start);
+        if (window != null) {
+            return window;
+        }
+        
+        window = windows.computeIfAbsent(start, k -> new Window(capacity));
+        // 새 윈도우가 열릴 때만 오래된 윈도우 정리
+        windows.headMap(start - (long) (retainedWindows - 1) * windowMillis).clear();
+        return window;
+    }
+    
+    public record Snapshot(long fromMillis, long toMillis, long total, List<HeavyHitter> hitters) {
+    }
+    
+    private static final class Window {
+        
+        private final SpaceSaving services;
+        private final SpaceSaving templates;
+        
+        private Window(int capacity) {
+            this.services = new SpaceSaving(capacity);
+            this.templates = new SpaceSaving(capacity);
+        }
+        
+        private SpaceSaving summary(Dimension dimension) {
+            return dimension == Dimension.SERVICE ? services : templates;
+        }
+    }
+}
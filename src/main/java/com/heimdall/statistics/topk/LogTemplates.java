@@ -0,0 +1,44 @@
+package com.heimdall.statistics.topk;
+
+import java.util.regex.Pattern;
+
+/**
+ * 로그 본문을 템플릿으로 정규화
+ * 요청마다 달라지는 값(UUID, IP, 16진수, 숫자, 따옴표 문자열)을 자리표시자로 바꿔
+ * 같은 코드 위치에서 나온 로그가 같은 키로 집계되도록 한다.
+ */
+public final class LogTemplates {
+    
+    private static final Pattern UUID = Pattern.compile(
+        "\\b[0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12}\\b");
+    private static final Pattern IP = Pattern.compile("\\b\\d{1,3}(?:\\.\\d{1,3}){3}(?::\\d+)?\\b");
+    private static final Pattern HEX = Pattern.compile("\\b0x[0-9a-fA-F]+\\b|\\b[0-9a-fA-F]{16,}\\b");
+    private static final Pattern QUOTED = Pattern.compile("\"[^\"]*\"|'[^']*'");
+    private static final Pattern NUMBER = Pattern.compile("-?\\b\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    
+    private LogTemplates() {
+    }
+    
+    /**
+     * 첫 줄만 정규화하여 maxLength 이내로 자른다 (스택 트레이스 본문은 제외)
+     */
+    public static String normalize(String content, int maxLength) {
+        if (content == null || content.isEmpty()) {
+            return "";
+        }
+        
+        int newline = content.indexOf('\n');
+        int end = Math.min(newline >= 0 ? newline : content.length(), maxLength * 4);
+        String firstLine = content.substring(0, end);
+        
+        String template = UUID.matcher(firstLine).replaceAll("<uuid>");
+        template = IP.matcher(template).replaceAll("<ip>");
+        template = HEX.matcher(template).replaceAll("<hex>");
+        template = QUOTED.matcher(template).replaceAll("<str>");
+        template = NUMBER.matcher(template).replaceAll("<num>");
+        template = WHITESPACE.matcher(template).replaceAll(" ").trim();
+        
+        return template.length() > maxLength ? template.substring(0, maxLength) : template;
+    }
+}
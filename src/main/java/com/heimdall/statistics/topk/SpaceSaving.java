@@ -0,0 +1,145 @@
+package com.heimdall.statistics.topk;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Space-Saving top-K 요약 (Metwally et al.)
+ * 최대 capacity개의 카운터만 유지하며, 가득 찬 상태에서 새 키가 들어오면 최소 카운터를 넘겨받는다.
+ * 빈도가 total / capacity를 넘는 키는 반드시 요약에 남는다. 최소 카운터는 인덱스 힙으로 O(log k)에 찾는다.
+ */
+public class SpaceSaving {
+    
+    private static final Comparator<HeavyHitter> BY_COUNT_DESC = Comparator
+        .comparingLong(HeavyHitter::count)
+        .reversed()
+        .thenComparing(HeavyHitter::key);
+    
+    private final int capacity;
+    private final Map<String, Counter> counters;
+    private final Counter[] heap;
+    private int size;
+    private long total;
+    
+    public SpaceSaving(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive: " + capacity);
+        }
+        this.capacity = capacity;
+        this.counters = new HashMap<>(capacity * 2);
+        this.heap = new Counter[capacity];
+    }
+    
+    public synchronized void offer(String key) {
+        offer(key, 1);
+    }
+    
+    public synchronized void offer(String key, long weight) {
+        total += weight;
+        
+        Counter counter = counters.get(key);
+        if (counter != null) {
+            counter.count += weight;
+            siftDown(counter.index);
+            return;
+        }
+        
+        if (size < capacity) {
+            counter = new Counter(key, weight, 0, size);
+            heap[size++] = counter;
+            counters.put(key, counter);
+            siftUp(counter.index);
+            return;
+        }
+        
+        // 최소 카운터를 새 키에 넘겨주고, 넘겨받은 값만큼을 오차로 기록
+        Counter min = heap[0];
+        counters.remove(min.key);
+        min.key = key;
+        min.error = min.count;
+        min.count += weight;
+        counters.put(key, min);
+        siftDown(0);
+    }
+    
+    /**
+     * 추정 빈도 내림차순 상위 n개
+     */
+    public synchronized List<HeavyHitter> top(int n) {
+        List<HeavyHitter> result = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            result.add(new HeavyHitter(heap[i].key, heap[i].count, heap[i].error));
+        }
+        result.sort(BY_COUNT_DESC);
+        return result.size() > n ? new ArrayList<>(result.subList(0, n)) : result;
+    }
+    
+    /**
+     * 요약에 없는 키의 실제 빈도 상한 (요약이 가득 차지 않았으면 0)
+     */
+    public synchronized long getMinCount() {
+        return size < capacity ? 0 : heap[0].count;
+    }
+    
+    public synchronized long getTotal() {
+        return total;
+    }
+    
+    public int getCapacity() {
+        return capacity;
+    }
+    
+    private void siftUp(int index) {
+        Counter counter = heap[index];
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (heap[parent].count <= counter.count) {
+                break;
+            }
+            place(heap[parent], index);
+            index = parent;
+        }
+        place(counter, index);
+    }
+    
+    private void siftDown(int index) {
+        Counter counter = heap[index];
+        int half = size >>> 1;
+        while (index < half) {
+            int child = 2 * index + 1;
+            int right = child + 1;
+            if (right < size && heap[right].count < heap[child].count) {
+                child = right;
+            }
+            if (counter.count <= heap[child].count) {
+                break;
+            }
+            place(heap[child], index);
+            index = child;
+        }
+        place(counter, index);
+    }
+    
+    private void place(Counter counter, int index) {
+        heap[index] = counter;
+        counter.index = index;
+    }
+    
+    private static final class Counter {
+        
+        private String key;
+        private long count;
+        private long error;
+        private int index;
+        
+        private Counter(String key, long count, long error, int index) {
+            this.key = key;
+            this.count = count;
+            this.error = error;
+            this.index = index;
+        }
+    }
+}
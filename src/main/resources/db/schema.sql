@@ -28,6 +28,7 @@ CREATE TABLE IF NOT EXISTS analysis_results (
     bifrost_analysis_id BIGINT,
     request_id VARCHAR(36) UNIQUE NOT NULL,
     correlation_id VARCHAR(36),
+    fingerprint VARCHAR(64),
     summary TEXT,
     root_cause TEXT,
     recommendation TEXT,
@@ -44,6 +45,67 @@ CREATE INDEX IF NOT EXISTS idx_analysis_results_log_id ON analysis_results(log_i
 CREATE INDEX IF NOT EXISTS idx_analysis_results_analyzed_at ON analysis_results(analyzed_at DESC);
 CREATE INDEX IF NOT EXISTS idx_analysis_results_severity ON analysis_results(severity);
 
+ALTER TABLE analysis_results ADD COLUMN IF NOT EXISTS fingerprint VARCHAR(64);
+CREATE INDEX IF NOT EXISTS idx_analysis_results_fingerprint ON analysis_results(fingerprint, analyzed_at DESC);
+
+-- Analysis Coalescing Tables (윈도우당 fingerprint별 리더 요청 1건)
+CREATE TABLE IF NOT EXISTS analysis_coalesce_groups (
+    request_id VARCHAR(36) PRIMARY KEY,
+    fingerprint VARCHAR(64) NOT NULL,
+    window_start TIMESTAMP NOT NULL,
+    leader_log_id BIGINT NOT NULL,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    UNIQUE(fingerprint, window_start)
+);
+
+CREATE INDEX IF NOT EXISTS idx_analysis_coalesce_groups_created_at ON analysis_coalesce_groups(created_at);
+
+CREATE TABLE IF NOT EXISTS analysis_coalesce_followers (
+    request_id VARCHAR(36) NOT NULL,
+    log_id BIGINT NOT NULL,
+    PRIMARY KEY (request_id, log_id)
+);
+
+-- In-flight Analysis Requests (결과 대기 중인 분석 요청, 재시작/장애 시 다른 인스턴스가 인계)
+CREATE TABLE IF NOT EXISTS analysis_inflight_requests (
+    request_id VARCHAR(36) PRIMARY KEY,
+    log_id BIGINT NOT NULL,
+    priority VARCHAR(20) NOT NULL,
+    owner VARCHAR(100) NOT NULL,
+    attempts INTEGER NOT NULL DEFAULT 1,
+    payload TEXT NOT NULL,
+    requested_at TIMESTAMP NOT NULL,
+    deadline_at TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_analysis_inflight_requests_updated_at ON analysis_inflight_requests(updated_at);
+
+-- In-flight 요청 소유 인스턴스 heartbeat (갱신이 끊긴 인스턴스의 요청만 인계)
+CREATE TABLE IF NOT EXISTS analysis_inflight_owners (
+    owner VARCHAR(100) PRIMARY KEY,
+    heartbeat_at TIMESTAMP NOT NULL
+);
+
+-- Outbox Events (트랜잭션과 함께 기록 후 relay가 Kafka로 발행)
+CREATE TABLE IF NOT EXISTS outbox_events (
+    id BIGSERIAL PRIMARY KEY,
+    event_type VARCHAR(50) NOT NULL,
+    topic VARCHAR(200) NOT NULL,
+    message_key VARCHAR(200),
+    payload TEXT NOT NULL,
+    attempts INTEGER NOT NULL DEFAULT 0,
+    lease_owner VARCHAR(100),
+    lease_until TIMESTAMP,
+    created_at TIMESTAMP NOT NULL,
+    parked_at TIMESTAMP
+);
+
+ALTER TABLE outbox_events ADD COLUMN IF NOT EXISTS parked_at TIMESTAMP;
+
+CREATE INDEX IF NOT EXISTS idx_outbox_events_lease_until ON outbox_events(lease_until, id);
+CREATE INDEX IF NOT EXISTS idx_outbox_events_parked_at ON outbox_events(parked_at) WHERE parked_at IS NOT NULL;
+
 -- Log Statistics Table
 CREATE TABLE IF NOT EXISTS log_statistics (
     id BIGSERIAL PRIMARY KEY,
@@ -54,13 +116,47 @@ CREATE TABLE IF NOT EXISTS log_statistics (
     severity VARCHAR(20),
     count INTEGER NOT NULL DEFAULT 0,
     avg_size_bytes INTEGER,
+    size_sketch BYTEA,
+    distinct_sketch BYTEA,
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     UNIQUE(date, hour, service_name, environment, severity)
 );
 
+ALTER TABLE log_statistics ADD COLUMN IF NOT EXISTS size_sketch BYTEA;
+ALTER TABLE log_statistics ADD COLUMN IF NOT EXISTS distinct_sketch BYTEA;
+
 -- Indexes for log_statistics
 CREATE INDEX IF NOT EXISTS idx_log_statistics_date_hour ON log_statistics(date, hour);
 
+-- Minute-level Log Statistics Table (최근 1일 보관)
+CREATE TABLE IF NOT EXISTS log_statistics_minute (
+    id BIGSERIAL PRIMARY KEY,
+    bucket_start TIMESTAMP NOT NULL,
+    service_name VARCHAR(100) NOT NULL,
+    environment VARCHAR(50) NOT NULL,
+    severity VARCHAR(20) NOT NULL,
+    count INTEGER NOT NULL DEFAULT 0,
+    size_bytes BIGINT NOT NULL DEFAULT 0,
+    UNIQUE(bucket_start, service_name, environment, severity)
+);
+
+CREATE INDEX IF NOT EXISTS idx_log_statistics_minute_bucket_start ON log_statistics_minute(bucket_start);
+
+-- Daily Log Statistics Table (시간 단위 통계 롤업)
+CREATE TABLE IF NOT EXISTS log_statistics_daily (
+    id BIGSERIAL PRIMARY KEY,
+    date DATE NOT NULL,
+    service_name VARCHAR(100) NOT NULL,
+    environment VARCHAR(50) NOT NULL,
+    severity VARCHAR(20) NOT NULL,
+    count BIGINT NOT NULL DEFAULT 0,
+    avg_size_bytes INTEGER,
+    size_sketch BYTEA,
+    distinct_sketch BYTEA,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    UNIQUE(date, service_name, environment, severity)
+);
+
 -- Notifications Table
 CREATE TABLE IF NOT EXISTS notifications (
     id BIGSERIAL PRIMARY KEY,
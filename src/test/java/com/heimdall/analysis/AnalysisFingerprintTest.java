@@ -0,0 +1,40 @@
+package com.heimdall.analysis;
+
+import com.heimdall.entity.LogEntry;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * 분석 fingerprint 단위 테스트
+ */
+class AnalysisFingerprintTest {
+
+    @Test
+    void testVariableValuesDoNotChangeFingerprint() {
+        String first = AnalysisFingerprint.of(logEntry("prod", LogEntry.SeverityLevel.ERROR, "timeout after 3000 ms"));
+        String second = AnalysisFingerprint.of(logEntry("prod", LogEntry.SeverityLevel.ERROR, "timeout after 5000 ms"));
+
+        assertThat(first).isEqualTo(second);
+    }
+
+    @Test
+    void testEnvironmentAndSeverityAreSeparated() {
+        String prodError = AnalysisFingerprint.of(logEntry("prod", LogEntry.SeverityLevel.ERROR, "timeout"));
+
+        // 같은 템플릿이어도 환경/심각도가 다르면 캐시된 결과를 공유하지 않는다
+        assertThat(AnalysisFingerprint.of(logEntry("staging", LogEntry.SeverityLevel.ERROR, "timeout")))
+            .isNotEqualTo(prodError);
+        assertThat(AnalysisFingerprint.of(logEntry("prod", LogEntry.SeverityLevel.FATAL, "timeout")))
+            .isNotEqualTo(prodError);
+    }
+
+    private LogEntry logEntry(String environment, LogEntry.SeverityLevel severity, String content) {
+        LogEntry logEntry = new LogEntry();
+        logEntry.setServiceName("checkout");
+        logEntry.setEnvironment(environment);
+        logEntry.setSeverity(severity);
+        logEntry.setLogContent(content);
+        return logEntry;
+    }
+}
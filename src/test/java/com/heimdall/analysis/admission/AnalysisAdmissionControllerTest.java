@@ -0,0 +1,74 @@
+package com.heimdall.analysis.admission;
+
+import com.heimdall.entity.LogEntry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * AI 분석 admission control 단위 테스트
+ */
+class AnalysisAdmissionControllerTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void testFatalBypassesExhaustedServiceBudget() {
+        AnalysisAdmissionController controller = controller(1, 100, 300, 1000);
+
+        assertThat(controller.admit(logEntry("checkout", LogEntry.SeverityLevel.ERROR))).isTrue();
+        assertThat(controller.admit(logEntry("checkout", LogEntry.SeverityLevel.ERROR))).isFalse();
+        assertThat(controller.admit(logEntry("checkout", LogEntry.SeverityLevel.FATAL))).isTrue();
+    }
+
+    @Test
+    void testRejectedRequestDoesNotConsumeEarlierBudgets() {
+        // 전역 5건 중 1건은 FATAL 예비분, 윈도우는 ERROR 이하에 1건만 허용
+        AnalysisAdmissionController controller = controller(100, 5, 2, 1000);
+
+        assertThat(controller.admit(logEntry("checkout", LogEntry.SeverityLevel.ERROR))).isTrue();
+        assertThat(controller.admit(logEntry("checkout", LogEntry.SeverityLevel.ERROR))).isFalse();
+
+        assertThat(meterRegistry.get("analysis.admission.global.available").gauge().value()).isEqualTo(4.0);
+        assertThat(meterRegistry.get("analysis.admission.total")
+            .tag("reason", "window_cap").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void testServiceLimitersAreBounded() {
+        AnalysisAdmissionController controller = controller(10, 100, 300, 2);
+
+        for (int i = 0; i < 5; i++) {
+            controller.admit(logEntry("service-" + i, LogEntry.SeverityLevel.ERROR));
+        }
+
+        Map<?, ?> limiters = (Map<?, ?>) ReflectionTestUtils.getField(controller, "serviceLimiters");
+        assertThat(limiters).hasSize(2).containsOnlyKeys("service-3", "service-4");
+    }
+
+    private AnalysisAdmissionController controller(int serviceLimit, int globalLimit, long windowCap,
+                                                   int maxTrackedServices) {
+        AnalysisAdmissionController controller = new AnalysisAdmissionController(meterRegistry);
+        ReflectionTestUtils.setField(controller, "enabled", true);
+        ReflectionTestUtils.setField(controller, "serviceLimit", serviceLimit);
+        ReflectionTestUtils.setField(controller, "globalLimit", globalLimit);
+        ReflectionTestUtils.setField(controller, "refreshPeriodSeconds", 3600L);
+        ReflectionTestUtils.setField(controller, "windowSeconds", 300);
+        ReflectionTestUtils.setField(controller, "windowCap", windowCap);
+        ReflectionTestUtils.setField(controller, "fatalReserveRatio", 0.2);
+        ReflectionTestUtils.setField(controller, "maxTrackedServices", maxTrackedServices);
+        controller.init();
+        return controller;
+    }
+
+    private LogEntry logEntry(String serviceName, LogEntry.SeverityLevel severity) {
+        LogEntry logEntry = new LogEntry();
+        logEntry.setServiceName(serviceName);
+        logEntry.setSeverity(severity);
+        return logEntry;
+    }
+}
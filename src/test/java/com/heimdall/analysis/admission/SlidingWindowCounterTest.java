@@ -0,0 +1,35 @@
+package com.heimdall.analysis.admission;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * 슬라이딩 윈도우 카운터 단위 테스트
+ */
+class SlidingWindowCounterTest {
+
+    @Test
+    void testRejectsAboveLimitWithinWindow() {
+        SlidingWindowCounter counter = new SlidingWindowCounter(10);
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(counter.tryAcquire(5, 1_000 + i * 100)).isTrue();
+        }
+        assertThat(counter.tryAcquire(5, 9_000)).isFalse();
+        assertThat(counter.getCount(9_000)).isEqualTo(5);
+    }
+
+    @Test
+    void testSlotsExpireAsWindowSlides() {
+        SlidingWindowCounter counter = new SlidingWindowCounter(10);
+        counter.tryAcquire(3, 0);
+        counter.tryAcquire(3, 0);
+        counter.tryAcquire(3, 5_000);
+
+        // 0초 슬롯 2건만 만료
+        assertThat(counter.getCount(10_000)).isEqualTo(1);
+        assertThat(counter.tryAcquire(3, 10_000)).isTrue();
+        assertThat(counter.getCount(60_000)).isZero();
+    }
+}
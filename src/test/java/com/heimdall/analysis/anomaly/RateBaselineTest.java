@@ -0,0 +1,101 @@
+package com.heimdall.analysis.anomaly;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * 발생률 기준선 단위 테스트
+ */
+class RateBaselineTest {
+
+    private static final long WINDOW_MILLIS = 60_000;
+
+    @Test
+    void testQuietServiceSpikesAfterMinimumDeviation() {
+        // Given: 평소 에러가 없는 서비스 (기준선 0, 최소 표준편차 1 → 상한 3건)
+        RateBaseline baseline = new RateBaseline(WINDOW_MILLIS, 1, 0.1, 0.02, 3.0, 0.0);
+
+        assertThat(baseline.record(0)).isEqualTo(AnomalySignal.NONE);
+        assertThat(baseline.record(1_000)).isEqualTo(AnomalySignal.NONE);
+        assertThat(baseline.record(2_000)).isEqualTo(AnomalySignal.NONE);
+        assertThat(baseline.record(3_000)).isEqualTo(AnomalySignal.SPIKE_START);
+        assertThat(baseline.record(3_500)).isEqualTo(AnomalySignal.IN_SPIKE);
+    }
+
+    @Test
+    void testSteadyRateBecomesBaselineAndSpikeIsDetected() {
+        // Given: 1초에 1건씩 30분간 유지되는 에러
+        RateBaseline baseline = new RateBaseline(WINDOW_MILLIS, 1, 0.1, 0.02, 3.0, 0.0);
+        long now = 0;
+        for (; now < 30 * 60_000; now += 1_000) {
+            baseline.record(now);
+        }
+
+        // Then: 평소 발생률에서는 급증 상태가 아님
+        assertThat(baseline.record(now)).isEqualTo(AnomalySignal.NONE);
+        assertThat(baseline.getExpected(now)).isCloseTo(60.0, within(5.0));
+
+        // When: 10초 동안 초당 20건
+        AnomalySignal last = AnomalySignal.NONE;
+        boolean started = false;
+        for (long t = now; t < now + 10_000; t += 50) {
+            last = baseline.record(t);
+            started |= last == AnomalySignal.SPIKE_START;
+        }
+
+        // Then
+        assertThat(started).isTrue();
+        assertThat(last).isEqualTo(AnomalySignal.IN_SPIKE);
+    }
+
+    @Test
+    void testSpikeEndsWhenRateReturnsToBaseline() {
+        RateBaseline baseline = new RateBaseline(WINDOW_MILLIS, 5, 0.1, 0.02, 3.0, 0.0);
+        for (int i = 0; i < 10; i++) {
+            baseline.record(i * 10);
+        }
+        assertThat(baseline.isInSpike()).isTrue();
+
+        // 윈도우가 비고 나면 급증 해제
+        assertThat(baseline.getWindowCount(5 * WINDOW_MILLIS)).isZero();
+        assertThat(baseline.isInSpike()).isFalse();
+    }
+
+    @Test
+    void testFirstOccurrenceOnQuietServiceIsIsolated() {
+        // Given: 기준선이 없는 서비스
+        RateBaseline baseline = new RateBaseline(WINDOW_MILLIS, 5, 0.1, 0.02, 3.0, 1.0);
+
+        // Then: 윈도우의 첫 에러만 단발성으로 알리고 같은 윈도우의 이후 발생은 알리지 않음
+        assertThat(baseline.record(0)).isEqualTo(AnomalySignal.ISOLATED);
+        assertThat(baseline.record(1_000)).isEqualTo(AnomalySignal.NONE);
+        assertThat(AnomalySignal.ISOLATED.isSpike()).isFalse();
+
+        // 윈도우가 비고 난 뒤 다시 발생하면 다시 알림
+        assertThat(baseline.record(3 * WINDOW_MILLIS)).isEqualTo(AnomalySignal.ISOLATED);
+    }
+
+    @Test
+    void testFirstOccurrenceAboveQuietFloorIsNotIsolated() {
+        // Given: 1초에 1건씩 30분간 유지되던 에러가 2분간 멈춤
+        RateBaseline baseline = new RateBaseline(WINDOW_MILLIS, 1, 0.1, 0.02, 3.0, 1.0);
+        long now = 0;
+        for (; now < 30 * 60_000; now += 1_000) {
+            baseline.record(now);
+        }
+        now += 2 * WINDOW_MILLIS;
+
+        // Then: 기준선이 바닥보다 높으므로 윈도우의 첫 발생이어도 알리지 않음
+        assertThat(baseline.record(now)).isEqualTo(AnomalySignal.NONE);
+        assertThat(baseline.getExpected(now)).isGreaterThan(1.0);
+    }
+
+    @Test
+    void testBelowThresholdIsNeverSpike() {
+        RateBaseline baseline = new RateBaseline(WINDOW_MILLIS, 10, 0.1, 0.02, 3.0, 0.0);
+        for (int i = 0; i < 9; i++) {
+            assertThat(baseline.record(i * 100)).isEqualTo(AnomalySignal.NONE);
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.heimdall.analysis.cache;
+
+import com.heimdall.entity.AnalysisResult;
+import com.heimdall.repository.AnalysisResultRepository;
+import com.heimdall.util.DateTimeUtil;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * fingerprint별 분석 결과 캐시 단위 테스트 (LRU 제거, TTL 만료, DB 조회 대체)
+ */
+class AnalysisResultCacheTest {
+
+    private final AnalysisResultRepository repository = mock(AnalysisResultRepository.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private AnalysisResultCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new AnalysisResultCache(repository, meterRegistry);
+        ReflectionTestUtils.setField(cache, "enabled", true);
+        ReflectionTestUtils.setField(cache, "ttlMinutes", 60L);
+        ReflectionTestUtils.setField(cache, "maxEntries", 2);
+        cache.init();
+        when(repository.findFirstByFingerprintAndAnalyzedAtAfterOrderByAnalyzedAtDesc(anyString(), any()))
+            .thenReturn(Optional.empty());
+    }
+
+    @Test
+    void testLeastRecentlyUsedEntryIsEvicted() {
+        LocalDateTime now = DateTimeUtil.now();
+        cache.put("fp-1", analysis(1L, now));
+        cache.put("fp-2", analysis(2L, now));
+
+        // fp-1을 조회해 최근 사용으로 만든 뒤 세 번째 항목 추가
+        assertThat(cache.lookup("fp-1")).isPresent();
+        cache.put("fp-3", analysis(3L, now));
+
+        assertThat(cache.lookup("fp-1")).isPresent();
+        assertThat(cache.lookup("fp-3")).isPresent();
+        assertThat(cache.lookup("fp-2")).isEmpty();
+        verify(repository).findFirstByFingerprintAndAnalyzedAtAfterOrderByAnalyzedAtDesc(eq("fp-2"), any());
+    }
+
+    @Test
+    void testExpiredEntryIsNotReturned() {
+        cache.put("fp-1", analysis(1L, DateTimeUtil.now().minusMinutes(61)));
+
+        assertThat(cache.lookup("fp-1")).isEmpty();
+        // 만료된 항목은 메모리에서 지우고 TTL 안의 결과만 DB에서 찾는다
+        verify(repository).findFirstByFingerprintAndAnalyzedAtAfterOrderByAnalyzedAtDesc(
+            eq("fp-1"), argThat(after -> after.isAfter(DateTimeUtil.now().minusMinutes(61))));
+    }
+
+    @Test
+    void testMissFallsBackToDatabaseAndCachesResult() {
+        AnalysisResult result = new AnalysisResult();
+        result.setId(7L);
+        result.setSummary("db pool exhausted");
+        result.setSeverity("HIGH");
+        result.setAnalyzedAt(DateTimeUtil.now().minusMinutes(5));
+        when(repository.findFirstByFingerprintAndAnalyzedAtAfterOrderByAnalyzedAtDesc(eq("fp-1"), any()))
+            .thenReturn(Optional.of(result));
+
+        assertThat(cache.lookup("fp-1")).map(CachedAnalysis::analysisId).contains(7L);
+        assertThat(cache.lookup("fp-1")).map(CachedAnalysis::summary).contains("db pool exhausted");
+
+        verify(repository, times(1)).findFirstByFingerprintAndAnalyzedAtAfterOrderByAnalyzedAtDesc(eq("fp-1"), any());
+        assertThat(meterRegistry.get("analysis.result_cache.requests").tag("source", "db").counter().count())
+            .isEqualTo(1.0);
+        assertThat(meterRegistry.get("analysis.result_cache.requests").tag("source", "memory").counter().count())
+            .isEqualTo(1.0);
+    }
+
+    @Test
+    void testOlderResultDoesNotReplaceNewerOne() {
+        LocalDateTime now = DateTimeUtil.now();
+        cache.put("fp-1", analysis(2L, now));
+        cache.put("fp-1", analysis(1L, now.minusMinutes(1)));
+
+        assertThat(cache.lookup("fp-1")).map(CachedAnalysis::analysisId).contains(2L);
+    }
+
+    @Test
+    void testDisabledCacheNeverHits() {
+        ReflectionTestUtils.setField(cache, "enabled", false);
+        cache.put("fp-1", analysis(1L, DateTimeUtil.now()));
+
+        assertThat(cache.lookup("fp-1")).isEmpty();
+        verifyNoInteractions(repository);
+    }
+
+    private CachedAnalysis analysis(Long id, LocalDateTime analyzedAt) {
+        return new CachedAnalysis(id, null, "summary", "root cause", "recommendation", "HIGH", null, "model", analyzedAt);
+    }
+}
@@ -0,0 +1,127 @@
+package com.heimdall.analysis.coalesce;
+
+import com.heimdall.entity.LogEntry;
+import com.heimdall.repository.AnalysisCoalescingRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * 중복 분석 요청 병합기 단위 테스트 (합류, 포기 시 승격, 그룹 폐기, 결과 fan-out)
+ */
+class AnalysisCoalescerTest {
+
+    private final AnalysisCoalescingRepository repository = mock(AnalysisCoalescingRepository.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private AnalysisCoalescer coalescer;
+
+    @BeforeEach
+    void setUp() {
+        coalescer = new AnalysisCoalescer(repository, meterRegistry);
+        ReflectionTestUtils.setField(coalescer, "enabled", true);
+        ReflectionTestUtils.setField(coalescer, "windowMinutes", 10L);
+        ReflectionTestUtils.setField(coalescer, "groupExpiryMinutes", 60L);
+    }
+
+    @Test
+    void testFirstLogOfWindowBecomesLeader() {
+        when(repository.tryCreateGroup(anyString(), eq("fp"), any(), eq(1L))).thenReturn(true);
+
+        AnalysisCoalescer.Membership membership = coalescer.join(logEntry(1L), "fp");
+
+        assertThat(membership.leader()).isTrue();
+        verify(repository).tryCreateGroup(eq(membership.requestId()), eq("fp"), any(), eq(1L));
+    }
+
+    @Test
+    void testLaterLogJoinsLeaderAsFollower() {
+        when(repository.findRequestId(eq("fp"), any())).thenReturn(Optional.of("leader"));
+        when(repository.addFollower("leader", 2L)).thenReturn(true);
+
+        AnalysisCoalescer.Membership membership = coalescer.join(logEntry(2L), "fp");
+
+        assertThat(membership).isEqualTo(new AnalysisCoalescer.Membership("leader", false));
+    }
+
+    @Test
+    void testJoinRetriesWhenGroupClosesBeforeFollowerIsAdded() {
+        // 조회한 그룹이 합류 전에 닫히면 두 번째 시도에서 새 그룹의 리더가 된다
+        when(repository.tryCreateGroup(anyString(), eq("fp"), any(), eq(2L))).thenReturn(false, true);
+        when(repository.findRequestId(eq("fp"), any())).thenReturn(Optional.of("closed"));
+        when(repository.addFollower("closed", 2L)).thenReturn(false);
+
+        AnalysisCoalescer.Membership membership = coalescer.join(logEntry(2L), "fp");
+
+        assertThat(membership.leader()).isTrue();
+        verify(repository, times(2)).tryCreateGroup(anyString(), eq("fp"), any(), eq(2L));
+    }
+
+    @Test
+    void testAbandonPromotesFollowerUnderNewRequestId() {
+        when(repository.promoteFollower(eq("leader"), anyString())).thenReturn(Optional.of(2L));
+
+        Optional<AnalysisCoalescer.Promotion> promotion = coalescer.abandon("leader");
+
+        ArgumentCaptor<String> newRequestId = ArgumentCaptor.forClass(String.class);
+        verify(repository).promoteFollower(eq("leader"), newRequestId.capture());
+        assertThat(promotion).contains(new AnalysisCoalescer.Promotion(newRequestId.getValue(), 2L));
+        assertThat(meterRegistry.get("analysis.coalesce.abandoned").tag("outcome", "promoted").counter().count())
+            .isEqualTo(1.0);
+    }
+
+    @Test
+    void testAbandonWithoutFollowersClosesGroup() {
+        when(repository.promoteFollower(eq("leader"), anyString())).thenReturn(Optional.empty());
+
+        assertThat(coalescer.abandon("leader")).isEmpty();
+        assertThat(meterRegistry.get("analysis.coalesce.abandoned").tag("outcome", "closed").counter().count())
+            .isEqualTo(1.0);
+    }
+
+    @Test
+    void testDropClosesWholeGroupWithoutPromotion() {
+        when(repository.dropGroup("leader")).thenReturn(3);
+
+        coalescer.drop("leader");
+
+        verify(repository).dropGroup("leader");
+        verify(repository, never()).promoteFollower(anyString(), anyString());
+    }
+
+    @Test
+    void testCompleteAllReturnsFollowersPerLeader() {
+        when(repository.completeGroups(List.of("a", "b"))).thenReturn(Map.of("a", List.of(2L, 3L)));
+
+        assertThat(coalescer.completeAll(List.of("a", "b"))).containsExactly(Map.entry("a", List.of(2L, 3L)));
+        assertThat(coalescer.completeAll(List.of())).isEmpty();
+        verify(repository, times(1)).completeGroups(any());
+    }
+
+    @Test
+    void testDisabledCoalescerNeverTouchesRepository() {
+        ReflectionTestUtils.setField(coalescer, "enabled", false);
+
+        assertThat(coalescer.join(logEntry(1L), "fp").leader()).isTrue();
+        assertThat(coalescer.abandon("leader")).isEmpty();
+        coalescer.drop("leader");
+        assertThat(coalescer.complete("leader")).isEmpty();
+        verifyNoInteractions(repository);
+    }
+
+    private LogEntry logEntry(Long id) {
+        LogEntry logEntry = new LogEntry();
+        logEntry.setId(id);
+        return logEntry;
+    }
+}
@@ -0,0 +1,46 @@
+package com.heimdall.analysis.dispatch;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * 가중치 레인 선택기 단위 테스트
+ */
+class WeightedLaneSchedulerTest {
+
+    @Test
+    void testSharesFollowWeightsWhenAllLanesBacklogged() {
+        WeightedLaneScheduler scheduler = new WeightedLaneScheduler(new int[] {8, 4, 2, 1});
+        boolean[] eligible = {true, true, true, true};
+        int[] picks = new int[4];
+
+        for (int i = 0; i < 150; i++) {
+            picks[scheduler.next(eligible)]++;
+        }
+
+        assertThat(picks).containsExactly(80, 40, 20, 10);
+    }
+
+    @Test
+    void testNewCriticalRequestIsPickedImmediately() {
+        // Given: LOW 레인만 밀려 있는 상태
+        WeightedLaneScheduler scheduler = new WeightedLaneScheduler(new int[] {8, 4, 2, 1});
+        for (int i = 0; i < 100; i++) {
+            assertThat(scheduler.next(new boolean[] {false, false, false, true})).isEqualTo(3);
+        }
+
+        // When: CRITICAL 요청 도착
+        int next = scheduler.next(new boolean[] {true, false, false, true});
+
+        // Then
+        assertThat(next).isZero();
+    }
+
+    @Test
+    void testNoEligibleLane() {
+        WeightedLaneScheduler scheduler = new WeightedLaneScheduler(new int[] {1, 1});
+
+        assertThat(scheduler.next(new boolean[] {false, false})).isEqualTo(-1);
+    }
+}
@@ -0,0 +1,43 @@
+package com.heimdall.analysis.inflight;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * 해시드 휠 타이머 단위 테스트
+ */
+class DeadlineWheelTest {
+
+    @Test
+    void testExpiresNotBeforeDeadline() {
+        DeadlineWheel<String> wheel = new DeadlineWheel<>(8, 100, 0);
+        wheel.schedule("a", 250);
+
+        assertThat(wheel.advance(299)).isEmpty();
+        assertThat(wheel.advance(300)).containsExactly("a");
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void testDeadlineBeyondOneRotation() {
+        // Given: 휠 한 바퀴(800ms)를 넘는 데드라인
+        DeadlineWheel<String> wheel = new DeadlineWheel<>(8, 100, 0);
+        wheel.schedule("far", 2_000);
+        wheel.schedule("near", 200);
+
+        // When & Then
+        assertThat(wheel.advance(1_000)).containsExactly("near");
+        assertThat(wheel.advance(1_900)).isEmpty();
+        assertThat(wheel.advance(2_000)).containsExactly("far");
+    }
+
+    @Test
+    void testPastDeadlineExpiresOnNextTick() {
+        DeadlineWheel<String> wheel = new DeadlineWheel<>(8, 100, 1_000);
+        wheel.schedule("late", 500);
+
+        assertThat(wheel.advance(1_050)).isEmpty();
+        assertThat(wheel.advance(1_100)).containsExactly("late");
+    }
+}
@@ -0,0 +1,171 @@
+package com.heimdall.analysis.inflight;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.heimdall.analysis.coalesce.AnalysisCoalescer;
+import com.heimdall.analysis.dispatch.AnalysisRequestDispatcher;
+import com.heimdall.kafka.event.AnalysisRequestEvent;
+import com.heimdall.repository.AnalysisInFlightRepository;
+import com.heimdall.repository.AnalysisInFlightRepository.InFlightRow;
+import com.heimdall.repository.LogEntryRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * 분석 요청 추적기 단위 테스트 (등록/완료 변경분 기록, 데드라인 재요청/포기, 인계 복원)
+ */
+@SuppressWarnings("unchecked")
+class InFlightRequestTrackerTest {
+
+    private final AnalysisRequestDispatcher dispatcher = mock(AnalysisRequestDispatcher.class);
+    private final AnalysisInFlightRepository inFlightRepository = mock(AnalysisInFlightRepository.class);
+    private final AnalysisCoalescer analysisCoalescer = mock(AnalysisCoalescer.class);
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private InFlightRequestTracker tracker;
+
+    @BeforeEach
+    void setUp() {
+        tracker = new InFlightRequestTracker(dispatcher, inFlightRepository, analysisCoalescer,
+            mock(LogEntryRepository.class), objectMapper, meterRegistry);
+        ReflectionTestUtils.setField(tracker, "enabled", true);
+        ReflectionTestUtils.setField(tracker, "timeoutSeconds", 120L);
+        ReflectionTestUtils.setField(tracker, "maxAttempts", 2);
+        ReflectionTestUtils.setField(tracker, "backoffMultiplier", 2.0);
+        ReflectionTestUtils.setField(tracker, "maxRetriesPerMinute", 60);
+        ReflectionTestUtils.setField(tracker, "maxEntries", 100);
+        ReflectionTestUtils.setField(tracker, "tickMillis", 1L);
+        ReflectionTestUtils.setField(tracker, "wheelSize", 64);
+        ReflectionTestUtils.setField(tracker, "persistIntervalMillis", 10000L);
+        ReflectionTestUtils.setField(tracker, "configuredOwner", "instance-1");
+        tracker.init();
+    }
+
+    @Test
+    void testPersistWritesOnlyChangedRequests() {
+        tracker.register(event("req-1"));
+
+        tracker.persist();
+        tracker.persist();
+
+        ArgumentCaptor<List<InFlightRow>> rows = ArgumentCaptor.forClass(List.class);
+        verify(inFlightRepository, times(1)).upsertAll(rows.capture(), eq("instance-1"), any());
+        assertThat(rows.getValue()).extracting(InFlightRow::requestId).containsExactly("req-1");
+        // 변경이 없어도 heartbeat는 매 주기 갱신
+        verify(inFlightRepository, times(2)).heartbeat(eq("instance-1"), any(), any());
+    }
+
+    @Test
+    void testCompletedRequestIsDeletedInsteadOfWritten() {
+        tracker.register(event("req-1"));
+        tracker.register(event("req-2"));
+
+        tracker.completeAll(List.of("req-1"));
+        tracker.persist();
+
+        ArgumentCaptor<List<InFlightRow>> rows = ArgumentCaptor.forClass(List.class);
+        verify(inFlightRepository).upsertAll(rows.capture(), anyString(), any());
+        assertThat(rows.getValue()).extracting(InFlightRow::requestId).containsExactly("req-2");
+        verify(inFlightRepository, times(2)).deleteAll(List.of("req-1"));
+        assertThat(tracker.size()).isEqualTo(1);
+        assertThat(meterRegistry.get("analysis.inflight.completed").tag("source", "local").counter().count())
+            .isEqualTo(1.0);
+    }
+
+    @Test
+    void testFailedPersistWritesChangesAgain() {
+        doThrow(new IllegalStateException("db down"))
+            .doNothing()
+            .when(inFlightRepository).upsertAll(anyList(), anyString(), any());
+        tracker.register(event("req-1"));
+
+        tracker.persist();
+        tracker.persist();
+
+        verify(inFlightRepository, times(2)).upsertAll(anyList(), anyString(), any());
+    }
+
+    @Test
+    void testOverdueRequestIsRetriedThenGivenUp() throws Exception {
+        ReflectionTestUtils.setField(tracker, "timeoutSeconds", 0L);
+        when(dispatcher.dispatch(any())).thenReturn(true);
+        tracker.register(event("req-1"));
+
+        Thread.sleep(5);
+        tracker.tick();
+
+        verify(dispatcher).dispatch(argThat(event -> event.getRequestId().equals("req-1")));
+        assertThat(tracker.size()).isEqualTo(1);
+
+        Thread.sleep(5);
+        tracker.tick();
+
+        // 시도 횟수를 다 쓰면 포기하고 병합 그룹의 follower 승격을 시도
+        assertThat(tracker.size()).isZero();
+        verify(dispatcher, times(1)).dispatch(any());
+        verify(analysisCoalescer).abandon("req-1");
+        assertThat(meterRegistry.get("analysis.inflight.expired").counter().count()).isEqualTo(1.0);
+
+        tracker.persist();
+        verify(inFlightRepository).deleteAll(List.of("req-1"));
+    }
+
+    @Test
+    void testSaturatedLaneDefersRetryWithoutUsingAttempt() throws Exception {
+        ReflectionTestUtils.setField(tracker, "timeoutSeconds", 0L);
+        when(dispatcher.isSaturated(any())).thenReturn(true);
+        tracker.register(event("req-1"));
+
+        Thread.sleep(5);
+        tracker.tick();
+        Thread.sleep(5);
+        tracker.tick();
+
+        verify(dispatcher, never()).dispatch(any());
+        assertThat(tracker.size()).isEqualTo(1);
+    }
+
+    @Test
+    void testClaimedRequestsAreRestored() throws Exception {
+        AnalysisRequestEvent event = event("req-9");
+        LocalDateTime now = LocalDateTime.now();
+        when(inFlightRepository.claimStale(eq("instance-1"), any(), any(), anyInt())).thenReturn(List.of(
+            new InFlightRow("req-9", 9L, "HIGH", 2, objectMapper.writeValueAsString(event), now, now.plusMinutes(5))
+        ));
+
+        tracker.persist();
+
+        assertThat(tracker.size()).isEqualTo(1);
+        // 인계하며 DB에 이미 기록된 요청은 다시 쓰지 않는다
+        tracker.persist();
+        verify(inFlightRepository, never()).upsertAll(anyList(), anyString(), any());
+
+        tracker.completeAll(List.of("req-9"));
+        assertThat(tracker.size()).isZero();
+    }
+
+    private AnalysisRequestEvent event(String requestId) {
+        return AnalysisRequestEvent.builder()
+            .requestId(requestId)
+            .timestamp(LocalDateTime.of(2024, 1, 1, 0, 0))
+            .logId(1L)
+            .logContent("connection refused")
+            .serviceName("checkout")
+            .environment("prod")
+            .analysisType("error")
+            .priority("HIGH")
+            .callbackTopic("analysis.result")
+            .correlationId("event-1")
+            .build();
+    }
+}
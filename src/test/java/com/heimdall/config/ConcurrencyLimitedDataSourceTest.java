@@ -0,0 +1,88 @@
+package com.heimdall.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * 커넥션 동시 대여 제한 DataSource 단위 테스트 (허가 반환, 래퍼 해제)
+ */
+class ConcurrencyLimitedDataSourceTest {
+
+    private final DataSource target = mock(DataSource.class);
+    private final Connection connection = mock(Connection.class);
+
+    @Test
+    void testPermitIsReturnedOnCloseOnlyOnce() throws Exception {
+        when(target.getConnection()).thenReturn(connection);
+        ConcurrencyLimitedDataSource dataSource = new ConcurrencyLimitedDataSource(target, 1, 10, 10);
+
+        Connection first = dataSource.getConnection();
+        assertThat(dataSource.getInUse()).isEqualTo(1);
+        assertThatThrownBy(dataSource::getConnection).isInstanceOf(SQLTransientConnectionException.class);
+
+        first.close();
+        first.close();
+        assertThat(dataSource.getInUse()).isZero();
+        verify(connection, times(2)).close();
+
+        // 두 번 닫아도 허가는 한 번만 반환되어 한도를 넘지 않는다
+        Connection second = dataSource.getConnection();
+        assertThatThrownBy(dataSource::getConnection).isInstanceOf(SQLTransientConnectionException.class);
+        second.close();
+    }
+
+    @Test
+    void testPermitIsReturnedWhenCloseThrows() throws Exception {
+        when(target.getConnection()).thenReturn(connection);
+        doThrow(new SQLException("connection reset")).when(connection).close();
+        ConcurrencyLimitedDataSource dataSource = new ConcurrencyLimitedDataSource(target, 1, 10, 10);
+
+        Connection limited = dataSource.getConnection();
+
+        assertThatThrownBy(limited::close).isInstanceOf(SQLException.class).hasMessage("connection reset");
+        assertThat(dataSource.getInUse()).isZero();
+        assertThat(dataSource.getConnection()).isNotNull();
+    }
+
+    @Test
+    void testPermitIsReturnedWhenPoolFails() throws Exception {
+        when(target.getConnection()).thenThrow(new SQLException("pool exhausted"));
+        ConcurrencyLimitedDataSource dataSource = new ConcurrencyLimitedDataSource(target, 1, 10, 10);
+
+        assertThatThrownBy(dataSource::getConnection).hasMessage("pool exhausted");
+        assertThat(dataSource.getInUse()).isZero();
+    }
+
+    @Test
+    void testOtherCallsAreDelegated() throws Exception {
+        when(target.getConnection()).thenReturn(connection);
+        when(connection.getAutoCommit()).thenReturn(false);
+        ConcurrencyLimitedDataSource dataSource = new ConcurrencyLimitedDataSource(target, 1, 10, 10);
+
+        try (Connection limited = dataSource.getConnection()) {
+            assertThat(limited.getAutoCommit()).isFalse();
+            assertThat(dataSource.getInUse()).isEqualTo(1);
+        }
+        verify(connection).getAutoCommit();
+    }
+
+    @Test
+    void testUnwrapReachesHikariDataSource() throws Exception {
+        try (HikariDataSource hikari = new HikariDataSource()) {
+            DataSource dataSource = new ConcurrencyLimitedDataSource(hikari, 1, 10, 10);
+
+            assertThat(dataSource.isWrapperFor(HikariDataSource.class)).isTrue();
+            assertThat(dataSource.unwrap(HikariDataSource.class)).isSameAs(hikari);
+            assertThat(dataSource.isWrapperFor(ConcurrencyLimitedDataSource.class)).isTrue();
+            assertThat(dataSource.unwrap(ConcurrencyLimitedDataSource.class)).isSameAs(dataSource);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.heimdall.grpc.passthrough;
+
+import com.heimdall.grpc.BatchLogIngestionRequest;
+import com.heimdall.grpc.LogIngestionRequest;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * passthrough 라우팅 필드 파싱 단위 테스트
+ */
+class RoutingFieldsTest {
+
+    private LogIngestionRequest request(String severity, String content) {
+        return LogIngestionRequest.newBuilder()
+            .setSource("api")
+            .setServiceName("payment")
+            .setEnvironment("prod")
+            .setSeverity(severity)
+            .setLogContent(content)
+            .setTimestampMillis(1_700_000_000_000L)
+            .putMetadata("region", "ap-northeast-2")
+            .setTraceId("trace-1")
+            .build();
+    }
+
+    @Test
+    void testParseReadsRoutingFieldsOnly() throws Exception {
+        // When
+        RoutingFields fields = RoutingFields.parse(request("ERROR", "Connection refused").toByteArray());
+
+        // Then
+        assertThat(fields.source()).isEqualTo("api");
+        assertThat(fields.serviceName()).isEqualTo("payment");
+        assertThat(fields.severity()).isEqualTo("ERROR");
+        assertThat(fields.contentLength()).isEqualTo("Connection refused".length());
+        assertThat(fields.validate(1024)).isNull();
+    }
+
+    @Test
+    void testValidateRejectsUnstorableRequests() throws Exception {
+        assertThat(RoutingFields.parse(request("CRITICAL", "x").toByteArray()).validate(1024))
+            .isEqualTo("invalid_severity");
+        assertThat(RoutingFields.parse(request("ERROR", "").toByteArray()).validate(1024))
+            .isEqualTo("empty_content");
+        assertThat(RoutingFields.parse(request("ERROR", "0123456789").toByteArray()).validate(5))
+            .isEqualTo("content_too_large");
+        assertThat(RoutingFields.parse(request("ERROR", "x").toBuilder().clearSource().build().toByteArray()).validate(1024))
+            .isEqualTo("missing_source");
+    }
+
+    @Test
+    void testPartitionKeyFallsBackToSource() throws Exception {
+        LogIngestionRequest request = request("ERROR", "x");
+
+        assertThat(RoutingFields.parse(request.toByteArray()).partitionKey()).isEqualTo("payment");
+        assertThat(RoutingFields.parse(request.toBuilder().clearServiceName().build().toByteArray()).partitionKey())
+            .isEqualTo("api");
+    }
+
+    @Test
+    void testSplitBatchKeepsOriginalBytes() throws Exception {
+        // Given
+        LogIngestionRequest first = request("ERROR", "first");
+        LogIngestionRequest second = request("WARN", "second");
+        byte[] batch = BatchLogIngestionRequest.newBuilder()
+            .addLogs(first)
+            .addLogs(second)
+            .build()
+            .toByteArray();
+
+        // When
+        List<byte[]> logs = RoutingFields.splitBatch(batch);
+
+        // Then
+        assertThat(logs).hasSize(2);
+        assertThat(LogIngestionRequest.parseFrom(logs.get(0))).isEqualTo(first);
+        assertThat(logs.get(1)).isEqualTo(second.toByteArray());
+    }
+}
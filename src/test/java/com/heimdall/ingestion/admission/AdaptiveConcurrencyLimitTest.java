@@ -0,0 +1,69 @@
+package com.heimdall.ingestion.admission;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * 지연 기반 동시성 한도 단위 테스트
+ */
+class AdaptiveConcurrencyLimitTest {
+
+    private static final long MS = 1_000_000L;
+    private static final long WINDOW = 1_000 * MS;
+
+    @Test
+    void testGrowsWhenSaturatedAndLatencyStable() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(10, 1, 100, 2.0, 0.9, WINDOW);
+
+        for (int window = 0; window < 5; window++) {
+            closeWindow(limit, window, 10 * MS, 20);
+        }
+
+        assertThat(limit.getLimit()).isEqualTo(15);
+        assertThat(limit.getBaselineNanos()).isEqualTo(10 * MS);
+    }
+
+    @Test
+    void testDoesNotGrowWhenUnderutilized() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(10, 1, 100, 2.0, 0.9, WINDOW);
+
+        for (int window = 0; window < 5; window++) {
+            closeWindow(limit, window, 10 * MS, 3);
+        }
+
+        assertThat(limit.getLimit()).isEqualTo(10);
+    }
+
+    @Test
+    void testBacksOffWhenLatencyExceedsTolerance() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(100, 10, 200, 2.0, 0.5, WINDOW);
+        closeWindow(limit, 0, 10 * MS, 10);
+
+        assertThat(closeWindow(limit, 1, 50 * MS, 100)).isTrue();
+        assertThat(limit.getLimit()).isEqualTo(50);
+
+        closeWindow(limit, 2, 50 * MS, 50);
+        closeWindow(limit, 3, 50 * MS, 25);
+        closeWindow(limit, 4, 50 * MS, 12);
+        assertThat(limit.getLimit()).isEqualTo(10);
+    }
+
+    @Test
+    void testRespectsMaxLimitAndWindowBoundary() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(5, 1, 5, 2.0, 0.9, WINDOW);
+
+        // 윈도우가 끝나기 전에는 한도를 바꾸지 않는다
+        assertThat(limit.onSample(10 * MS, 5, 0)).isFalse();
+        assertThat(limit.onSample(10 * MS, 5, WINDOW - 1)).isFalse();
+        assertThat(limit.onSample(10 * MS, 5, WINDOW)).isFalse();
+
+        assertThat(limit.getLimit()).isEqualTo(5);
+    }
+
+    private boolean closeWindow(AdaptiveConcurrencyLimit limit, int window, long latency, int inFlight) {
+        long start = window * 10 * WINDOW;
+        limit.onSample(latency, inFlight, start);
+        return limit.onSample(latency, inFlight, start + WINDOW);
+    }
+}
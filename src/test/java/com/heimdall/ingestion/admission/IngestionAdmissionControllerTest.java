@@ -0,0 +1,127 @@
+package com.heimdall.ingestion.admission;
+
+import com.heimdall.exception.GlobalExceptionHandler;
+import com.heimdall.exception.IngestionOverloadedException;
+import io.grpc.Metadata;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * 수집 admission control 테스트 (심각도별 load shedding, 재시도 힌트)
+ */
+class IngestionAdmissionControllerTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<IngestionAdmissionController.Permit> permits = new ArrayList<>();
+
+    private IngestionAdmissionController controller;
+
+    @BeforeEach
+    void setUp() {
+        // 한도 10: DEBUG 5, INFO 7.5, WARN 9까지 사용
+        controller = new IngestionAdmissionController(meterRegistry);
+        ReflectionTestUtils.setField(controller, "enabled", true);
+        ReflectionTestUtils.setField(controller, "initialLimit", 10);
+        ReflectionTestUtils.setField(controller, "minLimit", 10);
+        ReflectionTestUtils.setField(controller, "maxLimit", 100);
+        ReflectionTestUtils.setField(controller, "latencyTolerance", 2.0);
+        ReflectionTestUtils.setField(controller, "backoffRatio", 0.9);
+        ReflectionTestUtils.setField(controller, "windowMs", 60_000L);
+        ReflectionTestUtils.setField(controller, "debugShare", 0.5);
+        ReflectionTestUtils.setField(controller, "infoShare", 0.75);
+        ReflectionTestUtils.setField(controller, "warnShare", 0.9);
+        ReflectionTestUtils.setField(controller, "retryAfterSeconds", 1L);
+        controller.init();
+    }
+
+    @Test
+    void testErrorAndFatalAreAlwaysAdmitted() {
+        admit("ERROR", 20);
+
+        assertThatThrownBy(() -> controller.acquire("WARN", "http"))
+            .isInstanceOf(IngestionOverloadedException.class);
+        assertThatCode(() -> {
+            permits.add(controller.acquire("ERROR", "http"));
+            permits.add(controller.acquire("FATAL", "grpc"));
+        }).doesNotThrowAnyException();
+    }
+
+    @Test
+    void testDebugIsShedBeforeInfoBeforeWarn() {
+        admit("INFO", 4);
+
+        admit("DEBUG", 1);
+        assertShed("DEBUG");
+
+        admit("INFO", 3);
+        assertShed("INFO");
+        assertShed("DEBUG");
+
+        admit("WARN", 1);
+        assertShed("WARN");
+        assertThat(meterRegistry.get("ingestion.admission.in_flight").gauge().value()).isEqualTo(9.0);
+    }
+
+    @Test
+    void testClosingPermitsFreesCapacity() {
+        admit("DEBUG", 5);
+        assertShed("DEBUG");
+
+        permits.remove(0).close();
+
+        admit("DEBUG", 1);
+    }
+
+    @Test
+    void testRetryHintsGrowForLowerSeverities() {
+        admit("WARN", 9);
+
+        IngestionOverloadedException debug = shed("DEBUG");
+        IngestionOverloadedException info = shed("INFO");
+        IngestionOverloadedException warn = shed("WARN");
+        assertThat(debug.getRetryAfterSeconds()).isEqualTo(4);
+        assertThat(info.getRetryAfterSeconds()).isEqualTo(2);
+        assertThat(warn.getRetryAfterSeconds()).isEqualTo(1);
+
+        // gRPC: grpc-retry-pushback-ms 트레일러
+        StatusRuntimeException status = OverloadStatus.resourceExhausted(debug);
+        assertThat(status.getStatus().getCode()).isEqualTo(Status.Code.RESOURCE_EXHAUSTED);
+        assertThat(status.getTrailers().get(Metadata.Key.of("grpc-retry-pushback-ms", Metadata.ASCII_STRING_MARSHALLER)))
+            .isEqualTo("4000");
+
+        // HTTP: 429 + Retry-After
+        var response = new GlobalExceptionHandler()
+            .handleIngestionOverloadedException(info, new MockHttpServletRequest("POST", "/api/v1/logs"));
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+        assertThat(response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("2");
+    }
+
+    private void admit(String severity, int count) {
+        for (int i = 0; i < count; i++) {
+            permits.add(controller.acquire(severity, "http"));
+        }
+    }
+
+    private void assertShed(String severity) {
+        shed(severity);
+    }
+
+    private IngestionOverloadedException shed(String severity) {
+        IngestionOverloadedException e = catchThrowableOfType(
+            () -> controller.acquire(severity, "http"), IngestionOverloadedException.class);
+        assertThat(e).as("%s should be shed", severity).isNotNull();
+        return e;
+    }
+}
@@ -0,0 +1,68 @@
+package com.heimdall.kafka.codec;
+
+import com.heimdall.kafka.event.AnalysisResultEvent;
+import com.heimdall.kafka.event.LogIngestionEvent;
+import com.heimdall.kafka.proto.AnalysisResultEventMessage;
+import com.heimdall.kafka.proto.LogIngestionEventMessage;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Kafka 이벤트 protobuf 변환 단위 테스트
+ */
+class ProtoEventMapperTest {
+
+    @Test
+    void testLogIngestionEventRoundTrip() throws Exception {
+        // Given
+        LogIngestionEvent event = LogIngestionEvent.builder()
+            .eventId("evt-1")
+            .timestamp(LocalDateTime.of(2024, 1, 15, 10, 30, 0, 123_000_000))
+            .source("api")
+            .serviceName("payment")
+            .environment(null)
+            .severity("ERROR")
+            .logContent("Connection refused")
+            .metadata(Map.of("retries", 3, "latency", 1.5, "tags", List.of("db", "primary")))
+            .build();
+
+        // When
+        byte[] bytes = ProtoEventMapper.toProto(event).toByteArray();
+        LogIngestionEvent decoded = ProtoEventMapper.fromProto(LogIngestionEventMessage.parseFrom(bytes));
+
+        // Then
+        assertThat(decoded).isEqualTo(event);
+    }
+
+    @Test
+    void testAnalysisResultEventKeepsDecimalsAndNulls() throws Exception {
+        // Given
+        AnalysisResultEvent event = AnalysisResultEvent.builder()
+            .requestId("req-1")
+            .timestamp(LocalDateTime.of(2024, 1, 15, 10, 31))
+            .logId(42L)
+            .analysisResult(AnalysisResultEvent.AnalysisResultDetail.builder()
+                .summary("DB connection pool exhausted")
+                .severity("HIGH")
+                .confidence(new BigDecimal("0.85"))
+                .build())
+            .model("gpt-4")
+            .durationSeconds(new BigDecimal("12.50"))
+            .build();
+
+        // When
+        byte[] bytes = ProtoEventMapper.toProto(event).toByteArray();
+        AnalysisResultEvent decoded = ProtoEventMapper.fromProto(AnalysisResultEventMessage.parseFrom(bytes));
+
+        // Then
+        assertThat(decoded).isEqualTo(event);
+        assertThat(decoded.getBifrostAnalysisId()).isNull();
+        assertThat(decoded.getAnalysisResult().getRootCause()).isNull();
+    }
+}
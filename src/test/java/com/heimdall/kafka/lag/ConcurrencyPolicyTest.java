@@ -0,0 +1,55 @@
+package com.heimdall.kafka.lag;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * 리스너 동시성 조정 규칙 단위 테스트
+ */
+class ConcurrencyPolicyTest {
+
+    private final ConcurrencyPolicy policy = new ConcurrencyPolicy(1, 6, 60, 10, 2.0);
+
+    @Test
+    void testScalesUpWhenDrainTimeIsLong() {
+        assertThat(policy.next(3, 12, 120, 20, 15)).isEqualTo(4);
+    }
+
+    @Test
+    void testDoesNotScaleUpWhenLatencyDegraded() {
+        // 처리 지연이 기준의 2배를 넘으면 하위 자원 포화로 판단
+        assertThat(policy.next(3, 12, 120, 40, 15)).isEqualTo(3);
+    }
+
+    @Test
+    void testScalesUpWithoutLatencySamples() {
+        assertThat(policy.next(3, 12, 120, Double.NaN, 0)).isEqualTo(4);
+    }
+
+    @Test
+    void testScalesDownWhenBacklogIsSmall() {
+        assertThat(policy.next(3, 12, 5, 20, 15)).isEqualTo(2);
+        assertThat(policy.next(1, 12, 0, 20, 15)).isEqualTo(1);
+    }
+
+    @Test
+    void testHoldsInsideHysteresisBand() {
+        assertThat(policy.next(3, 12, 30, 20, 15)).isEqualTo(3);
+    }
+
+    @Test
+    void testCapsAtPartitionCountAndMax() {
+        assertThat(policy.next(4, 4, 600, 20, 15)).isEqualTo(4);
+        assertThat(policy.next(5, 3, 600, 20, 15)).isEqualTo(3);
+        assertThat(policy.next(6, 12, 600, 20, 15)).isEqualTo(6);
+    }
+
+    @Test
+    void testRejectsInvalidBounds() {
+        assertThatThrownBy(() -> new ConcurrencyPolicy(0, 6, 60, 10, 2.0))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new ConcurrencyPolicy(1, 6, 10, 60, 2.0))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
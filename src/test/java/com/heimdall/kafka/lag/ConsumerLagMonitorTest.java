@@ -0,0 +1,107 @@
+package com.heimdall.kafka.lag;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.admin.ListOffsetsResult.ListOffsetsResultInfo;
+import org.apache.kafka.clients.admin.MemberAssignment;
+import org.apache.kafka.clients.admin.MemberDescription;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.core.KafkaAdmin;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * 컨슈머 그룹 lag 수집 단위 테스트 (소비 속도, 예상 소진 시간, 인스턴스 수)
+ */
+class ConsumerLagMonitorTest {
+
+    private static final String TOPIC = "logs.ingestion";
+    private static final TopicPartition P0 = new TopicPartition(TOPIC, 0);
+    private static final TopicPartition P1 = new TopicPartition(TOPIC, 1);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private ConsumerLagMonitor monitor;
+
+    @BeforeEach
+    void setUp() {
+        monitor = new ConsumerLagMonitor(mock(KafkaAdmin.class), meterRegistry);
+        ReflectionTestUtils.setField(monitor, "groupId", "heimdall");
+        ReflectionTestUtils.setField(monitor, "enabled", true);
+        ReflectionTestUtils.setField(monitor, "rateAlpha", 1.0);
+        ReflectionTestUtils.setField(monitor, "maxDrainSeconds", 3600.0);
+        monitor.init();
+    }
+
+    @Test
+    void testDrainSecondsIsNaNUntilRateIsMeasured() {
+        // When: 첫 샘플에는 속도가 없음
+        monitor.record(committed(100, 100), endOffsets(200, 200), List.of(), 0);
+
+        // Then
+        ConsumerLagMonitor.TopicLag lag = monitor.getTopicLag(TOPIC).orElseThrow();
+        assertThat(lag.lag()).isEqualTo(200);
+        assertThat(lag.drainSeconds()).isNaN();
+        assertThat(meterRegistry.get("kafka.consumer.group.drain.seconds").gauge().value()).isNaN();
+
+        // When: 10초 동안 100건 소비
+        monitor.record(committed(150, 150), endOffsets(200, 200), List.of(), 10_000);
+
+        // Then: 초당 10건, 남은 100건
+        lag = monitor.getTopicLag(TOPIC).orElseThrow();
+        assertThat(lag.consumeRate()).isEqualTo(10.0);
+        assertThat(lag.drainSeconds()).isEqualTo(10.0);
+    }
+
+    @Test
+    void testStalledConsumerReportsMaxDrainSeconds() {
+        monitor.record(committed(100, 100), endOffsets(200, 200), List.of(), 0);
+        monitor.record(committed(100, 100), endOffsets(300, 300), List.of(), 10_000);
+
+        assertThat(monitor.getTopicLag(TOPIC).orElseThrow().drainSeconds()).isEqualTo(3600.0);
+    }
+
+    @Test
+    void testNoLagMeansZeroDrainSeconds() {
+        monitor.record(committed(200, 200), endOffsets(200, 200), List.of(), 0);
+
+        assertThat(monitor.getTopicLag(TOPIC).orElseThrow().drainSeconds()).isZero();
+    }
+
+    @Test
+    void testInstancesCountsDistinctHostsAssignedToTopic() {
+        List<MemberDescription> members = List.of(
+            member("a-1", "10.0.0.1", P0),
+            member("a-2", "10.0.0.1", P1),
+            member("b-1", "10.0.0.2", P1),
+            member("c-1", "10.0.0.3", new TopicPartition("analysis.result", 0))
+        );
+
+        monitor.record(committed(0, 0), endOffsets(0, 0), members, 0);
+
+        assertThat(monitor.getTopicLag(TOPIC).orElseThrow().instances()).isEqualTo(2);
+    }
+
+    private Map<TopicPartition, OffsetAndMetadata> committed(long p0, long p1) {
+        return Map.of(P0, new OffsetAndMetadata(p0), P1, new OffsetAndMetadata(p1));
+    }
+
+    private Map<TopicPartition, ListOffsetsResultInfo> endOffsets(long p0, long p1) {
+        return Map.of(
+            P0, new ListOffsetsResultInfo(p0, -1, Optional.empty()),
+            P1, new ListOffsetsResultInfo(p1, -1, Optional.empty())
+        );
+    }
+
+    private MemberDescription member(String memberId, String host, TopicPartition partition) {
+        return new MemberDescription(memberId, memberId, host, new MemberAssignment(Set.of(partition)));
+    }
+}
@@ -0,0 +1,94 @@
+package com.heimdall.kafka.lag;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.listener.ConcurrentMessageListenerContainer;
+import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * 리스너 동시성 조정 테스트 (그룹 인스턴스 수 기준 상한)
+ */
+class ListenerConcurrencyControllerTest {
+
+    private static final String TOPIC = "logs.ingestion";
+
+    private final KafkaListenerEndpointRegistry listenerRegistry = mock(KafkaListenerEndpointRegistry.class);
+    private final ConsumerLagMonitor consumerLagMonitor = mock(ConsumerLagMonitor.class);
+    private final ConcurrentMessageListenerContainer<?, ?> container = mock(ConcurrentMessageListenerContainer.class);
+
+    private ListenerConcurrencyController controller;
+
+    @BeforeEach
+    void setUp() {
+        controller = new ListenerConcurrencyController(listenerRegistry, consumerLagMonitor, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(controller, "enabled", true);
+        ReflectionTestUtils.setField(controller, "listenerIds", List.of("log-ingestion"));
+        ReflectionTestUtils.setField(controller, "minConcurrency", 1);
+        ReflectionTestUtils.setField(controller, "maxConcurrency", 6);
+        ReflectionTestUtils.setField(controller, "scaleUpDrainSeconds", 60.0);
+        ReflectionTestUtils.setField(controller, "scaleDownDrainSeconds", 5.0);
+        ReflectionTestUtils.setField(controller, "maxLatencyRatio", 2.0);
+        ReflectionTestUtils.setField(controller, "scaleDownIntervals", 3);
+        ReflectionTestUtils.setField(controller, "jitterMs", 0L);
+        controller.init();
+
+        doReturn(container).when(listenerRegistry).getListenerContainer("log-ingestion");
+        when(container.isRunning()).thenReturn(true);
+        when(container.getContainerProperties()).thenReturn(new ContainerProperties(TOPIC));
+        doAnswer(invocation -> {
+            invocation.getArgument(0, Runnable.class).run();
+            return null;
+        }).when(container).stop(any(Runnable.class));
+    }
+
+    @Test
+    void testScalesUpOnlyToPartitionShareOfInstance() {
+        // Given: 파티션 6개를 인스턴스 3개가 나눠 소비
+        lag(6, 3, 600);
+        when(container.getConcurrency()).thenReturn(1);
+
+        // When
+        controller.adjust();
+        when(container.getConcurrency()).thenReturn(2);
+        controller.adjust();
+
+        // Then: 인스턴스당 2를 넘지 않는다
+        verify(container).setConcurrency(2);
+        verify(container, times(1)).stop(any(Runnable.class));
+    }
+
+    @Test
+    void testShrinksImmediatelyWhenInstancesJoin() {
+        // Given: 혼자일 때 6까지 늘어난 뒤 인스턴스가 3개로 늘어남
+        lag(6, 3, 30);
+        when(container.getConcurrency()).thenReturn(6);
+
+        controller.adjust();
+
+        verify(container).setConcurrency(2);
+    }
+
+    @Test
+    void testHoldsWhileDrainTimeIsUnknown() {
+        lag(6, 1, Double.NaN);
+        when(container.getConcurrency()).thenReturn(3);
+
+        controller.adjust();
+
+        verify(container, never()).stop(any(Runnable.class));
+    }
+
+    private void lag(int partitions, int instances, double drainSeconds) {
+        when(consumerLagMonitor.getTopicLag(TOPIC)).thenReturn(Optional.of(
+            new ConsumerLagMonitor.TopicLag(TOPIC, partitions, 10_000, 10.0, drainSeconds, instances)));
+    }
+}
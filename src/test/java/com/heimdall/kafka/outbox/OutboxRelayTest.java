@@ -0,0 +1,156 @@
+package com.heimdall.kafka.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.heimdall.analysis.dispatch.AnalysisRequestDispatcher;
+import com.heimdall.analysis.inflight.InFlightRequestTracker;
+import com.heimdall.kafka.event.AnalysisRequestEvent;
+import com.heimdall.repository.OutboxRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * outbox relay 단위 테스트 (발행 확인, 재시도, parked 전환)
+ */
+class OutboxRelayTest {
+
+    private final OutboxRepository outboxRepository = mock(OutboxRepository.class);
+    private final AnalysisRequestDispatcher dispatcher = mock(AnalysisRequestDispatcher.class);
+    private final InFlightRequestTracker inFlightRequestTracker = mock(InFlightRequestTracker.class);
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private OutboxRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        relay = new OutboxRelay(outboxRepository, dispatcher, inFlightRequestTracker, objectMapper, meterRegistry);
+        ReflectionTestUtils.setField(relay, "enabled", true);
+        ReflectionTestUtils.setField(relay, "batchSize", 10);
+        ReflectionTestUtils.setField(relay, "maxPending", 100);
+        ReflectionTestUtils.setField(relay, "leaseSeconds", 300L);
+        ReflectionTestUtils.setField(relay, "retryDelaySeconds", 5L);
+        ReflectionTestUtils.setField(relay, "maxAttempts", 3);
+        ReflectionTestUtils.setField(relay, "parkedRefreshSeconds", 60L);
+        ReflectionTestUtils.setField(relay, "configuredOwner", "test");
+        relay.init();
+    }
+
+    @Test
+    void testPublishedRowIsDeletedAndTrackedAfterPublish() throws Exception {
+        claimOnce(message(1L, 0, payload("req-1")));
+        when(dispatcher.submit(any())).thenReturn(CompletableFuture.completedFuture(null));
+
+        relay.relay();
+        relay.relay();
+
+        verify(outboxRepository).deleteAll(List.of(1L));
+        verify(inFlightRequestTracker).register(argThat(event -> "req-1".equals(event.getRequestId())));
+        verify(outboxRepository, never()).releaseAll(any(), any());
+    }
+
+    @Test
+    void testPendingPublishDoesNotStartTracking() throws Exception {
+        claimOnce(message(1L, 0, payload("req-1")));
+        CompletableFuture<Void> sent = new CompletableFuture<>();
+        when(dispatcher.submit(any())).thenReturn(sent);
+
+        relay.relay();
+        verify(inFlightRequestTracker, never()).register(any());
+
+        sent.complete(null);
+        verify(inFlightRequestTracker).register(any());
+    }
+
+    @Test
+    void testUndecodablePayloadIsParkedWithoutPublishing() {
+        claimOnce(message(1L, 0, "{not json"));
+
+        relay.relay();
+        relay.relay();
+
+        verify(dispatcher, never()).submit(any());
+        verify(outboxRepository).parkAll(eq(List.of(1L)), any());
+        assertThat(meterRegistry.get("outbox.relay.parked").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void testFailedRowIsRetriedUntilMaxAttemptsThenParked() throws Exception {
+        claimOnce(message(1L, 0, payload("req-1")), message(2L, 2, payload("req-2")));
+        when(dispatcher.submit(any())).thenReturn(CompletableFuture.failedFuture(new IllegalStateException("lane full")));
+
+        relay.relay();
+        relay.relay();
+
+        verify(outboxRepository).releaseAll(eq(List.of(1L)), any());
+        verify(outboxRepository).parkAll(eq(List.of(2L)), any());
+        verify(inFlightRequestTracker, never()).register(any());
+    }
+
+    @Test
+    void testLaneRejectionDefersBatchWithoutConsumingAttempts() throws Exception {
+        claimOnce(message(1L, 2, payload("req-1")), message(2L, 0, payload("req-2")));
+        when(dispatcher.submit(any())).thenReturn(
+            CompletableFuture.failedFuture(new RejectedExecutionException("Analysis lane full: HIGH")));
+
+        relay.relay();
+        relay.relay();
+
+        // 첫 거절 이후 같은 배치의 나머지는 보내지 않고 함께 미룬다
+        verify(dispatcher, times(1)).submit(any());
+        verify(outboxRepository).deferAll(eq(List.of(1L, 2L)), any());
+        verify(outboxRepository, never()).releaseAll(any(), any());
+        verify(outboxRepository, never()).parkAll(any(), any());
+    }
+
+    @Test
+    void testParkedGaugeIsNotQueriedOnEveryScrape() throws Exception {
+        when(outboxRepository.countParked()).thenReturn(7L);
+
+        relay.relay();
+        relay.relay();
+        for (int i = 0; i < 5; i++) {
+            assertThat(meterRegistry.get("outbox.parked").gauge().value()).isEqualTo(7.0);
+        }
+
+        verify(outboxRepository, times(1)).countParked();
+    }
+
+    @Test
+    void testParkedGaugeRefreshesAfterParking() {
+        claimOnce(message(1L, 0, "{not json"));
+        when(outboxRepository.countParked()).thenReturn(0L, 1L);
+
+        relay.relay();
+        relay.relay();
+
+        assertThat(meterRegistry.get("outbox.parked").gauge().value()).isEqualTo(1.0);
+    }
+
+    private void claimOnce(OutboxMessage... messages) {
+        when(outboxRepository.claim(any(), any(), any(), anyInt())).thenReturn(List.of(messages), List.of());
+    }
+
+    private OutboxMessage message(Long id, int attempts, String payload) {
+        return new OutboxMessage(id, OutboxEventType.ANALYSIS_REQUEST.name(), "analysis.request", "1",
+            payload, attempts, LocalDateTime.now());
+    }
+
+    private String payload(String requestId) throws Exception {
+        return objectMapper.writeValueAsString(AnalysisRequestEvent.builder()
+            .requestId(requestId)
+            .logId(1L)
+            .priority("HIGH")
+            .build());
+    }
+}
@@ -0,0 +1,110 @@
+package com.heimdall.kafka.parallel;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * 키 순서 보장 실행기 단위 테스트
+ */
+class KeyOrderedExecutorTest {
+
+    private final ExecutorService pool = Executors.newFixedThreadPool(8);
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    void testSameKeyRunsInSubmissionOrder() throws Exception {
+        // Given
+        KeyOrderedExecutor executor = new KeyOrderedExecutor(pool, 1_000);
+        List<Integer> first = Collections.synchronizedList(new ArrayList<>());
+        List<Integer> second = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch done = new CountDownLatch(400);
+
+        // When
+        for (int i = 0; i < 200; i++) {
+            int value = i;
+            executor.submit("a", () -> { first.add(value); done.countDown(); }, 1, TimeUnit.SECONDS);
+            executor.submit("b", () -> { second.add(value); done.countDown(); }, 1, TimeUnit.SECONDS);
+        }
+
+        // Then
+        assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(first).isSorted().hasSize(200);
+        assertThat(second).isSorted().hasSize(200);
+    }
+
+    @Test
+    void testDifferentKeysRunConcurrently() throws Exception {
+        // Given: 두 작업이 서로를 기다림
+        KeyOrderedExecutor executor = new KeyOrderedExecutor(pool, 10);
+        CountDownLatch bothStarted = new CountDownLatch(2);
+        CountDownLatch done = new CountDownLatch(2);
+        Runnable task = () -> {
+            bothStarted.countDown();
+            try {
+                if (bothStarted.await(5, TimeUnit.SECONDS)) {
+                    done.countDown();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+
+        // When
+        executor.submit("a", task, 1, TimeUnit.SECONDS);
+        executor.submit("b", task, 1, TimeUnit.SECONDS);
+
+        // Then
+        assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void testSubmitWaitsWhenInFlightLimitReached() throws Exception {
+        // Given
+        KeyOrderedExecutor executor = new KeyOrderedExecutor(pool, 2);
+        CountDownLatch release = new CountDownLatch(1);
+        Runnable blocking = () -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+        executor.submit("a", blocking, 1, TimeUnit.SECONDS);
+        executor.submit("a", blocking, 1, TimeUnit.SECONDS);
+
+        // When & Then: 같은 키 대기 작업도 상한에 포함
+        assertThat(executor.inFlight()).isEqualTo(2);
+        assertThat(executor.submit("b", () -> { }, 50, TimeUnit.MILLISECONDS)).isFalse();
+
+        release.countDown();
+        assertThat(executor.submit("b", () -> { }, 5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void testFailedTaskDoesNotBlockKey() throws Exception {
+        // Given
+        KeyOrderedExecutor executor = new KeyOrderedExecutor(pool, 10);
+        CountDownLatch done = new CountDownLatch(1);
+
+        // When
+        executor.submit("a", () -> { throw new IllegalStateException("boom"); }, 1, TimeUnit.SECONDS);
+        executor.submit("a", done::countDown, 1, TimeUnit.SECONDS);
+
+        // Then
+        assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+}
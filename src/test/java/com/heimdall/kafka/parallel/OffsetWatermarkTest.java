@@ -0,0 +1,92 @@
+package com.heimdall.kafka.parallel;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * 파티션 오프셋 워터마크 단위 테스트
+ */
+class OffsetWatermarkTest {
+
+    @Test
+    void testCommitsOnlyUpToFirstIncompleteOffset() {
+        // Given
+        OffsetWatermark watermark = new OffsetWatermark();
+        for (long offset = 100; offset < 105; offset++) {
+            watermark.track(offset);
+        }
+
+        // When: 101, 102, 104가 먼저 끝남
+        watermark.complete(101);
+        watermark.complete(102);
+        watermark.complete(104);
+
+        // Then: 100이 끝나지 않았으므로 커밋할 것이 없다
+        assertThat(watermark.pollCommittable()).isEqualTo(-1);
+
+        watermark.complete(100);
+        assertThat(watermark.pollCommittable()).isEqualTo(103);
+        assertThat(watermark.pending()).isEqualTo(1);
+
+        watermark.complete(103);
+        assertThat(watermark.pollCommittable()).isEqualTo(105);
+        assertThat(watermark.pollCommittable()).isEqualTo(-1);
+    }
+
+    @Test
+    void testNothingToCommitBeforeTracking() {
+        OffsetWatermark watermark = new OffsetWatermark();
+
+        assertThat(watermark.pollCommittable()).isEqualTo(-1);
+        assertThat(watermark.pending()).isZero();
+    }
+
+    @Test
+    void testNewRecordsAfterCommitKeepWatermark() {
+        // Given
+        OffsetWatermark watermark = new OffsetWatermark();
+        watermark.track(0);
+        watermark.complete(0);
+        assertThat(watermark.pollCommittable()).isEqualTo(1);
+
+        // When
+        watermark.track(1);
+        watermark.track(2);
+        watermark.complete(2);
+
+        // Then
+        assertThat(watermark.pollCommittable()).isEqualTo(-1);
+        watermark.complete(1);
+        assertThat(watermark.pollCommittable()).isEqualTo(3);
+    }
+
+    @Test
+    void testUntrackedRecordIsNotCommittedPast() {
+        // Given: 2는 처리를 맡기지 못해 추적 취소
+        OffsetWatermark watermark = new OffsetWatermark();
+        watermark.track(0);
+        watermark.track(1);
+        watermark.track(2);
+        watermark.untrack(2);
+        watermark.complete(0);
+        watermark.complete(1);
+
+        // Then
+        assertThat(watermark.pollCommittable()).isEqualTo(2);
+        assertThat(watermark.pending()).isZero();
+
+        watermark.track(2);
+        watermark.complete(2);
+        assertThat(watermark.pollCommittable()).isEqualTo(3);
+    }
+
+    @Test
+    void testOnlyLastTrackedOffsetCanBeUntracked() {
+        OffsetWatermark watermark = new OffsetWatermark();
+        watermark.track(0);
+        watermark.track(1);
+
+        assertThatThrownBy(() -> watermark.untrack(0)).isInstanceOf(IllegalStateException.class);
+    }
+}
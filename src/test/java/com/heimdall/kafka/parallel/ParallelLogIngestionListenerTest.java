@@ -0,0 +1,159 @@
+package com.heimdall.kafka.parallel;
+
+import com.heimdall.kafka.codec.KafkaEventCodec;
+import com.heimdall.kafka.listener.LogIngestionListener;
+import com.heimdall.service.LogIngestionService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.event.ConsumerStoppingEvent;
+import org.springframework.kafka.event.ListenerContainerIdleEvent;
+import org.springframework.kafka.listener.DeadLetterPublishingRecoverer;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * 파티션 내 병렬 처리 리스너 테스트 (처리 상한 도달 시 리스너를 막지 않고 pause/resume)
+ */
+class ParallelLogIngestionListenerTest {
+
+    private static final TopicPartition PARTITION = new TopicPartition("logs.ingestion", 0);
+
+    private final LogIngestionListener logIngestionListener = mock(LogIngestionListener.class);
+    private final Consumer<?, ?> consumer = mock(Consumer.class);
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    private ParallelLogIngestionListener listener;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        listener = new ParallelLogIngestionListener(logIngestionListener, mock(LogIngestionService.class),
+            mock(KafkaEventCodec.class), mock(DeadLetterPublishingRecoverer.class), new SimpleMeterRegistry(),
+            new MockEnvironment());
+        ReflectionTestUtils.setField(listener, "logsIngestionTopic", PARTITION.topic());
+        ReflectionTestUtils.setField(listener, "maxInFlight", 2);
+        ReflectionTestUtils.setField(listener, "workerThreads", 2);
+        ReflectionTestUtils.setField(listener, "ordering", "key");
+        ReflectionTestUtils.setField(listener, "drainTimeoutMs", 1000L);
+        listener.init();
+
+        doAnswer(invocation -> release.await(5, TimeUnit.SECONDS))
+            .when(logIngestionListener).handle(any());
+        doReturn(Set.of(PARTITION)).when(consumer).assignment();
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        listener.shutdown();
+    }
+
+    @Test
+    void testSaturatedBatchPausesInsteadOfBlocking() throws Exception {
+        // When: 상한 2건인데 5건을 받음
+        long started = System.nanoTime();
+        listener.handleLogIngestionBatch(records(0, 5), consumer);
+
+        // Then: 기다리지 않고 파티션을 pause한다
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started)).isLessThan(1000);
+        verify(consumer).pause(Set.of(PARTITION));
+        verify(consumer, never()).commitSync(anyMap());
+    }
+
+    @Test
+    void testBacklogIsSubmittedAndPartitionsResumedWhenCapacityFrees() throws Exception {
+        listener.handleLogIngestionBatch(records(0, 3), consumer);
+        verify(consumer).pause(Set.of(PARTITION));
+
+        // When: 처리가 끝난 뒤 유휴 이벤트
+        release.countDown();
+        ListenerContainerIdleEvent idle = mock(ListenerContainerIdleEvent.class);
+        doReturn(consumer).when(idle).getConsumer();
+        awaitInFlight(0);
+        listener.onIdle(idle);
+        awaitInFlight(0);
+        listener.onIdle(idle);
+
+        // Then: 남은 레코드까지 처리하고 resume, 마지막 레코드 다음 위치까지 커밋
+        verify(consumer).resume(Set.of(PARTITION));
+        verify(logIngestionListener, times(3)).handle(any());
+        verify(consumer, atLeastOnce()).commitSync(Map.of(PARTITION, new OffsetAndMetadata(3)));
+    }
+
+    @Test
+    void testRevokeDiscardsUnsubmittedRecords() throws Exception {
+        listener.handleLogIngestionBatch(records(0, 4), consumer);
+
+        release.countDown();
+        listener.onPartitionsRevokedBeforeCommit(consumer, List.of(PARTITION));
+
+        // Then: 제출된 2건만 처리되고 커밋은 그 다음 위치까지
+        verify(logIngestionListener, times(2)).handle(any());
+        verify(consumer).commitSync(Map.of(PARTITION, new OffsetAndMetadata(2)));
+    }
+
+    @Test
+    void testConsumerCommitsOnlyItsOwnPartitions() throws Exception {
+        listener.handleLogIngestionBatch(records(0, 1), consumer);
+        release.countDown();
+        awaitInFlight(0);
+
+        // When: 같은 컨테이너의 다른 컨슈머(다른 파티션 담당)가 유휴 이벤트를 받음
+        Consumer<?, ?> other = mock(Consumer.class);
+        doReturn(Set.of(new TopicPartition(PARTITION.topic(), 1))).when(other).assignment();
+        ListenerContainerIdleEvent otherIdle = mock(ListenerContainerIdleEvent.class);
+        doReturn(other).when(otherIdle).getConsumer();
+        listener.onIdle(otherIdle);
+
+        // Then: 파티션 0은 소유 컨슈머만 커밋한다
+        verify(other, never()).commitSync(anyMap());
+        ListenerContainerIdleEvent idle = mock(ListenerContainerIdleEvent.class);
+        doReturn(consumer).when(idle).getConsumer();
+        listener.onIdle(idle);
+        verify(consumer).commitSync(Map.of(PARTITION, new OffsetAndMetadata(1)));
+    }
+
+    @Test
+    void testStoppedConsumerBacklogIsReleased() throws Exception {
+        listener.handleLogIngestionBatch(records(0, 4), consumer);
+        Map<?, ?> backlogs = (Map<?, ?>) ReflectionTestUtils.getField(listener, "backlogs");
+        assertThat(backlogs).hasSize(1);
+
+        ConsumerStoppingEvent stopping = mock(ConsumerStoppingEvent.class);
+        doReturn(consumer).when(stopping).getConsumer();
+        listener.onConsumerStopping(stopping);
+
+        assertThat(backlogs).isEmpty();
+    }
+
+    private List<ConsumerRecord<String, byte[]>> records(int from, int to) {
+        return IntStream.range(from, to)
+            .mapToObj(offset -> new ConsumerRecord<>(PARTITION.topic(), PARTITION.partition(), offset,
+                "key-" + offset, new byte[0]))
+            .toList();
+    }
+
+    private void awaitInFlight(int expected) throws InterruptedException {
+        KeyOrderedExecutor executor = (KeyOrderedExecutor) ReflectionTestUtils.getField(listener, "executor");
+        long deadline = System.currentTimeMillis() + 5000;
+        while (executor.inFlight() > expected && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.heimdall.kafka.retry;
+
+import com.heimdall.dto.DlqReplayRequest;
+import com.heimdall.dto.DlqReplayResponse;
+import com.heimdall.exception.LogProcessingException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.consumer.OffsetAndTimestamp;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * DLQ 재주입 단위 테스트 (요청 검증, 예외 유형 필터, 재시도 헤더 초기화)
+ */
+@SuppressWarnings("unchecked")
+class DlqReplayServiceTest {
+
+    private static final TopicPartition DLQ = new TopicPartition("dlq.failed", 0);
+
+    private final ConsumerFactory<String, byte[]> consumerFactory = mock(ConsumerFactory.class);
+    private final KafkaTemplate<String, byte[]> kafkaTemplate = mock(KafkaTemplate.class);
+    private final Consumer<String, byte[]> consumer = mock(Consumer.class);
+    private final RetryTopicRouter retryTopicRouter = mock(RetryTopicRouter.class);
+
+    private DlqReplayService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new DlqReplayService(consumerFactory, kafkaTemplate, retryTopicRouter, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(service, "defaultRatePerSecond", 50);
+        ReflectionTestUtils.setField(service, "maxRatePerSecond", 1000);
+        when(retryTopicRouter.getDlqTopic()).thenReturn(DLQ.topic());
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    void testMalformedTimestampIsRejected() {
+        assertThatThrownBy(() -> service.startReplay(DlqReplayRequest.builder().from("yesterday").build()))
+            .isInstanceOf(LogProcessingException.class)
+            .hasMessageContaining("from");
+        assertThatThrownBy(() -> service.startReplay(DlqReplayRequest.builder().to("2024-13-01T00:00:00").build()))
+            .isInstanceOf(LogProcessingException.class)
+            .hasMessageContaining("to");
+        verifyNoInteractions(consumerFactory);
+    }
+
+    @Test
+    void testInvalidRangeAndRateAreRejected() {
+        assertThatThrownBy(() -> service.startReplay(DlqReplayRequest.builder()
+            .from("2024-01-02T00:00:00").to("2024-01-01T00:00:00").build()))
+            .isInstanceOf(LogProcessingException.class);
+        assertThatThrownBy(() -> service.startReplay(DlqReplayRequest.builder().ratePerSecond(0).build()))
+            .isInstanceOf(LogProcessingException.class);
+        assertThatThrownBy(() -> service.startReplay(DlqReplayRequest.builder().ratePerSecond(1001).build()))
+            .isInstanceOf(LogProcessingException.class);
+    }
+
+    @Test
+    void testReplaysMatchingRecordsToOriginWithRetryHeadersReset() throws Exception {
+        ConsumerRecord<String, byte[]> matching = dlqRecord(0L, "com.heimdall.exception.LogProcessingException");
+        ConsumerRecord<String, byte[]> other = dlqRecord(1L, "java.lang.IllegalArgumentException");
+        CountDownLatch closed = stubDlq(List.of(matching, other), 2L);
+        when(kafkaTemplate.send(any(ProducerRecord.class))).thenReturn(CompletableFuture.completedFuture(null));
+
+        String jobId = service.startReplay(DlqReplayRequest.builder().errorType("LogProcessingException").build())
+            .getJobId();
+
+        assertThat(closed.await(5, TimeUnit.SECONDS)).isTrue();
+        DlqReplayResponse response = service.getReplay(jobId).orElseThrow();
+        assertThat(response.getStatus()).isEqualTo("COMPLETED");
+        assertThat(response.getScanned()).isEqualTo(2L);
+        assertThat(response.getReplayed()).isEqualTo(1L);
+        assertThat(response.getSkipped()).isEqualTo(1L);
+
+        ArgumentCaptor<ProducerRecord<String, byte[]>> sent = ArgumentCaptor.forClass(ProducerRecord.class);
+        verify(kafkaTemplate).send(sent.capture());
+        ProducerRecord<String, byte[]> replayed = sent.getValue();
+        assertThat(replayed.topic()).isEqualTo("logs.raw");
+        assertThat(replayed.key()).isEqualTo("key-0");
+        assertThat(replayed.headers().lastHeader(RetryHeaders.ATTEMPT)).isNull();
+        assertThat(replayed.headers().lastHeader(KafkaHeaders.DLT_EXCEPTION_FQCN)).isNull();
+        assertThat(replayed.headers().lastHeader(RetryHeaders.REPLAYED_AT)).isNotNull();
+        assertThat(replayed.headers().lastHeader("content-type")).isNotNull();
+    }
+
+    @Test
+    void testRecordWithoutOriginCountsAsFailed() throws Exception {
+        ConsumerRecord<String, byte[]> record = new ConsumerRecord<>(DLQ.topic(), DLQ.partition(), 0L, "key-0", new byte[0]);
+        CountDownLatch closed = stubDlq(List.of(record), 1L);
+
+        String jobId = service.startReplay(new DlqReplayRequest()).getJobId();
+
+        assertThat(closed.await(5, TimeUnit.SECONDS)).isTrue();
+        DlqReplayResponse response = service.getReplay(jobId).orElseThrow();
+        assertThat(response.getFailed()).isEqualTo(1L);
+        assertThat(response.getReplayed()).isZero();
+        verify(kafkaTemplate, never()).send(any(ProducerRecord.class));
+    }
+
+    @Test
+    void testUnknownJobIsEmpty() {
+        assertThat(service.getReplay("missing")).isEmpty();
+        assertThat(service.cancelReplay("missing")).isEmpty();
+    }
+
+    /**
+     * 파티션 하나짜리 DLQ: 첫 poll에 레코드를 모두 돌려주고, 작업이 끝나 consumer를 닫으면 latch 해제
+     */
+    private CountDownLatch stubDlq(List<ConsumerRecord<String, byte[]>> records, long endOffset) {
+        when(consumerFactory.createConsumer(eq("heimdall-dlq-replay"), anyString())).thenReturn(consumer);
+        when(consumer.partitionsFor(DLQ.topic()))
+            .thenReturn(List.of(new PartitionInfo(DLQ.topic(), DLQ.partition(), null, null, null)));
+        when(consumer.endOffsets(anyCollection())).thenReturn(Map.of(DLQ, endOffset));
+        when(consumer.offsetsForTimes(anyMap())).thenReturn(Map.of(DLQ, new OffsetAndTimestamp(0L, 0L)));
+        when(consumer.poll(any(Duration.class)))
+            .thenReturn(new ConsumerRecords<>(Map.of(DLQ, records)))
+            .thenReturn(ConsumerRecords.empty());
+        when(consumer.position(DLQ)).thenReturn(endOffset);
+
+        CountDownLatch closed = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            closed.countDown();
+            return null;
+        }).when(consumer).close();
+        return closed;
+    }
+
+    private ConsumerRecord<String, byte[]> dlqRecord(long offset, String exceptionClass) {
+        ConsumerRecord<String, byte[]> record = new ConsumerRecord<>(DLQ.topic(), DLQ.partition(), offset,
+            "key-" + offset, "{}".getBytes(StandardCharsets.UTF_8));
+        record.headers().add("content-type", "application/json".getBytes(StandardCharsets.UTF_8));
+        record.headers().add(RetryHeaders.ORIGIN_TOPIC, "logs.raw".getBytes(StandardCharsets.UTF_8));
+        record.headers().add(RetryHeaders.ATTEMPT, RetryHeaders.intValue(3));
+        record.headers().add(KafkaHeaders.DLT_EXCEPTION_FQCN, exceptionClass.getBytes(StandardCharsets.UTF_8));
+        return record;
+    }
+}
@@ -0,0 +1,105 @@
+package com.heimdall.kafka.retry;
+
+import com.google.protobuf.InvalidProtocolBufferException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.header.Headers;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * 실패 레코드 재시도 단계/DLQ 라우팅 단위 테스트
+ */
+class RetryTopicRouterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private RetryTopicRouter router;
+
+    @BeforeEach
+    void setUp() {
+        router = new RetryTopicRouter(meterRegistry);
+        ReflectionTestUtils.setField(router, "retryTopicPrefix", "retry");
+        ReflectionTestUtils.setField(router, "dlqTopic", "dlq.failed");
+        ReflectionTestUtils.setField(router, "attempts", 3);
+        ReflectionTestUtils.setField(router, "initialDelayMs", 1000L);
+        ReflectionTestUtils.setField(router, "multiplier", 5.0);
+        ReflectionTestUtils.setField(router, "maxDelayMs", 10000L);
+        router.init();
+    }
+
+    @Test
+    void testTierDelaysGrowExponentiallyUpToMax() {
+        assertThat(router.getTierTopics()).containsExactly("retry.0", "retry.1", "retry.2");
+        assertThat(router.getTierDelayMs(0)).isEqualTo(1000L);
+        assertThat(router.getTierDelayMs(1)).isEqualTo(5000L);
+        assertThat(router.getTierDelayMs(2)).isEqualTo(10000L);
+    }
+
+    @Test
+    void testRetryableFailureMovesToNextTier() {
+        ConsumerRecord<String, byte[]> first = record("logs.raw");
+        assertThat(router.resolve(first, new IllegalStateException("db down")))
+            .isEqualTo(new TopicPartition("retry.0", -1));
+
+        ConsumerRecord<String, byte[]> retried = record("retry.0");
+        retried.headers().add(RetryHeaders.ORIGIN_TOPIC, "logs.raw".getBytes(StandardCharsets.UTF_8));
+        retried.headers().add(RetryHeaders.ATTEMPT, RetryHeaders.intValue(1));
+        assertThat(router.resolve(retried, new IllegalStateException("db down")))
+            .isEqualTo(new TopicPartition("retry.1", -1));
+        assertThat(meterRegistry.get("kafka.retry.routed")
+            .tag("origin", "logs.raw").tag("destination", "retry.1").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void testExhaustedAttemptsGoToDlq() {
+        ConsumerRecord<String, byte[]> record = record("retry.2");
+        record.headers().add(RetryHeaders.ATTEMPT, RetryHeaders.intValue(3));
+
+        assertThat(router.resolve(record, new IllegalStateException("db down")).topic()).isEqualTo("dlq.failed");
+    }
+
+    @Test
+    void testNonRetryableCauseGoesStraightToDlq() {
+        // 리스너 예외로 감싸져도 원인 예외로 판단
+        Exception wrapped = new RuntimeException(new InvalidProtocolBufferException("truncated message"));
+
+        assertThat(router.resolve(record("logs.raw"), wrapped).topic()).isEqualTo("dlq.failed");
+        assertThat(router.resolve(record("logs.raw"), new IllegalArgumentException()).topic()).isEqualTo("dlq.failed");
+    }
+
+    @Test
+    void testHeadersKeepOriginAndIncrementAttempt() {
+        ConsumerRecord<String, byte[]> record = record("retry.0");
+        record.headers().add(RetryHeaders.ORIGIN_TOPIC, "logs.raw".getBytes(StandardCharsets.UTF_8));
+        record.headers().add(RetryHeaders.ATTEMPT, RetryHeaders.intValue(1));
+        long before = System.currentTimeMillis();
+
+        Headers headers = router.headers(record, new IllegalStateException("db down"));
+
+        assertThat(new String(headers.lastHeader(RetryHeaders.ORIGIN_TOPIC).value(), StandardCharsets.UTF_8))
+            .isEqualTo("logs.raw");
+        ConsumerRecord<String, byte[]> next = record("retry.1");
+        headers.forEach(header -> next.headers().add(header));
+        assertThat(RetryHeaders.attempt(next)).isEqualTo(2);
+        assertThat(RetryHeaders.dueAt(next)).isGreaterThanOrEqualTo(before + 5000L);
+    }
+
+    @Test
+    void testDlqHeadersHaveNoDueAt() {
+        Headers headers = router.headers(record("logs.raw"), new IllegalArgumentException("bad value"));
+
+        assertThat(headers.lastHeader(RetryHeaders.ATTEMPT)).isNotNull();
+        assertThat(headers.lastHeader(RetryHeaders.DUE_AT)).isNull();
+    }
+
+    private ConsumerRecord<String, byte[]> record(String topic) {
+        return new ConsumerRecord<>(topic, 0, 0L, "key", new byte[0]);
+    }
+}
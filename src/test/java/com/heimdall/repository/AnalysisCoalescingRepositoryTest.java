@@ -0,0 +1,83 @@
+package com.heimdall.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * 분석 요청 병합 그룹 저장소 테스트 (리더 포기 시 follower 승격)
+ */
+class AnalysisCoalescingRepositoryTest extends PostgresRepositoryTest {
+
+    private static final LocalDateTime WINDOW = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    private AnalysisCoalescingRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("TRUNCATE analysis_coalesce_groups, analysis_coalesce_followers");
+        repository = new AnalysisCoalescingRepository(jdbcTemplate);
+    }
+
+    @Test
+    void testAbandonPromotesFirstFollowerAndMovesTheRest() {
+        repository.tryCreateGroup("leader", "fp", WINDOW, 1L);
+        assertThat(repository.addFollower("leader", 3L)).isTrue();
+        assertThat(repository.addFollower("leader", 2L)).isTrue();
+
+        Optional<Long> promoted = repository.promoteFollower("leader", "promoted");
+
+        assertThat(promoted).contains(2L);
+        assertThat(repository.findRequestId("fp", WINDOW)).contains("promoted");
+        // 승격된 리더 결과가 도착하면 남은 follower가 함께 처리된다
+        assertThat(repository.completeGroup("promoted")).containsExactly(3L);
+        assertThat(repository.completeGroup("leader")).isEmpty();
+    }
+
+    @Test
+    void testAbandonWithoutFollowersClosesGroup() {
+        repository.tryCreateGroup("leader", "fp", WINDOW, 1L);
+
+        assertThat(repository.promoteFollower("leader", "promoted")).isEmpty();
+        assertThat(repository.findRequestId("fp", WINDOW)).isEmpty();
+        assertThat(repository.tryCreateGroup("next", "fp", WINDOW, 4L)).isTrue();
+    }
+
+    @Test
+    void testFollowerCannotJoinClosedOrPromotedGroup() {
+        repository.tryCreateGroup("leader", "fp", WINDOW, 1L);
+        repository.addFollower("leader", 2L);
+        repository.promoteFollower("leader", "promoted");
+
+        assertThat(repository.addFollower("leader", 5L)).isFalse();
+        assertThat(repository.addFollower("promoted", 5L)).isTrue();
+
+        repository.completeGroup("promoted");
+        assertThat(repository.addFollower("promoted", 6L)).isFalse();
+    }
+
+    @Test
+    void testRepeatedAbandonDrainsEveryFollower() {
+        repository.tryCreateGroup("r0", "fp", WINDOW, 1L);
+        for (long logId = 2; logId <= 4; logId++) {
+            repository.addFollower("r0", logId);
+        }
+
+        List<Long> promoted = new ArrayList<>();
+        String requestId = "r0";
+        Optional<Long> next;
+        while ((next = repository.promoteFollower(requestId, requestId + "'")).isPresent()) {
+            promoted.add(next.get());
+            requestId = requestId + "'";
+        }
+
+        assertThat(promoted).containsExactly(2L, 3L, 4L);
+        assertThat(repository.findRequestId("fp", WINDOW)).isEmpty();
+    }
+}
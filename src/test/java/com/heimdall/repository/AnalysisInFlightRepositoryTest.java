@@ -0,0 +1,59 @@
+package com.heimdall.repository;
+
+import com.heimdall.repository.AnalysisInFlightRepository.InFlightRow;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * 결과 대기 요청 저장소 테스트 (heartbeat가 끊긴 인스턴스의 요청만 인계)
+ */
+class AnalysisInFlightRepositoryTest extends PostgresRepositoryTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 1, 1, 0, 10);
+    private static final LocalDateTime STALE_BEFORE = NOW.minusSeconds(30);
+
+    private AnalysisInFlightRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("TRUNCATE analysis_inflight_requests, analysis_inflight_owners");
+        repository = new AnalysisInFlightRepository(jdbcTemplate);
+    }
+
+    @Test
+    void testOnlyRequestsOfStaleOwnersAreClaimed() {
+        // Given: 오래전에 기록되었지만 heartbeat가 살아 있는 owner와, heartbeat가 끊긴 owner
+        repository.heartbeat("alive", NOW, STALE_BEFORE);
+        repository.heartbeat("dead", NOW.minusMinutes(5), NOW.minusMinutes(10));
+        repository.upsertAll(List.of(row("req-alive")), "alive", NOW.minusMinutes(5));
+        repository.upsertAll(List.of(row("req-dead")), "dead", NOW.minusMinutes(5));
+        repository.upsertAll(List.of(row("req-unknown")), "unknown", NOW.minusMinutes(5));
+
+        // When
+        repository.heartbeat("claimer", NOW, STALE_BEFORE);
+        List<InFlightRow> claimed = repository.claimStale("claimer", NOW, STALE_BEFORE, 10);
+
+        // Then: heartbeat가 없거나 끊긴 owner의 요청만 인계하고, 인계한 요청은 다시 인계되지 않음
+        assertThat(claimed).extracting(InFlightRow::requestId).containsExactlyInAnyOrder("req-dead", "req-unknown");
+        assertThat(repository.claimStale("other", NOW, STALE_BEFORE, 10)).isEmpty();
+    }
+
+    @Test
+    void testHeartbeatRemovesStaleOwners() {
+        repository.heartbeat("dead", NOW.minusMinutes(5), NOW.minusMinutes(10));
+
+        repository.heartbeat("alive", NOW, STALE_BEFORE);
+
+        assertThat(jdbcTemplate.queryForList("SELECT owner FROM analysis_inflight_owners", String.class))
+            .containsExactly("alive");
+    }
+
+    private InFlightRow row(String requestId) {
+        return new InFlightRow(requestId, 1L, "HIGH", 1, "{}", NOW.minusMinutes(5), NOW.plusMinutes(5));
+    }
+}
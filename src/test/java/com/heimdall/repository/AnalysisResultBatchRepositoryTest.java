@@ -0,0 +1,120 @@
+package com.heimdall.repository;
+
+import com.heimdall.entity.AnalysisResult;
+import com.heimdall.entity.LogEntry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * 분석 결과 bulk insert 테스트 (INSERT ... ON CONFLICT (request_id) DO NOTHING RETURNING)
+ */
+class AnalysisResultBatchRepositoryTest extends PostgresRepositoryTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    private AnalysisResultBatchRepository repository;
+    private LogEntry logEntry;
+    private LogEntry otherLogEntry;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("TRUNCATE log_entries CASCADE");
+        repository = new AnalysisResultBatchRepository(jdbcTemplate);
+        logEntry = insertLogEntry("event-1");
+        otherLogEntry = insertLogEntry("event-2");
+    }
+
+    @Test
+    void testInsertsBatchAndReturnsGeneratedIds() {
+        List<AnalysisResult> inserted = repository.insertAll(List.of(
+            result("req-1", logEntry, "first"),
+            result("req-2", otherLogEntry, "second")
+        ));
+
+        assertThat(inserted).extracting(AnalysisResult::getRequestId).containsExactlyInAnyOrder("req-1", "req-2");
+        assertThat(inserted).allSatisfy(result -> assertThat(result.getId()).isNotNull());
+        assertThat(summaryOf("req-2")).isEqualTo("second");
+    }
+
+    @Test
+    void testMixedBatchReturnsOnlyNewRequestIds() {
+        // Given: req-1은 이미 저장됨 (재전달된 결과)
+        repository.insertAll(List.of(result("req-1", logEntry, "original")));
+
+        // When
+        List<AnalysisResult> inserted = repository.insertAll(List.of(
+            result("req-1", logEntry, "redelivered"),
+            result("req-3", otherLogEntry, "new")
+        ));
+
+        // Then
+        assertThat(inserted).extracting(AnalysisResult::getRequestId).containsExactly("req-3");
+        assertThat(summaryOf("req-1")).isEqualTo("original");
+        assertThat(count()).isEqualTo(2);
+    }
+
+    @Test
+    void testDuplicateRequestIdsInOneBatchKeepFirst() {
+        AnalysisResult first = result("req-1", logEntry, "first");
+        AnalysisResult duplicate = result("req-1", otherLogEntry, "duplicate");
+
+        List<AnalysisResult> inserted = repository.insertAll(List.of(first, duplicate));
+
+        // 반환된 객체가 실제로 저장된 행과 일치해야 한다
+        assertThat(inserted).containsExactly(first);
+        assertThat(first.getId()).isNotNull();
+        assertThat(duplicate.getId()).isNull();
+        assertThat(summaryOf("req-1")).isEqualTo("first");
+    }
+
+    @Test
+    void testBatchLargerThanChunkIsFullyInserted() {
+        List<AnalysisResult> results = new ArrayList<>();
+        for (int i = 0; i < 450; i++) {
+            results.add(result("req-" + i, i % 2 == 0 ? logEntry : otherLogEntry, "summary-" + i));
+        }
+
+        assertThat(repository.insertAll(results)).hasSize(450);
+        assertThat(count()).isEqualTo(450);
+    }
+
+    private LogEntry insertLogEntry(String eventId) {
+        Long id = jdbcTemplate.queryForObject(
+            "INSERT INTO log_entries (event_id, timestamp, source, service_name, environment, severity, " +
+            "log_content, log_hash) VALUES (?, ?, 'test', 'checkout', 'prod', 'ERROR', 'boom', 'hash') RETURNING id",
+            Long.class, eventId, NOW);
+        LogEntry entry = new LogEntry();
+        entry.setId(id);
+        entry.setEventId(eventId);
+        return entry;
+    }
+
+    private AnalysisResult result(String requestId, LogEntry logEntry, String summary) {
+        AnalysisResult result = new AnalysisResult();
+        result.setLogEntry(logEntry);
+        result.setRequestId(requestId);
+        result.setFingerprint("fp");
+        result.setSummary(summary);
+        result.setSeverity("HIGH");
+        result.setConfidence(new BigDecimal("0.90"));
+        result.setAnalyzedAt(NOW);
+        result.setCreatedAt(NOW);
+        return result;
+    }
+
+    private String summaryOf(String requestId) {
+        return jdbcTemplate.queryForObject(
+            "SELECT summary FROM analysis_results WHERE request_id = ?", String.class, requestId);
+    }
+
+    private long count() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM analysis_results", Long.class);
+    }
+}
@@ -0,0 +1,128 @@
+package com.heimdall.repository;
+
+import com.heimdall.statistics.BucketDelta;
+import com.heimdall.statistics.MinuteBucketKey;
+import com.heimdall.statistics.StatisticsBucketKey;
+import com.heimdall.statistics.sketch.DDSketch;
+import com.heimdall.statistics.sketch.HyperLogLog;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * 통계 티어 저장소 테스트 (분 -> 시간 단위 upsert 누적, 시간 -> 일 단위 롤업과 압축)
+ */
+class LogStatisticsRollupRepositoryTest extends PostgresRepositoryTest {
+
+    private static final LocalDate DATE = LocalDate.of(2024, 1, 1);
+
+    private LogStatisticsUpsertRepository upsertRepository;
+    private LogStatisticsRollupRepository rollupRepository;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("TRUNCATE log_statistics, log_statistics_minute, log_statistics_daily RESTART IDENTITY");
+        upsertRepository = new LogStatisticsUpsertRepository(jdbcTemplate);
+        rollupRepository = new LogStatisticsRollupRepository(jdbcTemplate);
+    }
+
+    @Test
+    void testMinuteDeltasAccumulateIntoSameHourlyRow() {
+        flush(DATE.atTime(10, 1), 2, 200, "a", "b");
+        flush(DATE.atTime(10, 59), 2, 600, "b", "c");
+
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM log_statistics_minute", Integer.class))
+            .isEqualTo(2);
+        Map<String, Object> hourly = jdbcTemplate.queryForMap(
+            "SELECT count, avg_size_bytes, distinct_sketch FROM log_statistics WHERE date = ? AND hour = 10",
+            Date.valueOf(DATE));
+        assertThat(hourly.get("count")).isEqualTo(4);
+        // 평균 크기는 건수 가중 평균 (100 * 2 + 300 * 2) / 4
+        assertThat(hourly.get("avg_size_bytes")).isEqualTo(200);
+        assertThat(HyperLogLog.fromBytes((byte[]) hourly.get("distinct_sketch")).estimate()).isEqualTo(3L);
+    }
+
+    @Test
+    void testRollupSumsHoursOfOnlyThatDate() {
+        flush(DATE.atTime(0, 0), 3, 300, "a");
+        flush(DATE.atTime(23, 59), 1, 500, "b");
+        flush(DATE.plusDays(1).atStartOfDay(), 5, 500, "c");
+
+        assertThat(rollupRepository.rollupDay(DATE)).isEqualTo(1);
+
+        Map<String, Object> daily = dailyRow(DATE, "checkout");
+        assertThat(daily.get("count")).isEqualTo(4L);
+        assertThat(daily.get("avg_size_bytes")).isEqualTo(200);
+        assertThat(DDSketch.fromBytes((byte[]) daily.get("size_sketch")).getCount()).isEqualTo(4L);
+        assertThat(HyperLogLog.fromBytes((byte[]) daily.get("distinct_sketch")).estimate()).isEqualTo(2L);
+    }
+
+    @Test
+    void testRollupIsIdempotentAndNormalizesNullKeys() {
+        flush(DATE.atTime(10, 0), 3, 300, "a");
+        jdbcTemplate.update("INSERT INTO log_statistics (date, hour, service_name, environment, severity, count) "
+            + "VALUES (?, 11, NULL, NULL, 'ERROR', 2)", Date.valueOf(DATE));
+
+        rollupRepository.rollupDay(DATE);
+        assertThat(rollupRepository.rollupDay(DATE)).isEqualTo(2);
+
+        assertThat(dailyRow(DATE, "checkout").get("count")).isEqualTo(3L);
+        Map<String, Object> unknown = dailyRow(DATE, "unknown");
+        assertThat(unknown.get("count")).isEqualTo(2L);
+        assertThat(unknown.get("avg_size_bytes")).isNull();
+        assertThat(unknown.get("size_sketch")).isNull();
+    }
+
+    @Test
+    void testCompactDeletesHourlyRowsOfRolledUpDateOnly() {
+        flush(DATE.atTime(10, 0), 3, 300, "a");
+        flush(DATE.atTime(11, 0), 1, 100, "b");
+        flush(DATE.plusDays(1).atTime(10, 0), 5, 500, "c");
+
+        assertThat(rollupRepository.compactDay(DATE)).isEqualTo(2);
+
+        assertThat(jdbcTemplate.queryForList("SELECT date FROM log_statistics", LocalDate.class))
+            .containsExactly(DATE.plusDays(1));
+        assertThat(dailyRow(DATE, "checkout").get("count")).isEqualTo(4L);
+    }
+
+    /**
+     * 한 분 버킷과 그 시간 버킷에 같은 증가분을 반영 (집계기 flush와 동일한 형태)
+     */
+    private void flush(LocalDateTime timestamp, long count, long bytes, String... hashes) {
+        MinuteBucketKey minuteKey = MinuteBucketKey.of(timestamp, "checkout", "prod", "ERROR");
+        StatisticsBucketKey hourlyKey = StatisticsBucketKey.of(timestamp, "checkout", "prod", "ERROR");
+
+        Map<MinuteBucketKey, BucketDelta> minuteDeltas = new HashMap<>();
+        minuteDeltas.put(minuteKey, delta(count, bytes, hashes));
+        Map<StatisticsBucketKey, BucketDelta> hourlyDeltas = new HashMap<>();
+        hourlyDeltas.put(hourlyKey, delta(count, bytes, hashes));
+        upsertRepository.upsert(minuteDeltas, hourlyDeltas);
+    }
+
+    private BucketDelta delta(long count, long bytes, String... hashes) {
+        DDSketch sizeSketch = new DDSketch();
+        for (int i = 0; i < count; i++) {
+            sizeSketch.add(bytes / count);
+        }
+        HyperLogLog hashSketch = new HyperLogLog();
+        for (String hash : hashes) {
+            hashSketch.addHash(HyperLogLog.hashOf(hash));
+        }
+        return new BucketDelta(count, bytes, sizeSketch, hashSketch);
+    }
+
+    private Map<String, Object> dailyRow(LocalDate date, String serviceName) {
+        return jdbcTemplate.queryForMap(
+            "SELECT count, avg_size_bytes, size_sketch, distinct_sketch FROM log_statistics_daily "
+                + "WHERE date = ? AND service_name = ?",
+            Date.valueOf(date), serviceName);
+    }
+}
@@ -0,0 +1,66 @@
+package com.heimdall.repository;
+
+import com.heimdall.kafka.outbox.OutboxMessage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * outbox 저장소 테스트 (lease, 재시도 지연, parked 전환)
+ */
+class OutboxRepositoryTest extends PostgresRepositoryTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 1, 1, 12, 0);
+
+    private OutboxRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("TRUNCATE outbox_events RESTART IDENTITY");
+        repository = new OutboxRepository(jdbcTemplate);
+        for (int i = 0; i < 3; i++) {
+            repository.insert("ANALYSIS_REQUEST", "analysis.request", "key", "{}", NOW.minusMinutes(3 - i));
+        }
+    }
+
+    @Test
+    void testClaimSkipsLeasedRows() {
+        List<OutboxMessage> first = repository.claim("a", NOW, NOW.plusMinutes(5), 2);
+        List<OutboxMessage> second = repository.claim("b", NOW, NOW.plusMinutes(5), 10);
+
+        assertThat(first).extracting(OutboxMessage::id).containsExactly(1L, 2L);
+        assertThat(second).extracting(OutboxMessage::id).containsExactly(3L);
+        // lease가 만료되면 다른 relay가 다시 가져간다
+        assertThat(repository.claim("b", NOW.plusMinutes(6), NOW.plusMinutes(11), 10)).hasSize(3);
+    }
+
+    @Test
+    void testReleasedRowIsRetriedAfterDelayWithIncrementedAttempts() {
+        repository.claim("a", NOW, NOW.plusMinutes(5), 10);
+        repository.releaseAll(List.of(1L), NOW.plusSeconds(5));
+
+        assertThat(repository.claim("a", NOW.plusSeconds(1), NOW.plusMinutes(5), 10)).isEmpty();
+        assertThat(repository.claim("a", NOW.plusSeconds(6), NOW.plusMinutes(5), 10))
+            .singleElement()
+            .satisfies(message -> {
+                assertThat(message.id()).isEqualTo(1L);
+                assertThat(message.attempts()).isEqualTo(1);
+            });
+    }
+
+    @Test
+    void testParkedRowsAreNeverClaimedAndExcludedFromLag() {
+        repository.claim("a", NOW, NOW.plusMinutes(5), 10);
+        repository.parkAll(List.of(1L), NOW);
+
+        assertThat(repository.countParked()).isEqualTo(1);
+        assertThat(repository.findOldestCreatedAt()).isEqualTo(NOW.minusMinutes(2));
+        assertThat(repository.claim("a", NOW.plusHours(1), NOW.plusHours(2), 10))
+            .extracting(OutboxMessage::id)
+            .containsExactly(2L, 3L);
+    }
+}
@@ -0,0 +1,36 @@
+package com.heimdall.repository;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/**
+ * PostgreSQL 전용 SQL(ON CONFLICT, RETURNING, FOR UPDATE SKIP LOCKED 등)을 쓰는 저장소 테스트 기반
+ * Docker가 없으면 건너뛴다.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+abstract class PostgresRepositoryTest {
+
+    @Container
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    protected static JdbcTemplate jdbcTemplate;
+    protected static TransactionTemplate transactionTemplate;
+
+    @BeforeAll
+    static void initSchema() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+            POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword());
+        new ResourceDatabasePopulator(new ClassPathResource("db/schema.sql")).execute(dataSource);
+
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+    }
+}
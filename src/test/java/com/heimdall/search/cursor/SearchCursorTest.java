@@ -0,0 +1,71 @@
+package com.heimdall.search.cursor;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.heimdall.exception.LogProcessingException;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * search_after 커서 인코딩/복원 테스트 (변조된 토큰 검증, 페이지 크기 제한)
+ */
+class SearchCursorTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void testRoundTrip() {
+        SearchCursor cursor = SearchCursor.builder()
+            .pitId("pit-1")
+            .searchAfter(List.of(1700000000000L, 42))
+            .serviceName("checkout")
+            .severity("ERROR")
+            .from("2024-01-01T00:00:00")
+            .keyword("timeout")
+            .size(50)
+            .build();
+
+        SearchCursor decoded = SearchCursor.decode(cursor.encode(objectMapper), objectMapper, 1000);
+
+        assertThat(decoded).isEqualTo(cursor);
+    }
+
+    @Test
+    void testOversizedPageIsClamped() {
+        String token = SearchCursor.builder().size(1_000_000).build().encode(objectMapper);
+
+        assertThat(SearchCursor.decode(token, objectMapper, 1000).getSize()).isEqualTo(1000);
+    }
+
+    @Test
+    void testMissingOrNonPositiveSizeIsRejected() {
+        String missing = SearchCursor.builder().pitId("pit-1").build().encode(objectMapper);
+        String zero = SearchCursor.builder().size(0).build().encode(objectMapper);
+        String negative = token("{\"size\":-5}");
+
+        assertThatThrownBy(() -> SearchCursor.decode(missing, objectMapper, 1000))
+            .isInstanceOf(LogProcessingException.class);
+        assertThatThrownBy(() -> SearchCursor.decode(zero, objectMapper, 1000))
+            .isInstanceOf(LogProcessingException.class);
+        assertThatThrownBy(() -> SearchCursor.decode(negative, objectMapper, 1000))
+            .isInstanceOf(LogProcessingException.class);
+    }
+
+    @Test
+    void testTamperedTokenIsRejected() {
+        assertThatThrownBy(() -> SearchCursor.decode("not*base64!", objectMapper, 1000))
+            .isInstanceOf(LogProcessingException.class);
+        assertThatThrownBy(() -> SearchCursor.decode(token("{\"size\":\"many\"}"), objectMapper, 1000))
+            .isInstanceOf(LogProcessingException.class);
+        assertThatThrownBy(() -> SearchCursor.decode(token("null"), objectMapper, 1000))
+            .isInstanceOf(LogProcessingException.class);
+    }
+
+    private String token(String json) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(json.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,117 @@
+package com.heimdall.search.hot;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Hot tail 역색인 세그먼트 단위 테스트
+ */
+class HotSegmentTest {
+
+    @Test
+    void testSubstringSearchMatchesLikeSemantics() {
+        // Given
+        HotSegment segment = new HotSegment(0, 60_000);
+        segment.add(document(1, 1_000, "Connection timeout to payment-db"));
+        segment.add(document(2, 2_000, "User login succeeded"));
+        segment.add(document(3, 3_000, "Reconnecting to PAYMENT-DB after timeout"));
+
+        // When
+        List<HotDocument> matches = new ArrayList<>();
+        segment.search("payment-db", 0, 60_000, matches::add);
+
+        // Then: 토큰 경계를 넘는 키워드와 부분 단어도 대소문자 무시로 일치
+        assertThat(matches).extracting(HotDocument::logId).containsExactlyInAnyOrder(1L, 3L);
+
+        matches.clear();
+        segment.search("connect", 0, 60_000, matches::add);
+        assertThat(matches).extracting(HotDocument::logId).containsExactlyInAnyOrder(1L, 3L);
+    }
+
+    @Test
+    void testMatchesInsideLongTerms() {
+        // Given: 아주 긴 토큰 (base64 페이로드 등)
+        String longToken = "a".repeat(70) + "needle" + "b".repeat(30);
+        HotSegment segment = new HotSegment(0, 60_000);
+        segment.add(document(1, 1_000, "payload=" + longToken + " rejected"));
+        segment.add(document(2, 2_000, "short message"));
+
+        // When: 토큰 뒷부분과 긴 검색어
+        List<HotDocument> matches = new ArrayList<>();
+        segment.search("needle", 0, 60_000, matches::add);
+        segment.search("a".repeat(66) + "needlebb", 0, 60_000, matches::add);
+
+        // Then
+        assertThat(matches).extracting(HotDocument::logId).containsExactly(1L, 1L);
+    }
+
+    @Test
+    void testKeywordShorterThanGramIsVerifiedAgainstContent() {
+        // Given
+        HotSegment segment = new HotSegment(0, 60_000);
+        segment.add(document(1, 1_000, "mongodb down"));
+        segment.add(document(2, 2_000, "payment-db timeout"));
+        segment.add(document(3, 3_000, "cache miss"));
+
+        // When: gram을 만들 수 없는 짧은 검색어
+        List<HotDocument> matches = new ArrayList<>();
+        segment.search("db", 0, 60_000, matches::add);
+
+        // Then
+        assertThat(matches).extracting(HotDocument::logId).containsExactlyInAnyOrder(1L, 2L);
+    }
+
+    @Test
+    void testUnknownGramMatchesNothing() {
+        // Given
+        HotSegment segment = new HotSegment(0, 60_000);
+        segment.add(document(1, 1_000, "Connection timeout"));
+
+        // When
+        List<HotDocument> matches = new ArrayList<>();
+        segment.search("connection refused", 0, 60_000, matches::add);
+        segment.search("xyz", 0, 60_000, matches::add);
+
+        // Then
+        assertThat(matches).isEmpty();
+    }
+
+    @Test
+    void testSearchRespectsTimeRange() {
+        // Given
+        HotSegment segment = new HotSegment(0, 60_000);
+        segment.add(document(1, 1_000, "disk full"));
+        segment.add(document(2, 5_000, "disk full"));
+
+        // When
+        List<HotDocument> matches = new ArrayList<>();
+        segment.search("disk", 2_000, 60_000, matches::add);
+
+        // Then
+        assertThat(matches).extracting(HotDocument::logId).containsExactly(2L);
+    }
+
+    @Test
+    void testClosedSegmentRejectsDocuments() {
+        // Given
+        HotSegment segment = new HotSegment(0, 60_000);
+        segment.add(document(1, 1_000, "first"));
+        long released = segment.close();
+
+        // When
+        long added = segment.add(document(2, 2_000, "second"));
+
+        // Then
+        assertThat(released).isGreaterThan(0);
+        assertThat(added).isZero();
+        assertThat(segment.size()).isEqualTo(1);
+    }
+
+    private HotDocument document(long logId, long timestampMillis, String content) {
+        return new HotDocument(logId, timestampMillis, "test-service", "test", "ERROR", content);
+    }
+}
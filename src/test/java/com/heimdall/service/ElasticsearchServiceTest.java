@@ -0,0 +1,137 @@
+package com.heimdall.service;
+
+import co.elastic.clients.elasticsearch._types.aggregations.Aggregate;
+import co.elastic.clients.elasticsearch._types.aggregations.DateHistogramBucket;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.heimdall.dto.LogAggregationResponse;
+import com.heimdall.dto.LogSearchRequest;
+import com.heimdall.exception.LogProcessingException;
+import com.heimdall.search.document.LogDocument;
+import com.heimdall.search.repository.LogSearchRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.elasticsearch.client.elc.Aggregation;
+import org.springframework.data.elasticsearch.client.elc.ElasticsearchAggregation;
+import org.springframework.data.elasticsearch.client.elc.ElasticsearchAggregations;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.SearchHits;
+import org.springframework.data.elasticsearch.core.query.Query;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * 집계 검색 단위 테스트 (히스토그램 버킷 수 경계, facetSize 범위, 버킷 키의 UTC 시각 변환)
+ */
+@SuppressWarnings("unchecked")
+class ElasticsearchServiceTest {
+
+    private static final String FROM = "2024-01-01T00:00:00Z";
+    private static final String TO = "2024-01-02T00:00:00Z";
+
+    private final ElasticsearchOperations elasticsearchOperations = mock(ElasticsearchOperations.class);
+    private final SearchHits<LogDocument> searchHits = mock(SearchHits.class);
+
+    private ElasticsearchService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new ElasticsearchService(mock(LogSearchRepository.class), elasticsearchOperations,
+            new ObjectMapper());
+        ReflectionTestUtils.setField(service, "maxFacetSize", 100);
+        ReflectionTestUtils.setField(service, "maxHistogramBuckets", 25);
+        ReflectionTestUtils.setField(service, "retentionDays", 90);
+        when(elasticsearchOperations.search(any(Query.class), eq(LogDocument.class))).thenReturn(searchHits);
+    }
+
+    @Test
+    void testBucketCountIncludesBothEndsOfRange() {
+        // 하루 범위를 1h로 나누면 양 끝을 포함해 25개 버킷
+        assertThat(service.aggregate(range(FROM, TO), "1h", 10, false).getHistogram()).isEmpty();
+
+        ReflectionTestUtils.setField(service, "maxHistogramBuckets", 24);
+        assertThatThrownBy(() -> service.aggregate(range(FROM, TO), "1h", 10, false))
+            .isInstanceOf(LogProcessingException.class)
+            .hasMessageContaining("yields 25 buckets");
+        verify(elasticsearchOperations, times(1)).search(any(Query.class), eq(LogDocument.class));
+    }
+
+    @Test
+    void testIntervalJustBelowRangeSplitAddsBucket() {
+        // 86400s / 3456s = 25 구간 -> 26개 버킷, 3457s는 24 구간 -> 25개 버킷
+        assertThatThrownBy(() -> service.aggregate(range(FROM, TO), "3456s", 10, false))
+            .isInstanceOf(LogProcessingException.class)
+            .hasMessageContaining("yields 26 buckets");
+        assertThatCode(() -> service.aggregate(range(FROM, TO), "3457s", 10, false)).doesNotThrowAnyException();
+    }
+
+    @Test
+    void testMissingFromSpansRetentionWindow() {
+        LogSearchRequest request = range(null, TO);
+
+        // 90일을 1d로 나누면 91개 버킷
+        ReflectionTestUtils.setField(service, "maxHistogramBuckets", 91);
+        assertThatCode(() -> service.aggregate(request, "1d", 10, false)).doesNotThrowAnyException();
+        ReflectionTestUtils.setField(service, "maxHistogramBuckets", 90);
+        assertThatThrownBy(() -> service.aggregate(request, "1d", 10, false))
+            .isInstanceOf(LogProcessingException.class)
+            .hasMessageContaining("yields 91 buckets");
+    }
+
+    @Test
+    void testInvalidIntervalAndFacetSizeAreRejected() {
+        LogSearchRequest request = range(FROM, TO);
+
+        assertThatThrownBy(() -> service.aggregate(request, "0m", 10, false))
+            .isInstanceOf(LogProcessingException.class)
+            .hasMessageContaining("positive");
+        assertThatThrownBy(() -> service.aggregate(request, "1w", 10, false))
+            .isInstanceOf(LogProcessingException.class);
+        assertThatThrownBy(() -> service.aggregate(request, null, 10, false))
+            .isInstanceOf(LogProcessingException.class);
+        assertThatThrownBy(() -> service.aggregate(request, "1h", 0, false))
+            .isInstanceOf(LogProcessingException.class);
+        assertThatThrownBy(() -> service.aggregate(request, "1h", 101, false))
+            .isInstanceOf(LogProcessingException.class);
+        assertThatThrownBy(() -> service.aggregate(range(TO, FROM), "1h", 10, false))
+            .isInstanceOf(LogProcessingException.class);
+        assertThatCode(() -> service.aggregate(request, "1h", 100, false)).doesNotThrowAnyException();
+    }
+
+    @Test
+    void testHistogramBucketKeysAreUtcTimestamps() {
+        LocalDateTime first = LocalDateTime.of(2024, 1, 1, 9, 0);
+        Aggregate histogram = Aggregate.of(a -> a.dateHistogram(h -> h.buckets(b -> b.array(List.of(
+            DateHistogramBucket.of(bucket -> bucket.key(first.toInstant(ZoneOffset.UTC).toEpochMilli()).docCount(3)),
+            DateHistogramBucket.of(bucket -> bucket.key(first.plusHours(1).toInstant(ZoneOffset.UTC).toEpochMilli())
+                .docCount(0)))))));
+        ElasticsearchAggregations aggregations = mock(ElasticsearchAggregations.class);
+        when(aggregations.aggregationsAsMap()).thenReturn(Map.of(
+            "histogram", new ElasticsearchAggregation(new Aggregation("histogram", histogram))));
+        doReturn(aggregations).when(searchHits).getAggregations();
+        when(searchHits.getTotalHits()).thenReturn(3L);
+
+        LogAggregationResponse response = service.aggregate(range(FROM, TO), "1h", 10, false);
+
+        assertThat(response.getTotalLogs()).isEqualTo(3L);
+        assertThat(response.getHistogram())
+            .extracting(
+                LogAggregationResponse.HistogramBucket::getTimestamp,
+                LogAggregationResponse.HistogramBucket::getCount)
+            .containsExactly(tuple(first, 3L), tuple(first.plusHours(1), 0L));
+        assertThat(response.getFacets()).containsOnlyKeys("severity", "serviceName", "environment");
+        assertThat(response.getFacets().values()).allSatisfy(buckets -> assertThat(buckets).isEmpty());
+        assertThat(response.getDistinctLogs()).isNull();
+    }
+
+    private LogSearchRequest range(String from, String to) {
+        return LogSearchRequest.builder().from(from).to(to).build();
+    }
+}
@@ -0,0 +1,117 @@
+package com.heimdall.service;
+
+import com.heimdall.search.document.LogDocument;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.mapping.IndexCoordinates;
+import org.springframework.data.elasticsearch.core.query.UpdateQuery;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * LogDocument 부분 업데이트 병합/flush 단위 테스트 (eventId 병합, 대기열 상한, 실패 배치 재시도)
+ */
+@SuppressWarnings("unchecked")
+class LogDocumentUpdateServiceTest {
+
+    private static final IndexCoordinates INDEX = IndexCoordinates.of("logs");
+
+    private final ElasticsearchOperations elasticsearchOperations = mock(ElasticsearchOperations.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private LogDocumentUpdateService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new LogDocumentUpdateService(elasticsearchOperations, meterRegistry);
+        ReflectionTestUtils.setField(service, "enabled", true);
+        ReflectionTestUtils.setField(service, "batchSize", 2);
+        ReflectionTestUtils.setField(service, "maxPending", 100);
+        ReflectionTestUtils.setField(service, "maxAttempts", 2);
+        when(elasticsearchOperations.getIndexCoordinatesFor(LogDocument.class)).thenReturn(INDEX);
+    }
+
+    @Test
+    void testUpdatesForSameEventAreCoalesced() {
+        service.markAnalyzed("event-1", "PENDING");
+        service.markAnalyzed("event-1", "COMPLETED");
+
+        service.flush();
+
+        List<UpdateQuery> sent = sentBatches().get(0);
+        assertThat(sent).extracting(UpdateQuery::getId).containsExactly("event-1");
+        assertThat(sent.get(0).getDocument().get("analysisStatus")).isEqualTo("COMPLETED");
+        assertThat(meterRegistry.counter("search.document.updates.coalesced").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void testFlushSplitsIntoBatchSizeRequests() {
+        service.markAnalyzed("event-1", "COMPLETED");
+        service.markAnalyzed("event-2", "COMPLETED");
+        service.markAnalyzed("event-3", "COMPLETED");
+
+        service.flush();
+
+        assertThat(sentBatches()).extracting(List::size).containsExactlyInAnyOrder(2, 1);
+        assertThat(meterRegistry.counter("search.document.updates.flushed").count()).isEqualTo(3.0);
+    }
+
+    @Test
+    void testReachingMaxPendingFlushesOnCallerThread() {
+        ReflectionTestUtils.setField(service, "maxPending", 2);
+
+        service.markAnalyzed("event-1", "COMPLETED");
+        verifyNoInteractions(elasticsearchOperations);
+
+        service.markAnalyzed("event-2", "COMPLETED");
+        verify(elasticsearchOperations).bulkUpdate(anyList(), eq(INDEX));
+    }
+
+    @Test
+    void testFailedBatchIsRetriedOnNextFlushUntilAttemptsRunOut() {
+        doThrow(new IllegalStateException("cluster unavailable"))
+            .when(elasticsearchOperations).bulkUpdate(anyList(), any(IndexCoordinates.class));
+        service.markAnalyzed("event-1", "COMPLETED");
+
+        service.flush();
+        service.flush();
+        service.flush();
+
+        // max-attempts(2)번 보낸 뒤에는 버리고 더 보내지 않는다
+        verify(elasticsearchOperations, times(2)).bulkUpdate(anyList(), any(IndexCoordinates.class));
+        assertThat(meterRegistry.counter("search.document.updates.retried").count()).isEqualTo(1.0);
+        assertThat(meterRegistry.counter("search.document.updates.failed").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void testNewerUpdateWinsOverRequeuedOne() {
+        doThrow(new IllegalStateException("cluster unavailable"))
+            .doNothing()
+            .when(elasticsearchOperations).bulkUpdate(anyList(), any(IndexCoordinates.class));
+        service.markAnalyzed("event-1", "PENDING");
+        service.markAnalyzed("event-2", "COMPLETED");
+
+        service.flush();
+        service.markAnalyzed("event-1", "COMPLETED");
+        service.flush();
+
+        List<UpdateQuery> retried = sentBatches().get(1);
+        assertThat(retried).extracting(UpdateQuery::getId).containsExactlyInAnyOrder("event-1", "event-2");
+        assertThat(retried).filteredOn(query -> query.getId().equals("event-1"))
+            .extracting(query -> query.getDocument().get("analysisStatus")).containsExactly("COMPLETED");
+    }
+
+    private List<List<UpdateQuery>> sentBatches() {
+        ArgumentCaptor<List<UpdateQuery>> captor = ArgumentCaptor.forClass(List.class);
+        verify(elasticsearchOperations, atLeastOnce()).bulkUpdate(captor.capture(), eq(INDEX));
+        return captor.getAllValues();
+    }
+}
@@ -0,0 +1,147 @@
+package com.heimdall.service;
+
+import com.heimdall.analysis.admission.AnalysisAdmissionController;
+import com.heimdall.analysis.anomaly.AnomalySignal;
+import com.heimdall.analysis.anomaly.ErrorRateDetector;
+import com.heimdall.analysis.cache.AnalysisResultCache;
+import com.heimdall.analysis.coalesce.AnalysisCoalescer;
+import com.heimdall.analysis.dispatch.AnalysisRequestDispatcher;
+import com.heimdall.analysis.inflight.InFlightRequestTracker;
+import com.heimdall.entity.LogEntry;
+import com.heimdall.kafka.event.AnalysisRequestEvent;
+import com.heimdall.kafka.event.LogIngestionEvent;
+import com.heimdall.kafka.outbox.OutboxWriter;
+import com.heimdall.repository.AnalysisResultRepository;
+import com.heimdall.repository.LogEntryRepository;
+import com.heimdall.search.hot.HotLogIndex;
+import com.heimdall.statistics.StatisticsAggregator;
+import com.heimdall.statistics.topk.HeavyHitterTracker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * 로그 수집 시 분석 요청 경로 테스트 (단발성 에러 분석, 병합 그룹 리더 실패 시 승격, admission 거절 시 그룹 폐기)
+ */
+class LogIngestionServiceTest {
+
+    private final LogEntryRepository logEntryRepository = mock(LogEntryRepository.class);
+    private final OutboxWriter outboxWriter = mock(OutboxWriter.class);
+    private final ErrorRateDetector errorRateDetector = mock(ErrorRateDetector.class);
+    private final AnalysisAdmissionController admissionController = mock(AnalysisAdmissionController.class);
+    private final AnalysisCoalescer analysisCoalescer = mock(AnalysisCoalescer.class);
+    private final AnalysisResultCache analysisResultCache = mock(AnalysisResultCache.class);
+
+    private LogIngestionService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new LogIngestionService(logEntryRepository, mock(AnalysisRequestDispatcher.class),
+            mock(InFlightRequestTracker.class), outboxWriter, new SimpleMeterRegistry(), mock(HotLogIndex.class),
+            mock(StatisticsAggregator.class), mock(HeavyHitterTracker.class), errorRateDetector, admissionController,
+            analysisCoalescer, analysisResultCache, mock(AnalysisResultRepository.class),
+            mock(LogDocumentUpdateService.class));
+        ReflectionTestUtils.setField(service, "analysisEnabled", true);
+        ReflectionTestUtils.setField(service, "autoRequestAnalysis", true);
+        ReflectionTestUtils.setField(service, "alwaysAnalyzeFatal", true);
+        ReflectionTestUtils.setField(service, "outboxEnabled", true);
+        ReflectionTestUtils.setField(service, "productionEnvironments", List.of("prod"));
+
+        when(logEntryRepository.save(any())).thenAnswer(invocation -> {
+            LogEntry logEntry = invocation.getArgument(0);
+            logEntry.setId(1L);
+            return logEntry;
+        });
+        when(analysisResultCache.lookup(anyString())).thenReturn(Optional.empty());
+        when(analysisCoalescer.join(any(), anyString())).thenReturn(new AnalysisCoalescer.Membership("req-1", true));
+    }
+
+    @Test
+    void testFailedLeaderRequestPromotesFollower() {
+        when(admissionController.admit(any())).thenReturn(true);
+        doThrow(new IllegalStateException("outbox insert failed"))
+            .doNothing()
+            .when(outboxWriter).appendAnalysisRequest(any());
+        when(analysisCoalescer.abandon("req-1")).thenReturn(Optional.of(new AnalysisCoalescer.Promotion("req-2", 2L)));
+        when(logEntryRepository.findById(2L)).thenReturn(Optional.of(follower(2L)));
+
+        service.processLogIngestion(event());
+
+        ArgumentCaptor<AnalysisRequestEvent> requests = ArgumentCaptor.forClass(AnalysisRequestEvent.class);
+        verify(outboxWriter, times(2)).appendAnalysisRequest(requests.capture());
+        assertThat(requests.getAllValues()).extracting(AnalysisRequestEvent::getRequestId, AnalysisRequestEvent::getLogId)
+            .containsExactly(tuple("req-1", 1L), tuple("req-2", 2L));
+        // 그룹은 한 번만 admission을 거친다
+        verify(admissionController, times(1)).admit(any());
+        verify(analysisCoalescer, never()).drop(anyString());
+    }
+
+    @Test
+    void testPromotionStopsWhenNoFollowerRemains() {
+        when(admissionController.admit(any())).thenReturn(true);
+        doThrow(new IllegalStateException("outbox insert failed")).when(outboxWriter).appendAnalysisRequest(any());
+        when(analysisCoalescer.abandon("req-1")).thenReturn(Optional.empty());
+
+        service.processLogIngestion(event());
+
+        verify(outboxWriter, times(1)).appendAnalysisRequest(any());
+        verify(logEntryRepository, never()).findById(any());
+    }
+
+    @Test
+    void testAdmissionRejectionDropsGroupWithoutPromotion() {
+        when(admissionController.admit(any())).thenReturn(false);
+
+        service.processLogIngestion(event());
+
+        verify(analysisCoalescer).drop("req-1");
+        verify(analysisCoalescer, never()).abandon(anyString());
+        verify(logEntryRepository, never()).findById(any());
+        verifyNoInteractions(outboxWriter);
+    }
+
+    @Test
+    void testIsolatedErrorOnQuietServiceIsAnalyzed() {
+        when(errorRateDetector.isEnabled()).thenReturn(true);
+        when(errorRateDetector.observe(any())).thenReturn(AnomalySignal.ISOLATED, AnomalySignal.NONE);
+        when(admissionController.admit(any())).thenReturn(true);
+
+        service.processLogIngestion(event());
+        service.processLogIngestion(event());
+
+        verify(outboxWriter, times(1)).appendAnalysisRequest(any());
+    }
+
+    private LogIngestionEvent event() {
+        return LogIngestionEvent.builder()
+            .eventId("event-1")
+            .timestamp(LocalDateTime.of(2024, 1, 1, 0, 0))
+            .source("app")
+            .serviceName("checkout")
+            .environment("prod")
+            .severity("ERROR")
+            .logContent("connection refused to db-1")
+            .build();
+    }
+
+    private LogEntry follower(Long id) {
+        LogEntry logEntry = new LogEntry();
+        logEntry.setId(id);
+        logEntry.setEventId("event-" + id);
+        logEntry.setServiceName("checkout");
+        logEntry.setEnvironment("prod");
+        logEntry.setSeverity(LogEntry.SeverityLevel.ERROR);
+        logEntry.setLogContent("connection refused to db-2");
+        return logEntry;
+    }
+}
@@ -0,0 +1,133 @@
+package com.heimdall.service;
+
+import com.heimdall.analysis.cache.AnalysisResultCache;
+import com.heimdall.analysis.coalesce.AnalysisCoalescer;
+import com.heimdall.analysis.inflight.InFlightRequestTracker;
+import com.heimdall.entity.AnalysisResult;
+import com.heimdall.entity.LogEntry;
+import com.heimdall.kafka.event.AnalysisResultEvent;
+import com.heimdall.repository.AnalysisResultBatchRepository;
+import com.heimdall.repository.LogEntryRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * 분석 결과 배치 처리 테스트 (logId 일괄 조회, 커밋 이후 부수 효과)
+ */
+class LogProcessingServiceTest {
+
+    private final LogEntryRepository logEntryRepository = mock(LogEntryRepository.class);
+    private final AnalysisResultBatchRepository batchRepository = mock(AnalysisResultBatchRepository.class);
+    private final LogDocumentUpdateService logDocumentUpdateService = mock(LogDocumentUpdateService.class);
+    private final AnalysisResultCache analysisResultCache = mock(AnalysisResultCache.class);
+    private final InFlightRequestTracker inFlightRequestTracker = mock(InFlightRequestTracker.class);
+    private final AnalysisCoalescer analysisCoalescer = mock(AnalysisCoalescer.class);
+
+    private LogProcessingService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new LogProcessingService(logEntryRepository, batchRepository, mock(NotificationService.class),
+            logDocumentUpdateService, analysisCoalescer, analysisResultCache, inFlightRequestTracker,
+            new SimpleMeterRegistry());
+        when(logEntryRepository.findAllById(any())).thenReturn(List.of(logEntry(1L), logEntry(2L)));
+        when(batchRepository.insertAll(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testResolvesLogIdsWithOneLookupAndSkipsMissingLogs() {
+        service.processAnalysisResults(List.of(
+            event("req-1", 1L), event("req-2", 2L), event("req-3", 1L), event("req-4", 99L), event("req-1", 1L)
+        ));
+
+        verify(logEntryRepository, times(1)).findAllById(Set.of(1L, 2L, 99L));
+        ArgumentCaptor<List<AnalysisResult>> captor = ArgumentCaptor.forClass(List.class);
+        verify(batchRepository).insertAll(captor.capture());
+        assertThat(captor.getValue()).extracting(AnalysisResult::getRequestId)
+            .containsExactly("req-1", "req-2", "req-3");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testLeaderResultIsFannedOutToFollowers() {
+        when(analysisCoalescer.completeAll(List.of("req-1"))).thenReturn(Map.of("req-1", List.of(2L)));
+
+        service.processAnalysisResults(List.of(event("req-1", 1L)));
+
+        ArgumentCaptor<List<AnalysisResult>> captor = ArgumentCaptor.forClass(List.class);
+        verify(batchRepository).insertAll(captor.capture());
+        assertThat(captor.getValue()).extracting(result -> result.getLogEntry().getId()).containsExactly(1L, 2L);
+        assertThat(captor.getValue().get(1).getRequestId()).isNotEqualTo("req-1");
+
+        // 인덱스는 follower까지 반영하고, 재요청 추적 종료는 리더 requestId에만 적용
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        verify(logDocumentUpdateService).markAnalyzed("event-2", "COMPLETED");
+        verify(inFlightRequestTracker).completeAll(List.of("req-1"));
+    }
+
+    @Test
+    void testIndexCacheAndTrackingAreUpdatedOnlyAfterCommit() {
+        service.processAnalysisResults(List.of(event("req-1", 1L)));
+
+        verifyNoInteractions(logDocumentUpdateService, analysisResultCache, inFlightRequestTracker);
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+        verify(logDocumentUpdateService).markAnalyzed("event-1", "COMPLETED");
+        verify(analysisResultCache).put(anyString(), any());
+        verify(inFlightRequestTracker).completeAll(List.of("req-1"));
+    }
+
+    @Test
+    void testRollbackLeavesIndexCacheAndTrackingUntouched() {
+        service.processAnalysisResults(List.of(event("req-1", 1L)));
+
+        TransactionSynchronizationManager.getSynchronizations()
+            .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        verifyNoInteractions(logDocumentUpdateService, analysisResultCache, inFlightRequestTracker);
+    }
+
+    private LogEntry logEntry(Long id) {
+        LogEntry logEntry = new LogEntry();
+        logEntry.setId(id);
+        logEntry.setEventId("event-" + id);
+        logEntry.setServiceName("checkout");
+        logEntry.setSeverity(LogEntry.SeverityLevel.ERROR);
+        logEntry.setLogContent("connection refused");
+        return logEntry;
+    }
+
+    private AnalysisResultEvent event(String requestId, Long logId) {
+        return AnalysisResultEvent.builder()
+            .requestId(requestId)
+            .logId(logId)
+            .timestamp(LocalDateTime.of(2024, 1, 1, 0, 0))
+            .analysisResult(AnalysisResultEvent.AnalysisResultDetail.builder()
+                .summary("summary")
+                .severity("LOW")
+                .build())
+            .build();
+    }
+}
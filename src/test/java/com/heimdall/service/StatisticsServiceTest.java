@@ -0,0 +1,179 @@
+package com.heimdall.service;
+
+import com.heimdall.cache.QueryResultCache;
+import com.heimdall.dto.StatisticsRangeResponse;
+import com.heimdall.dto.StatisticsResponse;
+import com.heimdall.entity.LogStatistics;
+import com.heimdall.entity.LogStatisticsDaily;
+import com.heimdall.repository.LogStatisticsDailyRepository;
+import com.heimdall.repository.LogStatisticsMinuteRepository;
+import com.heimdall.repository.LogStatisticsRepository;
+import com.heimdall.statistics.StatisticsAggregator;
+import com.heimdall.statistics.topk.HeavyHitterTracker;
+import com.heimdall.util.DateTimeUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.*;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * 통계 조회 단위 테스트 (캐시 TTL 마감 판단, 구간 통계 버킷 경계, 일 단위 롤업 경계 병합)
+ */
+class StatisticsServiceTest {
+
+    private final LogStatisticsRepository logStatisticsRepository = mock(LogStatisticsRepository.class);
+    private final LogStatisticsDailyRepository dailyRepository = mock(LogStatisticsDailyRepository.class);
+    private final QueryResultCache queryResultCache = mock(QueryResultCache.class);
+    private final StatisticsAggregator statisticsAggregator = mock(StatisticsAggregator.class);
+
+    private StatisticsService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new StatisticsService(logStatisticsRepository, mock(LogStatisticsMinuteRepository.class),
+            dailyRepository, queryResultCache, mock(HeavyHitterTracker.class), statisticsAggregator);
+        ReflectionTestUtils.setField(service, "minuteRetentionHours", 24L);
+        ReflectionTestUtils.setField(service, "hourlyRetentionDays", 30L);
+    }
+
+    @Test
+    void testPreviousDayIsOpenUntilFlushedPastMidnight() {
+        LocalDate yesterday = DateTimeUtil.now().toLocalDate().minusDays(1);
+        when(statisticsAggregator.isFlushedThrough(yesterday.plusDays(1).atStartOfDay())).thenReturn(false);
+
+        service.getStatistics(yesterday, "checkout", "prod");
+
+        verify(queryResultCache).getOrCompute(eq("statistics"), anyString(), eq(false),
+            eq(StatisticsResponse.class), any());
+    }
+
+    @Test
+    void testPreviousDayIsClosedAfterFlushPastMidnight() {
+        LocalDate yesterday = DateTimeUtil.now().toLocalDate().minusDays(1);
+        when(statisticsAggregator.isFlushedThrough(yesterday.plusDays(1).atStartOfDay())).thenReturn(true);
+
+        service.getStatistics(yesterday, "checkout", "prod");
+
+        verify(queryResultCache).getOrCompute(eq("statistics"), anyString(), eq(true),
+            eq(StatisticsResponse.class), any());
+    }
+
+    @Test
+    void testTodayIsNeverClosed() {
+        when(statisticsAggregator.isFlushedThrough(any())).thenReturn(true);
+
+        service.getStatistics(DateTimeUtil.now().toLocalDate(), "checkout", "prod");
+
+        verify(queryResultCache).getOrCompute(eq("statistics"), anyString(), eq(false),
+            eq(StatisticsResponse.class), any());
+    }
+
+    @Test
+    void testHourlyRowsAreBucketedFromTruncatedFromUntilExclusiveTo() {
+        LocalDate date = DateTimeUtil.now().toLocalDate().minusDays(2);
+        when(logStatisticsRepository.findRange(date, date, "checkout", "prod")).thenReturn(List.of(
+            hourly(date, 9, "ERROR", 100),
+            hourly(date, 10, "ERROR", 1),
+            hourly(date, 11, "WARN", 2),
+            hourly(date, 12, "ERROR", 4),
+            hourly(date, 15, "ERROR", 8),
+            hourly(date, 16, "ERROR", 100)
+        ));
+
+        StatisticsRangeResponse response = computeRange(date.atTime(10, 30), date.atTime(16, 0), "3h");
+
+        // 10:30은 10시 버킷으로 내림되어 포함되고, to(16시) 행은 제외된다. 3h 버킷은 epoch 기준으로 정렬된다.
+        assertThat(response.getTier()).isEqualTo("HOUR");
+        assertThat(response.getResolution()).isEqualTo("3h");
+        assertThat(response.getPoints())
+            .extracting(
+                StatisticsRangeResponse.RangePoint::getTimestamp,
+                StatisticsRangeResponse.RangePoint::getTotalLogs)
+            .containsExactly(
+                tuple(date.atTime(9, 0), 3L),
+                tuple(date.atTime(12, 0), 4L),
+                tuple(date.atTime(15, 0), 8L));
+        assertThat(response.getPoints().get(0).getBySeverity()).isEqualTo(Map.of("ERROR", 1L, "WARN", 2L));
+    }
+
+    @Test
+    void testDailyRangeFillsUnrolledDatesFromHourlyRows() {
+        LocalDate today = DateTimeUtil.now().toLocalDate();
+        LocalDate old = today.minusDays(40);
+        LocalDate rolledUp = today.minusDays(2);
+        when(dailyRepository.findRange(old, today.plusDays(1), "checkout", "prod")).thenReturn(List.of(
+            daily(old, "ERROR", 5),
+            daily(rolledUp, "ERROR", 7)
+        ));
+        when(logStatisticsRepository.findRange(today.minusDays(30), today.plusDays(1), "checkout", "prod"))
+            .thenReturn(List.of(
+                hourly(rolledUp, 3, "ERROR", 99),
+                hourly(today, 1, "ERROR", 2),
+                hourly(today, 5, "WARN", 3)
+            ));
+
+        StatisticsRangeResponse response = computeRange(old.atStartOfDay(), today.plusDays(1).atStartOfDay(), "1d");
+
+        // 롤업된 날짜는 일 단위 행만 쓰고, 롤업 전인 오늘은 시간 단위 행을 하루치로 합산한다
+        assertThat(response.getTier()).isEqualTo("DAY");
+        assertThat(response.getPoints())
+            .extracting(
+                StatisticsRangeResponse.RangePoint::getTimestamp,
+                StatisticsRangeResponse.RangePoint::getBySeverity)
+            .containsExactly(
+                tuple(old.atStartOfDay(), Map.of("ERROR", 5L)),
+                tuple(rolledUp.atStartOfDay(), Map.of("ERROR", 7L)),
+                tuple(today.atStartOfDay(), Map.of("ERROR", 2L, "WARN", 3L)));
+    }
+
+    @Test
+    void testSubHourResolutionOutsideMinuteRetentionRoundsUpToHour() {
+        LocalDate date = DateTimeUtil.now().toLocalDate().minusDays(2);
+        when(logStatisticsRepository.findRange(date, date, "checkout", "prod")).thenReturn(List.of(
+            hourly(date, 1, "ERROR", 1),
+            hourly(date, 2, "ERROR", 2)
+        ));
+
+        StatisticsRangeResponse response = computeRange(date.atTime(1, 0), date.atTime(3, 0), "15m");
+
+        assertThat(response.getTier()).isEqualTo("HOUR");
+        assertThat(response.getRequestedResolution()).isEqualTo("15m");
+        assertThat(response.getResolution()).isEqualTo("1h");
+        assertThat(response.getPoints()).extracting(StatisticsRangeResponse.RangePoint::getTotalLogs)
+            .containsExactly(1L, 2L);
+    }
+
+    private StatisticsRangeResponse computeRange(LocalDateTime from, LocalDateTime to, String resolution) {
+        when(queryResultCache.getOrCompute(eq("statistics-range"), anyString(), anyBoolean(),
+            eq(StatisticsRangeResponse.class), any()))
+            .thenAnswer(invocation -> invocation.<Supplier<StatisticsRangeResponse>>getArgument(4).get());
+        return service.getRangeStatistics(from, to, resolution, "checkout", "prod");
+    }
+
+    private LogStatistics hourly(LocalDate date, int hour, String severity, int count) {
+        LogStatistics stat = new LogStatistics();
+        stat.setDate(date);
+        stat.setHour((short) hour);
+        stat.setSeverity(severity);
+        stat.setCount(count);
+        return stat;
+    }
+
+    private LogStatisticsDaily daily(LocalDate date, String severity, long count) {
+        LogStatisticsDaily stat = new LogStatisticsDaily();
+        stat.setDate(date);
+        stat.setSeverity(severity);
+        stat.setCount(count);
+        return stat;
+    }
+}
@@ -0,0 +1,130 @@
+package com.heimdall.statistics;
+
+import com.heimdall.entity.LogEntry;
+import com.heimdall.repository.LogStatisticsUpsertRepository;
+import com.heimdall.util.DateTimeUtil;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * 실시간 통계 집계기 단위 테스트
+ */
+class StatisticsAggregatorTest {
+
+    private final LogStatisticsUpsertRepository upsertRepository = mock(LogStatisticsUpsertRepository.class);
+
+    private StatisticsAggregator aggregator;
+
+    @BeforeEach
+    void setUp() {
+        aggregator = new StatisticsAggregator(upsertRepository, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(aggregator, "enabled", true);
+        ReflectionTestUtils.setField(aggregator, "idleBucketHours", 2L);
+        ReflectionTestUtils.setField(aggregator, "hourlyRetentionDays", 30L);
+        ReflectionTestUtils.setField(aggregator, "flushIntervalMs", 5000L);
+        aggregator.registerMetrics();
+    }
+
+    @Test
+    void testFlushedThroughRequiresFlushAfterTimePlusInterval() {
+        LocalDateTime minuteAgo = DateTimeUtil.now().minusMinutes(1);
+        assertThat(aggregator.isFlushedThrough(minuteAgo)).isFalse();
+
+        aggregator.flush();
+
+        assertThat(aggregator.isFlushedThrough(minuteAgo)).isTrue();
+        // flush 주기만큼의 여유가 지나지 않은 시각은 아직 마감이 아니다
+        assertThat(aggregator.isFlushedThrough(DateTimeUtil.now())).isFalse();
+    }
+
+    @Test
+    void testFailedFlushDoesNotAdvanceFlushedThrough() {
+        doThrow(new IllegalStateException("db down")).when(upsertRepository).upsert(anyMap(), anyMap());
+        aggregator.record(logEntry(DateTimeUtil.now()));
+
+        aggregator.flush();
+
+        assertThat(aggregator.isFlushedThrough(DateTimeUtil.now().minusMinutes(1))).isFalse();
+    }
+
+    @Test
+    void testRecordsDuringFlushOfIdleBucketAreNotLost() throws Exception {
+        // Given: 유휴 버킷으로 제거되는 3시간 전 로그를 여러 스레드가 계속 기록
+        AtomicLong upserted = new AtomicLong();
+        doAnswer(invocation -> {
+            Map<MinuteBucketKey, BucketDelta> deltas = invocation.getArgument(0);
+            deltas.values().forEach(delta -> upserted.addAndGet(delta.count()));
+            return null;
+        }).when(upsertRepository).upsert(anyMap(), anyMap());
+        LocalDateTime idleTimestamp = DateTimeUtil.now().minusHours(3);
+        int threads = 4;
+        int perThread = 20_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch done = new CountDownLatch(threads);
+
+        // When: 기록 중에 flush를 반복
+        try {
+            for (int i = 0; i < threads; i++) {
+                executor.execute(() -> {
+                    for (int n = 0; n < perThread; n++) {
+                        aggregator.record(logEntry(idleTimestamp));
+                    }
+                    done.countDown();
+                });
+            }
+            while (!done.await(1, TimeUnit.MILLISECONDS)) {
+                aggregator.flush();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        aggregator.flush();
+
+        // Then: 제거된 버킷에 늦게 도착한 증가분도 모두 반영
+        assertThat(upserted.get()).isEqualTo((long) threads * perThread);
+    }
+
+    @Test
+    void testFailedFlushRestoresDeltasForNextFlush() {
+        AtomicLong upserted = new AtomicLong();
+        doThrow(new IllegalStateException("db down"))
+            .doAnswer(invocation -> {
+                Map<MinuteBucketKey, BucketDelta> deltas = invocation.getArgument(0);
+                deltas.values().forEach(delta -> upserted.addAndGet(delta.count()));
+                return null;
+            })
+            .when(upsertRepository).upsert(anyMap(), anyMap());
+        aggregator.record(logEntry(DateTimeUtil.now()));
+        aggregator.record(logEntry(DateTimeUtil.now().minusHours(3)));
+
+        aggregator.flush();
+        aggregator.flush();
+
+        assertThat(upserted.get()).isEqualTo(2);
+    }
+
+    private LogEntry logEntry(LocalDateTime timestamp) {
+        LogEntry logEntry = new LogEntry();
+        logEntry.setTimestamp(timestamp);
+        logEntry.setServiceName("checkout");
+        logEntry.setEnvironment("prod");
+        logEntry.setSeverity(LogEntry.SeverityLevel.ERROR);
+        logEntry.setLogContent("failure");
+        logEntry.setLogHash("hash");
+        return logEntry;
+    }
+}
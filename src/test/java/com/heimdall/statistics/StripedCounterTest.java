@@ -0,0 +1,94 @@
+package com.heimdall.statistics;
+
+import com.heimdall.statistics.sketch.HyperLogLog;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * 버킷 카운터 단위 테스트 (회수, 복원, retire 이후 거절)
+ */
+class StripedCounterTest {
+
+    @Test
+    void testDrainReturnsAccumulatedValuesAndResets() {
+        StripedCounter counter = new StripedCounter();
+        counter.add(100, HyperLogLog.hashOf("a"));
+        counter.add(300, HyperLogLog.hashOf("b"));
+
+        BucketDelta delta = counter.drain();
+
+        assertThat(delta.count()).isEqualTo(2);
+        assertThat(delta.bytes()).isEqualTo(400);
+        assertThat(delta.sizeSketch().getCount()).isEqualTo(2);
+        assertThat(delta.hashSketch().estimate()).isEqualTo(2);
+        assertThat(counter.drain().count()).isZero();
+    }
+
+    @Test
+    void testRestoredDeltaIsDrainedAgain() {
+        StripedCounter counter = new StripedCounter();
+        counter.add(100, 1L);
+        BucketDelta delta = counter.drain();
+
+        counter.restore(delta);
+        counter.add(50, 2L);
+
+        BucketDelta restored = counter.drain();
+        assertThat(restored.count()).isEqualTo(2);
+        assertThat(restored.bytes()).isEqualTo(150);
+    }
+
+    @Test
+    void testAddAfterRetireIsRejected() {
+        StripedCounter counter = new StripedCounter();
+        assertThat(counter.add(100, 1L)).isTrue();
+
+        assertThat(counter.retire().count()).isEqualTo(1);
+
+        assertThat(counter.add(100, 2L)).isFalse();
+        assertThat(counter.drain().count()).isZero();
+    }
+
+    @Test
+    void testConcurrentAddsAreEitherRetiredOrRejected() throws Exception {
+        StripedCounter counter = new StripedCounter();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        CountDownLatch started = new CountDownLatch(4);
+        List<Future<Long>> accepted = new ArrayList<>();
+        try {
+            for (int i = 0; i < 4; i++) {
+                accepted.add(executor.submit(() -> {
+                    started.countDown();
+                    long count = 0;
+                    while (counter.add(10, count)) {
+                        count++;
+                    }
+                    return count;
+                }));
+            }
+            started.await(5, TimeUnit.SECONDS);
+            Thread.sleep(20);
+
+            BucketDelta retired = counter.retire();
+
+            // 성공한 add는 모두 retire 결과에 포함되고, 이후의 add는 모두 거절된다
+            long total = 0;
+            for (Future<Long> future : accepted) {
+                total += future.get(5, TimeUnit.SECONDS);
+            }
+            assertThat(retired.count()).isEqualTo(total);
+            assertThat(retired.bytes()).isEqualTo(total * 10);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
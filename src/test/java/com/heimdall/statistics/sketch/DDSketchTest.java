@@ -0,0 +1,72 @@
+package com.heimdall.statistics.sketch;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * 로그 크기 DDSketch 단위 테스트
+ */
+class DDSketchTest {
+
+    @Test
+    void testQuantilesWithinRelativeAccuracy() {
+        // Given: 1 ~ 100,000 바이트 균등 분포
+        DDSketch sketch = new DDSketch();
+        for (long size = 1; size <= 100_000; size++) {
+            sketch.add(size);
+        }
+
+        // Then: 상대 오차 1% 이내
+        assertThat(sketch.quantile(0.5)).isCloseTo(50_000L, withinPercentage(1));
+        assertThat(sketch.quantile(0.95)).isCloseTo(95_000L, withinPercentage(1));
+        assertThat(sketch.quantile(0.99)).isCloseTo(99_000L, withinPercentage(1));
+        assertThat(sketch.getMax()).isEqualTo(100_000L);
+    }
+
+    @Test
+    void testMergeEqualsSingleSketch() {
+        // Given
+        Random random = new Random(42);
+        DDSketch combined = new DDSketch();
+        DDSketch left = new DDSketch();
+        DDSketch right = new DDSketch();
+
+        for (int i = 0; i < 10_000; i++) {
+            long size = 100 + random.nextInt(5_000);
+            combined.add(size);
+            (i % 2 == 0 ? left : right).add(size);
+        }
+
+        // When
+        left.merge(right);
+
+        // Then
+        assertThat(left.getCount()).isEqualTo(combined.getCount());
+        assertThat(left.quantile(0.99)).isEqualTo(combined.quantile(0.99));
+        assertThat(left.getMax()).isEqualTo(combined.getMax());
+    }
+
+    @Test
+    void testSerializationRoundTrip() {
+        // Given
+        DDSketch sketch = new DDSketch();
+        sketch.add(0);
+        sketch.add(120);
+        sketch.add(4_096);
+        sketch.add(1_048_576);
+
+        // When
+        byte[] bytes = sketch.toBytes();
+        DDSketch restored = DDSketch.fromBytes(bytes);
+
+        // Then
+        assertThat(bytes.length).isLessThan(64);
+        assertThat(restored.getCount()).isEqualTo(4);
+        assertThat(restored.getSum()).isEqualTo(sketch.getSum());
+        assertThat(restored.quantile(0.5)).isEqualTo(sketch.quantile(0.5));
+        assertThat(restored.getMax()).isEqualTo(1_048_576L);
+    }
+}
@@ -0,0 +1,55 @@
+package com.heimdall.statistics.sketch;
+
+import com.heimdall.util.HashUtil;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * log_hash 고유 개수 HyperLogLog 단위 테스트
+ */
+class HyperLogLogTest {
+
+    @Test
+    void testEstimateWithinErrorBound() {
+        // Given: 서로 다른 log_hash 50,000개 (중복 포함)
+        HyperLogLog hll = new HyperLogLog();
+        for (int i = 0; i < 100_000; i++) {
+            hll.addHash(HyperLogLog.hashOf(HashUtil.sha256("error-" + (i % 50_000))));
+        }
+
+        // Then: 표준 오차 1.6%의 약 3배 이내
+        assertThat(hll.estimate()).isCloseTo(50_000L, withinPercentage(5));
+    }
+
+    @Test
+    void testSmallCardinalityIsNearlyExact() {
+        HyperLogLog hll = new HyperLogLog();
+        for (int i = 0; i < 20; i++) {
+            hll.addHash(HyperLogLog.hashOf(HashUtil.sha256("error-" + (i % 7))));
+        }
+
+        assertThat(hll.estimate()).isEqualTo(7L);
+    }
+
+    @Test
+    void testUnionAndSerializationRoundTrip() {
+        // Given: 겹치는 구간이 있는 두 시간대
+        HyperLogLog first = new HyperLogLog();
+        HyperLogLog second = new HyperLogLog();
+        for (int i = 0; i < 3_000; i++) {
+            first.addHash(HyperLogLog.hashOf(HashUtil.sha256("error-" + i)));
+        }
+        for (int i = 2_000; i < 5_000; i++) {
+            second.addHash(HyperLogLog.hashOf(HashUtil.sha256("error-" + i)));
+        }
+
+        // When
+        HyperLogLog union = HyperLogLog.fromBytes(first.toBytes());
+        union.merge(HyperLogLog.fromBytes(second.toBytes()));
+
+        // Then: 합집합 5,000개
+        assertThat(union.estimate()).isCloseTo(5_000L, withinPercentage(5));
+        assertThat(HyperLogLog.fromBytes(new HyperLogLog().toBytes()).isEmpty()).isTrue();
+    }
+}
@@ -0,0 +1,72 @@
+package com.heimdall.statistics.topk;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Space-Saving top-K 단위 테스트
+ */
+class SpaceSavingTest {
+
+    @Test
+    void testExactCountsBelowCapacity() {
+        // Given
+        SpaceSaving summary = new SpaceSaving(10);
+        for (int i = 0; i < 5; i++) {
+            summary.offer("a");
+        }
+        summary.offer("b", 3);
+        summary.offer("c");
+
+        // When
+        List<HeavyHitter> top = summary.top(2);
+
+        // Then
+        assertThat(top).extracting(HeavyHitter::key).containsExactly("a", "b");
+        assertThat(top.get(0).count()).isEqualTo(5);
+        assertThat(top.get(0).error()).isZero();
+        assertThat(summary.getMinCount()).isZero();
+        assertThat(summary.getTotal()).isEqualTo(9);
+    }
+
+    @Test
+    void testHeavyHittersSurviveNoise() {
+        // Given: 용량보다 훨씬 많은 잡음 키 사이에 빈도가 높은 키 3개
+        SpaceSaving summary = new SpaceSaving(50);
+        Random random = new Random(7);
+        for (int i = 0; i < 100_000; i++) {
+            int r = random.nextInt(100);
+            if (r < 20) {
+                summary.offer("flood-1");
+            } else if (r < 30) {
+                summary.offer("flood-2");
+            } else if (r < 35) {
+                summary.offer("flood-3");
+            } else {
+                summary.offer("noise-" + random.nextInt(10_000));
+            }
+        }
+
+        // When
+        List<HeavyHitter> top = summary.top(3);
+
+        // Then: 순위가 유지되고 추정 구간이 실제 빈도를 포함
+        assertThat(top).extracting(HeavyHitter::key).containsExactly("flood-1", "flood-2", "flood-3");
+        HeavyHitter first = top.get(0);
+        assertThat(first.count()).isGreaterThanOrEqualTo(19_000);
+        assertThat(first.guaranteedCount()).isLessThanOrEqualTo(21_000);
+        assertThat(summary.getMinCount()).isLessThanOrEqualTo(summary.getTotal() / 50);
+    }
+
+    @Test
+    void testTemplateNormalization() {
+        String a = LogTemplates.normalize("Timeout after 3000 ms calling 10.0.0.12:8080 for user 'kim'", 200);
+        String b = LogTemplates.normalize("Timeout after 150 ms calling 10.0.3.7:8080 for user 'lee'", 200);
+
+        assertThat(a).isEqualTo(b).isEqualTo("Timeout after <num> ms calling <ip> for user <str>");
+    }
+}